@@ -18,6 +18,7 @@
  */
 package org.macroing.gdt.engine.application.concurrent;
 
+import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -26,7 +27,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.macroing.gdt.engine.application.Application;
+import org.macroing.gdt.engine.configuration.DynamicResolutionController;
 import org.macroing.gdt.engine.display.Display;
+import org.macroing.gdt.engine.display.PixelIterable;
 import org.macroing.gdt.engine.input.Keyboard;
 import org.macroing.gdt.engine.input.KeyboardObserver;
 import org.macroing.gdt.engine.input.Mouse;
@@ -155,9 +158,29 @@ public abstract class ConcurrentApplication extends Application {
 	private void doConfigureDisplayObserver() {
 		final Renderer renderer = getRenderer();
 		
-		final
-		Display display = getDisplay();
-		display.setDisplayObserver((pixelIterable, consumer, booleanSupplier) -> renderer.render(pixelIterable, pixel -> consumer.accept(pixel), booleanSupplier));
+		final Display display = getDisplay();
+		
+		final DynamicResolutionController dynamicResolutionController = DynamicResolutionController.newInstance(display.getConfiguration());
+		
+		display.setDisplayObserver((pixelIterable, consumer, booleanSupplier) -> {
+			final long startTimeNanos = System.nanoTime();
+			
+			final int samplesPerFrame = display.getConfiguration().getSamplesPerFrame();
+			
+			for(int i = 0; i < samplesPerFrame && !booleanSupplier.getAsBoolean(); i++) {
+				renderer.render(pixelIterable, pixel -> consumer.accept(pixel), booleanSupplier);
+			}
+			
+			if(!booleanSupplier.getAsBoolean()) {
+				final List<PixelIterable> pixelIterables = display.getPixelIterables();
+				
+				final int index = pixelIterables.indexOf(pixelIterable);
+				
+				if(index >= 0) {
+					dynamicResolutionController.onSlice(index, pixelIterables.size(), startTimeNanos, System.nanoTime());
+				}
+			}
+		});
 	}
 	
 	private void doHideDisplay() {
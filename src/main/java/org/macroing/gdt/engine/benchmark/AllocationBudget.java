@@ -0,0 +1,289 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ObjIntConsumer;
+
+import org.macroing.gdt.engine.camera.NewSimpleCamera;
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.Pixel;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.filter.FilterTable;
+import org.macroing.gdt.engine.geometry.Constants;
+import org.macroing.gdt.engine.geometry.Intersection;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+import org.macroing.gdt.engine.geometry.Ray;
+import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.geometry.Spectrum;
+import org.macroing.gdt.engine.geometry.Vector;
+import org.macroing.gdt.engine.renderer.PathTracingRenderer;
+import org.macroing.gdt.engine.renderer.distributed.Worker;
+import org.macroing.gdt.engine.util.CounterBasedPRNG;
+
+/**
+ * A regression harness that checks the number of bytes allocated per sample by the {@link PathTracingRenderer} against a budget.
+ * <p>
+ * Each reference {@link Scene} is rendered on the current {@code Thread} for a number of warm-up passes, such that the steady state is reached, followed by the measured passes. The bytes allocated by the current {@code Thread} are measured
+ * by {@code com.sun.management.ThreadMXBean} and divided by the number of samples.
+ * <p>
+ * Besides the complete render loop, the stages of a sample are measured in isolation, to show where allocations come from:
+ * <ul>
+ * <li>{@code camera}, the generation of the primary {@link Ray}</li>
+ * <li>{@code intersection}, the generation of the primary {@code Ray} and its intersection test against the {@code Scene}</li>
+ * <li>{@code shading}, the generation of the primary {@code Ray} and the complete radiance calculation of its path, which includes the intersection tests of all bounces</li>
+ * <li>{@code film}, the splatting of a sample to the {@link Film}</li>
+ * </ul>
+ * <p>
+ * If any measurement exceeds the budget, the process exits with status {@code 1}. If the allocated bytes cannot be measured by the Java Virtual Machine, it exits with status {@code 2}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class AllocationBudget {
+	private static final String DEFAULT_SCENE_NAMES = "CornellBox";
+	private static final double DEFAULT_BUDGET = 4.0D;
+	private static final int DEFAULT_HEIGHT = 48;
+	private static final int DEFAULT_PASSES = 32;
+	private static final int DEFAULT_WIDTH = 64;
+	private static final int WARM_UP_PASSES = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private AllocationBudget() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are a comma-separated list of the names of the {@link Scene}s, the budget in bytes per sample, the number of measured passes, the width and the height, in that order. The names of the {@code Scene}s are
+	 * the ones supported by {@link Worker#newScene(String)}.
+	 * 
+	 * @param args the parameter arguments
+	 * @throws IOException thrown if, and only if, a {@code Scene} could not be created
+	 */
+	public static void main(final String[] args) throws IOException {
+		final String[] sceneNames = (args.length > 0 ? args[0] : DEFAULT_SCENE_NAMES).split(",");
+		
+		final double budget = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_BUDGET;
+		
+		final int passes = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PASSES;
+		final int width = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_WIDTH;
+		final int height = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_HEIGHT;
+		
+		if(doGetAllocatedBytes() < 0L) {
+			System.err.println("The allocated bytes per Thread cannot be measured by this Java Virtual Machine.");
+			System.exit(2);
+		}
+		
+		final List<Result> results = new ArrayList<>();
+		
+		for(final String sceneName : sceneNames) {
+			results.addAll(doRun(sceneName.trim(), width, height, passes));
+		}
+		
+		boolean isWithinBudget = true;
+		
+		System.out.printf("%-16s %-16s %14s %18s %8s%n", "Scene", "Stage", "Samples", "Alloc (B/sample)", "Status");
+		
+		for(final Result result : results) {
+			final boolean isWithinBudget0 = result.getBytesPerSample() <= budget;
+			
+			System.out.printf(Locale.ROOT, "%-16s %-16s %14d %18.2f %8s%n", result.sceneName, result.stage, Long.valueOf(result.samples), Double.valueOf(result.getBytesPerSample()), isWithinBudget0 ? "OK" : "OVER");
+			
+			isWithinBudget &= isWithinBudget0;
+		}
+		
+		System.out.printf(Locale.ROOT, "%s: budget %.2f B/sample%n", isWithinBudget ? "PASS" : "FAIL", Double.valueOf(budget));
+		
+		if(!isWithinBudget) {
+			System.exit(1);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static List<Result> doRun(final String sceneName, final int width, final int height, final int passes) throws IOException {
+		final Scene scene = Worker.newScene(sceneName);
+		
+		final
+		NewSimpleCamera newSimpleCamera = NewSimpleCamera.newInstance();
+		newSimpleCamera.setEye(new Point(50.0D, 42.0D, 155.6D));
+		newSimpleCamera.setLookAt(new Point(50.0D, 42.0D, -800.0D));
+		newSimpleCamera.setViewPlaneDistance(800.0D * width / 256.0D);
+		newSimpleCamera.calculateOrthonormalBasisFor(width, height);
+		
+		final
+		PathTracingRenderer pathTracingRenderer = PathTracingRenderer.newInstance();
+		pathTracingRenderer.setDeterministic(true);
+		pathTracingRenderer.setPrintingSamples(false);
+		pathTracingRenderer.setRefiningProgressively(false);
+		pathTracingRenderer.setScene(scene);
+		pathTracingRenderer.setSimpleCamera(newSimpleCamera);
+		pathTracingRenderer.setUsingSimpleCamera(true);
+		
+		final PixelIterable pixelIterable = PixelIterable.createPixelIterablesFor(width, height, width, height, new int[width * height], 1).get(0);
+		
+		final Film film = pixelIterable.getFilm();
+		
+		final List<Pixel> pixels = new ArrayList<>();
+		
+		for(final Pixel pixel : pixelIterable) {
+			pixels.add(pixel);
+		}
+		
+		final Pixel[] pixelArray = pixels.toArray(new Pixel[pixels.size()]);
+		
+		final FilterTable filterTable = FilterTable.newInstance(pathTracingRenderer.getFilter());
+		
+		final CounterBasedPRNG counterBasedPRNG = CounterBasedPRNG.newInstance();
+		
+		final
+		Intersection intersection = Intersection.newInstance();
+		intersection.setScene(scene);
+		
+		final Ray ray = new Ray(0, Point.zero(), Vector.zero());
+		
+		final Spectrum spectrum = RGBSpectrum.black();
+		
+		final double halfWidth = width / 2.0D;
+		final double halfHeight = height / 2.0D;
+		
+		final List<Result> results = new ArrayList<>();
+		
+		results.add(doMeasureRender(sceneName, pathTracingRenderer, pixelIterable, passes));
+		results.add(doMeasure(sceneName, "camera", pixelArray, passes, (pixel, pass) -> {
+			counterBasedPRNG.setKey(pixel.getIndex(), pass);
+			
+			newSimpleCamera.newRay(pixel.getX() + counterBasedPRNG.nextDouble() - halfWidth, pixel.getY() + counterBasedPRNG.nextDouble() - halfHeight, ray);
+		}));
+		results.add(doMeasure(sceneName, "intersection", pixelArray, passes, (pixel, pass) -> {
+			counterBasedPRNG.setKey(pixel.getIndex(), pass);
+			
+			newSimpleCamera.newRay(pixel.getX() + counterBasedPRNG.nextDouble() - halfWidth, pixel.getY() + counterBasedPRNG.nextDouble() - halfHeight, ray);
+			
+			intersection.setDistance(Constants.INFINITY);
+			intersection.setRay(ray);
+			
+			scene.isIntersecting(intersection);
+		}));
+		results.add(doMeasure(sceneName, "shading", pixelArray, passes, (pixel, pass) -> {
+			counterBasedPRNG.setKey(pixel.getIndex(), pass);
+			
+			newSimpleCamera.newRay(pixel.getX() + counterBasedPRNG.nextDouble() - halfWidth, pixel.getY() + counterBasedPRNG.nextDouble() - halfHeight, ray);
+			
+			intersection.setDistance(Constants.INFINITY);
+			intersection.setRay(ray);
+			intersection.resetPrimaryHit();
+			
+			scene.radiance(pass, intersection, counterBasedPRNG, spectrum);
+		}));
+		results.add(doMeasure(sceneName, "film", pixelArray, passes, (pixel, pass) -> {
+			counterBasedPRNG.setKey(pixel.getIndex(), pass);
+			
+			film.addSample(pixel.getX() + counterBasedPRNG.nextDouble(), pixel.getY() + counterBasedPRNG.nextDouble(), spectrum, filterTable);
+		}));
+		
+		return results;
+	}
+	
+	private static Result doMeasure(final String sceneName, final String stage, final Pixel[] pixels, final int passes, final ObjIntConsumer<Pixel> objIntConsumer) {
+		for(int pass = 0; pass < WARM_UP_PASSES; pass++) {
+			for(final Pixel pixel : pixels) {
+				objIntConsumer.accept(pixel, pass);
+			}
+		}
+		
+		final long allocatedBytes0 = doGetAllocatedBytes();
+		
+		for(int pass = WARM_UP_PASSES; pass < WARM_UP_PASSES + passes; pass++) {
+			for(final Pixel pixel : pixels) {
+				objIntConsumer.accept(pixel, pass);
+			}
+		}
+		
+		final long allocatedBytes1 = doGetAllocatedBytes();
+		
+		return new Result(sceneName, stage, allocatedBytes1 - allocatedBytes0, (long)(pixels.length) * passes);
+	}
+	
+	private static Result doMeasureRender(final String sceneName, final PathTracingRenderer pathTracingRenderer, final PixelIterable pixelIterable, final int passes) {
+		for(int pass = 0; pass < WARM_UP_PASSES; pass++) {
+			pathTracingRenderer.render(pixelIterable, pixel -> {}, () -> false);
+		}
+		
+		final long samples0 = pathTracingRenderer.getSamples();
+		final long allocatedBytes0 = doGetAllocatedBytes();
+		
+		for(int pass = 0; pass < passes; pass++) {
+			pathTracingRenderer.render(pixelIterable, pixel -> {}, () -> false);
+		}
+		
+		final long allocatedBytes1 = doGetAllocatedBytes();
+		final long samples1 = pathTracingRenderer.getSamples();
+		
+		return new Result(sceneName, "render", allocatedBytes1 - allocatedBytes0, samples1 - samples0);
+	}
+	
+	private static long doGetAllocatedBytes() {
+		final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		
+		if(threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean threadMXBean0 = com.sun.management.ThreadMXBean.class.cast(threadMXBean);
+			
+			if(threadMXBean0.isThreadAllocatedMemorySupported() && threadMXBean0.isThreadAllocatedMemoryEnabled()) {
+				return threadMXBean0.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		
+		return -1L;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Result {
+		private final String sceneName;
+		private final String stage;
+		private final long bytes;
+		private final long samples;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Result(final String sceneName, final String stage, final long bytes, final long samples) {
+			this.sceneName = sceneName;
+			this.stage = stage;
+			this.bytes = bytes;
+			this.samples = samples;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public double getBytesPerSample() {
+			return this.samples > 0L ? (double)(this.bytes) / this.samples : 0.0D;
+		}
+	}
+}
\ No newline at end of file
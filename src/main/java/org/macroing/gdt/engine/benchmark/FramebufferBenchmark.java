@@ -0,0 +1,136 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.macroing.gdt.engine.display.Pixel;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+
+/**
+ * A benchmark that measures how well writes to the framebuffer scale with the number of {@code Thread}s.
+ * <p>
+ * For each {@code Thread} count, the benchmark compares {@link PixelIterable}s where each {@link Pixel} is given a random owner, with {@code PixelIterable}s where blocks of {@code PixelIterable.DEFAULT_BLOCK_SIZE} {@code Pixel}s are given a
+ * random owner. The former suffers more from false sharing, because neighbouring {@code Pixel}s are far more often written to by different {@code Thread}s.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class FramebufferBenchmark {
+	private static final int DEFAULT_HEIGHT = 768;
+	private static final int DEFAULT_ROUNDS = 20;
+	private static final int DEFAULT_WIDTH = 1024;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private FramebufferBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the width, the height, the number of rounds and the maximum number of {@code Thread}s, in that order.
+	 * 
+	 * @param args the parameter arguments
+	 * @throws InterruptedException thrown if, and only if, the current {@code Thread} was interrupted
+	 */
+	public static void main(final String[] args) throws InterruptedException {
+		final int width = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WIDTH;
+		final int height = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HEIGHT;
+		final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+		final int threadsMaximum = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		
+		System.out.printf("Framebuffer: %dx%d, Rounds: %d%n", Integer.valueOf(width), Integer.valueOf(height), Integer.valueOf(rounds));
+		System.out.printf("%8s %12s %12s %12s %8s%n", "Threads", "Block Size", "Time (ms)", "MPixels/s", "Speedup");
+		
+		for(final int threads : doCreateThreadCounts(threadsMaximum)) {
+			final double pixelsPerSecond0 = doRun(width, height, rounds, threads, 1);
+			final double pixelsPerSecond1 = doRun(width, height, rounds, threads, PixelIterable.DEFAULT_BLOCK_SIZE);
+			
+			doPrint(width, height, rounds, threads, 1, pixelsPerSecond0, 1.0D);
+			doPrint(width, height, rounds, threads, PixelIterable.DEFAULT_BLOCK_SIZE, pixelsPerSecond1, pixelsPerSecond1 / pixelsPerSecond0);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doRun(final int width, final int height, final int rounds, final int threads, final int blockSize) throws InterruptedException {
+		final int[] rGB = new int[width * height];
+		
+		final List<PixelIterable> pixelIterables = PixelIterable.createPixelIterablesFor(width, height, width, height, rGB, threads, blockSize);
+		
+		doRender(pixelIterables, 1);
+		
+		final long nanoTime0 = System.nanoTime();
+		
+		doRender(pixelIterables, rounds);
+		
+		final long nanoTime1 = System.nanoTime();
+		
+		return (double)(rGB.length) * rounds / ((nanoTime1 - nanoTime0) / 1.0e9D);
+	}
+	
+	private static List<Integer> doCreateThreadCounts(final int threadsMaximum) {
+		final List<Integer> threadCounts = new ArrayList<>();
+		
+		for(int threads = 1; threads < threadsMaximum; threads *= 2) {
+			threadCounts.add(Integer.valueOf(threads));
+		}
+		
+		threadCounts.add(Integer.valueOf(Math.max(threadsMaximum, 1)));
+		
+		return threadCounts;
+	}
+	
+	private static void doPrint(final int width, final int height, final int rounds, final int threads, final int blockSize, final double pixelsPerSecond, final double speedup) {
+		final double milliseconds = (double)(width) * height * rounds / pixelsPerSecond * 1000.0D;
+		
+		System.out.printf("%8d %12d %12.2f %12.2f %8.2f%n", Integer.valueOf(threads), Integer.valueOf(blockSize), Double.valueOf(milliseconds), Double.valueOf(pixelsPerSecond / 1.0e6D), Double.valueOf(speedup));
+	}
+	
+	private static void doRender(final List<PixelIterable> pixelIterables, final int rounds) throws InterruptedException {
+		final CountDownLatch countDownLatch = new CountDownLatch(pixelIterables.size());
+		
+		final RGBSpectrum rGBSpectrum = new RGBSpectrum(0.25D, 0.5D, 0.75D);
+		
+		for(final PixelIterable pixelIterable : pixelIterables) {
+			final
+			Thread thread = new Thread(() -> {
+				for(int i = 0; i < rounds; i++) {
+					for(final Pixel pixel : pixelIterable) {
+						pixel.addSubSamples(1);
+						pixel.addSample(rGBSpectrum, 1.0D);
+						pixel.update();
+					}
+				}
+				
+				countDownLatch.countDown();
+			});
+			thread.start();
+		}
+		
+		countDownLatch.await();
+	}
+}
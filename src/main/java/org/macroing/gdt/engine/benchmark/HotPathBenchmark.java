@@ -0,0 +1,214 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import org.macroing.gdt.engine.geometry.CompressedTexture;
+import org.macroing.gdt.engine.geometry.Constants;
+import org.macroing.gdt.engine.geometry.DiffuseMaterial;
+import org.macroing.gdt.engine.geometry.Intersection;
+import org.macroing.gdt.engine.geometry.LinearNormalMapTexture;
+import org.macroing.gdt.engine.geometry.LinearTexture;
+import org.macroing.gdt.engine.geometry.NormalMapTexture;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+import org.macroing.gdt.engine.geometry.Ray;
+import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.geometry.SimpleTexture;
+import org.macroing.gdt.engine.geometry.SolidTexture;
+import org.macroing.gdt.engine.geometry.Spectrum;
+import org.macroing.gdt.engine.geometry.Sphere;
+import org.macroing.gdt.engine.geometry.Texture;
+import org.macroing.gdt.engine.geometry.Transform;
+import org.macroing.gdt.engine.geometry.Triangle;
+import org.macroing.gdt.engine.geometry.Vector;
+import org.macroing.gdt.engine.util.MersenneTwisterPRNG;
+import org.macroing.gdt.engine.util.PCGPRNG;
+import org.macroing.gdt.engine.util.PRNG;
+import org.macroing.gdt.engine.util.ThreadLocalRandomPRNG;
+import org.macroing.gdt.engine.util.XORShiftPRNG;
+import org.macroing.gdt.engine.util.XoshiroPRNG;
+
+/**
+ * A benchmark that measures the geometry and shading hot paths of the path tracer using a {@link Microbenchmark}.
+ * <p>
+ * It covers ray-shape intersection, {@link Vector} and {@link Point} operations, {@link Transform}s, {@link Spectrum} arithmetic, {@link Texture} lookups, the {@link PRNG}s and a full call to {@link Scene#radiance(int, Intersection, PRNG)}. For
+ * each operation, the time and the number of bytes allocated per call are reported, so regressions in either can be tracked from one release to the next.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class HotPathBenchmark {
+	private static final String NORMAL_MAP_FILENAME = "resources/jar/org/macroing/gdt/engine/geometry/NormalMap.jpg";
+	private static final String TEXTURE_FILENAME = "resources/jar/org/macroing/gdt/engine/geometry/Texture.jpg";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private HotPathBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the number of milliseconds per iteration and the number of iterations, in that order.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		final int iterationMillis = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		
+		final Microbenchmark microbenchmark = Microbenchmark.newInstance();
+		
+		microbenchmark.setIterationMillis(iterationMillis);
+		microbenchmark.setIterations(iterations);
+		microbenchmark.setWarmUpIterations(iterations);
+		
+		doAddIntersections(microbenchmark);
+		doAddVectorsAndPoints(microbenchmark);
+		doAddTransforms(microbenchmark);
+		doAddSpectra(microbenchmark);
+		doAddTextures(microbenchmark);
+		doAddPRNGs(microbenchmark);
+		doAddRadiance(microbenchmark);
+		
+		microbenchmark.run(System.out);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doAddIntersections(final Microbenchmark microbenchmark) {
+		final Sphere sphere = Sphere.newInstance(DiffuseMaterial.newInstance(1.0D, new RGBSpectrum(0.0D, 0.0D, 0.0D)), 16.5D, new Point(0.0D, 0.0D, -50.0D));
+		
+		final Triangle triangle = Triangle.newInstance(DiffuseMaterial.newInstance(1.0D, new RGBSpectrum(0.0D, 0.0D, 0.0D)), SolidTexture.newInstance(1, 1, new RGBSpectrum(1.0D, 1.0D, 1.0D)), new Point(-20.0D, -20.0D, -50.0D), new Point(20.0D, -20.0D, -50.0D), new Point(0.0D, 20.0D, -50.0D));
+		
+		final Ray ray = new Ray(0, new Point(0.0D, 0.0D, 0.0D), new Vector(0.01D, 0.02D, -1.0D).normalize());
+		
+		final Intersection intersection = Intersection.newInstance();
+		
+		intersection.setRay(ray);
+		
+		microbenchmark.add("Sphere.isIntersecting", () -> {
+			intersection.setDistance(Constants.INFINITY);
+			
+			return sphere.isIntersecting(intersection) ? intersection.getDistance() : 0.0D;
+		});
+		
+		microbenchmark.add("Triangle.isIntersecting", () -> {
+			intersection.setDistance(Constants.INFINITY);
+			
+			return triangle.isIntersecting(intersection) ? intersection.getDistance() : 0.0D;
+		});
+	}
+	
+	private static void doAddPRNGs(final Microbenchmark microbenchmark) {
+		final PRNG[] pRNGs = new PRNG[] {MersenneTwisterPRNG.newInstance(), PCGPRNG.newInstance(), ThreadLocalRandomPRNG.newInstance(), XORShiftPRNG.newInstance(), XoshiroPRNG.newInstance()};
+		
+		for(final PRNG pRNG : pRNGs) {
+			microbenchmark.add(pRNG.getClass().getSimpleName() + ".nextDouble", pRNG::nextDouble);
+		}
+	}
+	
+	private static void doAddRadiance(final Microbenchmark microbenchmark) {
+		final Scene scene = Scene.newCornellBox();
+		
+		final Intersection intersection = Intersection.newInstance();
+		
+		intersection.setScene(scene);
+		
+		final PRNG pRNG = XoshiroPRNG.newInstance(0L);
+		
+		final Point origin = new Point(50.0D, 42.0D, 155.6D);
+		
+		microbenchmark.add("Scene.radiance", () -> {
+			intersection.setDistance(Constants.INFINITY);
+			intersection.setRay(new Ray(0, origin.copy(), new Vector(pRNG.nextDouble() * 0.5D - 0.25D, pRNG.nextDouble() * 0.5D - 0.25D, -1.0D).normalize()));
+			intersection.resetPrimaryHit();
+			
+			return scene.radiance(0, intersection, pRNG).getLuminance();
+		});
+	}
+	
+	private static void doAddSpectra(final Microbenchmark microbenchmark) {
+		final Spectrum spectrum0 = new RGBSpectrum(0.25D, 0.5D, 0.75D);
+		final Spectrum spectrum1 = new RGBSpectrum(0.75D, 0.5D, 0.25D);
+		final Spectrum spectrum2 = new RGBSpectrum(0.0D, 0.0D, 0.0D);
+		
+		microbenchmark.add("Spectrum.add", () -> spectrum2.add(spectrum0).getCoefficient(0));
+		microbenchmark.add("Spectrum.multiply", () -> spectrum2.set(spectrum0).multiply(spectrum1).getCoefficient(0));
+		microbenchmark.add("Spectrum.copyAndAdd", () -> spectrum0.copyAndAdd(spectrum1).getCoefficient(0));
+		microbenchmark.add("Spectrum.copyAndMultiply", () -> spectrum0.copyAndMultiply(spectrum1).getCoefficient(0));
+		microbenchmark.add("Spectrum.getLuminance", () -> spectrum0.getLuminance());
+	}
+	
+	private static void doAddTextures(final Microbenchmark microbenchmark) {
+		final Texture solidTexture = SolidTexture.newInstance(1, 1, new RGBSpectrum(1.0D, 1.0D, 1.0D));
+		final Texture simpleTexture = SimpleTexture.newInstance(TEXTURE_FILENAME);
+		final Texture linearTexture = LinearTexture.newInstance(TEXTURE_FILENAME);
+		final Texture compressedTexture = CompressedTexture.newInstance(TEXTURE_FILENAME);
+		final Texture normalMapTexture = NormalMapTexture.newInstance(solidTexture, NORMAL_MAP_FILENAME);
+		final Texture linearNormalMapTexture = LinearNormalMapTexture.newInstance(solidTexture, NORMAL_MAP_FILENAME);
+		
+		final PRNG pRNG = XoshiroPRNG.newInstance(0L);
+		
+		final Spectrum color = RGBSpectrum.black();
+		
+		final Vector surfaceNormal = new Vector(0.0D, 1.0D, 0.0D);
+		final Vector surfaceNormalAt = Vector.zero();
+		
+		microbenchmark.add("SolidTexture.getColorAt", () -> solidTexture.getColorAt(pRNG.nextDouble(), pRNG.nextDouble()).getCoefficient(0));
+		microbenchmark.add("SimpleTexture.getColorAt", () -> simpleTexture.getColorAt(pRNG.nextDouble(), pRNG.nextDouble()).getCoefficient(0));
+		microbenchmark.add("SimpleTexture.getColorAt(Footprint)", () -> simpleTexture.getColorAt(pRNG.nextDouble(), pRNG.nextDouble(), 0.05D, 0.05D, color).getCoefficient(0));
+		microbenchmark.add("LinearTexture.getColorAt", () -> linearTexture.getColorAt(pRNG.nextDouble(), pRNG.nextDouble(), color).getCoefficient(0));
+		microbenchmark.add("CompressedTexture.getColorAt", () -> compressedTexture.getColorAt(pRNG.nextDouble(), pRNG.nextDouble(), color).getCoefficient(0));
+		microbenchmark.add("NormalMapTexture.getSurfaceNormalAt", () -> normalMapTexture.getSurfaceNormalAt(pRNG.nextDouble(), pRNG.nextDouble(), surfaceNormal, surfaceNormalAt).getX());
+		microbenchmark.add("LinearNormalMapTexture.getSurfaceNormalAt", () -> linearNormalMapTexture.getSurfaceNormalAt(pRNG.nextDouble(), pRNG.nextDouble(), surfaceNormal, surfaceNormalAt).getX());
+	}
+	
+	private static void doAddTransforms(final Microbenchmark microbenchmark) {
+		final Transform transform = Transform.translate(1.0D, 2.0D, 3.0D).multiply(Transform.rotateX(30.0D));
+		
+		final Point point = new Point(1.0D, 2.0D, 3.0D);
+		
+		final Ray ray = new Ray(0, point, new Vector(0.0D, 0.0D, -1.0D));
+		
+		final Vector vector = new Vector(1.0D, 2.0D, 3.0D);
+		
+		microbenchmark.add("Transform.transform(Point)", () -> transform.transform(point).getX());
+		microbenchmark.add("Transform.transform(Vector)", () -> transform.transform(vector).getX());
+		microbenchmark.add("Transform.transform(Ray)", () -> transform.transform(ray).getOrigin().getX());
+	}
+	
+	private static void doAddVectorsAndPoints(final Microbenchmark microbenchmark) {
+		final Point point0 = new Point(1.0D, 2.0D, 3.0D);
+		final Point point1 = new Point(3.0D, 2.0D, 1.0D);
+		
+		final Vector vector0 = new Vector(1.0D, 2.0D, 3.0D);
+		final Vector vector1 = new Vector(3.0D, 2.0D, 1.0D);
+		
+		microbenchmark.add("Vector.dotProduct", () -> vector0.dotProduct(vector1));
+		microbenchmark.add("Vector.copyAndCrossProduct", () -> vector0.copyAndCrossProduct(vector1).getX());
+		microbenchmark.add("Vector.copyAndNormalize", () -> vector0.copyAndNormalize().getX());
+		microbenchmark.add("Vector.copyAndAdd", () -> vector0.copyAndAdd(vector1).getX());
+		microbenchmark.add("Point.distanceSquared", () -> point0.distanceSquared(point1));
+		microbenchmark.add("Point.copyAndAdd", () -> point0.copyAndAdd(vector1).getX());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,328 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+
+/**
+ * A {@code Microbenchmark} is a small harness that measures the time and the memory allocated per call of a number of operations.
+ * <p>
+ * Each operation is a {@code DoubleSupplier}. Its result is consumed, so the JIT-compiler cannot eliminate the work. An operation is first run for a number of warm-up iterations, and then for a number of measured iterations, each one lasting
+ * roughly the same time. The time per call is the mean of the measured iterations, and its error is their standard deviation.
+ * <p>
+ * The memory allocated per call is measured by {@code com.sun.management.ThreadMXBean}, if available. It is the number of bytes allocated by the current {@code Thread} during the measured iterations, divided by the number of calls. An
+ * operation that does not allocate reports close to {@code 0} bytes per call, so this detects allocations that escape analysis failed to remove.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Microbenchmark {
+	private static final int DEFAULT_ITERATION_MILLIS = 200;
+	private static final int DEFAULT_ITERATIONS = 5;
+	private static final int DEFAULT_WARM_UP_ITERATIONS = 5;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final Map<String, DoubleSupplier> operations = new LinkedHashMap<>();
+	private volatile double sink;
+	private int iterationMillis = DEFAULT_ITERATION_MILLIS;
+	private int iterations = DEFAULT_ITERATIONS;
+	private int warmUpIterations = DEFAULT_WARM_UP_ITERATIONS;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Microbenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Adds an operation to this {@code Microbenchmark} instance.
+	 * <p>
+	 * Returns the {@code Microbenchmark} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * If either {@code name} or {@code operation} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param name the name of the operation
+	 * @param operation the operation
+	 * @return the instance itself
+	 * @throws NullPointerException thrown if, and only if, either {@code name} or {@code operation} are {@code null}
+	 */
+	public Microbenchmark add(final String name, final DoubleSupplier operation) {
+		this.operations.put(Objects.requireNonNull(name, "name == null"), Objects.requireNonNull(operation, "operation == null"));
+		
+		return this;
+	}
+	
+	/**
+	 * Runs all operations of this {@code Microbenchmark} instance on the current {@code Thread}, prints a table of the results to {@code printStream} and returns them.
+	 * <p>
+	 * If {@code printStream} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param printStream the {@code PrintStream} to print to
+	 * @return a {@code List} with one {@link Result} per operation, in the order they were added
+	 * @throws NullPointerException thrown if, and only if, {@code printStream} is {@code null}
+	 */
+	public List<Result> run(final PrintStream printStream) {
+		Objects.requireNonNull(printStream, "printStream == null");
+		
+		final List<Result> results = new ArrayList<>();
+		
+		printStream.printf("%-32s %14s %12s %14s%n", "Operation", "Time (ns/op)", "Error", "Alloc (B/op)");
+		
+		for(final Entry<String, DoubleSupplier> entry : this.operations.entrySet()) {
+			final Result result = doRun(entry.getKey(), entry.getValue());
+			
+			printStream.printf("%-32s %14.3f %12.3f %14s%n", result.getName(), Double.valueOf(result.getNanosPerOperation()), Double.valueOf(result.getError()), result.getBytesPerOperation() >= 0.0D ? String.format("%.1f", Double.valueOf(result.getBytesPerOperation())) : "N/A");
+			
+			results.add(result);
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Sets the number of milliseconds each iteration should last.
+	 * <p>
+	 * Returns the {@code Microbenchmark} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * If {@code iterationMillis} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param iterationMillis the number of milliseconds each iteration should last
+	 * @return the instance itself
+	 * @throws IllegalArgumentException thrown if, and only if, {@code iterationMillis} is less than {@code 1}
+	 */
+	public Microbenchmark setIterationMillis(final int iterationMillis) {
+		this.iterationMillis = doRequirePositive(iterationMillis, "iterationMillis");
+		
+		return this;
+	}
+	
+	/**
+	 * Sets the number of measured iterations.
+	 * <p>
+	 * Returns the {@code Microbenchmark} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * If {@code iterations} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param iterations the number of measured iterations
+	 * @return the instance itself
+	 * @throws IllegalArgumentException thrown if, and only if, {@code iterations} is less than {@code 1}
+	 */
+	public Microbenchmark setIterations(final int iterations) {
+		this.iterations = doRequirePositive(iterations, "iterations");
+		
+		return this;
+	}
+	
+	/**
+	 * Sets the number of warm-up iterations.
+	 * <p>
+	 * Returns the {@code Microbenchmark} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * If {@code warmUpIterations} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param warmUpIterations the number of warm-up iterations
+	 * @return the instance itself
+	 * @throws IllegalArgumentException thrown if, and only if, {@code warmUpIterations} is less than {@code 0}
+	 */
+	public Microbenchmark setWarmUpIterations(final int warmUpIterations) {
+		if(warmUpIterations < 0) {
+			throw new IllegalArgumentException(String.format("warmUpIterations < 0: %d", Integer.valueOf(warmUpIterations)));
+		}
+		
+		this.warmUpIterations = warmUpIterations;
+		
+		return this;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code Microbenchmark} instance.
+	 * <p>
+	 * By default it runs {@code 5} warm-up iterations and {@code 5} measured iterations of {@code 200} milliseconds each.
+	 * 
+	 * @return a new {@code Microbenchmark} instance
+	 */
+	public static Microbenchmark newInstance() {
+		return new Microbenchmark();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * A {@code Result} contains the measurements of a single operation of a {@link Microbenchmark}.
+	 * 
+	 * @since 1.0.0
+	 * @author J&#246;rgen Lundgren
+	 */
+	public static final class Result {
+		private final String name;
+		private final double bytesPerOperation;
+		private final double error;
+		private final double nanosPerOperation;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		Result(final String name, final double nanosPerOperation, final double error, final double bytesPerOperation) {
+			this.name = name;
+			this.nanosPerOperation = nanosPerOperation;
+			this.error = error;
+			this.bytesPerOperation = bytesPerOperation;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		/**
+		 * Returns the name of the operation.
+		 * 
+		 * @return the name of the operation
+		 */
+		public String getName() {
+			return this.name;
+		}
+		
+		/**
+		 * Returns the number of bytes allocated per call, or {@code -1.0D} if it could not be measured.
+		 * 
+		 * @return the number of bytes allocated per call, or {@code -1.0D} if it could not be measured
+		 */
+		public double getBytesPerOperation() {
+			return this.bytesPerOperation;
+		}
+		
+		/**
+		 * Returns the standard deviation of the time per call across the measured iterations, in nanoseconds.
+		 * 
+		 * @return the standard deviation of the time per call across the measured iterations, in nanoseconds
+		 */
+		public double getError() {
+			return this.error;
+		}
+		
+		/**
+		 * Returns the mean time per call, in nanoseconds.
+		 * 
+		 * @return the mean time per call, in nanoseconds
+		 */
+		public double getNanosPerOperation() {
+			return this.nanosPerOperation;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Result doRun(final String name, final DoubleSupplier operation) {
+		final long iterationNanos = this.iterationMillis * 1000000L;
+		
+		for(int i = 0; i < this.warmUpIterations; i++) {
+			doRunIteration(operation, iterationNanos);
+		}
+		
+		final double[] nanosPerOperation = new double[this.iterations];
+		
+		final long allocatedBytes0 = doGetAllocatedBytes();
+		
+		long operations = 0L;
+		
+		for(int i = 0; i < this.iterations; i++) {
+			final long nanoTime0 = System.nanoTime();
+			
+			final long iterationOperations = doRunIteration(operation, iterationNanos);
+			
+			final long nanoTime1 = System.nanoTime();
+			
+			nanosPerOperation[i] = (double)(nanoTime1 - nanoTime0) / iterationOperations;
+			
+			operations += iterationOperations;
+		}
+		
+		final long allocatedBytes1 = doGetAllocatedBytes();
+		
+		double mean = 0.0D;
+		
+		for(final double value : nanosPerOperation) {
+			mean += value / nanosPerOperation.length;
+		}
+		
+		double variance = 0.0D;
+		
+		for(final double value : nanosPerOperation) {
+			variance += (value - mean) * (value - mean) / nanosPerOperation.length;
+		}
+		
+		final double bytesPerOperation = allocatedBytes0 >= 0L && allocatedBytes1 >= 0L ? (double)(allocatedBytes1 - allocatedBytes0) / operations : -1.0D;
+		
+		return new Result(name, mean, Math.sqrt(variance), bytesPerOperation);
+	}
+	
+	private long doRunIteration(final DoubleSupplier operation, final long iterationNanos) {
+		final long nanoTime = System.nanoTime();
+		
+		long operations = 0L;
+		
+		double sink = 0.0D;
+		
+		for(int batch = 1; System.nanoTime() - nanoTime < iterationNanos; batch = Math.min(batch * 2, 1 << 16)) {
+			for(int i = 0; i < batch; i++) {
+				sink += operation.getAsDouble();
+			}
+			
+			operations += batch;
+		}
+		
+		this.sink += sink;
+		
+		return operations;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doGetAllocatedBytes() {
+		final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		
+		if(threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			final com.sun.management.ThreadMXBean threadMXBean0 = com.sun.management.ThreadMXBean.class.cast(threadMXBean);
+			
+			if(threadMXBean0.isThreadAllocatedMemorySupported() && threadMXBean0.isThreadAllocatedMemoryEnabled()) {
+				return threadMXBean0.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		
+		return -1L;
+	}
+	
+	private static int doRequirePositive(final int value, final String name) {
+		if(value < 1) {
+			throw new IllegalArgumentException(String.format("%s < 1: %d", name, Integer.valueOf(value)));
+		}
+		
+		return value;
+	}
+}
\ No newline at end of file
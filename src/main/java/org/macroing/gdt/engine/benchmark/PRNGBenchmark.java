@@ -0,0 +1,120 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.macroing.gdt.engine.util.CounterBasedPRNG;
+import org.macroing.gdt.engine.util.MersenneTwisterPRNG;
+import org.macroing.gdt.engine.util.PCGPRNG;
+import org.macroing.gdt.engine.util.PRNG;
+import org.macroing.gdt.engine.util.RandomPRNG;
+import org.macroing.gdt.engine.util.SecureRandomPRNG;
+import org.macroing.gdt.engine.util.ThreadLocalRandomPRNG;
+import org.macroing.gdt.engine.util.XORShiftPRNG;
+import org.macroing.gdt.engine.util.XoshiroPRNG;
+
+/**
+ * A benchmark that compares the throughput of all {@link PRNG} implementations.
+ * <p>
+ * For each {@code PRNG}, the benchmark measures single calls to {@code nextDouble()} and bulk calls to {@code nextDoubles(double[], int, int)}. Each measurement is preceded by a warm-up of the same size, and the sum of the generated values
+ * is printed, so the JIT-compiler cannot eliminate the work.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class PRNGBenchmark {
+	private static final int BULK_LENGTH = 1024;
+	private static final int DEFAULT_COUNT = 10000000;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private PRNGBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter argument is the number of {@code double}s to generate per measurement.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		final int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNT;
+		
+		final List<Supplier<PRNG>> suppliers = Arrays.asList(() -> CounterBasedPRNG.newInstance().setKey(0L, 0L), MersenneTwisterPRNG::newInstance, PCGPRNG::newInstance, RandomPRNG::newInstance, SecureRandomPRNG::newInstance, ThreadLocalRandomPRNG::newInstance, XORShiftPRNG::newInstance, XoshiroPRNG::newInstance);
+		
+		System.out.printf("Doubles: %d%n", Integer.valueOf(count));
+		System.out.printf("%-24s %16s %16s %16s%n", "PRNG", "Single (ns/op)", "Bulk (ns/op)", "Checksum");
+		
+		for(final Supplier<PRNG> supplier : suppliers) {
+			final PRNG pRNG = supplier.get();
+			
+			doRunSingle(pRNG, count);
+			doRunBulk(pRNG, count);
+			
+			final long nanoTime0 = System.nanoTime();
+			
+			final double sum0 = doRunSingle(pRNG, count);
+			
+			final long nanoTime1 = System.nanoTime();
+			
+			final double sum1 = doRunBulk(pRNG, count);
+			
+			final long nanoTime2 = System.nanoTime();
+			
+			System.out.printf("%-24s %16.3f %16.3f %16.3f%n", pRNG.getClass().getSimpleName(), Double.valueOf((double)(nanoTime1 - nanoTime0) / count), Double.valueOf((double)(nanoTime2 - nanoTime1) / count), Double.valueOf((sum0 + sum1) / count));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doRunBulk(final PRNG pRNG, final int count) {
+		final double[] array = new double[BULK_LENGTH];
+		
+		double sum = 0.0D;
+		
+		for(int i = 0; i < count; i += BULK_LENGTH) {
+			final int length = Math.min(BULK_LENGTH, count - i);
+			
+			pRNG.nextDoubles(array, 0, length);
+			
+			for(int j = 0; j < length; j++) {
+				sum += array[j];
+			}
+		}
+		
+		return sum;
+	}
+	
+	private static double doRunSingle(final PRNG pRNG, final int count) {
+		double sum = 0.0D;
+		
+		for(int i = 0; i < count; i++) {
+			sum += pRNG.nextDouble();
+		}
+		
+		return sum;
+	}
+}
\ No newline at end of file
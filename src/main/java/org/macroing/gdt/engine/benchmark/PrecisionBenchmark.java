@@ -0,0 +1,213 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.macroing.gdt.engine.camera.NewSimpleCamera;
+import org.macroing.gdt.engine.display.Pixel;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.Precision;
+import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.geometry.Shape;
+import org.macroing.gdt.engine.geometry.TriangleMesh;
+import org.macroing.gdt.engine.renderer.PathTracingRenderer;
+
+/**
+ * A headless benchmark that compares the {@link Precision}s of {@link TriangleMesh}.
+ * <p>
+ * The {@link Scene} returned by {@link Scene#newCornellBoxWithMeshes(Precision, int, int)} is built once per {@code Precision} and rendered deterministically on the current {@code Thread}, after a warm-up pass. For each {@code Precision}
+ * the number of triangles, the size of the packed triangle data, the wall time and the number of samples and rays per second are reported. The image of each {@code Precision} is compared against the image of {@code Precision.DOUBLE}, by
+ * the mean absolute difference of the 8-bit display values and the number of pixels that differ by more than {@code 8} in any component. Self-intersections show up as a large number of such pixels.
+ * <p>
+ * The result is printed to {@code System.out} as CSV.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class PrecisionBenchmark {
+	private static final int DEFAULT_HEIGHT = 48;
+	private static final int DEFAULT_PASSES = 8;
+	private static final int DEFAULT_SLICES = 64;
+	private static final int DEFAULT_STACKS = 32;
+	private static final int DEFAULT_WIDTH = 64;
+	private static final int DIFFERENCE_THRESHOLD = 8;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private PrecisionBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the number of stacks and slices of each sphere mesh, the width, the height and the number of samples per pixel, in that order.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		final int stacks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_STACKS;
+		final int slices = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SLICES;
+		final int width = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_WIDTH;
+		final int height = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_HEIGHT;
+		final int passes = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_PASSES;
+		
+		final List<Result> results = new ArrayList<>();
+		
+		for(final Precision precision : Precision.values()) {
+			final Scene scene = Scene.newCornellBoxWithMeshes(precision, stacks, slices);
+			
+			doRun(scene, width, height, 1);
+			
+			results.add(doRun(scene, width, height, passes));
+		}
+		
+		final Result result0 = results.get(0);
+		
+		System.out.println("precision,triangles,meshBytes,bytesPerTriangle,width,height,samplesPerPixel,wallTimeMillis,samples,rays,samplesPerSecond,raysPerSecond,speedup,meanAbsoluteDifference,differingPixels");
+		
+		for(int i = 0; i < results.size(); i++) {
+			final Result result = results.get(i);
+			
+			final Precision precision = Precision.values()[i];
+			
+			final Scene scene = Scene.newCornellBoxWithMeshes(precision, stacks, slices);
+			
+			long meshBytes = 0L;
+			
+			int triangles = 0;
+			
+			for(final Shape shape : scene.getShapes()) {
+				if(shape instanceof TriangleMesh) {
+					final TriangleMesh triangleMesh = TriangleMesh.class.cast(shape);
+					
+					meshBytes += triangleMesh.getSizeInBytes();
+					
+					triangles += triangleMesh.getTriangleCount();
+				}
+			}
+			
+			System.out.println(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%d,%d,%d,%.3f,%d,%d,%.1f,%.1f,%.3f,%.4f,%d", precision, Integer.valueOf(triangles), Long.valueOf(meshBytes), Double.valueOf((double)(meshBytes) / Math.max(triangles, 1)), Integer.valueOf(width), Integer.valueOf(height), Integer.valueOf(passes), Double.valueOf(result.getWallTimeMillis()), Long.valueOf(result.samples), Long.valueOf(result.rays), Double.valueOf(result.getSamplesPerSecond()), Double.valueOf(result.getRaysPerSecond()), Double.valueOf(result.getSamplesPerSecond() / result0.getSamplesPerSecond()), Double.valueOf(doGetMeanAbsoluteDifference(result0.rGB, result.rGB)), Integer.valueOf(doGetDifferingPixels(result0.rGB, result.rGB))));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Result doRun(final Scene scene, final int width, final int height, final int passes) {
+		final
+		NewSimpleCamera newSimpleCamera = NewSimpleCamera.newInstance();
+		newSimpleCamera.setEye(new Point(50.0D, 42.0D, 155.6D));
+		newSimpleCamera.setLookAt(new Point(50.0D, 42.0D, -800.0D));
+		newSimpleCamera.setViewPlaneDistance(800.0D * width / 256.0D);
+		newSimpleCamera.calculateOrthonormalBasisFor(width, height);
+		
+		final
+		PathTracingRenderer pathTracingRenderer = PathTracingRenderer.newInstance();
+		pathTracingRenderer.setDeterministic(true);
+		pathTracingRenderer.setPrintingSamples(false);
+		pathTracingRenderer.setRefiningProgressively(false);
+		pathTracingRenderer.setScene(scene);
+		pathTracingRenderer.setSimpleCamera(newSimpleCamera);
+		pathTracingRenderer.setUsingSimpleCamera(true);
+		
+		final int[] rGB = new int[width * height];
+		
+		final PixelIterable pixelIterable = PixelIterable.createPixelIterablesFor(width, height, width, height, rGB, 1).get(0);
+		
+		final long nanoTime0 = System.nanoTime();
+		
+		for(int pass = 0; pass < passes; pass++) {
+			pathTracingRenderer.render(pixelIterable, pixel -> {}, () -> false);
+		}
+		
+		final long nanoTime1 = System.nanoTime();
+		
+		for(final Pixel pixel : pixelIterable) {
+			pixel.update();
+		}
+		
+		return new Result(rGB, nanoTime1 - nanoTime0, pathTracingRenderer.getSamples(), pathTracingRenderer.getMetrics().getPrimaryRays() + pathTracingRenderer.getMetrics().getSecondaryRays());
+	}
+	
+	private static double doGetMeanAbsoluteDifference(final int[] rGB0, final int[] rGB1) {
+		long sum = 0L;
+		
+		for(int i = 0; i < rGB0.length; i++) {
+			for(int shift = 0; shift < 24; shift += 8) {
+				sum += Math.abs(((rGB0[i] >> shift) & 0xFF) - ((rGB1[i] >> shift) & 0xFF));
+			}
+		}
+		
+		return sum / (3.0D * Math.max(rGB0.length, 1));
+	}
+	
+	private static int doGetDifferingPixels(final int[] rGB0, final int[] rGB1) {
+		int differingPixels = 0;
+		
+		for(int i = 0; i < rGB0.length; i++) {
+			for(int shift = 0; shift < 24; shift += 8) {
+				if(Math.abs(((rGB0[i] >> shift) & 0xFF) - ((rGB1[i] >> shift) & 0xFF)) > DIFFERENCE_THRESHOLD) {
+					differingPixels++;
+					
+					break;
+				}
+			}
+		}
+		
+		return differingPixels;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Result {
+		private final int[] rGB;
+		private final long nanos;
+		private final long rays;
+		private final long samples;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Result(final int[] rGB, final long nanos, final long samples, final long rays) {
+			this.rGB = rGB;
+			this.nanos = nanos;
+			this.samples = samples;
+			this.rays = rays;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public double getRaysPerSecond() {
+			return this.rays / (this.nanos / 1.0e9D);
+		}
+		
+		public double getSamplesPerSecond() {
+			return this.samples / (this.nanos / 1.0e9D);
+		}
+		
+		public double getWallTimeMillis() {
+			return this.nanos / 1.0e6D;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+
+import org.macroing.gdt.engine.camera.NewSimpleCamera;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.renderer.PathTracingRenderer;
+import org.macroing.gdt.engine.renderer.distributed.Worker;
+
+/**
+ * A headless benchmark that measures the end-to-end throughput of the {@link PathTracingRenderer}.
+ * <p>
+ * A reference {@link Scene} is rendered for a fixed budget of samples per pixel, once per {@code Thread} count. Rendering is deterministic and progressive refinement is disabled, so every run traces the same paths. The wall time, the number
+ * of samples and rays and the number of samples and rays per second are reported, together with the per-{@code Thread} efficiency relative to the first run.
+ * <p>
+ * The result is printed to {@code System.out} as either JSON or CSV, so it can be collected and compared by other tools.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class RenderBenchmark {
+	private static final String DEFAULT_FORMAT = "json";
+	private static final String DEFAULT_SCENE_NAME = "CornellBox";
+	private static final int DEFAULT_HEIGHT = 192;
+	private static final int DEFAULT_PASSES = 16;
+	private static final int DEFAULT_WIDTH = 256;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private RenderBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the name of the {@link Scene}, the width, the height, the number of samples per pixel, a comma-separated list of {@code Thread} counts and the output format, {@code "json"} or {@code "csv"}, in that
+	 * order. The names of the {@code Scene}s are the ones supported by {@link Worker#newScene(String)}.
+	 * 
+	 * @param args the parameter arguments
+	 * @throws InterruptedException thrown if, and only if, the current {@code Thread} was interrupted
+	 * @throws IOException thrown if, and only if, the {@code Scene} could not be created
+	 */
+	public static void main(final String[] args) throws InterruptedException, IOException {
+		final String sceneName = args.length > 0 ? args[0] : DEFAULT_SCENE_NAME;
+		final String format = args.length > 5 ? args[5] : DEFAULT_FORMAT;
+		
+		final int width = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WIDTH;
+		final int height = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_HEIGHT;
+		final int passes = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_PASSES;
+		
+		final List<Integer> threadCounts = args.length > 4 ? doParseThreadCounts(args[4]) : doCreateThreadCounts(Runtime.getRuntime().availableProcessors());
+		
+		if(!format.equals("csv") && !format.equals("json")) {
+			throw new IllegalArgumentException(String.format("Illegal format: %s", format));
+		}
+		
+		doRun(sceneName, width, height, 1, threadCounts.get(0).intValue());
+		
+		final List<Result> results = new ArrayList<>();
+		
+		for(final Integer threads : threadCounts) {
+			results.add(doRun(sceneName, width, height, passes, threads.intValue()));
+		}
+		
+		final Result result0 = results.get(0);
+		
+		final double samplesPerSecondPerThread0 = result0.getSamplesPerSecond() / result0.threads;
+		
+		if(format.equals("csv")) {
+			System.out.println("scene,width,height,samplesPerPixel,threads,wallTimeMillis,samples,rays,samplesPerSecond,raysPerSecond,samplesPerSecondPerThread,efficiency");
+			
+			for(final Result result : results) {
+				final double samplesPerSecondPerThread = result.getSamplesPerSecond() / result.threads;
+				
+				System.out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.3f,%d,%d,%.1f,%.1f,%.1f,%.4f", sceneName, Integer.valueOf(width), Integer.valueOf(height), Integer.valueOf(passes), Integer.valueOf(result.threads), Double.valueOf(result.getWallTimeMillis()), Long.valueOf(result.samples), Long.valueOf(result.rays), Double.valueOf(result.getSamplesPerSecond()), Double.valueOf(result.getRaysPerSecond()), Double.valueOf(samplesPerSecondPerThread), Double.valueOf(samplesPerSecondPerThread / samplesPerSecondPerThread0)));
+			}
+		} else {
+			final StringBuilder stringBuilder = new StringBuilder();
+			
+			stringBuilder.append(String.format(Locale.ROOT, "{\"scene\":\"%s\",\"width\":%d,\"height\":%d,\"samplesPerPixel\":%d,\"availableProcessors\":%d,\"runs\":[", sceneName, Integer.valueOf(width), Integer.valueOf(height), Integer.valueOf(passes), Integer.valueOf(Runtime.getRuntime().availableProcessors())));
+			
+			for(int i = 0; i < results.size(); i++) {
+				final Result result = results.get(i);
+				
+				final double samplesPerSecondPerThread = result.getSamplesPerSecond() / result.threads;
+				
+				stringBuilder.append(i > 0 ? "," : "");
+				stringBuilder.append(String.format(Locale.ROOT, "{\"threads\":%d,\"wallTimeMillis\":%.3f,\"samples\":%d,\"rays\":%d,\"samplesPerSecond\":%.1f,\"raysPerSecond\":%.1f,\"samplesPerSecondPerThread\":%.1f,\"efficiency\":%.4f}", Integer.valueOf(result.threads), Double.valueOf(result.getWallTimeMillis()), Long.valueOf(result.samples), Long.valueOf(result.rays), Double.valueOf(result.getSamplesPerSecond()), Double.valueOf(result.getRaysPerSecond()), Double.valueOf(samplesPerSecondPerThread), Double.valueOf(samplesPerSecondPerThread / samplesPerSecondPerThread0)));
+			}
+			
+			stringBuilder.append("]}");
+			
+			System.out.println(stringBuilder);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static List<Integer> doCreateThreadCounts(final int threadsMaximum) {
+		final List<Integer> threadCounts = new ArrayList<>();
+		
+		for(int threads = 1; threads < threadsMaximum; threads *= 2) {
+			threadCounts.add(Integer.valueOf(threads));
+		}
+		
+		threadCounts.add(Integer.valueOf(Math.max(threadsMaximum, 1)));
+		
+		return threadCounts;
+	}
+	
+	private static List<Integer> doParseThreadCounts(final String string) {
+		final List<Integer> threadCounts = new ArrayList<>();
+		
+		for(final String threads : string.split(",")) {
+			threadCounts.add(Integer.valueOf(Math.max(Integer.parseInt(threads.trim()), 1)));
+		}
+		
+		return threadCounts;
+	}
+	
+	private static Result doRun(final String sceneName, final int width, final int height, final int passes, final int threads) throws InterruptedException, IOException {
+		final Scene scene = Worker.newScene(sceneName);
+		
+		final
+		NewSimpleCamera newSimpleCamera = NewSimpleCamera.newInstance();
+		newSimpleCamera.setEye(new Point(50.0D, 42.0D, 155.6D));
+		newSimpleCamera.setLookAt(new Point(50.0D, 42.0D, -800.0D));
+		newSimpleCamera.setViewPlaneDistance(800.0D * width / 256.0D);
+		newSimpleCamera.calculateOrthonormalBasisFor(width, height);
+		
+		final
+		PathTracingRenderer pathTracingRenderer = PathTracingRenderer.newInstance();
+		pathTracingRenderer.setDeterministic(true);
+		pathTracingRenderer.setPrintingSamples(false);
+		pathTracingRenderer.setRefiningProgressively(false);
+		pathTracingRenderer.setScene(scene);
+		pathTracingRenderer.setSimpleCamera(newSimpleCamera);
+		pathTracingRenderer.setUsingSimpleCamera(true);
+		
+		final List<PixelIterable> pixelIterables = PixelIterable.createPixelIterablesFor(width, height, width, height, new int[width * height], threads);
+		
+		final CountDownLatch countDownLatch = new CountDownLatch(pixelIterables.size());
+		
+		final long nanoTime0 = System.nanoTime();
+		
+		for(final PixelIterable pixelIterable : pixelIterables) {
+			final
+			Thread thread = new Thread(() -> {
+				for(int pass = 0; pass < passes; pass++) {
+					pathTracingRenderer.render(pixelIterable, pixel -> {}, () -> false);
+				}
+				
+				countDownLatch.countDown();
+			});
+			thread.start();
+		}
+		
+		countDownLatch.await();
+		
+		final long nanoTime1 = System.nanoTime();
+		
+		return new Result(threads, nanoTime1 - nanoTime0, pathTracingRenderer.getSamples(), pathTracingRenderer.getMetrics().getPrimaryRays() + pathTracingRenderer.getMetrics().getSecondaryRays());
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Result {
+		private final int threads;
+		private final long nanos;
+		private final long rays;
+		private final long samples;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Result(final int threads, final long nanos, final long samples, final long rays) {
+			this.threads = threads;
+			this.nanos = nanos;
+			this.samples = samples;
+			this.rays = rays;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public double getRaysPerSecond() {
+			return this.rays / (this.nanos / 1.0e9D);
+		}
+		
+		public double getSamplesPerSecond() {
+			return this.samples / (this.nanos / 1.0e9D);
+		}
+		
+		public double getWallTimeMillis() {
+			return this.nanos / 1.0e6D;
+		}
+	}
+}
\ No newline at end of file
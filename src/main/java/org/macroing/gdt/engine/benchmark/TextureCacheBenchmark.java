@@ -0,0 +1,154 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+import org.macroing.gdt.engine.geometry.Spectrum;
+import org.macroing.gdt.engine.geometry.TextureCache;
+import org.macroing.gdt.engine.geometry.TileFile;
+import org.macroing.gdt.engine.geometry.TiledTexture;
+import org.macroing.gdt.engine.util.PRNG;
+import org.macroing.gdt.engine.util.XoshiroPRNG;
+
+/**
+ * A headless benchmark that measures the hit rate and the throughput of a {@link TextureCache}.
+ * <p>
+ * An image is preprocessed into a temporary {@link TileFile}, which is looked up through a {@link TiledTexture} with budgets of {@code 100%}, {@code 50%}, {@code 25%} and {@code 12.5%} of the size of the image. Two access patterns are used.
+ * The coherent pattern scans the texture row by row, several times, like a textured plane that fills the screen. The random pattern picks UV-coordinates uniformly at random, like a texture seen through many diffuse bounces.
+ * <p>
+ * For each budget and access pattern, the time per lookup, the number of hits, misses and evictions, the hit rate and the size of the tiles held at the end are reported. The result is printed to {@code System.out} as CSV.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TextureCacheBenchmark {
+	private static final String DEFAULT_IMAGE_FILENAME = "resources/jar/org/macroing/gdt/engine/geometry/Texture.jpg";
+	private static final double[] BUDGET_FRACTIONS = {1.0D, 0.5D, 0.25D, 0.125D};
+	private static final int DEFAULT_SCANS = 8;
+	private static final int LOOKUPS_PER_SCAN = 1 << 20;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TextureCacheBenchmark() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the name of the image file, the size of the tiles, the number of {@code Thread}s and the number of scans per run, in that order.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		final String imageFileName = args.length > 0 ? args[0] : DEFAULT_IMAGE_FILENAME;
+		
+		final int tileSize = args.length > 1 ? Integer.parseInt(args[1]) : TileFile.DEFAULT_TILE_SIZE;
+		final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		final int scans = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_SCANS;
+		
+		try {
+			final File file = File.createTempFile("TextureCacheBenchmark", ".tiles");
+			
+			file.deleteOnExit();
+			
+			final TileFile tileFile = TileFile.create(new File(imageFileName), file, tileSize);
+			
+			final long size = (long)(tileFile.getTileCount()) * tileSize * tileSize * Integer.BYTES;
+			
+			System.out.println("pattern,width,height,tileSize,tiles,threads,budget,lookups,nanosPerLookup,hits,misses,evictions,hitRate,sizeInBytes");
+			
+			for(final boolean isCoherent : new boolean[] {true, false}) {
+				for(final double budgetFraction : BUDGET_FRACTIONS) {
+					final TextureCache textureCache = TextureCache.newInstance((long)(size * budgetFraction));
+					
+					final TiledTexture tiledTexture = TiledTexture.newInstance(tileFile, textureCache);
+					
+					doRun(tiledTexture, isCoherent, threads, 1);
+					
+					textureCache.clear();
+					textureCache.resetStatistics();
+					
+					final long nanos = doRun(tiledTexture, isCoherent, threads, scans);
+					final long lookups = (long)(threads) * scans * LOOKUPS_PER_SCAN;
+					
+					System.out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d,%.2f,%d,%d,%d,%.4f,%d", isCoherent ? "Coherent" : "Random", Integer.valueOf(tileFile.getWidth()), Integer.valueOf(tileFile.getHeight()), Integer.valueOf(tileSize), Integer.valueOf(tileFile.getTileCount()), Integer.valueOf(threads), Long.valueOf(textureCache.getBudget()), Long.valueOf(lookups), Double.valueOf((double)(nanos) * threads / lookups), Long.valueOf(textureCache.getHits()), Long.valueOf(textureCache.getMisses()), Long.valueOf(textureCache.getEvictions()), Double.valueOf(textureCache.getHitRate()), Long.valueOf(textureCache.getSizeInBytes())));
+				}
+			}
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doRun(final TiledTexture tiledTexture, final boolean isCoherent, final int threads, final int scans) {
+		final List<Thread> threadList = new ArrayList<>();
+		
+		for(int i = 0; i < threads; i++) {
+			final long seed = i;
+			
+			threadList.add(new Thread(() -> doScan(tiledTexture, isCoherent, seed, scans)));
+		}
+		
+		final long nanoTime0 = System.nanoTime();
+		
+		for(final Thread thread : threadList) {
+			thread.start();
+		}
+		
+		for(final Thread thread : threadList) {
+			try {
+				thread.join();
+			} catch(final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		
+		final long nanoTime1 = System.nanoTime();
+		
+		return nanoTime1 - nanoTime0;
+	}
+	
+	private static void doScan(final TiledTexture tiledTexture, final boolean isCoherent, final long seed, final int scans) {
+		final PRNG pRNG = XoshiroPRNG.newInstance(seed);
+		
+		final Spectrum color = RGBSpectrum.black();
+		
+		final int resolution = 1 << 10;
+		
+		for(int scan = 0; scan < scans; scan++) {
+			for(int i = 0; i < LOOKUPS_PER_SCAN; i++) {
+				final double u = isCoherent ? ((i % resolution) + pRNG.nextDouble()) / resolution * 2.0D - 1.0D : pRNG.nextDouble() * 2.0D - 1.0D;
+				final double v = isCoherent ? ((i / resolution) + pRNG.nextDouble()) / resolution * 2.0D - 1.0D : pRNG.nextDouble() * 2.0D - 1.0D;
+				
+				tiledTexture.getColorAt(u, v, color);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+/**
+ * Provides benchmarks that can be run to measure the performance of this engine.
+ * <p>
+ * Each benchmark is a class with a {@code main} method, and it prints its results to the standard output stream.
+ */
+package org.macroing.gdt.engine.benchmark;
@@ -60,6 +60,39 @@ public final class NewSimpleCamera extends SimpleCamera {
 		return new Ray(0, origin, direction);
 	}
 	
+	@Override
+	public Ray newRay(final double u, final double v, final Ray ray) {
+		final double directionX = this.u.getX() * u + this.v.getX() * v - this.w.getX() * this.viewPlaneDistance;
+		final double directionY = this.u.getY() * u + this.v.getY() * v - this.w.getY() * this.viewPlaneDistance;
+		final double directionZ = this.u.getZ() * u + this.v.getZ() * v - this.w.getZ() * this.viewPlaneDistance;
+		
+		getEye(ray.getOrigin());
+		
+		ray.getDirection().set(directionX, directionY, directionZ).normalize();
+		ray.setDepth(0);
+		ray.setTime(0.0D);
+		
+		return ray;
+	}
+	
+	@Override
+	public Point project(final Point point) {
+		final Point origin = getEye();
+		
+		final Vector direction = point.copy().subtract(origin).toVector();
+		
+		final double distance = -direction.dotProduct(this.w);
+		
+		if(distance <= 0.0D) {
+			return null;
+		}
+		
+		final double u = direction.dotProduct(this.u) * this.viewPlaneDistance / distance;
+		final double v = direction.dotProduct(this.v) * this.viewPlaneDistance / distance;
+		
+		return new Point(u, v, direction.length());
+	}
+	
 	@Override
 	public void calculateOrthonormalBasisFor(final double width, final double height) {
 		this.w.set(getEye().subtract(this.lookAt).toVector());
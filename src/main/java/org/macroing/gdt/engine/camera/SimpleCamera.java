@@ -45,8 +45,46 @@ public abstract class SimpleCamera implements ConfigurationObserver {
 		return this.eye.copy();
 	}
 	
+	public final Point getEye(final Point eye) {
+		return eye.set(this.eye);
+	}
+	
 	public abstract Ray newRay(final double u, final double v);
 	
+	/**
+	 * Sets {@code ray} to the {@link Ray} that would be returned by {@code newRay(u, v)}.
+	 * <p>
+	 * Returns {@code ray}.
+	 * <p>
+	 * By default this method calls {@code newRay(u, v)} and copies the result. Subclasses are encouraged to override it, such that no new objects are created.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param ray the {@code Ray} to set
+	 * @return {@code ray}
+	 * @throws NullPointerException thrown if, and only if, {@code ray} is {@code null}
+	 */
+	public Ray newRay(final double u, final double v, final Ray ray) {
+		ray.set(newRay(u, v));
+		
+		return ray;
+	}
+	
+	/**
+	 * Projects {@code point} onto the view plane of this {@code SimpleCamera} instance.
+	 * <p>
+	 * Returns a {@link Point} whose X- and Y-components are the coordinates {@code u} and {@code v}, such that {@code newRay(u, v)} passes through {@code point}, and whose Z-component is the distance from the origin of that {@link Ray} to
+	 * {@code point}. If {@code point} is behind this {@code SimpleCamera}, or projection is not supported, {@code null} will be returned.
+	 * <p>
+	 * By default projection is not supported.
+	 * 
+	 * @param point the {@code Point} to project
+	 * @return a {@code Point} with the coordinates {@code u} and {@code v} and the distance to {@code point}, or {@code null}
+	 */
+	public Point project(final Point point) {
+		return null;
+	}
+	
 	public final Vector getUp() {
 		return this.up.copy();
 	}
@@ -25,7 +25,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
+import org.macroing.gdt.engine.jfr.ConfigurationEvent;
 import org.macroing.gdt.engine.util.Lock;
 import org.macroing.gdt.engine.util.Ranges;
 
@@ -42,6 +44,8 @@ public final class Configuration {
 	private static final int DEFAULT_HEIGHT_SCALE_FOR_QUALITY = 1;
 	private static final int DEFAULT_HEIGHT_SCALE_FOR_QUALITY_AND_SUPERSAMPLING_WITH_DOWNSCALING = 2;
 	private static final int DEFAULT_HEIGHT_SCALE_FOR_SPEED = 4;
+	private static final int DEFAULT_SAMPLES_PER_FRAME = 1;
+	private static final int DEFAULT_TARGET_FRAME_TIME_MILLIS = 33;
 	private static final int DEFAULT_WIDTH = 1024;
 	private static final int DEFAULT_WIDTH_SCALE_FOR_QUALITY = 1;
 	private static final int DEFAULT_WIDTH_SCALE_FOR_QUALITY_AND_SUPERSAMPLING_WITH_DOWNSCALING = 2;
@@ -54,6 +58,8 @@ public final class Configuration {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private final AtomicBoolean isAdaptingResolution = new AtomicBoolean();
+	private final AtomicBoolean isDenoising = new AtomicBoolean();
 	private final AtomicBoolean isRenderingInRealtime = new AtomicBoolean();
 	private final AtomicBoolean isSkippingProbabilisticallyTerminatingRay = new AtomicBoolean();
 	private final AtomicBoolean isSupersamplingWithDownscaling = new AtomicBoolean();
@@ -62,6 +68,8 @@ public final class Configuration {
 	private final AtomicInteger heightScaleForQuality = new AtomicInteger(DEFAULT_HEIGHT_SCALE_FOR_QUALITY);
 	private final AtomicInteger heightScaleForQualityAndSupersamplingWithDownscaling = new AtomicInteger(DEFAULT_HEIGHT_SCALE_FOR_QUALITY_AND_SUPERSAMPLING_WITH_DOWNSCALING);
 	private final AtomicInteger heightScaleForSpeed = new AtomicInteger(DEFAULT_HEIGHT_SCALE_FOR_SPEED);
+	private final AtomicInteger samplesPerFrame = new AtomicInteger(DEFAULT_SAMPLES_PER_FRAME);
+	private final AtomicInteger targetFrameTimeMillis = new AtomicInteger(DEFAULT_TARGET_FRAME_TIME_MILLIS);
 	private final AtomicInteger width = new AtomicInteger(DEFAULT_WIDTH);
 	private final AtomicInteger widthScaleForQuality = new AtomicInteger(DEFAULT_WIDTH_SCALE_FOR_QUALITY);
 	private final AtomicInteger widthScaleForQualityAndSupersamplingWithDownscaling = new AtomicInteger(DEFAULT_WIDTH_SCALE_FOR_QUALITY_AND_SUPERSAMPLING_WITH_DOWNSCALING);
@@ -78,10 +86,18 @@ public final class Configuration {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	public boolean isAdaptingResolution() {
+		return this.lock.getIfUnlocked(() -> Boolean.valueOf(this.isAdaptingResolution.get())).booleanValue();
+	}
+	
 	public boolean isConfiguring() {
 		return this.lock.isLocked();
 	}
 	
+	public boolean isDenoising() {
+		return this.lock.getIfUnlocked(() -> Boolean.valueOf(this.isDenoising.get())).booleanValue();
+	}
+	
 	public boolean isRenderingInRealtime() {
 		return this.lock.getIfUnlocked(() -> Boolean.valueOf(this.isRenderingInRealtime.get())).booleanValue();
 	}
@@ -122,6 +138,14 @@ public final class Configuration {
 		return this.lock.getIfUnlocked(() -> Integer.valueOf(this.heightScaleForSpeed.get())).intValue();
 	}
 	
+	public int getSamplesPerFrame() {
+		return this.lock.getIfUnlocked(() -> Integer.valueOf(this.samplesPerFrame.get())).intValue();
+	}
+	
+	public int getTargetFrameTimeMillis() {
+		return this.lock.getIfUnlocked(() -> Integer.valueOf(this.targetFrameTimeMillis.get())).intValue();
+	}
+	
 	public int getWidth() {
 		return this.lock.getIfUnlocked(() -> Integer.valueOf(this.width.get())).intValue();
 	}
@@ -164,6 +188,18 @@ public final class Configuration {
 		this.configurationObservers.remove(Objects.requireNonNull(configurationObserver, "configurationObserver == null"));
 	}
 	
+	public void setAdaptingResolution(final boolean isAdaptingResolution) {
+		this.isAdaptingResolution.set(isAdaptingResolution);
+		
+		doNotify(configurationObserver -> configurationObserver.onUpdateOfAdaptingResolution(this));
+	}
+	
+	public void setDenoising(final boolean isDenoising) {
+		this.isDenoising.set(isDenoising);
+		
+		doNotify(configurationObserver -> configurationObserver.onUpdateOfDenoising(this));
+	}
+	
 	public void setDepthUntilProbabilisticallyTerminatingRay(final int depthUntilProbabilisticallyTerminatingRay) {
 		this.depthUntilProbabilisticallyTerminatingRay.set(Ranges.requireRange(depthUntilProbabilisticallyTerminatingRay, 0, Integer.MAX_VALUE));
 		
@@ -200,6 +236,19 @@ public final class Configuration {
 		doNotifyOfOnUpdate();
 	}
 	
+	public void setSamplesPerFrame(final int samplesPerFrame) {
+		this.samplesPerFrame.set(Ranges.requireRange(samplesPerFrame, 1, Integer.MAX_VALUE));
+		
+		doNotify(configurationObserver -> configurationObserver.onUpdateOfSamplesPerFrame(this));
+	}
+	
+	public void setScaleForSpeed(final int widthScaleForSpeed, final int heightScaleForSpeed) {
+		this.widthScaleForSpeed.set(Ranges.requireRange(widthScaleForSpeed, 0, Integer.MAX_VALUE));
+		this.heightScaleForSpeed.set(Ranges.requireRange(heightScaleForSpeed, 0, Integer.MAX_VALUE));
+		
+		doNotifyOfOnUpdate();
+	}
+	
 	public void setSkippingProbabilisticallyTerminatingRay(final boolean isSkippingProbabilisticallyTerminatingRay) {
 		this.isSkippingProbabilisticallyTerminatingRay.set(isSkippingProbabilisticallyTerminatingRay);
 		
@@ -212,6 +261,12 @@ public final class Configuration {
 		doNotifyOfOnUpdate();
 	}
 	
+	public void setTargetFrameTimeMillis(final int targetFrameTimeMillis) {
+		this.targetFrameTimeMillis.set(Ranges.requireRange(targetFrameTimeMillis, 1, Integer.MAX_VALUE));
+		
+		doNotifyOfOnUpdate();
+	}
+	
 	public void setTitle(final String title) {
 		this.title.set(Objects.requireNonNull(title, "title == null"));
 		
@@ -264,7 +319,26 @@ public final class Configuration {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private void doNotify(final Consumer<ConfigurationObserver> consumer) {
+		final ConfigurationEvent configurationEvent = new ConfigurationEvent();
+		
+		configurationEvent.begin();
+		
+		this.configurationObservers.forEach(consumer);
+		
+		if(configurationEvent.shouldCommit()) {
+			configurationEvent.width = getWidth();
+			configurationEvent.height = getHeight();
+			configurationEvent.widthScaled = getWidthScaled();
+			configurationEvent.heightScaled = getHeightScaled();
+			configurationEvent.samplesPerFrame = getSamplesPerFrame();
+			configurationEvent.isRenderingInRealtime = isRenderingInRealtime();
+			configurationEvent.observers = this.configurationObservers.size();
+			configurationEvent.commit();
+		}
+	}
+	
 	private void doNotifyOfOnUpdate() {
-		this.configurationObservers.forEach(configurationObserver -> configurationObserver.onUpdate(this));
+		doNotify(configurationObserver -> configurationObserver.onUpdate(this));
 	}
 }
\ No newline at end of file
@@ -34,4 +34,47 @@ public interface ConfigurationObserver {
 	 * @throws NullPointerException thrown if, and only if, {@code configuration} is {@code null}
 	 */
 	void onUpdate(final Configuration configuration);
+	
+	/**
+	 * Called by a {@link Configuration} instance when only its adaptive resolution flag has been updated.
+	 * <p>
+	 * The flag only enables or disables the adjustments of a {@link DynamicResolutionController} and does not change the resolution itself, so observers that only depend on the resolution may ignore this update. By default
+	 * {@code onUpdate(configuration)} is called.
+	 * <p>
+	 * If {@code configuration} is {@code null}, a {@code NullPointerException} may be thrown. But no guarantees can be made. Although, if it's {@code null}, that's a bug, either in our or some third-party code.
+	 * 
+	 * @param configuration the {@code Configuration} that was updated prior to this method call
+	 * @throws NullPointerException thrown if, and only if, {@code configuration} is {@code null}
+	 */
+	default void onUpdateOfAdaptingResolution(final Configuration configuration) {
+		onUpdate(configuration);
+	}
+	
+	/**
+	 * Called by a {@link Configuration} instance when only its denoising flag has been updated.
+	 * <p>
+	 * Denoising only affects how the rendered image is resolved, so observers that only depend on the resolution may ignore this update. By default {@code onUpdate(configuration)} is called.
+	 * <p>
+	 * If {@code configuration} is {@code null}, a {@code NullPointerException} may be thrown. But no guarantees can be made. Although, if it's {@code null}, that's a bug, either in our or some third-party code.
+	 * 
+	 * @param configuration the {@code Configuration} that was updated prior to this method call
+	 * @throws NullPointerException thrown if, and only if, {@code configuration} is {@code null}
+	 */
+	default void onUpdateOfDenoising(final Configuration configuration) {
+		onUpdate(configuration);
+	}
+	
+	/**
+	 * Called by a {@link Configuration} instance when only its samples per frame have been updated.
+	 * <p>
+	 * The samples per frame do not change the resolution, so observers that only depend on the resolution may ignore this update. By default {@code onUpdate(configuration)} is called.
+	 * <p>
+	 * If {@code configuration} is {@code null}, a {@code NullPointerException} may be thrown. But no guarantees can be made. Although, if it's {@code null}, that's a bug, either in our or some third-party code.
+	 * 
+	 * @param configuration the {@code Configuration} that was updated prior to this method call
+	 * @throws NullPointerException thrown if, and only if, {@code configuration} is {@code null}
+	 */
+	default void onUpdateOfSamplesPerFrame(final Configuration configuration) {
+		onUpdate(configuration);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.configuration;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A {@code DynamicResolutionController} adjusts the realtime resolution and the samples per frame of a {@link Configuration} in order to hold a target frame time.
+ * <p>
+ * A frame is usually rendered by several {@code Thread}s, each rendering a slice of it. Each {@code Thread} reports its slice by calling {@link #onSlice(int, int, long, long)}. Once all slices have been reported, the wall-clock time from
+ * the start of the first slice to the end of the last is reported as a single frame, by calling {@link #onFrame(long)}.
+ * <p>
+ * Each call to {@code onFrame(long)} updates an exponential moving average of the measured frame time. When the average exceeds the target frame time by more than {@code 20%}, the samples per frame are reduced first and the resolution
+ * second. The resolution or the samples per frame are only increased if the predicted frame time stays below {@code 90%} of the target. The band between the two thresholds, together with a minimum number of frames between two adjustments,
+ * prevents the controller from oscillating.
+ * <p>
+ * All adjustments are made via the setters of {@code Configuration}, so any {@link ConfigurationObserver} will be notified of them.
+ * <p>
+ * The controller is only active if both {@code configuration.isRenderingInRealtime()} and {@code configuration.isAdaptingResolution()} return {@code true}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class DynamicResolutionController {
+	private static final double LOWER_THRESHOLD = 0.9D;
+	private static final double SMOOTHING_FACTOR = 0.2D;
+	private static final double UPPER_THRESHOLD = 1.2D;
+	private static final int MAXIMUM_SAMPLES_PER_FRAME = 16;
+	private static final int MAXIMUM_SCALE = 8;
+	private static final int MINIMUM_FRAMES_BETWEEN_ADJUSTMENTS = 10;
+	private static final int MINIMUM_SCALE = 1;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final Configuration configuration;
+	private boolean[] slicesReported = new boolean[0];
+	private double averageFrameTimeNanos;
+	private int frames;
+	private int slices;
+	private long frameEndTimeNanos;
+	private long frameStartTimeNanos;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private DynamicResolutionController(final Configuration configuration) {
+		this.configuration = Objects.requireNonNull(configuration, "configuration == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link Configuration} that is controlled by this {@code DynamicResolutionController} instance.
+	 * 
+	 * @return the {@code Configuration} that is controlled by this {@code DynamicResolutionController} instance
+	 */
+	public Configuration getConfiguration() {
+		return this.configuration;
+	}
+	
+	/**
+	 * Returns the current average frame time in milliseconds, or {@code 0.0D} if no frames have been measured since the last adjustment.
+	 * 
+	 * @return the current average frame time in milliseconds, or {@code 0.0D} if no frames have been measured since the last adjustment
+	 */
+	public synchronized double getAverageFrameTimeMillis() {
+		return this.averageFrameTimeNanos / 1000000.0D;
+	}
+	
+	/**
+	 * Called when a frame has been rendered.
+	 * <p>
+	 * Frames that were cancelled should not be reported, as their frame time is not representative.
+	 * <p>
+	 * If the frame is rendered in slices by several {@code Thread}s, use {@link #onSlice(int, int, long, long)} instead.
+	 * 
+	 * @param frameTimeNanos the time it took to render the frame, in nanoseconds
+	 */
+	public synchronized void onFrame(final long frameTimeNanos) {
+		final Configuration configuration = this.configuration;
+		
+		if(!configuration.isRenderingInRealtime() || !configuration.isAdaptingResolution()) {
+			reset();
+			
+			return;
+		}
+		
+		this.averageFrameTimeNanos = this.frames == 0 ? frameTimeNanos : this.averageFrameTimeNanos + SMOOTHING_FACTOR * (frameTimeNanos - this.averageFrameTimeNanos);
+		this.frames++;
+		
+		if(this.frames < MINIMUM_FRAMES_BETWEEN_ADJUSTMENTS) {
+			return;
+		}
+		
+		final double averageFrameTimeNanos = this.averageFrameTimeNanos;
+		final double targetFrameTimeNanos = configuration.getTargetFrameTimeMillis() * 1000000.0D;
+		
+		final int samplesPerFrame = configuration.getSamplesPerFrame();
+		final int scale = Math.max(configuration.getWidthScaleForSpeed(), configuration.getHeightScaleForSpeed());
+		
+		if(averageFrameTimeNanos > targetFrameTimeNanos * UPPER_THRESHOLD) {
+			if(samplesPerFrame > 1) {
+				configuration.setSamplesPerFrame(samplesPerFrame - 1);
+				
+				reset();
+			} else if(scale < MAXIMUM_SCALE) {
+				configuration.setScaleForSpeed(scale + 1, scale + 1);
+				
+				reset();
+			}
+		} else if(scale > MINIMUM_SCALE) {
+			final double ratio = (double)(scale) / (scale - 1);
+			
+			if(averageFrameTimeNanos * ratio * ratio < targetFrameTimeNanos * LOWER_THRESHOLD) {
+				configuration.setScaleForSpeed(scale - 1, scale - 1);
+				
+				reset();
+			}
+		} else if(samplesPerFrame < MAXIMUM_SAMPLES_PER_FRAME) {
+			if(averageFrameTimeNanos * (samplesPerFrame + 1) / samplesPerFrame < targetFrameTimeNanos * LOWER_THRESHOLD) {
+				configuration.setSamplesPerFrame(samplesPerFrame + 1);
+				
+				reset();
+			}
+		}
+	}
+	
+	/**
+	 * Called when the slice with index {@code index} of a frame has been rendered.
+	 * <p>
+	 * A frame is complete once each of the {@code slices} slices has been reported. It is then reported by calling {@link #onFrame(long)}, with the time from the earliest start to the latest end of its slices. If a slice is reported again
+	 * before the frame is complete, the report is ignored. If {@code slices} changes, the incomplete frame is discarded.
+	 * <p>
+	 * Slices that were cancelled should not be reported, as their time is not representative.
+	 * <p>
+	 * This method is thread-safe and may be called by all threads that render slices of the same frame.
+	 * <p>
+	 * If either {@code slices} is less than {@code 1} or {@code index} is not in the range {@code [0, slices)}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param index the index of the slice
+	 * @param slices the number of slices per frame
+	 * @param startTimeNanos the value of {@code System.nanoTime()} when the rendering of the slice started
+	 * @param endTimeNanos the value of {@code System.nanoTime()} when the rendering of the slice ended
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code slices} is less than {@code 1} or {@code index} is not in the range {@code [0, slices)}
+	 */
+	public synchronized void onSlice(final int index, final int slices, final long startTimeNanos, final long endTimeNanos) {
+		if(slices < 1 || index < 0 || index >= slices) {
+			throw new IllegalArgumentException(String.format("slices < 1 || index < 0 || index >= slices: index == %d, slices == %d", Integer.valueOf(index), Integer.valueOf(slices)));
+		}
+		
+		if(slices != this.slicesReported.length) {
+			this.slicesReported = new boolean[slices];
+			this.slices = 0;
+		}
+		
+		if(this.slicesReported[index]) {
+			return;
+		}
+		
+		if(this.slices == 0) {
+			this.frameStartTimeNanos = startTimeNanos;
+			this.frameEndTimeNanos = endTimeNanos;
+		} else {
+			this.frameStartTimeNanos = Math.min(this.frameStartTimeNanos, startTimeNanos);
+			this.frameEndTimeNanos = Math.max(this.frameEndTimeNanos, endTimeNanos);
+		}
+		
+		this.slicesReported[index] = true;
+		this.slices++;
+		
+		if(this.slices == slices) {
+			Arrays.fill(this.slicesReported, false);
+			
+			this.slices = 0;
+			
+			onFrame(this.frameEndTimeNanos - this.frameStartTimeNanos);
+		}
+	}
+	
+	/**
+	 * Resets the measurements of this {@code DynamicResolutionController} instance.
+	 * <p>
+	 * This does not change the {@link Configuration}.
+	 */
+	public synchronized void reset() {
+		Arrays.fill(this.slicesReported, false);
+		
+		this.averageFrameTimeNanos = 0.0D;
+		this.frames = 0;
+		this.slices = 0;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code DynamicResolutionController} instance that controls {@code configuration}.
+	 * <p>
+	 * If {@code configuration} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param configuration the {@link Configuration} to control
+	 * @return a new {@code DynamicResolutionController} instance that controls {@code configuration}
+	 * @throws NullPointerException thrown if, and only if, {@code configuration} is {@code null}
+	 */
+	public static DynamicResolutionController newInstance(final Configuration configuration) {
+		return new DynamicResolutionController(configuration);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.display;
+
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+import org.macroing.gdt.engine.geometry.Vector;
+
+/**
+ * An {@code AOV}, or arbitrary output value, is a per-{@link Pixel} quantity that is captured from the primary hits, in addition to the rendered color.
+ * <p>
+ * {@code AOV}s are useful for denoisers, upscalers, debugging tools and compositing. They can be extracted from a {@link Film} and written to disk using the {@link AOVs} class.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public enum AOV {
+	/**
+	 * An {@code AOV} with the average albedo of the primary hits, using three channels.
+	 */
+	ALBEDO("Albedo", 3) {
+		@Override
+		public void copyTo(final Pixel pixel, final double[] values, final int offset) {
+			final RGBSpectrum albedo = pixel.getAlbedo();
+			
+			values[offset + 0] = albedo.getCoefficient(0);
+			values[offset + 1] = albedo.getCoefficient(1);
+			values[offset + 2] = albedo.getCoefficient(2);
+		}
+	},
+	
+	/**
+	 * An {@code AOV} with the average distance to the primary hits, using one channel. {@code Double.POSITIVE_INFINITY} is used if there are no primary hits.
+	 */
+	DEPTH("Depth", 1) {
+		@Override
+		public void copyTo(final Pixel pixel, final double[] values, final int offset) {
+			values[offset] = pixel.getDepth();
+		}
+	},
+	
+	/**
+	 * An {@code AOV} with the material ID of the first primary hit, using one channel. {@code -1.0D} is used if there are no primary hits.
+	 */
+	MATERIAL_ID("Material ID", 1) {
+		@Override
+		public void copyTo(final Pixel pixel, final double[] values, final int offset) {
+			values[offset] = pixel.getMaterialID();
+		}
+	},
+	
+	/**
+	 * An {@code AOV} with the normalized average surface normal of the primary hits, using three channels.
+	 */
+	NORMAL("Normal", 3) {
+		@Override
+		public void copyTo(final Pixel pixel, final double[] values, final int offset) {
+			final Vector normal = pixel.getNormal();
+			
+			values[offset + 0] = normal.getX();
+			values[offset + 1] = normal.getY();
+			values[offset + 2] = normal.getZ();
+		}
+	},
+	
+	/**
+	 * An {@code AOV} with the shape ID of the first primary hit, using one channel. {@code -1.0D} is used if there are no primary hits.
+	 */
+	SHAPE_ID("Shape ID", 1) {
+		@Override
+		public void copyTo(final Pixel pixel, final double[] values, final int offset) {
+			values[offset] = pixel.getShapeID();
+		}
+	};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final int channels;
+	private final String toString;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private AOV(final String toString, final int channels) {
+		this.toString = toString;
+		this.channels = channels;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code String} representation of this {@code AOV}.
+	 * 
+	 * @return a {@code String} representation of this {@code AOV}
+	 */
+	@Override
+	public String toString() {
+		return this.toString;
+	}
+	
+	/**
+	 * Returns the number of channels used by this {@code AOV}.
+	 * 
+	 * @return the number of channels used by this {@code AOV}
+	 */
+	public int getChannels() {
+		return this.channels;
+	}
+	
+	/**
+	 * Copies the value of this {@code AOV} for {@code pixel} to {@code values}, starting at {@code offset}.
+	 * <p>
+	 * If either {@code pixel} or {@code values} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code offset} is less than {@code 0}, or {@code offset + getChannels()} is greater than {@code values.length}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param pixel the {@link Pixel} to copy the value from
+	 * @param values the array to copy the value to
+	 * @param offset the offset in {@code values} to start at
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code offset} is less than {@code 0}, or {@code offset + getChannels()} is greater than {@code values.length}
+	 * @throws NullPointerException thrown if, and only if, either {@code pixel} or {@code values} are {@code null}
+	 */
+	public abstract void copyTo(final Pixel pixel, final double[] values, final int offset);
+}
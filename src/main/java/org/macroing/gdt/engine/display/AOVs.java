@@ -0,0 +1,164 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.display;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * A class that consists exclusively of static methods that extracts and writes {@link AOV}s of a {@link Film}.
+ * <p>
+ * {@code AOV}s are written in the Portable Float Map (PFM) format, which stores uncompressed 32-bit floating point values. It is supported by most compositing and image processing applications.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class AOVs {
+	private AOVs() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns an array with the values of {@code aov} for all {@link Pixel}s of {@code film}.
+	 * <p>
+	 * The returned array has a length of {@code film.getWidth() * film.getHeight() * aov.getChannels()}. The values of the {@code Pixel} at {@code (x, y)} start at the index {@code (y * film.getWidth() + x) * aov.getChannels()}.
+	 * <p>
+	 * The rows of {@code film} are extracted in parallel.
+	 * <p>
+	 * If either {@code film} or {@code aov} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to extract the values from
+	 * @param aov the {@link AOV} to extract
+	 * @return an array with the values of {@code aov} for all {@code Pixel}s of {@code film}
+	 * @throws NullPointerException thrown if, and only if, either {@code film} or {@code aov} are {@code null}
+	 */
+	public static double[] toArray(final Film film, final AOV aov) {
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		final int channels = aov.getChannels();
+		
+		final double[] values = new double[width * height * channels];
+		
+		IntStream.range(0, height).parallel().forEach(y -> {
+			for(int x = 0; x < width; x++) {
+				aov.copyTo(film.getPixel(x, y), values, (y * width + x) * channels);
+			}
+		});
+		
+		return values;
+	}
+	
+	/**
+	 * Writes all {@link AOV}s of {@code film} to {@code directory}.
+	 * <p>
+	 * Each {@code AOV} is written to a file named after the {@code name()} of the {@code AOV} in lower case, such as {@code depth.pfm}.
+	 * <p>
+	 * If either {@code film} or {@code directory} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to write the {@code AOV}s of
+	 * @param directory the directory to write the {@code AOV}s to
+	 * @throws IOException thrown if, and only if, an I/O-error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code film} or {@code directory} are {@code null}
+	 */
+	public static void write(final Film film, final File directory) throws IOException {
+		Objects.requireNonNull(film, "film == null");
+		Objects.requireNonNull(directory, "directory == null");
+		
+		for(final AOV aov : AOV.values()) {
+			write(film, aov, new File(directory, aov.name().toLowerCase() + ".pfm"));
+		}
+	}
+	
+	/**
+	 * Writes {@code aov} of {@code film} to {@code file}.
+	 * <p>
+	 * If either {@code film}, {@code aov} or {@code file} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to write {@code aov} of
+	 * @param aov the {@link AOV} to write
+	 * @param file the file to write to
+	 * @throws IOException thrown if, and only if, an I/O-error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code film}, {@code aov} or {@code file} are {@code null}
+	 */
+	public static void write(final Film film, final AOV aov, final File file) throws IOException {
+		Objects.requireNonNull(file, "file == null");
+		
+		try(final OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(file))) {
+			write(film, aov, outputStream);
+		}
+	}
+	
+	/**
+	 * Writes {@code aov} of {@code film} to {@code outputStream}.
+	 * <p>
+	 * The rows are written bottom-to-top in little-endian byte order, as required by the Portable Float Map (PFM) format. {@code outputStream} is not closed by this method.
+	 * <p>
+	 * If either {@code film}, {@code aov} or {@code outputStream} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to write {@code aov} of
+	 * @param aov the {@link AOV} to write
+	 * @param outputStream the {@code OutputStream} to write to
+	 * @throws IOException thrown if, and only if, an I/O-error occurs
+	 * @throws NullPointerException thrown if, and only if, either {@code film}, {@code aov} or {@code outputStream} are {@code null}
+	 */
+	public static void write(final Film film, final AOV aov, final OutputStream outputStream) throws IOException {
+		Objects.requireNonNull(outputStream, "outputStream == null");
+		
+		final double[] values = toArray(film, aov);
+		
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		final int channels = aov.getChannels();
+		
+		final String header = String.format("%s\n%d %d\n-1.0\n", channels == 1 ? "Pf" : "PF", Integer.valueOf(width), Integer.valueOf(height));
+		
+		outputStream.write(header.getBytes(StandardCharsets.US_ASCII));
+		
+		final ByteBuffer byteBuffer = ByteBuffer.allocate(width * channels * 4).order(ByteOrder.LITTLE_ENDIAN);
+		
+//		Film rows are stored bottom-to-top already, with y = 0 being the bottom row of the image.
+		for(int y = 0; y < height; y++) {
+			byteBuffer.clear();
+			
+			for(int i = y * width * channels, j = i + width * channels; i < j; i++) {
+				byteBuffer.putFloat((float)(values[i]));
+			}
+			
+			outputStream.write(byteBuffer.array(), 0, byteBuffer.position());
+		}
+		
+		outputStream.flush();
+	}
+}
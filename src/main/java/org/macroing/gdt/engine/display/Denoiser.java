@@ -0,0 +1,409 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.display;
+
+import java.util.stream.IntStream;
+
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+import org.macroing.gdt.engine.geometry.Vector;
+import org.macroing.gdt.engine.util.Ranges;
+
+/**
+ * A {@code Denoiser} implements an edge-avoiding &#224;-trous wavelet filter, guided by the albedo, surface normal and depth of the primary hits.
+ * <p>
+ * The color of each {@link Pixel} is first divided by its albedo, such that the texture detail is not blurred. The resulting illumination is then filtered a number of iterations with a {@code 5 * 5} B3-spline kernel, whose taps are spread
+ * {@code 2^iteration} {@code Pixel}s apart. Each tap is weighted by how similar it is to the center in terms of illumination, albedo, surface normal and depth. Finally the illumination is multiplied by the albedo again.
+ * <p>
+ * The rows of the {@link Film} are filtered in parallel.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Denoiser {
+	/**
+	 * The default number of iterations.
+	 */
+	public static final int DEFAULT_ITERATIONS = 5;
+	
+	/**
+	 * The default sigma for differences in albedo.
+	 */
+	public static final double DEFAULT_SIGMA_ALBEDO = 0.1D;
+	
+	/**
+	 * The default sigma for differences in illumination.
+	 */
+	public static final double DEFAULT_SIGMA_COLOR = 4.0D;
+	
+	/**
+	 * The default sigma for relative differences in depth.
+	 */
+	public static final double DEFAULT_SIGMA_DEPTH = 0.05D;
+	
+	/**
+	 * The default exponent for the cosine of the angle between surface normals.
+	 */
+	public static final double DEFAULT_SIGMA_NORMAL = 64.0D;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final double ALBEDO_MINIMUM = 0.001D;
+	private static final double[] KERNEL = {1.0D / 16.0D, 1.0D / 4.0D, 3.0D / 8.0D, 1.0D / 4.0D, 1.0D / 16.0D};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private boolean[] hasFeatures = new boolean[0];
+	private double[] albedos = new double[0];
+	private double[] colors = new double[0];
+	private double[] colorsTemporary = new double[0];
+	private double[] depths = new double[0];
+	private double[] normals = new double[0];
+	private volatile double sigmaAlbedo = DEFAULT_SIGMA_ALBEDO;
+	private volatile double sigmaColor = DEFAULT_SIGMA_COLOR;
+	private volatile double sigmaDepth = DEFAULT_SIGMA_DEPTH;
+	private volatile double sigmaNormal = DEFAULT_SIGMA_NORMAL;
+	private volatile int iterations = DEFAULT_ITERATIONS;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Denoiser() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Denoises {@code film} and returns an array with the linear RGB-values of all {@link Pixel}s.
+	 * <p>
+	 * The returned array has a length of {@code film.getWidth() * film.getHeight() * 3}. The red, green and blue components of the {@code Pixel} at {@code (x, y)} are found at the indices {@code (y * film.getWidth() + x) * 3},
+	 * {@code (y * film.getWidth() + x) * 3 + 1} and {@code (y * film.getWidth() + x) * 3 + 2}, respectively.
+	 * <p>
+	 * The returned array is reused by subsequent calls to this method. It should therefore not be modified, nor retained.
+	 * <p>
+	 * If {@code film} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to denoise
+	 * @return an array with the linear RGB-values of all {@code Pixel}s
+	 * @throws NullPointerException thrown if, and only if, {@code film} is {@code null}
+	 */
+	public synchronized double[] denoise(final Film film) {
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		final int iterations = this.iterations;
+		
+		doEnsureCapacity(width * height);
+		
+		IntStream.range(0, height).parallel().forEach(y -> doGather(film, y));
+		
+		double[] source = this.colors;
+		double[] destination = this.colorsTemporary;
+		
+		for(int iteration = 0; iteration < iterations; iteration++) {
+			final double[] currentSource = source;
+			final double[] currentDestination = destination;
+			
+			final int stepSize = 1 << iteration;
+			
+			final double sigmaColor = this.sigmaColor / stepSize;
+			
+			IntStream.range(0, height).parallel().forEach(y -> doFilter(currentSource, currentDestination, width, height, y, stepSize, sigmaColor));
+			
+			source = currentDestination;
+			destination = currentSource;
+		}
+		
+		final double[] result = source;
+		
+		IntStream.range(0, width * height).parallel().forEach(i -> {
+			result[i * 3 + 0] *= this.albedos[i * 3 + 0];
+			result[i * 3 + 1] *= this.albedos[i * 3 + 1];
+			result[i * 3 + 2] *= this.albedos[i * 3 + 2];
+		});
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the sigma for differences in albedo.
+	 * 
+	 * @return the sigma for differences in albedo
+	 */
+	public double getSigmaAlbedo() {
+		return this.sigmaAlbedo;
+	}
+	
+	/**
+	 * Returns the sigma for differences in illumination.
+	 * <p>
+	 * The sigma is halved for each iteration.
+	 * 
+	 * @return the sigma for differences in illumination
+	 */
+	public double getSigmaColor() {
+		return this.sigmaColor;
+	}
+	
+	/**
+	 * Returns the sigma for relative differences in depth.
+	 * 
+	 * @return the sigma for relative differences in depth
+	 */
+	public double getSigmaDepth() {
+		return this.sigmaDepth;
+	}
+	
+	/**
+	 * Returns the exponent for the cosine of the angle between surface normals.
+	 * 
+	 * @return the exponent for the cosine of the angle between surface normals
+	 */
+	public double getSigmaNormal() {
+		return this.sigmaNormal;
+	}
+	
+	/**
+	 * Returns the number of iterations.
+	 * 
+	 * @return the number of iterations
+	 */
+	public int getIterations() {
+		return this.iterations;
+	}
+	
+	/**
+	 * Sets the number of iterations.
+	 * <p>
+	 * If {@code iterations} is less than {@code 0} or greater than {@code 10}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param iterations the new number of iterations
+	 * @throws IllegalArgumentException thrown if, and only if, {@code iterations} is less than {@code 0} or greater than {@code 10}
+	 */
+	public void setIterations(final int iterations) {
+		this.iterations = Ranges.requireRange(iterations, 0, 10);
+	}
+	
+	/**
+	 * Sets the sigma for differences in albedo.
+	 * <p>
+	 * If {@code sigmaAlbedo} is less than or equal to {@code 0.0D}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param sigmaAlbedo the new sigma for differences in albedo
+	 * @throws IllegalArgumentException thrown if, and only if, {@code sigmaAlbedo} is less than or equal to {@code 0.0D}
+	 */
+	public void setSigmaAlbedo(final double sigmaAlbedo) {
+		this.sigmaAlbedo = doRequirePositive(sigmaAlbedo, "sigmaAlbedo");
+	}
+	
+	/**
+	 * Sets the sigma for differences in illumination.
+	 * <p>
+	 * If {@code sigmaColor} is less than or equal to {@code 0.0D}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param sigmaColor the new sigma for differences in illumination
+	 * @throws IllegalArgumentException thrown if, and only if, {@code sigmaColor} is less than or equal to {@code 0.0D}
+	 */
+	public void setSigmaColor(final double sigmaColor) {
+		this.sigmaColor = doRequirePositive(sigmaColor, "sigmaColor");
+	}
+	
+	/**
+	 * Sets the sigma for relative differences in depth.
+	 * <p>
+	 * If {@code sigmaDepth} is less than or equal to {@code 0.0D}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param sigmaDepth the new sigma for relative differences in depth
+	 * @throws IllegalArgumentException thrown if, and only if, {@code sigmaDepth} is less than or equal to {@code 0.0D}
+	 */
+	public void setSigmaDepth(final double sigmaDepth) {
+		this.sigmaDepth = doRequirePositive(sigmaDepth, "sigmaDepth");
+	}
+	
+	/**
+	 * Sets the exponent for the cosine of the angle between surface normals.
+	 * <p>
+	 * If {@code sigmaNormal} is less than or equal to {@code 0.0D}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param sigmaNormal the new exponent for the cosine of the angle between surface normals
+	 * @throws IllegalArgumentException thrown if, and only if, {@code sigmaNormal} is less than or equal to {@code 0.0D}
+	 */
+	public void setSigmaNormal(final double sigmaNormal) {
+		this.sigmaNormal = doRequirePositive(sigmaNormal, "sigmaNormal");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code Denoiser} instance.
+	 * 
+	 * @return a new {@code Denoiser} instance
+	 */
+	public static Denoiser newInstance() {
+		return new Denoiser();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doEnsureCapacity(final int length) {
+		if(this.depths.length != length) {
+			this.hasFeatures = new boolean[length];
+			this.albedos = new double[length * 3];
+			this.colors = new double[length * 3];
+			this.colorsTemporary = new double[length * 3];
+			this.depths = new double[length];
+			this.normals = new double[length * 3];
+		}
+	}
+	
+	private void doFilter(final double[] source, final double[] destination, final int width, final int height, final int y, final int stepSize, final double sigmaColor) {
+		final double sigmaColorSquaredReciprocal = 1.0D / (sigmaColor * sigmaColor);
+		final double sigmaAlbedoSquaredReciprocal = 1.0D / (this.sigmaAlbedo * this.sigmaAlbedo);
+		final double sigmaDepthReciprocal = 1.0D / (this.sigmaDepth * stepSize);
+		final double sigmaNormal = this.sigmaNormal;
+		
+		for(int x = 0; x < width; x++) {
+			final int p = y * width + x;
+			
+			final boolean hasFeaturesP = this.hasFeatures[p];
+			
+			final double colorPR = source[p * 3 + 0];
+			final double colorPG = source[p * 3 + 1];
+			final double colorPB = source[p * 3 + 2];
+			
+			double sumR = 0.0D;
+			double sumG = 0.0D;
+			double sumB = 0.0D;
+			double sumWeight = 0.0D;
+			
+			for(int j = 0; j < KERNEL.length; j++) {
+				final int qY = y + (j - 2) * stepSize;
+				
+				if(qY < 0 || qY >= height) {
+					continue;
+				}
+				
+				for(int i = 0; i < KERNEL.length; i++) {
+					final int qX = x + (i - 2) * stepSize;
+					
+					if(qX < 0 || qX >= width) {
+						continue;
+					}
+					
+					final int q = qY * width + qX;
+					
+					if(hasFeaturesP != this.hasFeatures[q]) {
+						continue;
+					}
+					
+					final double colorQR = source[q * 3 + 0];
+					final double colorQG = source[q * 3 + 1];
+					final double colorQB = source[q * 3 + 2];
+					
+					double weight = KERNEL[i] * KERNEL[j] * Math.exp(-doDistanceSquared(colorPR, colorPG, colorPB, colorQR, colorQG, colorQB) * sigmaColorSquaredReciprocal);
+					
+					if(hasFeaturesP && q != p) {
+						final double albedoDistanceSquared = doDistanceSquared(this.albedos, p, q);
+						final double depthDistance = Math.abs(this.depths[p] - this.depths[q]) / Math.max(this.depths[p], 1.0e-4D);
+						final double normalCosine = Math.max(this.normals[p * 3 + 0] * this.normals[q * 3 + 0] + this.normals[p * 3 + 1] * this.normals[q * 3 + 1] + this.normals[p * 3 + 2] * this.normals[q * 3 + 2], 0.0D);
+						
+						weight *= Math.exp(-albedoDistanceSquared * sigmaAlbedoSquaredReciprocal - depthDistance * sigmaDepthReciprocal) * Math.pow(normalCosine, sigmaNormal);
+					}
+					
+					sumR += colorQR * weight;
+					sumG += colorQG * weight;
+					sumB += colorQB * weight;
+					sumWeight += weight;
+				}
+			}
+			
+			final double sumWeightReciprocal = sumWeight > 0.0D ? 1.0D / sumWeight : 0.0D;
+			
+			destination[p * 3 + 0] = sumWeight > 0.0D ? sumR * sumWeightReciprocal : colorPR;
+			destination[p * 3 + 1] = sumWeight > 0.0D ? sumG * sumWeightReciprocal : colorPG;
+			destination[p * 3 + 2] = sumWeight > 0.0D ? sumB * sumWeightReciprocal : colorPB;
+		}
+	}
+	
+	private void doGather(final Film film, final int y) {
+		final int width = film.getWidth();
+		
+		for(int x = 0; x < width; x++) {
+			final int index = y * width + x;
+			
+			final Pixel pixel = film.getPixel(x, y);
+			
+			final RGBSpectrum color = pixel.getRGBSpectrum();
+			
+			final boolean hasFeatures = pixel.getFeatureSamples() > 0;
+			
+			this.hasFeatures[index] = hasFeatures;
+			
+			for(int i = 0; i < 3; i++) {
+				this.albedos[index * 3 + i] = 1.0D;
+				this.normals[index * 3 + i] = 0.0D;
+			}
+			
+			this.depths[index] = Double.POSITIVE_INFINITY;
+			
+			if(hasFeatures) {
+				final RGBSpectrum albedo = pixel.getAlbedo();
+				
+				final Vector normal = pixel.getNormal();
+				
+				for(int i = 0; i < 3; i++) {
+					final double albedoComponent = albedo.getCoefficient(i);
+					
+					this.albedos[index * 3 + i] = albedoComponent > ALBEDO_MINIMUM ? albedoComponent : 1.0D;
+				}
+				
+				this.normals[index * 3 + 0] = normal.getX();
+				this.normals[index * 3 + 1] = normal.getY();
+				this.normals[index * 3 + 2] = normal.getZ();
+				this.depths[index] = pixel.getDepth();
+			}
+			
+			for(int i = 0; i < 3; i++) {
+				this.colors[index * 3 + i] = color.getCoefficient(i) / this.albedos[index * 3 + i];
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doDistanceSquared(final double r0, final double g0, final double b0, final double r1, final double g1, final double b1) {
+		final double deltaR = r0 - r1;
+		final double deltaG = g0 - g1;
+		final double deltaB = b0 - b1;
+		
+		return deltaR * deltaR + deltaG * deltaG + deltaB * deltaB;
+	}
+	
+	private static double doDistanceSquared(final double[] values, final int p, final int q) {
+		return doDistanceSquared(values[p * 3 + 0], values[p * 3 + 1], values[p * 3 + 2], values[q * 3 + 0], values[q * 3 + 1], values[q * 3 + 2]);
+	}
+	
+	private static double doRequirePositive(final double value, final String name) {
+		if(!(value > 0.0D) || Double.isInfinite(value)) {
+			throw new IllegalArgumentException(String.format("%s <= 0.0D || Double.isInfinite(%s): %s == %s", name, name, name, Double.toString(value)));
+		}
+		
+		return value;
+	}
+}
@@ -33,6 +33,7 @@ import org.macroing.gdt.engine.configuration.ConfigurationObserver;
 public abstract class Display implements ConfigurationObserver {
 	private Configuration configuration;
 	private DisplayObserver displayObserver;
+	private final Resolver resolver = Resolver.newInstance();
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -68,6 +69,17 @@ public abstract class Display implements ConfigurationObserver {
 		return this.displayObserver;
 	}
 	
+	/**
+	 * Returns the {@link Resolver} used by this {@code Display} instance.
+	 * <p>
+	 * The {@code Resolver} should be used to resolve the RGB-data once per presented frame. Changing its exposure or {@link ToneMapping} affects the next frame presented.
+	 * 
+	 * @return the {@code Resolver} used by this {@code Display} instance
+	 */
+	public final Resolver getResolver() {
+		return this.resolver;
+	}
+	
 	/**
 	 * Returns a {@code List} with all currently assigned {@link PixelIterable} instances.
 	 * <p>
@@ -126,11 +138,65 @@ public abstract class Display implements ConfigurationObserver {
 		configure();
 	}
 	
+	/**
+	 * Called by a {@link Configuration} instance when only its adaptive resolution flag has been updated.
+	 * <p>
+	 * The flag does not change the resolution, so this {@code Display} is not reconfigured. This keeps the image and the rendering {@code Thread}s intact.
+	 * 
+	 * @param configuration the {@code Configuration} that was updated prior to this method call
+	 */
+	@Override
+	public final void onUpdateOfAdaptingResolution(final Configuration configuration) {
+		
+	}
+	
+	/**
+	 * Called by a {@link Configuration} instance when only its denoising flag has been updated.
+	 * <p>
+	 * Denoising only affects how the {@link Resolver} resolves the RGB-data, so this {@code Display} is not reconfigured. Only the {@code Resolver} is updated, which keeps the accumulated samples and the rendering {@code Thread}s intact.
+	 * <p>
+	 * If {@code configuration} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param configuration the {@code Configuration} that was updated prior to this method call
+	 * @throws NullPointerException thrown if, and only if, {@code configuration} is {@code null}
+	 */
+	@Override
+	public final void onUpdateOfDenoising(final Configuration configuration) {
+		getResolver().setDenoising(configuration.isDenoising());
+	}
+	
+	/**
+	 * Called by a {@link Configuration} instance when only its samples per frame have been updated.
+	 * <p>
+	 * The samples per frame are read by the {@link DisplayObserver} for each frame and do not change the resolution, so this {@code Display} is not reconfigured. This keeps the image and the rendering {@code Thread}s intact.
+	 * 
+	 * @param configuration the {@code Configuration} that was updated prior to this method call
+	 */
+	@Override
+	public final void onUpdateOfSamplesPerFrame(final Configuration configuration) {
+		
+	}
+	
 	/**
 	 * Renders this {@code Display} instance.
 	 */
 	public abstract void render();
 	
+	/**
+	 * Runs {@code runnable} while no rendering {@code Thread} of this {@code Display} instance adds samples to its {@link Film}.
+	 * <p>
+	 * This method asks the rendering {@code Thread}s to abandon their current pass, waits for them to do so and runs {@code runnable} on the calling {@code Thread}. Rendering is resumed once {@code runnable} returns. It may therefore be used to
+	 * modify the {@link Pixel}s of the {@code Film} in ways that are not safe while samples are added, such as clearing them or carrying their history forward after the camera has moved. Calls may be nested.
+	 * <p>
+	 * This method must not be called from a rendering {@code Thread}.
+	 * <p>
+	 * If {@code runnable} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param runnable the {@code Runnable} to run
+	 * @throws NullPointerException thrown if, and only if, {@code runnable} is {@code null}
+	 */
+	public abstract void runWhilePaused(final Runnable runnable);
+	
 	/**
 	 * Sets a new {@link Configuration} to this {@code Display} instance.
 	 * <p>
@@ -0,0 +1,194 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.display;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.macroing.gdt.engine.filter.FilterTable;
+import org.macroing.gdt.engine.geometry.Spectrum;
+
+/**
+ * A {@code Film} gives access to all {@link Pixel}s of an image, by their position along the X- and Y-axes.
+ * <p>
+ * Where a {@link PixelIterable} only contains the subset of all {@code Pixel}s that are owned by a single {@code Thread}, a {@code Film} contains all of them. This makes it possible to splat a sample to all {@code Pixel}s within the extent of a
+ * filter, using the weights provided by a {@link FilterTable}.
+ * <p>
+ * This class is thread-safe, as long as the {@code Pixel}s are only updated by their {@code addSample(Spectrum, double)} method.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Film {
+	/**
+	 * The largest stride between a {@link Pixel} and its ancestors while the image is refined progressively.
+	 * <p>
+	 * The ancestors of the {@code Pixel} at {@code (x, y)} are located at {@code (x - x % s, y - y % s)}, for {@code s} in {@code 2}, {@code 4} and so on up to and including this stride. A {@code Pixel} is only sampled after its
+	 * ancestors.
+	 */
+	public static final int REFINEMENT_STRIDE = 8;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private volatile boolean isRefiningProgressively;
+	private final int height;
+	private final int width;
+	private final Pixel[] pixels;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Film(final int width, final int height, final Pixel[] pixels) {
+		this.width = width;
+		this.height = height;
+		this.pixels = pixels;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, this {@code Film} instance is being refined progressively, {@code false} otherwise.
+	 * <p>
+	 * While the image is refined progressively, some {@link Pixel}s have not been sampled yet. These may be presented with the color of their closest sampled ancestor.
+	 * 
+	 * @return {@code true} if, and only if, this {@code Film} instance is being refined progressively, {@code false} otherwise
+	 */
+	public boolean isRefiningProgressively() {
+		return this.isRefiningProgressively;
+	}
+	
+	/**
+	 * Returns the height of this {@code Film} instance.
+	 * 
+	 * @return the height of this {@code Film} instance
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+	
+	/**
+	 * Returns the width of this {@code Film} instance.
+	 * 
+	 * @return the width of this {@code Film} instance
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+	
+	/**
+	 * Returns the {@link Pixel} given its position along the X- and Y-axes, or {@code null} if it does not exist.
+	 * 
+	 * @param x the position along the X-axis
+	 * @param y the position along the Y-axis
+	 * @return the {@code Pixel} given its position along the X- and Y-axes, or {@code null} if it does not exist
+	 */
+	public Pixel getPixel(final int x, final int y) {
+		return x >= 0 && x < this.width && y >= 0 && y < this.height ? this.pixels[y * this.width + x] : null;
+	}
+	
+	/**
+	 * Adds a sample to all {@link Pixel}s within the extent of the filter represented by {@code filterTable}.
+	 * <p>
+	 * The coordinates {@code imageX} and {@code imageY} are continuous, such that the center of the {@code Pixel} at {@code (x, y)} is located at {@code (x + 0.5D, y + 0.5D)}.
+	 * <p>
+	 * Each {@code Pixel} will be given the weight returned by {@code filterTable.evaluate(double, double)}, for its offset from the sample. {@code Pixel}s with a weight of {@code 0.0D} are skipped.
+	 * <p>
+	 * This method may be called by any {@code Thread}.
+	 * <p>
+	 * If either {@code spectrum} or {@code filterTable} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param imageX the continuous position along the X-axis of the sample
+	 * @param imageY the continuous position along the Y-axis of the sample
+	 * @param spectrum the {@link Spectrum} of the sample
+	 * @param filterTable the {@code FilterTable} with the weights to use
+	 * @throws NullPointerException thrown if, and only if, either {@code spectrum} or {@code filterTable} are {@code null}
+	 */
+	public void addSample(final double imageX, final double imageY, final Spectrum spectrum, final FilterTable filterTable) {
+		Objects.requireNonNull(spectrum, "spectrum == null");
+		
+		final double x = imageX - 0.5D;
+		final double y = imageY - 0.5D;
+		
+		final int minimumX = Math.max((int)(Math.ceil(x - filterTable.getWidth())), 0);
+		final int maximumX = Math.min((int)(Math.floor(x + filterTable.getWidth())), this.width - 1);
+		final int minimumY = Math.max((int)(Math.ceil(y - filterTable.getHeight())), 0);
+		final int maximumY = Math.min((int)(Math.floor(y + filterTable.getHeight())), this.height - 1);
+		
+		for(int pixelY = minimumY; pixelY <= maximumY; pixelY++) {
+			for(int pixelX = minimumX; pixelX <= maximumX; pixelX++) {
+				final double weight = filterTable.evaluate(pixelX - x, pixelY - y);
+				
+				if(weight != 0.0D) {
+					this.pixels[pixelY * this.width + pixelX].addSample(spectrum, weight);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Sets whether this {@code Film} instance is being refined progressively.
+	 * <p>
+	 * This method is called by the renderer at the start of each pass.
+	 * 
+	 * @param isRefiningProgressively {@code true} if, and only if, this {@code Film} instance is being refined progressively, {@code false} otherwise
+	 */
+	public void setRefiningProgressively(final boolean isRefiningProgressively) {
+		this.isRefiningProgressively = isRefiningProgressively;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns an empty {@code Film} instance.
+	 * 
+	 * @return an empty {@code Film} instance
+	 */
+	public static Film empty() {
+		return new Film(0, 0, new Pixel[0]);
+	}
+	
+	/**
+	 * Returns a new {@code Film} instance given a width, a height and a {@code List} of {@link Pixel}s.
+	 * <p>
+	 * The {@code Pixel} at index {@code y * width + x} in {@code pixels} must be located at {@code (x, y)}. This is the case for the {@code List} returned by {@code Pixel.createPixelsFor(width, height, rGB)}.
+	 * <p>
+	 * If {@code pixels} or any of its elements are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code pixels.size()} is not equal to {@code width * height}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param width the width of the {@code Film}
+	 * @param height the height of the {@code Film}
+	 * @param pixels a {@code List} with all {@code Pixel}s
+	 * @return a new {@code Film} instance given a width, a height and a {@code List} of {@code Pixel}s
+	 * @throws IllegalArgumentException thrown if, and only if, {@code pixels.size()} is not equal to {@code width * height}
+	 * @throws NullPointerException thrown if, and only if, {@code pixels} or any of its elements are {@code null}
+	 */
+	public static Film newInstance(final int width, final int height, final List<Pixel> pixels) {
+		final Pixel[] pixelArray = pixels.toArray(new Pixel[pixels.size()]);
+		
+		if(pixelArray.length != width * height) {
+			throw new IllegalArgumentException(String.format("pixels.size() != width * height: %d != %d * %d", Integer.valueOf(pixelArray.length), Integer.valueOf(width), Integer.valueOf(height)));
+		}
+		
+		for(final Pixel pixel : pixelArray) {
+			Objects.requireNonNull(pixel, "pixels.contains(null)");
+		}
+		
+		return new Film(width, height, pixelArray);
+	}
+}
@@ -18,28 +18,70 @@
  */
 package org.macroing.gdt.engine.display;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import org.macroing.gdt.engine.geometry.RGBSpectrum;
+import org.macroing.gdt.engine.geometry.Spectrum;
+import org.macroing.gdt.engine.geometry.Vector;
 import org.macroing.gdt.engine.util.Functions;
 
 /**
  * A {@code Pixel} contains various useful information about a given pixel on the screen.
  * <p>
  * It's used by an instance of {@link Display} to display a rendered image in one way or another.
+ * <p>
+ * A {@code Pixel} accumulates a weighted sum of samples. Samples may be added by other {@code Thread}s than the one owning the {@code Pixel}, such as when a {@link Film} splats a sample to all {@code Pixel}s within the extent of a filter. Therefore
+ * the sums are updated atomically. They are kept in fixed-point, with {@code 28} fractional bits, rather than in floating-point. Integer addition is associative, so the sums do not depend on the order in which the samples were added. Given
+ * the same samples, the result is bit-identical regardless of the number of {@code Thread}s or how they were scheduled. Samples that are not finite are ignored. The weighted values of a sample are clamped to the range
+ * {@code [-2^20, 2^20]}, so the sums can hold at least {@code 2^15} samples of the largest magnitude without overflowing.
+ * <p>
+ * A {@code Pixel} also accumulates the features of the primary hits of the samples taken within it, such as their albedo, surface normal and depth, together with the shape ID and material ID of the first one. These are used to guide
+ * denoising, as performed by a {@link Denoiser}, and can be exported as auxiliary output values, or {@link AOV}s. The features are only updated by the {@code Thread} owning the {@code Pixel}.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public final class Pixel {
+	/**
+	 * The number of bytes written by {@link #write(ByteBuffer)} and read by {@link #read(ByteBuffer)}.
+	 */
+	public static final int BYTES = 11 * Double.BYTES + 4 * Integer.BYTES;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final AtomicLongFieldUpdater<Pixel> BLUE = AtomicLongFieldUpdater.newUpdater(Pixel.class, "blue");
+	private static final AtomicLongFieldUpdater<Pixel> GREEN = AtomicLongFieldUpdater.newUpdater(Pixel.class, "green");
+	private static final AtomicLongFieldUpdater<Pixel> RED = AtomicLongFieldUpdater.newUpdater(Pixel.class, "red");
+	private static final AtomicLongFieldUpdater<Pixel> WEIGHT = AtomicLongFieldUpdater.newUpdater(Pixel.class, "weight");
+	private static final double FIXED_POINT_SCALE = 1L << 28;
+	private static final double MAXIMUM_SAMPLE_VALUE = 1L << 20;
+	private static final double FIXED_POINT_SCALE_RECIPROCAL = 1.0D / FIXED_POINT_SCALE;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private double albedoB;
+	private double albedoG;
+	private double albedoR;
+	private double depth;
+	private double normalX;
+	private double normalY;
+	private double normalZ;
 	private final int index;
+	private int featureSamples;
+	private int materialID = -1;
+	private int shapeID = -1;
 	private int subSamples;
 	private final int x;
 	private final int y;
 	private final int[] rGB;
-	private final RGBSpectrum rGBSpectrum = RGBSpectrum.black();
+	private volatile long blue;
+	private volatile long green;
+	private volatile long red;
+	private volatile long weight;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -52,6 +94,33 @@ public final class Pixel {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns the average depth of the primary hits within this {@code Pixel}, or {@code Double.POSITIVE_INFINITY} if there are none.
+	 * 
+	 * @return the average depth of the primary hits within this {@code Pixel}, or {@code Double.POSITIVE_INFINITY} if there are none
+	 */
+	public double getDepth() {
+		return this.featureSamples > 0 ? this.depth / this.featureSamples : Double.POSITIVE_INFINITY;
+	}
+	
+	/**
+	 * Returns the sum of all weights that have been added to this {@code Pixel}.
+	 * 
+	 * @return the sum of all weights that have been added to this {@code Pixel}
+	 */
+	public double getWeight() {
+		return doToDouble(this.weight);
+	}
+	
+	/**
+	 * Returns the number of primary hits whose features have been added to this {@code Pixel}.
+	 * 
+	 * @return the number of primary hits whose features have been added to this {@code Pixel}
+	 */
+	public int getFeatureSamples() {
+		return this.featureSamples;
+	}
+	
 	/**
 	 * Returns the index of this {@code Pixel}.
 	 * 
@@ -61,6 +130,24 @@ public final class Pixel {
 		return this.index;
 	}
 	
+	/**
+	 * Returns the material ID of the first primary hit within this {@code Pixel}, or {@code -1} if there are none.
+	 * 
+	 * @return the material ID of the first primary hit within this {@code Pixel}, or {@code -1} if there are none
+	 */
+	public int getMaterialID() {
+		return this.materialID;
+	}
+	
+	/**
+	 * Returns the shape ID of the first primary hit within this {@code Pixel}, or {@code -1} if there are none.
+	 * 
+	 * @return the shape ID of the first primary hit within this {@code Pixel}, or {@code -1} if there are none
+	 */
+	public int getShapeID() {
+		return this.shapeID;
+	}
+	
 	/**
 	 * Returns the current sub-sample count for this {@code Pixel}.
 	 * <p>
@@ -91,12 +178,142 @@ public final class Pixel {
 	}
 	
 	/**
-	 * Returns the current {@link RGBSpectrum} for this {@code Pixel}.
+	 * Returns a new {@link RGBSpectrum} with the average albedo of the primary hits within this {@code Pixel}.
+	 * <p>
+	 * If there are no primary hits, {@code RGBSpectrum.black()} will be returned.
 	 * 
-	 * @return the current {@code RGBSpectrum} for this {@code Pixel}
+	 * @return a new {@code RGBSpectrum} with the average albedo of the primary hits within this {@code Pixel}
+	 */
+	public RGBSpectrum getAlbedo() {
+		final double featureSamplesReciprocal = this.featureSamples > 0 ? 1.0D / this.featureSamples : 0.0D;
+		
+		return new RGBSpectrum(this.albedoR * featureSamplesReciprocal, this.albedoG * featureSamplesReciprocal, this.albedoB * featureSamplesReciprocal);
+	}
+	
+	/**
+	 * Returns a new {@link RGBSpectrum} with the weighted average of all samples added to this {@code Pixel}.
+	 * <p>
+	 * If no weights have been added, or they sum up to a value less than or equal to {@code 0.0D}, {@code RGBSpectrum.black()} will be returned.
+	 * <p>
+	 * Modifying the returned {@code RGBSpectrum} will not affect this {@code Pixel}.
+	 * 
+	 * @return a new {@code RGBSpectrum} with the weighted average of all samples added to this {@code Pixel}
 	 */
 	public RGBSpectrum getRGBSpectrum() {
-		return this.rGBSpectrum;
+		final double weight = getWeight();
+		final double weightReciprocal = weight > 0.0D ? 1.0D / weight : 0.0D;
+		
+		return new RGBSpectrum(doToDouble(this.red) * weightReciprocal, doToDouble(this.green) * weightReciprocal, doToDouble(this.blue) * weightReciprocal);
+	}
+	
+	/**
+	 * Returns a new {@link Vector} with the normalized average surface normal of the primary hits within this {@code Pixel}.
+	 * <p>
+	 * If there are no primary hits, or their surface normals cancel out, a {@code Vector} with all components set to {@code 0.0D} will be returned.
+	 * 
+	 * @return a new {@code Vector} with the normalized average surface normal of the primary hits within this {@code Pixel}
+	 */
+	public Vector getNormal() {
+		final double length = Math.sqrt(this.normalX * this.normalX + this.normalY * this.normalY + this.normalZ * this.normalZ);
+		final double lengthReciprocal = length > 0.0D ? 1.0D / length : 0.0D;
+		
+		return new Vector(this.normalX * lengthReciprocal, this.normalY * lengthReciprocal, this.normalZ * lengthReciprocal);
+	}
+	
+	/**
+	 * Adds the features of a primary hit to this {@code Pixel}.
+	 * <p>
+	 * The depth, surface normal and albedo are accumulated, whereas the shape ID and material ID are only kept for the first primary hit.
+	 * <p>
+	 * This method should only be called by the {@code Thread} owning this {@code Pixel}.
+	 * <p>
+	 * If either {@code normal} or {@code albedo} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param depth the distance to the primary hit
+	 * @param normal the surface normal at the primary hit
+	 * @param albedo the albedo at the primary hit
+	 * @param shapeID the ID of the shape of the primary hit
+	 * @param materialID the ID of the material of the primary hit
+	 * @throws NullPointerException thrown if, and only if, either {@code normal} or {@code albedo} are {@code null}
+	 */
+	public void addFeatures(final double depth, final Vector normal, final Spectrum albedo, final int shapeID, final int materialID) {
+		this.normalX += normal.getX();
+		this.normalY += normal.getY();
+		this.normalZ += normal.getZ();
+		this.albedoR += albedo.getCoefficient(0);
+		this.albedoG += albedo.getCoefficient(1);
+		this.albedoB += albedo.getCoefficient(2);
+		this.depth += depth;
+		
+		if(this.featureSamples++ == 0) {
+			this.shapeID = shapeID;
+			this.materialID = materialID;
+		}
+	}
+	
+	/**
+	 * Adds the accumulated state of {@code pixel} to this {@code Pixel}, such as when merging the results of several renderers.
+	 * <p>
+	 * The weighted sums, the sub-sample count and the features of {@code pixel} are added to those of this {@code Pixel}. The shape ID and material ID of {@code pixel} are only used if this {@code Pixel} has no features.
+	 * <p>
+	 * The weighted sums are updated atomically, but the features are not. So this method should not be called concurrently for the same {@code Pixel}.
+	 * <p>
+	 * If {@code pixel} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param pixel the {@code Pixel} to add
+	 * @throws NullPointerException thrown if, and only if, {@code pixel} is {@code null}
+	 */
+	public void add(final Pixel pixel) {
+		RED.getAndAdd(this, pixel.red);
+		GREEN.getAndAdd(this, pixel.green);
+		BLUE.getAndAdd(this, pixel.blue);
+		WEIGHT.getAndAdd(this, pixel.weight);
+		
+		this.subSamples += pixel.subSamples;
+		this.albedoR += pixel.albedoR;
+		this.albedoG += pixel.albedoG;
+		this.albedoB += pixel.albedoB;
+		this.normalX += pixel.normalX;
+		this.normalY += pixel.normalY;
+		this.normalZ += pixel.normalZ;
+		this.depth += pixel.depth;
+		
+		if(this.featureSamples == 0 && pixel.featureSamples > 0) {
+			this.shapeID = pixel.shapeID;
+			this.materialID = pixel.materialID;
+		}
+		
+		this.featureSamples += pixel.featureSamples;
+	}
+	
+	/**
+	 * Adds a sample to this {@code Pixel}.
+	 * <p>
+	 * The first three coefficients of {@code spectrum} are multiplied by {@code weight} and added to the red, green and blue sums, respectively. The weight itself is added to the sum of weights.
+	 * <p>
+	 * If {@code weight} or any of the weighted coefficients are not finite, the sample is ignored. Otherwise each of them is clamped to the range {@code [-2^20, 2^20]} before it is added.
+	 * <p>
+	 * This method may be called by any {@code Thread}.
+	 * <p>
+	 * If {@code spectrum} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param spectrum the {@link Spectrum} to add
+	 * @param weight the weight of {@code spectrum}
+	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
+	 */
+	public void addSample(final Spectrum spectrum, final double weight) {
+		final double red = spectrum.getCoefficient(0) * weight;
+		final double green = spectrum.getCoefficient(1) * weight;
+		final double blue = spectrum.getCoefficient(2) * weight;
+		
+		if(!Double.isFinite(red) || !Double.isFinite(green) || !Double.isFinite(blue) || !Double.isFinite(weight)) {
+			return;
+		}
+		
+		doAdd(RED, this, doClamp(red));
+		doAdd(GREEN, this, doClamp(green));
+		doAdd(BLUE, this, doClamp(blue));
+		doAdd(WEIGHT, this, doClamp(weight));
 	}
 	
 	/**
@@ -113,11 +330,106 @@ public final class Pixel {
 	/**
 	 * Clears this {@code Pixel} instance.
 	 * <p>
-	 * The {@link RGBSpectrum} will be set to {@code RGBSpectrum.black()} and the sub-sample count will be set to {@code 0}.
+	 * The weighted sums and the features will be set to {@code 0.0D}, the shape ID and material ID will be set to {@code -1} and the sub-sample count will be set to {@code 0}.
 	 */
 	public void clear() {
 		this.subSamples = 0;
-		this.rGBSpectrum.set(RGBSpectrum.black());
+		this.featureSamples = 0;
+		this.albedoR = 0.0D;
+		this.albedoG = 0.0D;
+		this.albedoB = 0.0D;
+		this.normalX = 0.0D;
+		this.normalY = 0.0D;
+		this.normalZ = 0.0D;
+		this.depth = 0.0D;
+		this.shapeID = -1;
+		this.materialID = -1;
+		this.red = 0L;
+		this.green = 0L;
+		this.blue = 0L;
+		this.weight = 0L;
+	}
+	
+	/**
+	 * Reads the accumulated state of this {@code Pixel} from {@code byteBuffer}, as written by {@link #write(ByteBuffer)}.
+	 * <p>
+	 * Exactly {@link #BYTES} bytes are read, starting at the current position of {@code byteBuffer}.
+	 * <p>
+	 * This method should only be called while no samples are added to this {@code Pixel}.
+	 * <p>
+	 * If {@code byteBuffer} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code byteBuffer} has less than {@code Pixel.BYTES} bytes remaining, a {@code BufferUnderflowException} will be thrown.
+	 * 
+	 * @param byteBuffer the {@code ByteBuffer} to read from
+	 * @throws BufferUnderflowException thrown if, and only if, {@code byteBuffer} has less than {@code Pixel.BYTES} bytes remaining
+	 * @throws NullPointerException thrown if, and only if, {@code byteBuffer} is {@code null}
+	 */
+	public void read(final ByteBuffer byteBuffer) {
+		this.red = doToFixedPoint(byteBuffer.getDouble());
+		this.green = doToFixedPoint(byteBuffer.getDouble());
+		this.blue = doToFixedPoint(byteBuffer.getDouble());
+		this.weight = doToFixedPoint(byteBuffer.getDouble());
+		this.albedoR = byteBuffer.getDouble();
+		this.albedoG = byteBuffer.getDouble();
+		this.albedoB = byteBuffer.getDouble();
+		this.normalX = byteBuffer.getDouble();
+		this.normalY = byteBuffer.getDouble();
+		this.normalZ = byteBuffer.getDouble();
+		this.depth = byteBuffer.getDouble();
+		this.subSamples = byteBuffer.getInt();
+		this.featureSamples = byteBuffer.getInt();
+		this.shapeID = byteBuffer.getInt();
+		this.materialID = byteBuffer.getInt();
+	}
+	
+	/**
+	 * Sets the state of this {@code Pixel} to the state of {@code pixel}, such as when the history of {@code pixel} is carried forward to this {@code Pixel} after the camera has moved.
+	 * <p>
+	 * The weighted sums and the sub-sample count of {@code pixel} are multiplied by {@code weightScale}. The features of {@code pixel} are collapsed into a single primary hit, located at {@code depth}.
+	 * <p>
+	 * This method should only be called while no samples are added to this {@code Pixel}.
+	 * <p>
+	 * If {@code pixel} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param pixel the {@code Pixel} to copy the state from
+	 * @param weightScale the scale to apply to the weighted sums
+	 * @param depth the new depth of the primary hit
+	 * @throws NullPointerException thrown if, and only if, {@code pixel} is {@code null}
+	 */
+	public void setFrom(final Pixel pixel, final double weightScale, final double depth) {
+		final Vector normal = pixel.getNormal();
+		
+		final RGBSpectrum albedo = pixel.getAlbedo();
+		
+		final boolean hasFeatures = pixel.featureSamples > 0;
+		
+		this.red = doToFixedPoint(doToDouble(pixel.red) * weightScale);
+		this.green = doToFixedPoint(doToDouble(pixel.green) * weightScale);
+		this.blue = doToFixedPoint(doToDouble(pixel.blue) * weightScale);
+		this.weight = doToFixedPoint(doToDouble(pixel.weight) * weightScale);
+		this.subSamples = (int)(Math.ceil(pixel.subSamples * weightScale));
+		this.featureSamples = hasFeatures ? 1 : 0;
+		this.albedoR = albedo.getCoefficient(0);
+		this.albedoG = albedo.getCoefficient(1);
+		this.albedoB = albedo.getCoefficient(2);
+		this.normalX = normal.getX();
+		this.normalY = normal.getY();
+		this.normalZ = normal.getZ();
+		this.depth = hasFeatures ? depth : 0.0D;
+		this.shapeID = pixel.shapeID;
+		this.materialID = pixel.materialID;
+	}
+	
+	/**
+	 * Sets the RGB-value of this {@code Pixel} in the underlying array of RGB-data.
+	 * <p>
+	 * This method is used when the RGB-value has been resolved elsewhere, such as after denoising.
+	 * 
+	 * @param rGB the RGB-value, packed into an {@code int}
+	 */
+	public void setRGB(final int rGB) {
+		this.rGB[this.index] = rGB;
 	}
 	
 	/**
@@ -131,20 +443,94 @@ public final class Pixel {
 		this.subSamples = subSamples;
 	}
 	
+	/**
+	 * Returns a copy of this {@code Pixel} instance.
+	 * <p>
+	 * The copy refers to the same underlying array of RGB-data and index. It is mainly useful as a snapshot of the accumulated state.
+	 * 
+	 * @return a copy of this {@code Pixel} instance
+	 */
+	public Pixel copy() {
+		final Pixel pixel = new Pixel(this.index, this.x, this.y, this.rGB);
+		
+		pixel.red = this.red;
+		pixel.green = this.green;
+		pixel.blue = this.blue;
+		pixel.weight = this.weight;
+		pixel.subSamples = this.subSamples;
+		pixel.featureSamples = this.featureSamples;
+		pixel.albedoR = this.albedoR;
+		pixel.albedoG = this.albedoG;
+		pixel.albedoB = this.albedoB;
+		pixel.normalX = this.normalX;
+		pixel.normalY = this.normalY;
+		pixel.normalZ = this.normalZ;
+		pixel.depth = this.depth;
+		pixel.shapeID = this.shapeID;
+		pixel.materialID = this.materialID;
+		
+		return pixel;
+	}
+	
 	/**
 	 * Updates the underlying array of RGB-data with the data provided by this {@code Pixel} instance.
+	 * <p>
+	 * The weighted average is encoded with the sRGB transfer function, using {@code Resolver.encode(double, double, double)}. No exposure nor tone mapping is applied. To apply them, use {@link #update(Resolver)} or
+	 * {@link Resolver#resolve(Film)}.
 	 */
 	public void update() {
-		final double subSamples = this.subSamples;
-		final double subSamplesReciprocal = 1.0D / subSamples;
+		final double weight = getWeight();
+		final double weightReciprocal = weight > 0.0D ? 1.0D / weight : 0.0D;
 		
-		final int r = Functions.toInt(Functions.performGammaCorrectionFor(this.rGBSpectrum.getRed() * subSamplesReciprocal));
-		final int g = Functions.toInt(Functions.performGammaCorrectionFor(this.rGBSpectrum.getGreen() * subSamplesReciprocal));
-		final int b = Functions.toInt(Functions.performGammaCorrectionFor(this.rGBSpectrum.getBlue() * subSamplesReciprocal));
-		
-		final int rGB = ((r & 0xFF) << 16) | ((g & 0xFF) << 8) | (b & 0xFF);
+		this.rGB[this.index] = Resolver.encode(doToDouble(this.red) * weightReciprocal, doToDouble(this.green) * weightReciprocal, doToDouble(this.blue) * weightReciprocal);
+	}
+	
+	/**
+	 * Updates the underlying array of RGB-data with the data provided by this {@code Pixel} instance, as resolved by {@code resolver}.
+	 * <p>
+	 * If {@code resolver} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param resolver the {@link Resolver} to use
+	 * @throws NullPointerException thrown if, and only if, {@code resolver} is {@code null}
+	 */
+	public void update(final Resolver resolver) {
+		final double weight = getWeight();
+		final double weightReciprocal = weight > 0.0D ? 1.0D / weight : 0.0D;
 		
-		this.rGB[this.index] = rGB;
+		this.rGB[this.index] = resolver.toRGB(doToDouble(this.red) * weightReciprocal, doToDouble(this.green) * weightReciprocal, doToDouble(this.blue) * weightReciprocal);
+	}
+	
+	/**
+	 * Writes the accumulated state of this {@code Pixel} to {@code byteBuffer}, such that it can be restored by {@link #read(ByteBuffer)}.
+	 * <p>
+	 * Exactly {@link #BYTES} bytes are written, starting at the current position of {@code byteBuffer}.
+	 * <p>
+	 * The weighted sums are read one at a time. If samples are added while this method is called, the last of them may only be partially included.
+	 * <p>
+	 * If {@code byteBuffer} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code byteBuffer} has less than {@code Pixel.BYTES} bytes remaining, a {@code BufferOverflowException} will be thrown.
+	 * 
+	 * @param byteBuffer the {@code ByteBuffer} to write to
+	 * @throws BufferOverflowException thrown if, and only if, {@code byteBuffer} has less than {@code Pixel.BYTES} bytes remaining
+	 * @throws NullPointerException thrown if, and only if, {@code byteBuffer} is {@code null}
+	 */
+	public void write(final ByteBuffer byteBuffer) {
+		byteBuffer.putDouble(doToDouble(this.red));
+		byteBuffer.putDouble(doToDouble(this.green));
+		byteBuffer.putDouble(doToDouble(this.blue));
+		byteBuffer.putDouble(doToDouble(this.weight));
+		byteBuffer.putDouble(this.albedoR);
+		byteBuffer.putDouble(this.albedoG);
+		byteBuffer.putDouble(this.albedoB);
+		byteBuffer.putDouble(this.normalX);
+		byteBuffer.putDouble(this.normalY);
+		byteBuffer.putDouble(this.normalZ);
+		byteBuffer.putDouble(this.depth);
+		byteBuffer.putInt(this.subSamples);
+		byteBuffer.putInt(this.featureSamples);
+		byteBuffer.putInt(this.shapeID);
+		byteBuffer.putInt(this.materialID);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -196,4 +582,22 @@ public final class Pixel {
 	public static Pixel newInstance(final int index, final int x, final int y, final int[] rGB) {
 		return new Pixel(Functions.requireRange(index, 0, Integer.MAX_VALUE, "index < 0: " + index), Functions.requireRange(x, 0, Integer.MAX_VALUE, "x < 0: " + x), Functions.requireRange(y, 0, Integer.MAX_VALUE, "y < 0: " + y), Objects.requireNonNull(rGB, "rGB == null"));
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doAdd(final AtomicLongFieldUpdater<Pixel> atomicLongFieldUpdater, final Pixel pixel, final double value) {
+		atomicLongFieldUpdater.getAndAdd(pixel, doToFixedPoint(value));
+	}
+	
+	private static double doClamp(final double value) {
+		return Math.min(Math.max(value, -MAXIMUM_SAMPLE_VALUE), MAXIMUM_SAMPLE_VALUE);
+	}
+	
+	private static double doToDouble(final long value) {
+		return value * FIXED_POINT_SCALE_RECIPROCAL;
+	}
+	
+	private static long doToFixedPoint(final double value) {
+		return Double.isFinite(value) ? Math.round(value * FIXED_POINT_SCALE) : 0L;
+	}
 }
\ No newline at end of file
@@ -26,6 +26,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
+import org.macroing.gdt.engine.util.Functions;
+
 /**
  * An {@code Iterable} that iterates over {@link Pixel}s.
  * <p>
@@ -35,20 +37,31 @@ import java.util.NoSuchElementException;
  * @author J&#246;rgen Lundgren
  */
 public final class PixelIterable implements Iterable<Pixel> {
+	/**
+	 * The default number of consecutive indices into the underlying RGB-data array that are owned by the same {@code PixelIterable}.
+	 * <p>
+	 * The value {@code 16} is the number of {@code int}s that fits into a cache line of {@code 64} bytes. As the array is not aligned to a cache line, this reduces, but does not avoid, false sharing between the {@code Thread}s.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private final int height;
 	private final int heightScaled;
 	private final int width;
 	private final int widthScaled;
+	private final Film film;
 	private final Map<Integer, Pixel> pixelMap;
 	private final Pixel[] pixels;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private PixelIterable(final int width, final int height, final int widthScaled, final int heightScaled, final Map<Integer, Pixel> pixelMap, final Pixel[] pixels) {
+	private PixelIterable(final int width, final int height, final int widthScaled, final int heightScaled, final Film film, final Map<Integer, Pixel> pixelMap, final Pixel[] pixels) {
 		this.width = width;
 		this.height = height;
 		this.widthScaled = widthScaled;
 		this.heightScaled = heightScaled;
+		this.film = film;
 		this.pixelMap = pixelMap;
 		this.pixels = pixels;
 	}
@@ -76,6 +89,17 @@ public final class PixelIterable implements Iterable<Pixel> {
 		return this.pixelMap.containsKey(Integer.valueOf(index));
 	}
 	
+	/**
+	 * Returns the {@link Film} that contains all {@link Pixel}s, including those that are not part of this {@code PixelIterable} instance.
+	 * <p>
+	 * All {@code PixelIterable}s created by the same call to {@code createPixelIterablesFor} share the same {@code Film}.
+	 * 
+	 * @return the {@code Film} that contains all {@code Pixel}s
+	 */
+	public Film getFilm() {
+		return this.film;
+	}
+	
 	/**
 	 * Returns the height of the screen that was used in the creation process.
 	 * 
@@ -157,12 +181,39 @@ public final class PixelIterable implements Iterable<Pixel> {
 	/**
 	 * Returns a {@code List} of {@code PixelIterable}s given a screen width, a screen height, a scaled screen width, a scaled screen height, an underlying RGB-data array and the size of the returned {@code List}.
 	 * <p>
+	 * Calling this method is equivalent to calling {@code PixelIterable.createPixelIterablesFor(width, height, widthScaled, heightScaled, rGB, size, PixelIterable.DEFAULT_BLOCK_SIZE)}.
+	 * <p>
 	 * If {@code rGB} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * <p>
-	 * If {@code rGB.length % size != 0}, an {@code IllegalArgumentException} will be thrown.
+	 * If either {@code size} is less than {@code 1} or {@code rGB.length} is not equal to {@code widthScaled * heightScaled}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param width the width of the screen
+	 * @param height the height of the screen
+	 * @param widthScaled the scaled width of the screen
+	 * @param heightScaled the scaled height of the screen
+	 * @param rGB the underlying RGB-data array
+	 * @param size the size of the returned {@code List}
+	 * @return a {@code List} of {@code PixelIterable}s given a screen width, a screen height, a scaled screen width, a scaled screen height, an underlying RGB-data array and the size of the returned {@code List}
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code size} is less than {@code 1} or {@code rGB.length} is not equal to {@code widthScaled * heightScaled}
+	 * @throws NullPointerException thrown if, and only if, {@code rGB} is {@code null}
+	 */
+	public static List<PixelIterable> createPixelIterablesFor(final int width, final int height, final int widthScaled, final int heightScaled, final int[] rGB, final int size) {
+		return createPixelIterablesFor(width, height, widthScaled, heightScaled, rGB, size, DEFAULT_BLOCK_SIZE);
+	}
+	
+	/**
+	 * Returns a {@code List} of {@code PixelIterable}s given a screen width, a screen height, a scaled screen width, a scaled screen height, an underlying RGB-data array, the size of the returned {@code List} and a block size.
+	 * <p>
+	 * If {@code rGB} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code size} or {@code blockSize} are less than {@code 1}, or {@code rGB.length} is not equal to {@code widthScaled * heightScaled}, an {@code IllegalArgumentException} will be thrown.
 	 * <p>
 	 * By specifying the {@code size} variable to some valid value other than {@code 1}, this method will create separate {@code PixelIterable}s. Each one can be used by different {@code Thread}s to iterate over all {@link Pixel}s in a uniformly
 	 * distributed and seemingly random fashion. Each iteration is not random, although it will look like it to the eye, because there are a lot of things going on all the time.
+	 * <p>
+	 * The {@code Pixel}s are distributed in blocks of {@code blockSize} consecutive indices into {@code rGB}. A block is always owned by a single {@code PixelIterable}, so two {@code Thread}s only write to neighbouring elements of {@code rGB} at the
+	 * boundaries of their blocks. With a {@code blockSize} of {@code 16}, a block spans as many {@code int}s as a cache line of {@code 64} bytes, which reduces false sharing between the {@code Thread}s. It does not avoid it, as {@code rGB} is not
+	 * aligned to a cache line and each block therefore straddles two of them. A {@code blockSize} of {@code 1} gives each {@code Pixel} its own randomly chosen owner.
 	 * 
 	 * @param width the width of the screen
 	 * @param height the height of the screen
@@ -170,41 +221,124 @@ public final class PixelIterable implements Iterable<Pixel> {
 	 * @param heightScaled the scaled height of the screen
 	 * @param rGB the underlying RGB-data array
 	 * @param size the size of the returned {@code List}
-	 * @return a {@code List} of {@code PixelIterable}s given a screen width, a screen height, a scaled screen width, a scaled screen height, an underlying RGB-data array and the size of the returned {@code List}
-	 * @throws IllegalArgumentException thrown if, and only if, {@code rGB.length % size != 0}
+	 * @param blockSize the number of consecutive indices into {@code rGB} owned by the same {@code PixelIterable}
+	 * @return a {@code List} of {@code PixelIterable}s given a screen width, a screen height, a scaled screen width, a scaled screen height, an underlying RGB-data array, the size of the returned {@code List} and a block size
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code size} or {@code blockSize} are less than {@code 1}, or {@code rGB.length} is not equal to {@code widthScaled * heightScaled}
 	 * @throws NullPointerException thrown if, and only if, {@code rGB} is {@code null}
 	 */
-	public static List<PixelIterable> createPixelIterablesFor(final int width, final int height, final int widthScaled, final int heightScaled, final int[] rGB, final int size) {
-		if(rGB.length % size == 0) {
-			final int sizeOfPixelArray = rGB.length / size;
+	public static List<PixelIterable> createPixelIterablesFor(final int width, final int height, final int widthScaled, final int heightScaled, final int[] rGB, final int size, final int blockSize) {
+		Functions.requireRange(size, 1, Integer.MAX_VALUE, "size < 1: " + size);
+		Functions.requireRange(blockSize, 1, Integer.MAX_VALUE, "blockSize < 1: " + blockSize);
+		
+		final List<Pixel> pixelList = Pixel.createPixelsFor(widthScaled, heightScaled, rGB);
+		
+		final Film film = Film.newInstance(widthScaled, heightScaled, pixelList);
+		
+		final int blocks = (rGB.length + blockSize - 1) / blockSize;
+		
+		final List<List<Pixel>> blockList = new ArrayList<>(blocks);
+		
+		for(int i = 0; i < blocks; i++) {
+			blockList.add(new ArrayList<>(blockSize));
+		}
+		
+		for(final Pixel pixel : pixelList) {
+			blockList.get(pixel.getIndex() / blockSize).add(pixel);
+		}
+		
+		Collections.shuffle(blockList);
+		
+		final List<List<Pixel>> ownerList = new ArrayList<>(size);
+		
+		for(int i = 0; i < size; i++) {
+			ownerList.add(new ArrayList<>(blocks / size * blockSize + blockSize));
+		}
+		
+		for(int i = 0; i < blocks; i++) {
+			ownerList.get(i % size).addAll(blockList.get(i));
+		}
+		
+		final List<PixelIterable> pixelIterableList = new ArrayList<>(size);
+		
+		for(final List<Pixel> owner : ownerList) {
+			Collections.shuffle(owner);
+			
+			final Map<Integer, Pixel> pixelMap = new LinkedHashMap<>();
+			
+			final Pixel[] pixelArray = owner.toArray(new Pixel[owner.size()]);
+			
+			for(final Pixel pixel : pixelArray) {
+				pixelMap.put(Integer.valueOf(pixel.getIndex()), pixel);
+			}
 			
-			final List<Pixel> pixelList = Pixel.createPixelsFor(widthScaled, heightScaled, rGB);
-			final List<PixelIterable> pixelIterableList = new ArrayList<>(size);
+			final PixelIterable pixelIterable = new PixelIterable(width, height, widthScaled, heightScaled, film, pixelMap, pixelArray);
+			
+			pixelIterableList.add(pixelIterable);
+		}
+		
+		return pixelIterableList;
+	}
+	
+	/**
+	 * Returns a {@code List} of {@code PixelIterable}s that together contain the {@link Pixel}s of {@code film} within the rectangle from ({@code minimumX}, {@code minimumY}) (inclusive) to ({@code maximumX}, {@code maximumY}) (exclusive).
+	 * <p>
+	 * This is useful for rendering a single tile of {@code film}, such as in distributed rendering. The {@code PixelIterable}s refer to {@code film}, so samples splatted by a filter may reach {@code Pixel}s outside of the rectangle.
+	 * <p>
+	 * The {@code Pixel}s are distributed in blocks of {@code PixelIterable.DEFAULT_BLOCK_SIZE} consecutive {@code Pixel}s of the rectangle.
+	 * <p>
+	 * If {@code film} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code size} is less than {@code 1} or the rectangle is not within {@code film}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param film the {@link Film} that contains the {@code Pixel}s
+	 * @param minimumX the minimum X-coordinate (inclusive)
+	 * @param minimumY the minimum Y-coordinate (inclusive)
+	 * @param maximumX the maximum X-coordinate (exclusive)
+	 * @param maximumY the maximum Y-coordinate (exclusive)
+	 * @param size the size of the returned {@code List}
+	 * @return a {@code List} of {@code PixelIterable}s that together contain the {@code Pixel}s of {@code film} within the rectangle
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code size} is less than {@code 1} or the rectangle is not within {@code film}
+	 * @throws NullPointerException thrown if, and only if, {@code film} is {@code null}
+	 */
+	public static List<PixelIterable> createPixelIterablesFor(final Film film, final int minimumX, final int minimumY, final int maximumX, final int maximumY, final int size) {
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		
+		Functions.requireRange(size, 1, Integer.MAX_VALUE, "size < 1: " + size);
+		Functions.requireRange(minimumX, 0, width, "minimumX: " + minimumX);
+		Functions.requireRange(minimumY, 0, height, "minimumY: " + minimumY);
+		Functions.requireRange(maximumX, minimumX, width, "maximumX: " + maximumX);
+		Functions.requireRange(maximumY, minimumY, height, "maximumY: " + maximumY);
+		
+		final List<List<Pixel>> ownerList = new ArrayList<>(size);
+		
+		for(int i = 0; i < size; i++) {
+			ownerList.add(new ArrayList<>());
+		}
+		
+		int i = 0;
+		
+		for(int y = minimumY; y < maximumY; y++) {
+			for(int x = minimumX; x < maximumX; x++) {
+				ownerList.get(i++ / DEFAULT_BLOCK_SIZE % size).add(film.getPixel(x, y));
+			}
+		}
+		
+		final List<PixelIterable> pixelIterableList = new ArrayList<>(size);
+		
+		for(final List<Pixel> owner : ownerList) {
+			final Map<Integer, Pixel> pixelMap = new LinkedHashMap<>();
 			
-			Collections.shuffle(pixelList);
+			final Pixel[] pixelArray = owner.toArray(new Pixel[owner.size()]);
 			
-			for(int i = 0, j = 0; i < size; i++) {
-				final Map<Integer, Pixel> pixelMap = new LinkedHashMap<>();
-				
-				final Pixel[] pixelArray = new Pixel[sizeOfPixelArray];
-				
-				for(int k = 0; k < sizeOfPixelArray; j++, k++) {
-					final Pixel pixel = pixelList.get(j);
-					
-					pixelMap.put(Integer.valueOf(pixel.getIndex()), pixel);
-					
-					pixelArray[k] = pixel;
-				}
-				
-				final PixelIterable pixelIterable = new PixelIterable(width, height, widthScaled, heightScaled, pixelMap, pixelArray);
-				
-				pixelIterableList.add(pixelIterable);
+			for(final Pixel pixel : pixelArray) {
+				pixelMap.put(Integer.valueOf(pixel.getIndex()), pixel);
 			}
 			
-			return pixelIterableList;
+			pixelIterableList.add(new PixelIterable(width, height, width, height, film, pixelMap, pixelArray));
 		}
 		
-		throw new IllegalArgumentException("rGB.length % 8 != 0");
+		return pixelIterableList;
 	}
 	
 	/**
@@ -215,7 +349,7 @@ public final class PixelIterable implements Iterable<Pixel> {
 	 * @return an empty {@code PixelIterable} instance
 	 */
 	public static PixelIterable empty() {
-		return new PixelIterable(0, 0, 0, 0, new LinkedHashMap<>(), new Pixel[0]);
+		return new PixelIterable(0, 0, 0, 0, Film.empty(), new LinkedHashMap<>(), new Pixel[0]);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,293 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.display;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
+
+/**
+ * A {@code Resolver} turns the accumulated samples of a {@link Film} into displayable RGB-data.
+ * <p>
+ * Resolving is a separate stage from rendering. It should be performed once per presented frame, rather than once per sample. The {@code Film} is divided into tiles of {@code TILE_SIZE * TILE_SIZE} {@link Pixel}s, which are resolved in
+ * parallel.
+ * <p>
+ * For each {@code Pixel}, its weighted average is scaled by the exposure, mapped by the current {@link ToneMapping} and finally encoded with the sRGB transfer function. The sRGB transfer function is looked up in a table, rather than computed
+ * using {@code Math.pow(double, double)}.
+ * <p>
+ * If denoising is enabled, the colors are first filtered by a {@link Denoiser}, guided by the features of the primary hits of each {@code Pixel}. This makes an image with only a few samples per {@code Pixel} presentable.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Resolver {
+	/**
+	 * The width and height of the tiles that are resolved in parallel.
+	 */
+	public static final int TILE_SIZE = 32;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final int S_R_G_B_TABLE_SIZE = 4096;
+	private static final int[] S_R_G_B_TABLE = doCreateSRGBTable(S_R_G_B_TABLE_SIZE);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final Denoiser denoiser = Denoiser.newInstance();
+	private volatile boolean isDenoising;
+	private volatile double exposure;
+	private volatile double exposureScale;
+	private volatile ToneMapping toneMapping;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Resolver() {
+		setExposure(0.0D);
+		setToneMapping(ToneMapping.NONE);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, denoising is enabled, {@code false} otherwise.
+	 * <p>
+	 * By default denoising is disabled.
+	 * 
+	 * @return {@code true} if, and only if, denoising is enabled, {@code false} otherwise
+	 */
+	public boolean isDenoising() {
+		return this.isDenoising;
+	}
+	
+	/**
+	 * Returns the {@link Denoiser} used by this {@code Resolver} instance when denoising is enabled.
+	 * 
+	 * @return the {@code Denoiser} used by this {@code Resolver} instance when denoising is enabled
+	 */
+	public Denoiser getDenoiser() {
+		return this.denoiser;
+	}
+	
+	/**
+	 * Returns the exposure in stops.
+	 * <p>
+	 * By default the exposure is {@code 0.0D}.
+	 * 
+	 * @return the exposure in stops
+	 */
+	public double getExposure() {
+		return this.exposure;
+	}
+	
+	/**
+	 * Returns the {@link ToneMapping} currently used.
+	 * <p>
+	 * By default {@code ToneMapping.NONE} is used.
+	 * 
+	 * @return the {@code ToneMapping} currently used
+	 */
+	public ToneMapping getToneMapping() {
+		return this.toneMapping;
+	}
+	
+	/**
+	 * Returns the RGB-value, packed into an {@code int}, of the linear color given by {@code r}, {@code g} and {@code b}.
+	 * <p>
+	 * The color is scaled by the exposure, mapped by the current {@link ToneMapping} and encoded with the sRGB transfer function.
+	 * 
+	 * @param r the linear value of the red component
+	 * @param g the linear value of the green component
+	 * @param b the linear value of the blue component
+	 * @return the RGB-value, packed into an {@code int}, of the linear color given by {@code r}, {@code g} and {@code b}
+	 */
+	public int toRGB(final double r, final double g, final double b) {
+		final double exposureScale = this.exposureScale;
+		
+		final ToneMapping toneMapping = this.toneMapping;
+		
+		return encode(toneMapping.apply(r * exposureScale), toneMapping.apply(g * exposureScale), toneMapping.apply(b * exposureScale));
+	}
+	
+	/**
+	 * Resolves all {@link Pixel}s of {@code film}.
+	 * <p>
+	 * If {@code film} is being refined progressively, a {@code Pixel} without sub-samples is presented with the color of its closest ancestor that has been sampled, if any. The ancestors of the {@code Pixel} at {@code (x, y)} are located
+	 * at {@code (x - x % s, y - y % s)}, for {@code s} in {@code 2}, {@code 4} and so on up to {@code Film.REFINEMENT_STRIDE}. This fills the image while it is refined progressively.
+	 * <p>
+	 * If denoising is disabled, the RGB-data of each {@code Pixel} is updated by calling its {@code update(Resolver)} method. Otherwise the denoised colors are passed to {@code toRGB(double, double, double)}. The tiles of the {@code Film} are
+	 * resolved in parallel.
+	 * <p>
+	 * If {@code film} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to resolve
+	 * @throws NullPointerException thrown if, and only if, {@code film} is {@code null}
+	 */
+	public void resolve(final Film film) {
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		final int tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+		final int tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+		
+		final double[] colors = this.isDenoising ? this.denoiser.denoise(film) : null;
+		
+		final boolean isRefiningProgressively = film.isRefiningProgressively();
+		
+		IntStream.range(0, tilesX * tilesY).parallel().forEach(tile -> {
+			final int minimumX = (tile % tilesX) * TILE_SIZE;
+			final int minimumY = (tile / tilesX) * TILE_SIZE;
+			final int maximumX = Math.min(minimumX + TILE_SIZE, width);
+			final int maximumY = Math.min(minimumY + TILE_SIZE, height);
+			
+			for(int y = minimumY; y < maximumY; y++) {
+				for(int x = minimumX; x < maximumX; x++) {
+					final Pixel pixel = film.getPixel(x, y);
+					final Pixel source = isRefiningProgressively ? doFindSampledAncestor(film, pixel) : pixel;
+					
+					if(colors != null) {
+						final int index = (source.getY() * width + source.getX()) * 3;
+						
+						pixel.setRGB(toRGB(colors[index + 0], colors[index + 1], colors[index + 2]));
+					} else if(source != pixel) {
+						final RGBSpectrum rGBSpectrum = source.getRGBSpectrum();
+						
+						pixel.setRGB(toRGB(rGBSpectrum.getCoefficient(0), rGBSpectrum.getCoefficient(1), rGBSpectrum.getCoefficient(2)));
+					} else {
+						pixel.update(this);
+					}
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Enables or disables denoising.
+	 * 
+	 * @param isDenoising {@code true} if, and only if, denoising should be enabled, {@code false} otherwise
+	 */
+	public void setDenoising(final boolean isDenoising) {
+		this.isDenoising = isDenoising;
+	}
+	
+	/**
+	 * Sets the exposure in stops.
+	 * <p>
+	 * Each stop doubles the brightness of the resolved image.
+	 * <p>
+	 * If {@code exposure} is either infinite or NaN, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param exposure the new exposure in stops
+	 * @throws IllegalArgumentException thrown if, and only if, {@code exposure} is either infinite or NaN
+	 */
+	public void setExposure(final double exposure) {
+		if(Double.isInfinite(exposure) || Double.isNaN(exposure)) {
+			throw new IllegalArgumentException(String.format("Double.isInfinite(exposure) || Double.isNaN(exposure): exposure == %s", Double.toString(exposure)));
+		}
+		
+		this.exposure = exposure;
+		this.exposureScale = Math.pow(2.0D, exposure);
+	}
+	
+	/**
+	 * Sets the {@link ToneMapping} to use.
+	 * <p>
+	 * If {@code toneMapping} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param toneMapping the new {@code ToneMapping}
+	 * @throws NullPointerException thrown if, and only if, {@code toneMapping} is {@code null}
+	 */
+	public void setToneMapping(final ToneMapping toneMapping) {
+		this.toneMapping = Objects.requireNonNull(toneMapping, "toneMapping == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the RGB-value, packed into an {@code int}, of the linear color given by {@code r}, {@code g} and {@code b}.
+	 * <p>
+	 * Each component is clamped to the range {@code [0.0D, 1.0D]} and encoded with the sRGB transfer function, using a lookup table. No exposure nor tone mapping is applied.
+	 * 
+	 * @param r the linear value of the red component
+	 * @param g the linear value of the green component
+	 * @param b the linear value of the blue component
+	 * @return the RGB-value, packed into an {@code int}, of the linear color given by {@code r}, {@code g} and {@code b}
+	 */
+	public static int encode(final double r, final double g, final double b) {
+		return (doEncode(r) << 16) | (doEncode(g) << 8) | doEncode(b);
+	}
+	
+	/**
+	 * Returns a new {@code Resolver} instance.
+	 * <p>
+	 * The exposure will be {@code 0.0D}, the {@link ToneMapping} will be {@code ToneMapping.NONE} and denoising will be disabled.
+	 * 
+	 * @return a new {@code Resolver} instance
+	 */
+	public static Resolver newInstance() {
+		return new Resolver();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static Pixel doFindSampledAncestor(final Film film, final Pixel pixel) {
+		if(pixel.getSubSamples() > 0) {
+			return pixel;
+		}
+		
+		final int x = pixel.getX();
+		final int y = pixel.getY();
+		
+		for(int stride = 2; stride <= Film.REFINEMENT_STRIDE; stride *= 2) {
+			final Pixel ancestor = film.getPixel(x - x % stride, y - y % stride);
+			
+			if(ancestor.getSubSamples() > 0) {
+				return ancestor;
+			}
+		}
+		
+		return pixel;
+	}
+	
+	private static int doEncode(final double value) {
+		if(value <= 0.0D || value != value) {
+			return 0;
+		}
+		
+		if(value >= 1.0D) {
+			return 255;
+		}
+		
+		return S_R_G_B_TABLE[(int)(value * (S_R_G_B_TABLE_SIZE - 1) + 0.5D)];
+	}
+	
+	private static int[] doCreateSRGBTable(final int size) {
+		final int[] sRGBTable = new int[size];
+		
+		for(int i = 0; i < size; i++) {
+			final double linear = (double)(i) / (size - 1);
+			final double encoded = linear <= 0.0031308D ? 12.92D * linear : 1.055D * Math.pow(linear, 1.0D / 2.4D) - 0.055D;
+			
+			sRGBTable[i] = Math.min(Math.max((int)(encoded * 255.0D + 0.5D), 0), 255);
+		}
+		
+		return sRGBTable;
+	}
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.display;
+
+/**
+ * A {@code ToneMapping} maps a linear high dynamic range value to a linear value that can be displayed.
+ * <p>
+ * The values returned by {@code apply(double)} are not clamped, nor are they encoded with the sRGB transfer function. That is done by the {@link Resolver}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public enum ToneMapping {
+	/**
+	 * A {@code ToneMapping} that returns its value as-is, such that all values above {@code 1.0D} are clipped.
+	 */
+	NONE("None") {
+		@Override
+		public double apply(final double value) {
+			return value;
+		}
+	},
+	
+	/**
+	 * A {@code ToneMapping} that implements the simple Reinhard operator {@code value / (1.0D + value)}.
+	 */
+	REINHARD("Reinhard") {
+		@Override
+		public double apply(final double value) {
+			return value / (1.0D + value);
+		}
+	},
+	
+	/**
+	 * A {@code ToneMapping} that implements the filmic operator by John Hable, with a linear white point of {@code 11.2D}.
+	 */
+	FILMIC("Filmic") {
+		@Override
+		public double apply(final double value) {
+			return doHable(2.0D * value) * FILMIC_WHITE_SCALE;
+		}
+	},
+	
+	/**
+	 * A {@code ToneMapping} that implements the ACES filmic operator, as fitted by Krzysztof Narkowicz.
+	 */
+	ACES("ACES") {
+		@Override
+		public double apply(final double value) {
+			return value * (2.51D * value + 0.03D) / (value * (2.43D * value + 0.59D) + 0.14D);
+		}
+	};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final double FILMIC_WHITE_SCALE = 1.0D / doHable(11.2D);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final String toString;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ToneMapping(final String toString) {
+		this.toString = toString;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code String} representation of this {@code ToneMapping}.
+	 * 
+	 * @return a {@code String} representation of this {@code ToneMapping}
+	 */
+	@Override
+	public String toString() {
+		return this.toString;
+	}
+	
+	/**
+	 * Returns the tone mapped value of {@code value}.
+	 * 
+	 * @param value a linear high dynamic range value
+	 * @return the tone mapped value of {@code value}
+	 */
+	public abstract double apply(final double value);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doHable(final double value) {
+		final double a = 0.15D;
+		final double b = 0.50D;
+		final double c = 0.10D;
+		final double d = 0.20D;
+		final double e = 0.02D;
+		final double f = 0.30D;
+		
+		return (value * (a * value + c * b) + d * e) / (value * (a * value + b) + d * f) - e / f;
+	}
+}
@@ -29,6 +29,8 @@ import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.JPanel;
 
 import org.macroing.gdt.engine.configuration.Configuration;
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.Resolver;
 
 final class BufferedImageJPanel extends JPanel {
 	private static final long serialVersionUID = 1L;
@@ -37,6 +39,8 @@ final class BufferedImageJPanel extends JPanel {
 	
 	private final AtomicReference<BufferedImage> bufferedImage = new AtomicReference<>();
 	private final AtomicReference<Configuration> configuration = new AtomicReference<>();
+	private final AtomicReference<Film> film = new AtomicReference<>();
+	private final AtomicReference<Resolver> resolver = new AtomicReference<>();
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -65,6 +69,14 @@ final class BufferedImageJPanel extends JPanel {
 			return;
 		}
 		
+		final Film film = this.film.get();
+		
+		final Resolver resolver = this.resolver.get();
+		
+		if(film != null && resolver != null) {
+			resolver.resolve(film);
+		}
+		
 		final Graphics2D graphics2D = Graphics2D.class.cast(graphics);
 		
 		if(configuration.isRenderingInRealtime()) {
@@ -88,6 +100,14 @@ final class BufferedImageJPanel extends JPanel {
 		this.configuration.set(Objects.requireNonNull(configuration, "configuration == null"));
 	}
 	
+	public void setFilm(final Film film) {
+		this.film.set(Objects.requireNonNull(film, "film == null"));
+	}
+	
+	public void setResolver(final Resolver resolver) {
+		this.resolver.set(Objects.requireNonNull(resolver, "resolver == null"));
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	public static BufferedImageJPanel newInstance() {
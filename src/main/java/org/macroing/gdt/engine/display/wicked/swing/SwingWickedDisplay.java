@@ -27,6 +27,9 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
@@ -51,6 +54,7 @@ import org.macroing.gdt.engine.display.wicked.Window;
 import org.macroing.gdt.engine.display.wicked.WickedDisplay;
 import org.macroing.gdt.engine.input.Mouse;
 import org.macroing.gdt.engine.input.MousePointer;
+import org.macroing.gdt.engine.jfr.DisplayConfigureEvent;
 
 /**
  * A {@link WickedDisplay} implementation on top of Java Swing.
@@ -67,6 +71,8 @@ public final class SwingWickedDisplay extends WickedDisplay {
 	private final List<PixelIterable> pixelIterables = new ArrayList<>();
 	private final Map<String, Component<?>> components = new LinkedHashMap<>();
 	private final MousePointer mousePointer = MousePointerImpl.newInstance();
+	private final AtomicInteger pauses = new AtomicInteger();
+	private final ReadWriteLock renderLock = new ReentrantReadWriteLock(true);
 	private final SwingWorker<?, ?>[] swingWorkers = new SwingWorker<?, ?>[SWING_WORKER_COUNT];
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -369,6 +375,10 @@ public final class SwingWickedDisplay extends WickedDisplay {
 	 */
 	@Override
 	public void configure() {
+		final DisplayConfigureEvent displayConfigureEvent = new DisplayConfigureEvent();
+		
+		displayConfigureEvent.begin();
+		
 		final Configuration configuration = getConfiguration();
 		
 		final int width = configuration.getWidth();
@@ -385,6 +395,10 @@ public final class SwingWickedDisplay extends WickedDisplay {
 		
 		this.bufferedImageJPanel.setBufferedImage(bufferedImage);
 		this.bufferedImageJPanel.setConfiguration(configuration);
+		this.bufferedImageJPanel.setFilm(this.pixelIterables.get(0).getFilm());
+		this.bufferedImageJPanel.setResolver(getResolver());
+		
+		getResolver().setDenoising(configuration.isDenoising());
 		
 		ComponentUtilities.runInEDT(() -> {
 			final
@@ -401,6 +415,13 @@ public final class SwingWickedDisplay extends WickedDisplay {
 				doConfigureAndExecuteSwingWorkers();
 			}
 		});
+		
+		if(displayConfigureEvent.shouldCommit()) {
+			displayConfigureEvent.display = getClass().getSimpleName();
+			displayConfigureEvent.widthScaled = widthScaled;
+			displayConfigureEvent.heightScaled = heightScaled;
+			displayConfigureEvent.commit();
+		}
 	}
 	
 	/**
@@ -438,6 +459,38 @@ public final class SwingWickedDisplay extends WickedDisplay {
 		jFrame.repaint();
 	}
 	
+	/**
+	 * Runs {@code runnable} while no rendering {@code Thread} of this {@code SwingWickedDisplay} instance adds samples to its {@code Film}.
+	 * <p>
+	 * Each rendering {@code Thread} renders its frames while holding a shared lock, and abandons its current pass as soon as a pause has been requested. This method requests a pause, acquires the lock exclusively and runs {@code runnable}
+	 * on the calling {@code Thread}. Rendering is resumed once {@code runnable} returns. Calls may be nested.
+	 * <p>
+	 * This method must not be called from a rendering {@code Thread}.
+	 * <p>
+	 * If {@code runnable} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param runnable the {@code Runnable} to run
+	 * @throws NullPointerException thrown if, and only if, {@code runnable} is {@code null}
+	 */
+	@Override
+	public void runWhilePaused(final Runnable runnable) {
+		Objects.requireNonNull(runnable, "runnable == null");
+		
+		this.pauses.incrementAndGet();
+		
+		try {
+			this.renderLock.writeLock().lock();
+			
+			try {
+				runnable.run();
+			} finally {
+				this.renderLock.writeLock().unlock();
+			}
+		} finally {
+			this.pauses.decrementAndGet();
+		}
+	}
+	
 	/**
 	 * Shows this {@code SwingWickedDisplay} instance.
 	 * <p>
@@ -530,7 +583,7 @@ public final class SwingWickedDisplay extends WickedDisplay {
 		synchronized(this.swingWorkers) {
 			for(int i = 0; i < this.swingWorkers.length; i++) {
 				if(this.swingWorkers[i] == null) {
-					this.swingWorkers[i] = new SwingWorkerImpl(this, i, jFrame);
+					this.swingWorkers[i] = new SwingWorkerImpl(this, i, jFrame, this.pauses, this.renderLock);
 					this.swingWorkers[i].execute();
 				}
 			}
@@ -561,16 +614,20 @@ public final class SwingWickedDisplay extends WickedDisplay {
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private static final class SwingWorkerImpl extends SwingWorker<Void, Void> {
+		private final AtomicInteger pauses;
 		private final Display display;
 		private final int index;
 		private final JFrame jFrame;
+		private final ReadWriteLock renderLock;
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		
-		SwingWorkerImpl(final Display display, final int index, final JFrame jFrame) {
+		SwingWorkerImpl(final Display display, final int index, final JFrame jFrame, final AtomicInteger pauses, final ReadWriteLock renderLock) {
 			this.display = display;
 			this.index = index;
 			this.jFrame = jFrame;
+			this.pauses = pauses;
+			this.renderLock = renderLock;
 		}
 		
 		////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -582,11 +639,13 @@ public final class SwingWickedDisplay extends WickedDisplay {
 			final PixelIterable pixelIterable = this.display.getPixelIterableAt(this.index);
 			
 			while(!isCancelled()) {
-				displayObserver.render(pixelIterable, pixel -> {
-					pixel.update();
-					
-					this.jFrame.repaint();
-				}, () -> isCancelled());
+				this.renderLock.readLock().lock();
+				
+				try {
+					displayObserver.render(pixelIterable, pixel -> this.jFrame.repaint(), () -> isCancelled() || this.pauses.get() > 0);
+				} finally {
+					this.renderLock.readLock().unlock();
+				}
 			}
 			
 			return null;
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.filter;
+
+import java.util.Objects;
+
+import org.macroing.gdt.engine.util.Functions;
+
+/**
+ * A {@code FilterTable} contains precomputed weights for a given {@link Filter}.
+ * <p>
+ * Evaluating a {@code Filter} such as the {@link MitchellFilter}, the {@link LanczosSincFilter} or the {@link GaussianFilter} may be expensive. A {@code FilterTable} evaluates the {@code Filter} once per table entry, so that each lookup costs about the
+ * same as evaluating a {@link BoxFilter}.
+ * <p>
+ * The {@code Filter} is assumed to be symmetric around the origin, which is the case for all {@code Filter}s provided by this API.
+ * <p>
+ * This class is immutable and therefore suitable for concurrent use without external synchronization.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class FilterTable {
+	/**
+	 * The default number of table entries along each axis.
+	 */
+	public static final int DEFAULT_SIZE = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final double height;
+	private final double heightScale;
+	private final double width;
+	private final double widthScale;
+	private final double[] weights;
+	private final Filter filter;
+	private final int size;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private FilterTable(final Filter filter, final int size) {
+		this.filter = filter;
+		this.size = size;
+		this.width = filter.getWidth();
+		this.height = filter.getHeight();
+		this.widthScale = size * filter.getWidthReciprocal();
+		this.heightScale = size * filter.getHeightReciprocal();
+		this.weights = new double[size * size];
+		
+		for(int y = 0; y < size; y++) {
+			for(int x = 0; x < size; x++) {
+				this.weights[y * size + x] = filter.evaluate((x + 0.5D) * this.width / size, (y + 0.5D) * this.height / size);
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the precomputed weight for {@code x} and {@code y}.
+	 * <p>
+	 * If either {@code x} or {@code y} are outside of the extent of the {@link Filter}, {@code 0.0D} will be returned.
+	 * 
+	 * @param x a {@code double} value denoting X, relative to the center of the {@code Filter}
+	 * @param y a {@code double} value denoting Y, relative to the center of the {@code Filter}
+	 * @return the precomputed weight for {@code x} and {@code y}
+	 */
+	public double evaluate(final double x, final double y) {
+		final int indexX = (int)(Math.abs(x) * this.widthScale);
+		final int indexY = (int)(Math.abs(y) * this.heightScale);
+		
+		if(indexX >= this.size || indexY >= this.size) {
+			return 0.0D;
+		}
+		
+		return this.weights[indexY * this.size + indexX];
+	}
+	
+	/**
+	 * Returns the height of the {@link Filter}, which is the extent of the {@code Filter} along the Y-axis in both directions.
+	 * 
+	 * @return the height of the {@code Filter}
+	 */
+	public double getHeight() {
+		return this.height;
+	}
+	
+	/**
+	 * Returns the width of the {@link Filter}, which is the extent of the {@code Filter} along the X-axis in both directions.
+	 * 
+	 * @return the width of the {@code Filter}
+	 */
+	public double getWidth() {
+		return this.width;
+	}
+	
+	/**
+	 * Returns the {@link Filter} that was used to create this {@code FilterTable} instance.
+	 * 
+	 * @return the {@code Filter} that was used to create this {@code FilterTable} instance
+	 */
+	public Filter getFilter() {
+		return this.filter;
+	}
+	
+	/**
+	 * Returns the number of table entries along each axis.
+	 * 
+	 * @return the number of table entries along each axis
+	 */
+	public int getSize() {
+		return this.size;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code FilterTable} instance for {@code filter}.
+	 * <p>
+	 * Calling this method is equivalent to calling {@code FilterTable.newInstance(filter, FilterTable.DEFAULT_SIZE)}.
+	 * <p>
+	 * If {@code filter} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param filter the {@link Filter} to precompute the weights for
+	 * @return a new {@code FilterTable} instance for {@code filter}
+	 * @throws NullPointerException thrown if, and only if, {@code filter} is {@code null}
+	 */
+	public static FilterTable newInstance(final Filter filter) {
+		return newInstance(filter, DEFAULT_SIZE);
+	}
+	
+	/**
+	 * Returns a new {@code FilterTable} instance for {@code filter}, with {@code size} table entries along each axis.
+	 * <p>
+	 * If {@code filter} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code size} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param filter the {@link Filter} to precompute the weights for
+	 * @param size the number of table entries along each axis
+	 * @return a new {@code FilterTable} instance for {@code filter}, with {@code size} table entries along each axis
+	 * @throws IllegalArgumentException thrown if, and only if, {@code size} is less than {@code 1}
+	 * @throws NullPointerException thrown if, and only if, {@code filter} is {@code null}
+	 */
+	public static FilterTable newInstance(final Filter filter, final int size) {
+		return new FilterTable(Objects.requireNonNull(filter, "filter == null"), Functions.requireRange(size, 1, Integer.MAX_VALUE, "size < 1: " + size));
+	}
+}
@@ -23,6 +23,7 @@ import java.awt.image.BufferedImage;
 import java.awt.image.DataBuffer;
 import java.awt.image.DataBufferInt;
 import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
@@ -36,22 +37,23 @@ final class BufferedImages {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	public static BufferedImage createBufferedImageFrom(final File file) {
+	public static BufferedImage createBufferedImageFrom(final byte[] bytes) {
 		try {
-			BufferedImage bufferedImage0 = ImageIO.read(file);
+			final BufferedImage bufferedImage = ImageIO.read(new ByteArrayInputStream(bytes));
 			
-			if(bufferedImage0.getType() != BufferedImage.TYPE_INT_RGB) {
-				final BufferedImage bufferedImage1 = new BufferedImage(bufferedImage0.getWidth(), bufferedImage0.getHeight(), BufferedImage.TYPE_INT_RGB);
-				
-				final
-				Graphics2D graphics2D = bufferedImage1.createGraphics();
-				graphics2D.drawImage(bufferedImage0, 0, 0, null);
-				graphics2D.dispose();
-				
-				bufferedImage0 = bufferedImage1;
+			if(bufferedImage == null) {
+				throw new IOException("The image format is not supported.");
 			}
 			
-			return bufferedImage0;
+			return doConvert(bufferedImage);
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	public static BufferedImage createBufferedImageFrom(final File file) {
+		try {
+			return doConvert(ImageIO.read(file));
 		} catch(final IOException e) {
 			throw new UncheckedIOException(e);
 		}
@@ -68,4 +70,21 @@ final class BufferedImages {
 		
 		return data;
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static BufferedImage doConvert(final BufferedImage bufferedImage) {
+		if(bufferedImage.getType() != BufferedImage.TYPE_INT_RGB) {
+			final BufferedImage bufferedImageRGB = new BufferedImage(bufferedImage.getWidth(), bufferedImage.getHeight(), BufferedImage.TYPE_INT_RGB);
+			
+			final
+			Graphics2D graphics2D = bufferedImageRGB.createGraphics();
+			graphics2D.drawImage(bufferedImage, 0, 0, null);
+			graphics2D.dispose();
+			
+			return bufferedImageRGB;
+		}
+		
+		return bufferedImage;
+	}
 }
\ No newline at end of file
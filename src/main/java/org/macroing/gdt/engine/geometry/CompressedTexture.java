@@ -0,0 +1,521 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A {@code CompressedTexture} is an image {@link Texture} that is held in memory in a block-compressed format, similar to BC1.
+ * <p>
+ * The image is divided into blocks of {@code 4 * 4} texels. Each block is stored in a single {@code long}, which holds two endpoint colors in the RGB565-format and a {@code 2}-bit index per texel. An index selects one of four colors: the two
+ * endpoints or one of the two colors at one third and two thirds of the way between them. A texel therefore uses half a byte, an eighth of the {@code 4} bytes used by {@link SimpleTexture}. Unlike BC1 there is no {@code 1}-bit alpha mode,
+ * so all blocks use four colors.
+ * <p>
+ * Decoding a texel only requires its block, so lookups decode a single texel on the fly, without decompressing anything else. As a block covers {@code 16} texels in one {@code long}, neighbouring lookups are also likely to hit the same
+ * cache line.
+ * <p>
+ * The compression is lossy and works best for low-frequency images, such as albedo maps. The endpoints of a block are found along the principal axis of its colors and then refined by a least-squares fit. Compressing a large image takes a
+ * while, so {@link TextureCompressor} can be used to compress images offline into files that are loaded by {@link #load(File)}.
+ * <p>
+ * The lookups are nearest-texel lookups, use the same mapping from UV-coordinates to texels as {@code SimpleTexture} and return the same range of values.
+ * <p>
+ * This class is immutable and therefore suitable for concurrent use without external synchronization.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class CompressedTexture extends Texture {
+	private static final double RECIPROCAL = 1.0D / 256.0D;
+	private static final int HEADER_BYTES = 4 * Integer.BYTES;
+	private static final int MAGIC = 0x47444243;
+	private static final int VERSION = 1;
+	private static final int[] WEIGHTS = {0, 3, 1, 2};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final int blocksX;
+	private final long[] blocks;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private CompressedTexture(final int width, final int height, final long[] blocks) {
+		super(width, height);
+		
+		this.blocks = blocks;
+		this.blocksX = (width + 3) / 4;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the color at {@code u} and {@code v} as a new {@link Spectrum}.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @return the color at {@code u} and {@code v} as a new {@code Spectrum}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v) {
+		return getColorAt(u, v, RGBSpectrum.black());
+	}
+	
+	/**
+	 * Sets {@code color} to the color at {@code u} and {@code v} and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		final int rGB = getRGB((int)(getWidth() * ((u + 1.0D) * 0.5D)), (int)(getHeight() * ((v + 1.0D) * 0.5D)));
+		
+		return color.setCoefficient(0, ((rGB >> 16) & 0xFF) * RECIPROCAL).setCoefficient(1, ((rGB >> 8) & 0xFF) * RECIPROCAL).setCoefficient(2, (rGB & 0xFF) * RECIPROCAL);
+	}
+	
+	/**
+	 * Returns {@code surfaceNormal}, as a {@code CompressedTexture} does not alter the surface normal.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @return {@code surfaceNormal}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
+		return surfaceNormal;
+	}
+	
+	/**
+	 * Sets {@code surfaceNormalAt} to {@code surfaceNormal} and returns it, as a {@code CompressedTexture} does not alter the surface normal.
+	 * <p>
+	 * If either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @param surfaceNormalAt the {@link Vector} to set
+	 * @return {@code surfaceNormalAt}
+	 * @throws NullPointerException thrown if, and only if, either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return surfaceNormalAt.set(surfaceNormal);
+	}
+	
+	/**
+	 * Returns the decoded texel at {@code x} and {@code y} as a packed RGB {@code int}.
+	 * <p>
+	 * Both {@code x} and {@code y} are clamped to the image.
+	 * 
+	 * @param x the X-coordinate of the texel
+	 * @param y the Y-coordinate of the texel
+	 * @return the decoded texel at {@code x} and {@code y} as a packed RGB {@code int}
+	 */
+	public int getRGB(final int x, final int y) {
+		final int clampedX = Math.min(Math.max(x, 0), getWidth() - 1);
+		final int clampedY = Math.min(Math.max(y, 0), getHeight() - 1);
+		
+		final long block = this.blocks[(clampedY >> 2) * this.blocksX + (clampedX >> 2)];
+		
+		final int color0 = (int)(block & 0xFFFFL);
+		final int color1 = (int)((block >>> 16) & 0xFFFFL);
+		final int weight1 = WEIGHTS[(int)(block >>> (32 + 2 * ((clampedY & 3) * 4 + (clampedX & 3)))) & 3];
+		final int weight0 = 3 - weight1;
+		
+		final int red = (doToRed(color0) * weight0 + doToRed(color1) * weight1) / 3;
+		final int green = (doToGreen(color0) * weight0 + doToGreen(color1) * weight1) / 3;
+		final int blue = (doToBlue(color0) * weight0 + doToBlue(color1) * weight1) / 3;
+		
+		return (red << 16) | (green << 8) | blue;
+	}
+	
+	/**
+	 * Returns the size of the blocks of this {@code CompressedTexture} instance in bytes.
+	 * 
+	 * @return the size of the blocks of this {@code CompressedTexture} instance in bytes
+	 */
+	public long getSizeInBytes() {
+		return (long)(this.blocks.length) * Long.BYTES;
+	}
+	
+	/**
+	 * Saves this {@code CompressedTexture} to {@code file}, such that it can be loaded by {@link #load(File)}.
+	 * <p>
+	 * The file contains a small header, consisting of a magic number, a version and the width and height of the image, followed by the blocks.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file the file to save to
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public void save(final File file) {
+		Objects.requireNonNull(file, "file == null");
+		
+		try(final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final
+			MappedByteBuffer mappedByteBuffer = fileChannel.map(MapMode.READ_WRITE, 0L, HEADER_BYTES + getSizeInBytes());
+			mappedByteBuffer.putInt(MAGIC);
+			mappedByteBuffer.putInt(VERSION);
+			mappedByteBuffer.putInt(getWidth());
+			mappedByteBuffer.putInt(getHeight());
+			mappedByteBuffer.asLongBuffer().put(this.blocks);
+			mappedByteBuffer.force();
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Loads a {@code CompressedTexture} from {@code file}, as saved by {@link #save(File)}, and returns it.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or {@code file} is not a valid {@code CompressedTexture} file, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file the file to load from
+	 * @return the {@code CompressedTexture}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs, or {@code file} is not a valid {@code CompressedTexture} file
+	 */
+	public static CompressedTexture load(final File file) {
+		Objects.requireNonNull(file, "file == null");
+		
+		try(final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final long size = fileChannel.size();
+			
+			if(size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+				throw new IOException(String.format("Invalid CompressedTexture: %s", file));
+			}
+			
+			final MappedByteBuffer mappedByteBuffer = fileChannel.map(MapMode.READ_ONLY, 0L, size);
+			
+			if(mappedByteBuffer.getInt() != MAGIC || mappedByteBuffer.getInt() != VERSION) {
+				throw new IOException(String.format("Invalid CompressedTexture: %s", file));
+			}
+			
+			final int width = mappedByteBuffer.getInt();
+			final int height = mappedByteBuffer.getInt();
+			
+			if(width < 1 || height < 1 || mappedByteBuffer.remaining() != (long)((width + 3) / 4) * ((height + 3) / 4) * Long.BYTES) {
+				throw new IOException(String.format("Invalid CompressedTexture: %s", file));
+			}
+			
+			final long[] blocks = new long[((width + 3) / 4) * ((height + 3) / 4)];
+			
+			mappedByteBuffer.asLongBuffer().get(blocks);
+			
+			return new CompressedTexture(width, height, blocks);
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	/**
+	 * Compresses the image in {@code bufferedImage} and returns a new {@code CompressedTexture} instance with it.
+	 * <p>
+	 * If {@code bufferedImage} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bufferedImage the image to compress
+	 * @return a new {@code CompressedTexture} instance with the compressed image
+	 * @throws NullPointerException thrown if, and only if, {@code bufferedImage} is {@code null}
+	 */
+	public static CompressedTexture newInstance(final BufferedImage bufferedImage) {
+		final int width = bufferedImage.getWidth();
+		final int height = bufferedImage.getHeight();
+		final int blocksX = (width + 3) / 4;
+		final int blocksY = (height + 3) / 4;
+		
+		final long[] blocks = new long[blocksX * blocksY];
+		
+		final double[] texels = new double[16 * 3];
+		
+		for(int blockY = 0; blockY < blocksY; blockY++) {
+			for(int blockX = 0; blockX < blocksX; blockX++) {
+				for(int i = 0; i < 16; i++) {
+					final int x = Math.min(blockX * 4 + (i & 3), width - 1);
+					final int y = Math.min(blockY * 4 + (i >> 2), height - 1);
+					
+					final int rGB = bufferedImage.getRGB(x, y);
+					
+					texels[i * 3 + 0] = (rGB >> 16) & 0xFF;
+					texels[i * 3 + 1] = (rGB >> 8) & 0xFF;
+					texels[i * 3 + 2] = rGB & 0xFF;
+				}
+				
+				blocks[blockY * blocksX + blockX] = doCompress(texels);
+			}
+		}
+		
+		return new CompressedTexture(width, height, blocks);
+	}
+	
+	/**
+	 * Compresses the image in {@code file} and returns a new {@code CompressedTexture} instance with it.
+	 * <p>
+	 * To load a file saved by {@link #save(File)}, use {@link #load(File)}.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file the file of the image to compress
+	 * @return a new {@code CompressedTexture} instance with the compressed image
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static CompressedTexture newInstance(final File file) {
+		return newInstance(BufferedImages.createBufferedImageFrom(Objects.requireNonNull(file, "file == null")));
+	}
+	
+	/**
+	 * Compresses the image in the file named {@code fileName} and returns a new {@code CompressedTexture} instance with it.
+	 * <p>
+	 * If {@code fileName} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param fileName the name of the file of the image to compress
+	 * @return a new {@code CompressedTexture} instance with the compressed image
+	 * @throws NullPointerException thrown if, and only if, {@code fileName} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static CompressedTexture newInstance(final String fileName) {
+		return newInstance(new File(Objects.requireNonNull(fileName, "fileName == null")));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doComputeError(final double[] texels, final int color0, final int color1, final int[] indices) {
+		final double[] palette = doCreatePalette(color0, color1);
+		
+		double error = 0.0D;
+		
+		for(int i = 0; i < 16; i++) {
+			int bestIndex = 0;
+			
+			double bestDistanceSquared = Double.MAX_VALUE;
+			
+			for(int index = 0; index < 4; index++) {
+				final double deltaRed = texels[i * 3 + 0] - palette[index * 3 + 0];
+				final double deltaGreen = texels[i * 3 + 1] - palette[index * 3 + 1];
+				final double deltaBlue = texels[i * 3 + 2] - palette[index * 3 + 2];
+				final double distanceSquared = deltaRed * deltaRed + deltaGreen * deltaGreen + deltaBlue * deltaBlue;
+				
+				if(distanceSquared < bestDistanceSquared) {
+					bestDistanceSquared = distanceSquared;
+					bestIndex = index;
+				}
+			}
+			
+			indices[i] = bestIndex;
+			
+			error += bestDistanceSquared;
+		}
+		
+		return error;
+	}
+	
+	private static double[] doCreatePalette(final int color0, final int color1) {
+		final double[] palette = new double[4 * 3];
+		
+		for(int index = 0; index < 4; index++) {
+			final int weight1 = WEIGHTS[index];
+			final int weight0 = 3 - weight1;
+			
+			palette[index * 3 + 0] = (doToRed(color0) * weight0 + doToRed(color1) * weight1) / 3;
+			palette[index * 3 + 1] = (doToGreen(color0) * weight0 + doToGreen(color1) * weight1) / 3;
+			palette[index * 3 + 2] = (doToBlue(color0) * weight0 + doToBlue(color1) * weight1) / 3;
+		}
+		
+		return palette;
+	}
+	
+	private static int doToBlue(final int color) {
+		final int blue = color & 0x1F;
+		
+		return (blue << 3) | (blue >> 2);
+	}
+	
+	private static int doToGreen(final int color) {
+		final int green = (color >> 5) & 0x3F;
+		
+		return (green << 2) | (green >> 4);
+	}
+	
+	private static int doToRed(final int color) {
+		final int red = (color >> 11) & 0x1F;
+		
+		return (red << 3) | (red >> 2);
+	}
+	
+	private static int doToRGB565(final double red, final double green, final double blue) {
+		final int r = Math.min(Math.max((int)(Math.round(red * 31.0D / 255.0D)), 0), 31);
+		final int g = Math.min(Math.max((int)(Math.round(green * 63.0D / 255.0D)), 0), 63);
+		final int b = Math.min(Math.max((int)(Math.round(blue * 31.0D / 255.0D)), 0), 31);
+		
+		return (r << 11) | (g << 5) | b;
+	}
+	
+	private static long doCompress(final double[] texels) {
+		double meanRed = 0.0D;
+		double meanGreen = 0.0D;
+		double meanBlue = 0.0D;
+		
+		for(int i = 0; i < 16; i++) {
+			meanRed += texels[i * 3 + 0] / 16.0D;
+			meanGreen += texels[i * 3 + 1] / 16.0D;
+			meanBlue += texels[i * 3 + 2] / 16.0D;
+		}
+		
+		double covarianceRR = 0.0D;
+		double covarianceRG = 0.0D;
+		double covarianceRB = 0.0D;
+		double covarianceGG = 0.0D;
+		double covarianceGB = 0.0D;
+		double covarianceBB = 0.0D;
+		
+		for(int i = 0; i < 16; i++) {
+			final double red = texels[i * 3 + 0] - meanRed;
+			final double green = texels[i * 3 + 1] - meanGreen;
+			final double blue = texels[i * 3 + 2] - meanBlue;
+			
+			covarianceRR += red * red;
+			covarianceRG += red * green;
+			covarianceRB += red * blue;
+			covarianceGG += green * green;
+			covarianceGB += green * blue;
+			covarianceBB += blue * blue;
+		}
+		
+//		Find the principal axis of the colors by power iteration:
+		double axisRed = 1.0D;
+		double axisGreen = 1.0D;
+		double axisBlue = 1.0D;
+		
+		for(int iteration = 0; iteration < 8; iteration++) {
+			final double red = covarianceRR * axisRed + covarianceRG * axisGreen + covarianceRB * axisBlue;
+			final double green = covarianceRG * axisRed + covarianceGG * axisGreen + covarianceGB * axisBlue;
+			final double blue = covarianceRB * axisRed + covarianceGB * axisGreen + covarianceBB * axisBlue;
+			final double length = Math.sqrt(red * red + green * green + blue * blue);
+			
+			if(length < 1.0E-8D) {
+				break;
+			}
+			
+			axisRed = red / length;
+			axisGreen = green / length;
+			axisBlue = blue / length;
+		}
+		
+		double minimum = Double.MAX_VALUE;
+		double maximum = -Double.MAX_VALUE;
+		
+		for(int i = 0; i < 16; i++) {
+			final double projection = (texels[i * 3 + 0] - meanRed) * axisRed + (texels[i * 3 + 1] - meanGreen) * axisGreen + (texels[i * 3 + 2] - meanBlue) * axisBlue;
+			
+			minimum = Math.min(minimum, projection);
+			maximum = Math.max(maximum, projection);
+		}
+		
+		final int[] indices = new int[16];
+		final int[] indicesRefined = new int[16];
+		
+		int color0 = doToRGB565(meanRed + axisRed * maximum, meanGreen + axisGreen * maximum, meanBlue + axisBlue * maximum);
+		int color1 = doToRGB565(meanRed + axisRed * minimum, meanGreen + axisGreen * minimum, meanBlue + axisBlue * minimum);
+		
+		double error = doComputeError(texels, color0, color1, indices);
+		
+//		Refine the endpoints by a least-squares fit to the indices found:
+		for(int iteration = 0; iteration < 2 && error > 0.0D; iteration++) {
+			double alphaAlpha = 0.0D;
+			double alphaBeta = 0.0D;
+			double betaBeta = 0.0D;
+			double alphaRed = 0.0D;
+			double alphaGreen = 0.0D;
+			double alphaBlue = 0.0D;
+			double betaRed = 0.0D;
+			double betaGreen = 0.0D;
+			double betaBlue = 0.0D;
+			
+			for(int i = 0; i < 16; i++) {
+				final double beta = WEIGHTS[indices[i]] / 3.0D;
+				final double alpha = 1.0D - beta;
+				
+				alphaAlpha += alpha * alpha;
+				alphaBeta += alpha * beta;
+				betaBeta += beta * beta;
+				alphaRed += alpha * texels[i * 3 + 0];
+				alphaGreen += alpha * texels[i * 3 + 1];
+				alphaBlue += alpha * texels[i * 3 + 2];
+				betaRed += beta * texels[i * 3 + 0];
+				betaGreen += beta * texels[i * 3 + 1];
+				betaBlue += beta * texels[i * 3 + 2];
+			}
+			
+			final double determinant = alphaAlpha * betaBeta - alphaBeta * alphaBeta;
+			
+			if(Math.abs(determinant) < 1.0E-8D) {
+				break;
+			}
+			
+			final double determinantReciprocal = 1.0D / determinant;
+			
+			final int color0Refined = doToRGB565((alphaRed * betaBeta - betaRed * alphaBeta) * determinantReciprocal, (alphaGreen * betaBeta - betaGreen * alphaBeta) * determinantReciprocal, (alphaBlue * betaBeta - betaBlue * alphaBeta) * determinantReciprocal);
+			final int color1Refined = doToRGB565((betaRed * alphaAlpha - alphaRed * alphaBeta) * determinantReciprocal, (betaGreen * alphaAlpha - alphaGreen * alphaBeta) * determinantReciprocal, (betaBlue * alphaAlpha - alphaBlue * alphaBeta) * determinantReciprocal);
+			
+			final double errorRefined = doComputeError(texels, color0Refined, color1Refined, indicesRefined);
+			
+			if(errorRefined >= error) {
+				break;
+			}
+			
+			color0 = color0Refined;
+			color1 = color1Refined;
+			error = errorRefined;
+			
+			System.arraycopy(indicesRefined, 0, indices, 0, 16);
+		}
+		
+		long block = (color0 & 0xFFFFL) | ((color1 & 0xFFFFL) << 16);
+		
+		for(int i = 0; i < 16; i++) {
+			block |= (long)(indices[i]) << (32 + 2 * i);
+		}
+		
+		return block;
+	}
+}
\ No newline at end of file
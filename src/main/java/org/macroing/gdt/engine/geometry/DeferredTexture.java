@@ -0,0 +1,233 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@code DeferredTexture} is a {@link Texture} that stands in for a {@code Texture} that is still being loaded.
+ * <p>
+ * Until the {@code CompletableFuture} given to it completes, all lookups are delegated to a placeholder {@code Texture}. Once it completes, all lookups are delegated to the {@code Texture} it completed with. A {@link Scene} can therefore be
+ * built and rendered before its textures have been loaded, and the textures appear as they become available. If the {@code CompletableFuture} completes exceptionally, the placeholder is kept.
+ * <p>
+ * As the size of the {@code Texture} being loaded is not known in advance, the width and height of a {@code DeferredTexture} are those of the {@code Texture} currently delegated to. They are those of the placeholder until loading has
+ * completed, and those of the loaded {@code Texture} thereafter.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class DeferredTexture extends Texture {
+	private final CompletableFuture<Texture> future;
+	private final Texture placeholder;
+	private volatile Texture texture;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private DeferredTexture(final Texture placeholder, final CompletableFuture<? extends Texture> future) {
+		super(placeholder.getWidth(), placeholder.getHeight());
+		
+		this.placeholder = placeholder;
+		this.texture = placeholder;
+		this.future = future.thenApply(texture -> this.texture = texture);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, loading has completed, successfully or not, and the {@link Texture} delegated to is loaded, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, loading has completed, successfully or not, and the {@code Texture} delegated to is loaded, {@code false} otherwise
+	 */
+	@Override
+	public boolean isLoaded() {
+		return this.future.isDone() && this.texture.isLoaded();
+	}
+	
+	/**
+	 * Returns a {@code CompletableFuture} that completes with the {@link Texture} being loaded, once it is delegated to.
+	 * <p>
+	 * If loading fails, the {@code CompletableFuture} completes exceptionally.
+	 * 
+	 * @return a {@code CompletableFuture} that completes with the {@code Texture} being loaded, once it is delegated to
+	 */
+	public CompletableFuture<Texture> getFuture() {
+		return this.future;
+	}
+	
+	/**
+	 * Returns the color at {@code u} and {@code v} of the {@link Texture} currently delegated to.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @return the color at {@code u} and {@code v} of the {@code Texture} currently delegated to
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v) {
+		return this.texture.getColorAt(u, v);
+	}
+	
+	/**
+	 * Sets {@code color} to the color at {@code u} and {@code v} of the {@link Texture} currently delegated to and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} may be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		return this.texture.getColorAt(u, v, color);
+	}
+	
+	/**
+	 * Sets {@code color} to the color at {@code u} and {@code v} of the {@link Texture} currently delegated to, given a footprint, and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} may be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param footprintU the footprint in the U-direction
+	 * @param footprintV the footprint in the V-direction
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final double footprintU, final double footprintV, final Spectrum color) {
+		return this.texture.getColorAt(u, v, footprintU, footprintV, color);
+	}
+	
+	/**
+	 * Returns the height of the {@link Texture} currently delegated to.
+	 * 
+	 * @return the height of the {@code Texture} currently delegated to
+	 */
+	@Override
+	public int getHeight() {
+		return this.texture.getHeight();
+	}
+	
+	/**
+	 * Returns the width of the {@link Texture} currently delegated to.
+	 * 
+	 * @return the width of the {@code Texture} currently delegated to
+	 */
+	@Override
+	public int getWidth() {
+		return this.texture.getWidth();
+	}
+	
+	/**
+	 * Returns the {@link Texture} currently delegated to, which is either the placeholder or the {@code Texture} that was loaded.
+	 * 
+	 * @return the {@code Texture} currently delegated to
+	 */
+	public Texture getTexture() {
+		return this.texture;
+	}
+	
+	/**
+	 * Returns the surface normal at {@code u} and {@code v} of the {@link Texture} currently delegated to.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @return the surface normal at {@code u} and {@code v} of the {@code Texture} currently delegated to
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
+		return this.texture.getSurfaceNormalAt(u, v, surfaceNormal);
+	}
+	
+	/**
+	 * Sets {@code surfaceNormalAt} to the surface normal at {@code u} and {@code v} of the {@link Texture} currently delegated to and returns it.
+	 * <p>
+	 * If either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}, a {@code NullPointerException} may be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @param surfaceNormalAt the {@link Vector} to set
+	 * @return {@code surfaceNormalAt}
+	 * @throws NullPointerException thrown if either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return this.texture.getSurfaceNormalAt(u, v, surfaceNormal, surfaceNormalAt);
+	}
+	
+	/**
+	 * Waits for loading to complete, successfully or not, and for the {@link Texture} delegated to to be loaded.
+	 */
+	@Override
+	public void awaitLoaded() {
+		this.future.handle((texture, throwable) -> null).join();
+		
+		this.texture.awaitLoaded();
+	}
+	
+	/**
+	 * Registers {@code runnable} to be run whenever a {@link Texture} delegated to by this {@code DeferredTexture} is replaced by the {@code Texture} it stands in for.
+	 * <p>
+	 * If {@code runnable} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * The {@code Runnable} is run on the thread that completed loading, after the swap has been made, so anything sampled from the placeholder before it runs is stale. Swaps that were made before the {@code Runnable} was registered are not
+	 * reported. If loading fails, the placeholder is kept and the {@code Runnable} is not run for this {@code DeferredTexture}.
+	 * 
+	 * @param runnable the {@code Runnable} to run
+	 * @throws NullPointerException thrown if, and only if, {@code runnable} is {@code null}
+	 */
+	@Override
+	public void onLoad(final Runnable runnable) {
+		Objects.requireNonNull(runnable, "runnable == null");
+		
+		if(this.future.isDone()) {
+			this.texture.onLoad(runnable);
+		} else {
+			this.placeholder.onLoad(runnable);
+			this.future.thenAccept(texture -> {
+				runnable.run();
+				
+				texture.onLoad(runnable);
+			});
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code DeferredTexture} instance that delegates to {@code placeholder} until {@code future} completes, and to the {@link Texture} it completes with thereafter.
+	 * <p>
+	 * If either {@code placeholder} or {@code future} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param placeholder the {@code Texture} to delegate to until {@code future} completes
+	 * @param future a {@code CompletableFuture} that completes with the {@code Texture} to delegate to
+	 * @return a new {@code DeferredTexture} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code placeholder} or {@code future} are {@code null}
+	 */
+	public static DeferredTexture newInstance(final Texture placeholder, final CompletableFuture<? extends Texture> future) {
+		return new DeferredTexture(Objects.requireNonNull(placeholder, "placeholder == null"), Objects.requireNonNull(future, "future == null"));
+	}
+}
\ No newline at end of file
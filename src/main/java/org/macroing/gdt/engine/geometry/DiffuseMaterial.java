@@ -63,6 +63,22 @@ public final class DiffuseMaterial extends Material {
 		return this.emission.copy();
 	}
 	
+	/**
+	 * Sets {@code emission} to the emission currently assigned to this {@code DiffuseMaterial} instance.
+	 * <p>
+	 * Returns {@code emission}.
+	 * <p>
+	 * If {@code emission} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param emission the {@link Spectrum} to set
+	 * @return {@code emission}
+	 * @throws NullPointerException thrown if, and only if, {@code emission} is {@code null}
+	 */
+	@Override
+	public Spectrum getEmission(final Spectrum emission) {
+		return emission.set(this.emission);
+	}
+	
 	/**
 	 * Calculates the radiance given the information provided by {@code intersection}.
 	 * <p>
@@ -103,6 +119,49 @@ public final class DiffuseMaterial extends Material {
 		return radiance(pass, intersection, pRNG, reflectedRay);
 	}
 	
+	/**
+	 * Calculates the radiance given the information provided by {@code intersection} and sets {@code radiance} to it.
+	 * <p>
+	 * Returns {@code radiance}.
+	 * <p>
+	 * If either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}, {@code NullPointerException} may be thrown.
+	 * <p>
+	 * This method produces the same result as {@code radiance.set(radiance(pass, intersection, pRNG))}, but without creating any new objects.
+	 * 
+	 * @param pass the current rendering pass
+	 * @param intersection the {@link Intersection} providing the information for the radiance calculation
+	 * @param pRNG the {@link PRNG} that may or may not be used in the radiance calculation process
+	 * @param radiance the {@link Spectrum} to set
+	 * @return {@code radiance}
+	 * @throws NullPointerException thrown if, and only if, either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}
+	 */
+	@Override
+	public Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG, final Spectrum radiance) {
+		final ScratchContext scratchContext = intersection.getScratchContext();
+		
+		scratchContext.push();
+		
+		try {
+			final double r1 = 2.0D * Math.PI * pRNG.nextDouble();
+			final double r2Squared = pRNG.nextDouble();
+			final double r2 = Math.sqrt(r2Squared);
+			final double r1Cos = Math.cos(r1);
+			final double r1Sin = Math.sin(r1);
+			final double r2SquaredComplementSqrt = Math.sqrt(1.0D - r2Squared);
+			
+			final Vector w = intersection.getSurfaceNormalProperlyOriented(scratchContext.vector());
+			final Vector u = (Math.abs(w.getX()) > 0.1D ? scratchContext.vector().set(0.0D, 1.0D, 0.0D) : scratchContext.vector().set(1.0D, 0.0D, 0.0D)).crossProduct(w).normalize();
+			final Vector v = scratchContext.vector().crossProduct(w, u);
+			final Vector reflectedDirection = scratchContext.vector().set(u.getX() * r1Cos * r2 + v.getX() * r1Sin * r2 + w.getX() * r2SquaredComplementSqrt, u.getY() * r1Cos * r2 + v.getY() * r1Sin * r2 + w.getY() * r2SquaredComplementSqrt, u.getZ() * r1Cos * r2 + v.getZ() * r1Sin * r2 + w.getZ() * r2SquaredComplementSqrt).normalize();
+			
+			final Ray reflectedRay = intersection.getRay().reflect(intersection.getSurfaceIntersectionPoint(), reflectedDirection, scratchContext.ray());
+			
+			return radiance(pass, intersection, pRNG, reflectedRay, radiance);
+		} finally {
+			scratchContext.pop();
+		}
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
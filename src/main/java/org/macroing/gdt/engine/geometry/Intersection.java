@@ -21,20 +21,32 @@ package org.macroing.gdt.engine.geometry;
 /**
  * An instance of this {@code Intersection} class contains information about the intersection of a {@link Ray} and a {@link Shape}.
  * <p>
- * This class is mutable and therefore not suitable for concurrent use without external synchronization.
+ * The {@link Point}, {@link Spectrum} and {@link Vector} instances returned by the methods of this class are owned by the {@code Intersection} and are updated in place as it is reused. Callers that need to keep any of them across
+ * calls that update this {@code Intersection} must copy them.
+ * <p>
+ * This class is mutable and therefore not suitable for concurrent use without external synchronization. It should only be used by the {@code Thread} that created it, as it uses the {@link ScratchContext} of that {@code Thread}.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public final class Intersection {
 	private double distance = Constants.INFINITY;
+	private double footprintU;
+	private double footprintV;
+	private double primaryDistance = Constants.INFINITY;
 	private double refractiveIndex = Material.REFRACTIVE_INDEX_AIR;
-	private Point surfaceIntersectionPoint;
+	private int primitiveIndex = -1;
 	private Ray ray;
 	private Scene scene;
+	private Shape primaryShape;
 	private Shape shape;
-	private Vector surfaceNormal;
-	private Vector surfaceNormalProperlyOriented;
+	private final Point surfaceIntersectionPoint = Point.zero();
+	private final RayDifferential rayDifferential = RayDifferential.newInstance(new Ray(0, Point.zero(), Vector.zero()));
+	private final ScratchContext scratchContext = ScratchContext.getInstance();
+	private final Spectrum primaryAlbedo = RGBSpectrum.black();
+	private final Vector primarySurfaceNormal = Vector.zero();
+	private final Vector surfaceNormal = Vector.zero();
+	private final Vector surfaceNormalProperlyOriented = Vector.zero();
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -44,6 +56,15 @@ public final class Intersection {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns {@code true} if, and only if, a primary hit has been captured since the last call to {@link #resetPrimaryHit()}, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, a primary hit has been captured since the last call to {@code resetPrimaryHit()}, {@code false} otherwise
+	 */
+	public boolean hasPrimaryHit() {
+		return this.primaryShape != null;
+	}
+	
 	/**
 	 * Returns the distance to the closest {@link Shape}.
 	 * 
@@ -53,6 +74,37 @@ public final class Intersection {
 		return this.distance;
 	}
 	
+	/**
+	 * Returns the footprint in the U-direction, as calculated by {@link #calculateFootprint(double, double)}.
+	 * <p>
+	 * The footprint is the extent, in texture space, of the area covered by one pixel at the intersection. It is {@code 0.0D} if no footprint is known.
+	 * 
+	 * @return the footprint in the U-direction
+	 */
+	public double getFootprintU() {
+		return this.footprintU;
+	}
+	
+	/**
+	 * Returns the footprint in the V-direction, as calculated by {@link #calculateFootprint(double, double)}.
+	 * <p>
+	 * The footprint is the extent, in texture space, of the area covered by one pixel at the intersection. It is {@code 0.0D} if no footprint is known.
+	 * 
+	 * @return the footprint in the V-direction
+	 */
+	public double getFootprintV() {
+		return this.footprintV;
+	}
+	
+	/**
+	 * Returns the distance to the {@link Shape} of the primary hit, or {@code Constants.INFINITY} if no primary hit has been captured.
+	 * 
+	 * @return the distance to the {@code Shape} of the primary hit, or {@code Constants.INFINITY} if no primary hit has been captured
+	 */
+	public double getPrimaryDistance() {
+		return this.primaryDistance;
+	}
+	
 	/**
 	 * Returns the refractive index of the medium the {@link Ray} is passing through to get to the intersected {@link Shape}.
 	 * 
@@ -71,8 +123,50 @@ public final class Intersection {
 		return this.shape.getMaterial().getRefractiveIndex();
 	}
 	
+	/**
+	 * Returns the index of the primitive that was intersected, within the intersected {@link Shape}.
+	 * <p>
+	 * Only {@code Shape}s that consist of several primitives, such as {@link TriangleMesh}, set the index of the primitive. For all other {@code Shape}s the value returned is unspecified.
+	 * 
+	 * @return the index of the primitive that was intersected, within the intersected {@code Shape}
+	 */
+	public int getPrimitiveIndex() {
+		return this.primitiveIndex;
+	}
+	
+	/**
+	 * Returns the {@link Shape} of the primary hit, or {@code null} if no primary hit has been captured.
+	 * 
+	 * @return the {@code Shape} of the primary hit, or {@code null} if no primary hit has been captured
+	 */
+	public Shape getPrimaryShape() {
+		return this.primaryShape;
+	}
+	
+	/**
+	 * Returns the albedo of the primary hit, or {@code null} if no primary hit has been captured.
+	 * <p>
+	 * The albedo is the {@link Spectrum} of the {@link Texture} at the primary hit.
+	 * 
+	 * @return the albedo of the primary hit, or {@code null} if no primary hit has been captured
+	 */
+	public Spectrum getPrimaryAlbedo() {
+		return this.primaryShape != null ? this.primaryAlbedo : null;
+	}
+	
+	/**
+	 * Returns the properly oriented surface normal {@link Vector} of the primary hit, or {@code null} if no primary hit has been captured.
+	 * 
+	 * @return the properly oriented surface normal {@code Vector} of the primary hit, or {@code null} if no primary hit has been captured
+	 */
+	public Vector getPrimarySurfaceNormal() {
+		return this.primaryShape != null ? this.primarySurfaceNormal : null;
+	}
+	
 	/**
 	 * Returns the {@link Point} on the surface of the intersected {@link Shape}.
+	 * <p>
+	 * The {@code Point} returned is updated in place by {@link #calculateSurfaceIntersectionPoint()} and {@link #setSurfaceIntersectionPoint(Point)}.
 	 * 
 	 * @return the {@code Point} on the surface of the intersected {@code Shape}
 	 */
@@ -80,6 +174,21 @@ public final class Intersection {
 		return this.surfaceIntersectionPoint;
 	}
 	
+	/**
+	 * Sets {@code surfaceIntersectionPoint} to the {@link Point} on the surface of the intersected {@link Shape}.
+	 * <p>
+	 * Returns {@code surfaceIntersectionPoint}.
+	 * <p>
+	 * If {@code surfaceIntersectionPoint} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param surfaceIntersectionPoint the {@code Point} to set
+	 * @return {@code surfaceIntersectionPoint}
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceIntersectionPoint} is {@code null}
+	 */
+	public Point getSurfaceIntersectionPoint(final Point surfaceIntersectionPoint) {
+		return surfaceIntersectionPoint.set(this.surfaceIntersectionPoint);
+	}
+	
 	/**
 	 * Returns the {@link Ray} that is potentially intersecting a {@link Shape}.
 	 * 
@@ -89,6 +198,28 @@ public final class Intersection {
 		return this.ray;
 	}
 	
+	/**
+	 * Returns the {@link RayDifferential} of this {@code Intersection} instance.
+	 * <p>
+	 * The {@code RayDifferential} is not a copy. The renderer sets its differentials before a primary {@link Ray} is traced, and {@link #calculateFootprint(double, double)} uses them.
+	 * 
+	 * @return the {@code RayDifferential} of this {@code Intersection} instance
+	 */
+	public RayDifferential getRayDifferential() {
+		return this.rayDifferential;
+	}
+	
+	/**
+	 * Returns the {@link ScratchContext} of the {@code Thread} that created this {@code Intersection} instance.
+	 * <p>
+	 * The {@code Material} implementations use it to get temporary objects during the radiance calculation.
+	 * 
+	 * @return the {@code ScratchContext} of the {@code Thread} that created this {@code Intersection} instance
+	 */
+	public ScratchContext getScratchContext() {
+		return this.scratchContext;
+	}
+	
 	/**
 	 * Returns the {@link Scene} provided by this {@code Intersection} instance.
 	 * 
@@ -116,6 +247,21 @@ public final class Intersection {
 		return this.surfaceNormal.copy();
 	}
 	
+	/**
+	 * Sets {@code surfaceNormal} to the surface normal {@link Vector} of the intersection.
+	 * <p>
+	 * Returns {@code surfaceNormal}.
+	 * <p>
+	 * If {@code surfaceNormal} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param surfaceNormal the {@code Vector} to set
+	 * @return {@code surfaceNormal}
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceNormal} is {@code null}
+	 */
+	public Vector getSurfaceNormal(final Vector surfaceNormal) {
+		return surfaceNormal.set(this.surfaceNormal);
+	}
+	
 	/**
 	 * Returns a copy of the properly oriented surface normal {@link Vector} of the intersection.
 	 * <p>
@@ -127,11 +273,72 @@ public final class Intersection {
 		return this.surfaceNormalProperlyOriented.copy();
 	}
 	
+	/**
+	 * Sets {@code surfaceNormalProperlyOriented} to the properly oriented surface normal {@link Vector} of the intersection.
+	 * <p>
+	 * Returns {@code surfaceNormalProperlyOriented}.
+	 * <p>
+	 * If {@code surfaceNormalProperlyOriented} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param surfaceNormalProperlyOriented the {@code Vector} to set
+	 * @return {@code surfaceNormalProperlyOriented}
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceNormalProperlyOriented} is {@code null}
+	 */
+	public Vector getSurfaceNormalProperlyOriented(final Vector surfaceNormalProperlyOriented) {
+		return surfaceNormalProperlyOriented.set(this.surfaceNormalProperlyOriented);
+	}
+	
+	/**
+	 * Calculates the footprint of the current intersection in texture space.
+	 * <p>
+	 * The offset {@link Ray}s of the {@link RayDifferential} are intersected with the tangent plane at the surface intersection {@link Point}, and the UV-coordinates of the offset {@code Point}s are compared to {@code u} and {@code v}.
+	 * <p>
+	 * The footprint is only calculated for the primary {@code Ray}. If the {@code RayDifferential} has no differentials, or the current {@code Ray} is not a primary {@code Ray}, the footprint is set to {@code 0.0D}. This method should be called
+	 * after {@link #calculateSurfaceIntersectionPoint()}.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 */
+	public void calculateFootprint(final double u, final double v) {
+		this.footprintU = 0.0D;
+		this.footprintV = 0.0D;
+		
+		if(!this.rayDifferential.hasDifferentials() || this.ray.getDepth() != 0) {
+			return;
+		}
+		
+		this.scratchContext.push();
+		
+		try {
+			final Vector surfaceNormal = this.shape.getSurfaceNormal(this, this.scratchContext.vector());
+			
+			final Point pointX = doCalculateOffsetPoint(this.rayDifferential.getOriginX(this.scratchContext.point()), this.rayDifferential.getDirectionX(this.scratchContext.vector()), surfaceNormal);
+			final Point pointY = doCalculateOffsetPoint(this.rayDifferential.getOriginY(this.scratchContext.point()), this.rayDifferential.getDirectionY(this.scratchContext.vector()), surfaceNormal);
+			
+			if(pointX == null || pointY == null) {
+				return;
+			}
+			
+			final Point pointUVX = this.shape.getUV(pointX, this.scratchContext.point());
+			final Point pointUVY = this.shape.getUV(pointY, this.scratchContext.point());
+			
+			final double footprintU = Math.max(doCalculateDelta(pointUVX.getX() - u), doCalculateDelta(pointUVY.getX() - u));
+			final double footprintV = Math.max(doCalculateDelta(pointUVX.getY() - v), doCalculateDelta(pointUVY.getY() - v));
+			
+			if(Double.isFinite(footprintU) && Double.isFinite(footprintV)) {
+				this.footprintU = footprintU;
+				this.footprintV = footprintV;
+			}
+		} finally {
+			this.scratchContext.pop();
+		}
+	}
+	
 	/**
 	 * Calculates the surface intersection {@link Point}.
 	 */
 	public void calculateSurfaceIntersectionPoint() {
-		setSurfaceIntersectionPoint(this.ray.getPointAt(this.distance));
+		this.ray.getPointAt(this.distance, this.surfaceIntersectionPoint);
 	}
 	
 	/**
@@ -143,14 +350,44 @@ public final class Intersection {
 	 * @param v the V-coordinate
 	 */
 	public void calculateSurfaceNormal(final double u, final double v) {
-		setSurfaceNormal(this.shape.getTexture().getSurfaceNormalAt(u, v, this.shape.getSurfaceNormal(this.surfaceIntersectionPoint)));
+		this.shape.getTexture().getSurfaceNormalAt(u, v, this.shape.getSurfaceNormal(this, this.surfaceNormal), this.surfaceNormal);
 	}
 	
 	/**
 	 * Calculates the properly oriented surface normal.
 	 */
 	public void calculateSurfaceNormalProperlyOriented() {
-		setSurfaceNormalProperlyOriented(this.surfaceNormal.dotProduct(this.ray.getDirection()) < 0.0D ? this.surfaceNormal.copy() : this.surfaceNormal.copyAndMultiply(-1.0D));
+		if(this.surfaceNormal.dotProduct(this.ray.getDirection()) < 0.0D) {
+			this.surfaceNormalProperlyOriented.set(this.surfaceNormal);
+		} else {
+			this.surfaceNormalProperlyOriented.set(this.surfaceNormal).multiply(-1.0D);
+		}
+	}
+	
+	/**
+	 * Captures the current intersection as the primary hit.
+	 * <p>
+	 * This method should be called at the first intersection of a path, after the properly oriented surface normal has been calculated. The distance, the intersected {@link Shape} and the properly oriented surface normal are captured together with {@code albedo}.
+	 * <p>
+	 * The primary hit is preserved until {@link #resetPrimaryHit()} is called, even though the rest of this {@code Intersection} is reused by subsequent bounces. Both {@code albedo} and the properly oriented surface normal are copied.
+	 * 
+	 * @param albedo the {@link Spectrum} of the {@link Texture} at the intersection
+	 */
+	public void capturePrimaryHit(final Spectrum albedo) {
+		this.primaryDistance = this.distance;
+		this.primaryShape = this.shape;
+		this.primaryAlbedo.set(albedo);
+		this.primarySurfaceNormal.set(this.surfaceNormalProperlyOriented);
+	}
+	
+	/**
+	 * Resets the primary hit, such that {@link #hasPrimaryHit()} returns {@code false}.
+	 * <p>
+	 * This method should be called before a new path is traced.
+	 */
+	public void resetPrimaryHit() {
+		this.primaryDistance = Constants.INFINITY;
+		this.primaryShape = null;
 	}
 	
 	/**
@@ -162,6 +399,15 @@ public final class Intersection {
 		this.distance = distance;
 	}
 	
+	/**
+	 * Sets the index of the primitive that was intersected, within the intersected {@link Shape}.
+	 * 
+	 * @param primitiveIndex the new index of the primitive
+	 */
+	public void setPrimitiveIndex(final int primitiveIndex) {
+		this.primitiveIndex = primitiveIndex;
+	}
+	
 	/**
 	 * Sets the current {@link Ray}.
 	 * 
@@ -191,31 +437,53 @@ public final class Intersection {
 	
 	/**
 	 * Sets the current surface intersection {@link Point}.
+	 * <p>
+	 * The {@code Point} is copied.
 	 * 
 	 * @param surfaceIntersectionPoint the new surface intersection {@code Point}
 	 */
 	public void setSurfaceIntersectionPoint(final Point surfaceIntersectionPoint) {
-		this.surfaceIntersectionPoint = surfaceIntersectionPoint;
+		this.surfaceIntersectionPoint.set(surfaceIntersectionPoint);
 	}
 	
 	/**
 	 * Sets the new surface normal.
+	 * <p>
+	 * The {@code Vector} is copied.
 	 * 
 	 * @param surfaceNormal the new surface normal
 	 */
 	public void setSurfaceNormal(final Vector surfaceNormal) {
-		this.surfaceNormal = surfaceNormal;
+		this.surfaceNormal.set(surfaceNormal);
 	}
 	
 	/**
 	 * Sets the new properly oriented surface normal.
 	 * <p>
 	 * By properly oriented means that it takes into account for refraction.
+	 * <p>
+	 * The {@code Vector} is copied.
 	 * 
 	 * @param surfaceNormalProperlyOriented the new properly oriented surface normal
 	 */
 	public void setSurfaceNormalProperlyOriented(final Vector surfaceNormalProperlyOriented) {
-		this.surfaceNormalProperlyOriented = surfaceNormalProperlyOriented;
+		this.surfaceNormalProperlyOriented.set(surfaceNormalProperlyOriented);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Point doCalculateOffsetPoint(final Point origin, final Vector direction, final Vector surfaceNormal) {
+		final double dotProduct = surfaceNormal.dotProduct(direction);
+		
+		if(Math.abs(dotProduct) < Constants.EPSILON) {
+			return null;
+		}
+		
+		final double distanceToPlane = surfaceNormal.getX() * this.surfaceIntersectionPoint.getX() + surfaceNormal.getY() * this.surfaceIntersectionPoint.getY() + surfaceNormal.getZ() * this.surfaceIntersectionPoint.getZ();
+		final double distanceToOrigin = surfaceNormal.getX() * origin.getX() + surfaceNormal.getY() * origin.getY() + surfaceNormal.getZ() * origin.getZ();
+		final double distance = (distanceToPlane - distanceToOrigin) / dotProduct;
+		
+		return origin.add(direction, distance);
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -228,4 +496,12 @@ public final class Intersection {
 	public static Intersection newInstance() {
 		return new Intersection();
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static double doCalculateDelta(final double delta) {
+		final double deltaAbsolute = Math.abs(delta);
+		
+		return Math.min(deltaAbsolute, Math.abs(1.0D - deltaAbsolute));
+	}
 }
\ No newline at end of file
@@ -0,0 +1,286 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * A {@code LinearNormalMapTexture} is a {@link Texture} that perturbs the surface normal by a normal map whose texels are stored as pre-decoded unit vectors and looked up with bilinear filtering.
+ * <p>
+ * It interprets the normal map the same way as {@link NormalMapTexture}, but the texels are decoded once, when the {@code LinearNormalMapTexture} is created, into unit vectors of three {@code float}s. A lookup therefore only interpolates
+ * the four closest vectors, without unpacking them. {@link #getSurfaceNormalAt(double, double, Vector, Vector)} writes the result into a {@link Vector} supplied by the caller, such that it does not allocate. Each texel uses {@code 12}
+ * bytes instead of {@code 4}.
+ * <p>
+ * The colors are those of the {@code Texture} it wraps.
+ * <p>
+ * This class is immutable and therefore suitable for concurrent use without external synchronization, as long as the {@code Texture} it wraps is.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class LinearNormalMapTexture extends Texture {
+	private final Texture texture;
+	private final float[] normals;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private LinearNormalMapTexture(final int width, final int height, final float[] normals, final Texture texture) {
+		super(width, height);
+		
+		this.normals = normals;
+		this.texture = Objects.requireNonNull(texture, "texture == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns {@code true} if, and only if, the {@link Texture} wrapped by this {@code LinearNormalMapTexture} is loaded, {@code false} otherwise.
+	 * 
+	 * @return {@code true} if, and only if, the {@code Texture} wrapped by this {@code LinearNormalMapTexture} is loaded, {@code false} otherwise
+	 */
+	@Override
+	public boolean isLoaded() {
+		return this.texture.isLoaded();
+	}
+	
+	/**
+	 * Returns the color at {@code u} and {@code v} of the {@link Texture} wrapped by this {@code LinearNormalMapTexture}.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @return the color at {@code u} and {@code v} of the {@code Texture} wrapped by this {@code LinearNormalMapTexture}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v) {
+		return this.texture.getColorAt(u, v);
+	}
+	
+	/**
+	 * Sets {@code color} to the color at {@code u} and {@code v} of the {@link Texture} wrapped by this {@code LinearNormalMapTexture} and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} may be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		return this.texture.getColorAt(u, v, color);
+	}
+	
+	/**
+	 * Sets {@code color} to the color at {@code u} and {@code v} of the {@link Texture} wrapped by this {@code LinearNormalMapTexture}, given a footprint, and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} may be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param footprintU the footprint in the U-direction
+	 * @param footprintV the footprint in the V-direction
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final double footprintU, final double footprintV, final Spectrum color) {
+		return this.texture.getColorAt(u, v, footprintU, footprintV, color);
+	}
+	
+	/**
+	 * Returns the {@link Texture} wrapped by this {@code LinearNormalMapTexture}.
+	 * 
+	 * @return the {@code Texture} wrapped by this {@code LinearNormalMapTexture}
+	 */
+	public Texture getTexture() {
+		return this.texture;
+	}
+	
+	/**
+	 * Returns a new {@link Vector} with {@code surfaceNormal} perturbed by the bilinearly filtered normal map at {@code u} and {@code v}.
+	 * <p>
+	 * If {@code surfaceNormal} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @return a new {@code Vector} with {@code surfaceNormal} perturbed by the bilinearly filtered normal map at {@code u} and {@code v}
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceNormal} is {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
+		return getSurfaceNormalAt(u, v, surfaceNormal, Vector.zero());
+	}
+	
+	/**
+	 * Sets {@code surfaceNormalAt} to {@code surfaceNormal} perturbed by the bilinearly filtered normal map at {@code u} and {@code v} and returns it.
+	 * <p>
+	 * Like {@link NormalMapTexture}, the perturbed surface normal is the normalized cross product of {@code surfaceNormal} and the normal of the normal map.
+	 * <p>
+	 * If either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @param surfaceNormalAt the {@code Vector} to set
+	 * @return {@code surfaceNormalAt}
+	 * @throws NullPointerException thrown if, and only if, either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		final int width = getWidth();
+		final int height = getHeight();
+		
+		final double x = width * ((u + 1.0D) * 0.5D) - 0.5D;
+		final double y = height * ((v + 1.0D) * 0.5D) - 0.5D;
+		final double floorX = Math.floor(x);
+		final double floorY = Math.floor(y);
+		final double fractionX = x - floorX;
+		final double fractionY = y - floorY;
+		
+		final int x0 = Math.min(Math.max((int)(floorX), 0), width - 1);
+		final int y0 = Math.min(Math.max((int)(floorY), 0), height - 1);
+		final int x1 = Math.min(Math.max((int)(floorX) + 1, 0), width - 1);
+		final int y1 = Math.min(Math.max((int)(floorY) + 1, 0), height - 1);
+		final int index00 = (y0 * width + x0) * 3;
+		final int index10 = (y0 * width + x1) * 3;
+		final int index01 = (y1 * width + x0) * 3;
+		final int index11 = (y1 * width + x1) * 3;
+		
+		final double weight00 = (1.0D - fractionX) * (1.0D - fractionY);
+		final double weight10 = fractionX * (1.0D - fractionY);
+		final double weight01 = (1.0D - fractionX) * fractionY;
+		final double weight11 = fractionX * fractionY;
+		
+		final float[] normals = this.normals;
+		
+		final double normalX = normals[index00 + 0] * weight00 + normals[index10 + 0] * weight10 + normals[index01 + 0] * weight01 + normals[index11 + 0] * weight11;
+		final double normalY = normals[index00 + 1] * weight00 + normals[index10 + 1] * weight10 + normals[index01 + 1] * weight01 + normals[index11 + 1] * weight11;
+		final double normalZ = normals[index00 + 2] * weight00 + normals[index10 + 2] * weight10 + normals[index01 + 2] * weight01 + normals[index11 + 2] * weight11;
+		
+		return surfaceNormalAt.set(surfaceNormal.getY() * normalZ - surfaceNormal.getZ() * normalY, surfaceNormal.getZ() * normalX - surfaceNormal.getX() * normalZ, surfaceNormal.getX() * normalY - surfaceNormal.getY() * normalX).normalize();
+	}
+	
+	/**
+	 * Returns the size of the normals of this {@code LinearNormalMapTexture} instance in bytes.
+	 * 
+	 * @return the size of the normals of this {@code LinearNormalMapTexture} instance in bytes
+	 */
+	public long getSizeInBytes() {
+		return (long)(this.normals.length) * Float.BYTES;
+	}
+	
+	/**
+	 * Waits for the {@link Texture} wrapped by this {@code LinearNormalMapTexture} to be loaded.
+	 */
+	@Override
+	public void awaitLoaded() {
+		this.texture.awaitLoaded();
+	}
+	
+	/**
+	 * Registers {@code runnable} to be run whenever the {@link Texture} wrapped by this {@code LinearNormalMapTexture} finishes loading a {@code Texture} it stands in for.
+	 * <p>
+	 * If {@code runnable} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param runnable the {@code Runnable} to run
+	 * @throws NullPointerException thrown if, and only if, {@code runnable} is {@code null}
+	 */
+	@Override
+	public void onLoad(final Runnable runnable) {
+		this.texture.onLoad(runnable);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code LinearNormalMapTexture} instance that wraps {@code texture} and uses the normal map in {@code bufferedImage}.
+	 * <p>
+	 * If either {@code texture} or {@code bufferedImage} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param texture the {@link Texture} to wrap
+	 * @param bufferedImage the normal map
+	 * @return a new {@code LinearNormalMapTexture} instance that wraps {@code texture} and uses the normal map in {@code bufferedImage}
+	 * @throws NullPointerException thrown if, and only if, either {@code texture} or {@code bufferedImage} are {@code null}
+	 */
+	public static LinearNormalMapTexture newInstance(final Texture texture, final BufferedImage bufferedImage) {
+		final int width = bufferedImage.getWidth();
+		final int height = bufferedImage.getHeight();
+		
+		final float[] normals = new float[width * height * 3];
+		
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				final int rGB = bufferedImage.getRGB(x, y);
+				final int index = (y * width + x) * 3;
+				
+				final double red = RGBSpectrum.toRed(rGB);
+				final double green = RGBSpectrum.toGreen(rGB);
+				final double blue = RGBSpectrum.toBlue(rGB);
+				final double length = Math.sqrt(red * red + green * green + blue * blue);
+				final double lengthReciprocal = length > 0.0D ? 1.0D / length : 0.0D;
+				
+				normals[index + 0] = (float)(red * lengthReciprocal);
+				normals[index + 1] = (float)(green * lengthReciprocal);
+				normals[index + 2] = (float)(blue * lengthReciprocal);
+			}
+		}
+		
+		return new LinearNormalMapTexture(width, height, normals, texture);
+	}
+	
+	/**
+	 * Returns a new {@code LinearNormalMapTexture} instance that wraps {@code texture} and uses the normal map in {@code file}.
+	 * <p>
+	 * If either {@code texture} or {@code file} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param texture the {@link Texture} to wrap
+	 * @param file the file of the normal map
+	 * @return a new {@code LinearNormalMapTexture} instance that wraps {@code texture} and uses the normal map in {@code file}
+	 * @throws NullPointerException thrown if, and only if, either {@code texture} or {@code file} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static LinearNormalMapTexture newInstance(final Texture texture, final File file) {
+		return newInstance(Objects.requireNonNull(texture, "texture == null"), BufferedImages.createBufferedImageFrom(Objects.requireNonNull(file, "file == null")));
+	}
+	
+	/**
+	 * Returns a new {@code LinearNormalMapTexture} instance that wraps {@code texture} and uses the normal map in the file named {@code fileName}.
+	 * <p>
+	 * If either {@code texture} or {@code fileName} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param texture the {@link Texture} to wrap
+	 * @param fileName the name of the file of the normal map
+	 * @return a new {@code LinearNormalMapTexture} instance that wraps {@code texture} and uses the normal map in the file named {@code fileName}
+	 * @throws NullPointerException thrown if, and only if, either {@code texture} or {@code fileName} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static LinearNormalMapTexture newInstance(final Texture texture, final String fileName) {
+		return newInstance(texture, new File(Objects.requireNonNull(fileName, "fileName == null")));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,239 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * A {@code LinearTexture} is an image {@link Texture} whose texels are stored as linear {@code float} RGB-components and looked up with bilinear filtering.
+ * <p>
+ * The components are decoded from sRGB to linear once, when the {@code LinearTexture} is created. A lookup therefore only interpolates the four closest texels, without unpacking them. {@link #getColorAt(double, double, Spectrum)} writes
+ * the result into a {@link Spectrum} supplied by the caller, such that it does not allocate.
+ * <p>
+ * Unlike {@link SimpleTexture}, which returns the encoded components of its texels divided by {@code 256.0D}, the colors returned by a {@code LinearTexture} are linear, which is what the rendering equation expects. A scene rendered with
+ * {@code LinearTexture}s instead of {@code SimpleTexture}s therefore looks darker in its mid-tones. Each texel uses {@code 12} bytes instead of {@code 4}.
+ * <p>
+ * The UV-coordinates are mapped to texels the same way as by {@code SimpleTexture}, and lookups outside of the image are clamped to its edges.
+ * <p>
+ * This class is immutable and therefore suitable for concurrent use without external synchronization.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class LinearTexture extends Texture {
+	private static final float[] S_R_G_B_TO_LINEAR_TABLE = doCreateSRGBToLinearTable();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final float[] texels;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private LinearTexture(final int width, final int height, final float[] texels) {
+		super(width, height);
+		
+		this.texels = texels;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the bilinearly filtered color at {@code u} and {@code v} as a new {@link Spectrum}.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @return the bilinearly filtered color at {@code u} and {@code v} as a new {@code Spectrum}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v) {
+		return getColorAt(u, v, RGBSpectrum.black());
+	}
+	
+	/**
+	 * Sets {@code color} to the bilinearly filtered color at {@code u} and {@code v} and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		final int width = getWidth();
+		final int height = getHeight();
+		
+		final double x = width * ((u + 1.0D) * 0.5D) - 0.5D;
+		final double y = height * ((v + 1.0D) * 0.5D) - 0.5D;
+		final double floorX = Math.floor(x);
+		final double floorY = Math.floor(y);
+		final double fractionX = x - floorX;
+		final double fractionY = y - floorY;
+		
+		final int x0 = Math.min(Math.max((int)(floorX), 0), width - 1);
+		final int y0 = Math.min(Math.max((int)(floorY), 0), height - 1);
+		final int x1 = Math.min(Math.max((int)(floorX) + 1, 0), width - 1);
+		final int y1 = Math.min(Math.max((int)(floorY) + 1, 0), height - 1);
+		final int index00 = (y0 * width + x0) * 3;
+		final int index10 = (y0 * width + x1) * 3;
+		final int index01 = (y1 * width + x0) * 3;
+		final int index11 = (y1 * width + x1) * 3;
+		
+		final double weight00 = (1.0D - fractionX) * (1.0D - fractionY);
+		final double weight10 = fractionX * (1.0D - fractionY);
+		final double weight01 = (1.0D - fractionX) * fractionY;
+		final double weight11 = fractionX * fractionY;
+		
+		final float[] texels = this.texels;
+		
+		final double red = texels[index00 + 0] * weight00 + texels[index10 + 0] * weight10 + texels[index01 + 0] * weight01 + texels[index11 + 0] * weight11;
+		final double green = texels[index00 + 1] * weight00 + texels[index10 + 1] * weight10 + texels[index01 + 1] * weight01 + texels[index11 + 1] * weight11;
+		final double blue = texels[index00 + 2] * weight00 + texels[index10 + 2] * weight10 + texels[index01 + 2] * weight01 + texels[index11 + 2] * weight11;
+		
+		return color.setCoefficient(0, red).setCoefficient(1, green).setCoefficient(2, blue);
+	}
+	
+	/**
+	 * Returns {@code surfaceNormal}, as a {@code LinearTexture} does not alter the surface normal.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @return {@code surfaceNormal}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
+		return surfaceNormal;
+	}
+	
+	/**
+	 * Sets {@code surfaceNormalAt} to {@code surfaceNormal} and returns it, as a {@code LinearTexture} does not alter the surface normal.
+	 * <p>
+	 * If either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @param surfaceNormalAt the {@link Vector} to set
+	 * @return {@code surfaceNormalAt}
+	 * @throws NullPointerException thrown if, and only if, either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return surfaceNormalAt.set(surfaceNormal);
+	}
+	
+	/**
+	 * Returns the size of the texels of this {@code LinearTexture} instance in bytes.
+	 * 
+	 * @return the size of the texels of this {@code LinearTexture} instance in bytes
+	 */
+	public long getSizeInBytes() {
+		return (long)(this.texels.length) * Float.BYTES;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code LinearTexture} instance with the image in {@code bufferedImage}.
+	 * <p>
+	 * The image is assumed to be sRGB-encoded.
+	 * <p>
+	 * If {@code bufferedImage} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param bufferedImage the image
+	 * @return a new {@code LinearTexture} instance with the image in {@code bufferedImage}
+	 * @throws NullPointerException thrown if, and only if, {@code bufferedImage} is {@code null}
+	 */
+	public static LinearTexture newInstance(final BufferedImage bufferedImage) {
+		final int width = bufferedImage.getWidth();
+		final int height = bufferedImage.getHeight();
+		
+		final float[] texels = new float[width * height * 3];
+		
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				final int rGB = bufferedImage.getRGB(x, y);
+				final int index = (y * width + x) * 3;
+				
+				texels[index + 0] = S_R_G_B_TO_LINEAR_TABLE[(rGB >> 16) & 0xFF];
+				texels[index + 1] = S_R_G_B_TO_LINEAR_TABLE[(rGB >> 8) & 0xFF];
+				texels[index + 2] = S_R_G_B_TO_LINEAR_TABLE[rGB & 0xFF];
+			}
+		}
+		
+		return new LinearTexture(width, height, texels);
+	}
+	
+	/**
+	 * Returns a new {@code LinearTexture} instance with the image in {@code file}.
+	 * <p>
+	 * The image is assumed to be sRGB-encoded.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file the file of the image
+	 * @return a new {@code LinearTexture} instance with the image in {@code file}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static LinearTexture newInstance(final File file) {
+		return newInstance(BufferedImages.createBufferedImageFrom(Objects.requireNonNull(file, "file == null")));
+	}
+	
+	/**
+	 * Returns a new {@code LinearTexture} instance with the image in the file named {@code fileName}.
+	 * <p>
+	 * The image is assumed to be sRGB-encoded.
+	 * <p>
+	 * If {@code fileName} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param fileName the name of the file of the image
+	 * @return a new {@code LinearTexture} instance with the image in the file named {@code fileName}
+	 * @throws NullPointerException thrown if, and only if, {@code fileName} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static LinearTexture newInstance(final String fileName) {
+		return newInstance(new File(Objects.requireNonNull(fileName, "fileName == null")));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static float[] doCreateSRGBToLinearTable() {
+		final float[] sRGBToLinearTable = new float[256];
+		
+		for(int i = 0; i < sRGBToLinearTable.length; i++) {
+			final double encoded = i / 255.0D;
+			final double linear = encoded <= 0.04045D ? encoded / 12.92D : Math.pow((encoded + 0.055D) / 1.055D, 2.4D);
+			
+			sRGBToLinearTable[i] = (float)(linear);
+		}
+		
+		return sRGBToLinearTable;
+	}
+}
\ No newline at end of file
@@ -66,6 +66,23 @@ public abstract class Material {
 	 */
 	public abstract Spectrum getEmission();
 	
+	/**
+	 * Sets {@code emission} to the emission currently assigned to this {@code Material} instance.
+	 * <p>
+	 * Returns {@code emission}.
+	 * <p>
+	 * If {@code emission} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method produces the same result as {@code emission.set(getEmission())}, which is also its default implementation. Subclasses are encouraged to override it, such that no new objects are created.
+	 * 
+	 * @param emission the {@link Spectrum} to set
+	 * @return {@code emission}
+	 * @throws NullPointerException thrown if, and only if, {@code emission} is {@code null}
+	 */
+	public Spectrum getEmission(final Spectrum emission) {
+		return emission.set(getEmission());
+	}
+	
 	/**
 	 * Calculates the radiance given the information provided by {@code intersection}.
 	 * <p>
@@ -81,6 +98,27 @@ public abstract class Material {
 	 */
 	public abstract Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG);
 	
+	/**
+	 * Calculates the radiance given the information provided by {@code intersection} and sets {@code radiance} to it.
+	 * <p>
+	 * Returns {@code radiance}.
+	 * <p>
+	 * If either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}, {@code NullPointerException} may be thrown. But no guarantees can be made.
+	 * <p>
+	 * This method produces the same result as {@code radiance.set(radiance(pass, intersection, pRNG))}, which is also its default implementation. Subclasses are encouraged to override it, such that no new objects are created. Any
+	 * temporary objects needed should be taken from the {@link ScratchContext} of the current {@code Thread}.
+	 * 
+	 * @param pass the current rendering pass
+	 * @param intersection the {@link Intersection} providing the information for the radiance calculation
+	 * @param pRNG the {@link PRNG} that may or may not be used in the radiance calculation process
+	 * @param radiance the {@link Spectrum} to set
+	 * @return {@code radiance}
+	 * @throws NullPointerException thrown if, and only if, either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}
+	 */
+	public Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG, final Spectrum radiance) {
+		return radiance.set(radiance(pass, intersection, pRNG));
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -140,4 +178,26 @@ public abstract class Material {
 		
 		return intersection.getScene().radiance(pass, intersection, pRNG);
 	}
+	
+	/**
+	 * A convenience method used by most {@code Material} implementations when they reflect a {@link Ray}.
+	 * <p>
+	 * Sets {@code radiance} to the {@link Spectrum} for {@code reflectedRay} and returns it.
+	 * <p>
+	 * If either {@code intersection}, {@code pRNG}, {@code reflectedRay} or {@code radiance} are {@code null}, a {@code NullPointerException} may be thrown. But no guarantees can be made for {@code pRNG} and {@code reflectedRay}.
+	 * 
+	 * @param pass the current rendering pass
+	 * @param intersection an {@link Intersection} containing intersection information
+	 * @param pRNG a {@link PRNG} that may or may not be used in the calculation process
+	 * @param reflectedRay the reflected {@link Ray} for which to calculate some radiance
+	 * @param radiance the {@code Spectrum} to set
+	 * @return {@code radiance}
+	 * @throws NullPointerException thrown if, and only if, either {@code intersection}, {@code pRNG}, {@code reflectedRay} or {@code radiance} are {@code null}
+	 */
+	public static Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG, final Ray reflectedRay, final Spectrum radiance) {
+		intersection.setDistance(Constants.INFINITY);
+		intersection.setRay(reflectedRay);
+		
+		return intersection.getScene().radiance(pass, intersection, pRNG, radiance);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,325 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.util.Objects;
+
+/**
+ * A {@code MipMap} is a pyramid of progressively downsampled images, used to filter a texture according to the footprint of a lookup.
+ * <p>
+ * Level {@code 0} is the original image. Each following level has half the width and half the height of the previous level, rounded down but never less than {@code 1}, and each of its texels is the average of the corresponding
+ * {@code 2 * 2} texels of the previous level. The last level has a size of {@code 1 * 1}.
+ * <p>
+ * The texels of each level are stored as packed ARGB {@code int}s in blocks of {@code 4 * 4} texels, such that a block occupies a single 64-byte cache line. The blocks are stored row by row and the texels within a block are stored in
+ * Morton order, such that texels that are close in two dimensions are also close in memory.
+ * <p>
+ * The values returned by the lookup methods are the components of the texels, in the range {@code 0.0D} (inclusive) to {@code 255.0D} (inclusive).
+ * <p>
+ * This class is immutable and therefore suitable for concurrent use without external synchronization.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class MipMap {
+	private static final int BLOCK_SHIFT = 2;
+	private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final int[] blocksX;
+	private final int[] heights;
+	private final int[] widths;
+	private final int[][] levels;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private MipMap(final int width, final int height, final int[] data) {
+		int levelCount = 1;
+		
+		for(int levelWidth = width, levelHeight = height; levelWidth > 1 || levelHeight > 1; levelWidth = Math.max(levelWidth / 2, 1), levelHeight = Math.max(levelHeight / 2, 1)) {
+			levelCount++;
+		}
+		
+		this.blocksX = new int[levelCount];
+		this.heights = new int[levelCount];
+		this.widths = new int[levelCount];
+		this.levels = new int[levelCount][];
+		
+		int[] previousData = data;
+		
+		for(int level = 0; level < levelCount; level++) {
+			final int levelWidth = level == 0 ? width : Math.max(this.widths[level - 1] / 2, 1);
+			final int levelHeight = level == 0 ? height : Math.max(this.heights[level - 1] / 2, 1);
+			
+			final int[] levelData = level == 0 ? data : doDownsample(previousData, this.widths[level - 1], this.heights[level - 1], levelWidth, levelHeight);
+			
+			this.blocksX[level] = (levelWidth + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+			this.heights[level] = levelHeight;
+			this.widths[level] = levelWidth;
+			this.levels[level] = doSwizzle(levelData, levelWidth, levelHeight, this.blocksX[level]);
+			
+			previousData = levelData;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Sets {@code color} to the texel at {@code x} and {@code y} in level {@code 0}, without any filtering, and returns it.
+	 * <p>
+	 * The coordinates are truncated to {@code int}s and clamped to the bounds of the level.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param x the X-coordinate in texels of level {@code 0}
+	 * @param y the Y-coordinate in texels of level {@code 0}
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
+	 */
+	public Spectrum getColorAt(final double x, final double y, final Spectrum color) {
+		final int rGB = getTexel(0, (int)(x), (int)(y));
+		
+		return color.setCoefficient(0, RGBSpectrum.toRed(rGB)).setCoefficient(1, RGBSpectrum.toGreen(rGB)).setCoefficient(2, RGBSpectrum.toBlue(rGB));
+	}
+	
+	/**
+	 * Sets {@code color} to the filtered color at {@code x} and {@code y}, given a footprint, and returns it.
+	 * <p>
+	 * The footprint is the width of the area covered by the lookup, in texels of level {@code 0}. If it is less than or equal to {@code 1.0D}, this method returns the same as {@link #getColorAt(double, double, Spectrum)}. Otherwise the
+	 * level {@code log2(footprint)} is selected and trilinear filtering is performed, by interpolating between bilinear lookups in the two closest levels.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param x the X-coordinate in texels of level {@code 0}
+	 * @param y the Y-coordinate in texels of level {@code 0}
+	 * @param footprint the width of the area covered by the lookup, in texels of level {@code 0}
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
+	 */
+	public Spectrum getColorAt(final double x, final double y, final double footprint, final Spectrum color) {
+		if(!(footprint > 1.0D)) {
+			return getColorAt(x, y, color);
+		}
+		
+		final double level = Math.min(Math.log(footprint) * (1.0D / Math.log(2.0D)), this.levels.length - 1);
+		
+		final int level0 = (int)(level);
+		final int level1 = Math.min(level0 + 1, this.levels.length - 1);
+		
+		final double fraction = level - level0;
+		
+		final double scale0 = 1.0D / (1 << level0);
+		final double scale1 = 1.0D / (1 << level1);
+		
+		color.set(0.0D);
+		
+		doAddColorAt(level0, x * scale0, y * scale0, 1.0D - fraction, color);
+		doAddColorAt(level1, x * scale1, y * scale1, fraction, color);
+		
+		return color;
+	}
+	
+	/**
+	 * Returns the height of level {@code level}.
+	 * <p>
+	 * If {@code level} is less than {@code 0}, or greater than or equal to {@code getLevelCount()}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param level the level
+	 * @return the height of level {@code level}
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code level} is less than {@code 0}, or greater than or equal to {@code getLevelCount()}
+	 */
+	public int getHeight(final int level) {
+		return this.heights[level];
+	}
+	
+	/**
+	 * Returns the number of levels in this {@code MipMap} instance.
+	 * 
+	 * @return the number of levels in this {@code MipMap} instance
+	 */
+	public int getLevelCount() {
+		return this.levels.length;
+	}
+	
+	/**
+	 * Returns the packed ARGB texel at {@code x} and {@code y} in level {@code level}.
+	 * <p>
+	 * The coordinates are clamped to the bounds of the level.
+	 * <p>
+	 * If {@code level} is less than {@code 0}, or greater than or equal to {@code getLevelCount()}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param level the level
+	 * @param x the X-coordinate in texels of the level
+	 * @param y the Y-coordinate in texels of the level
+	 * @return the packed ARGB texel at {@code x} and {@code y} in level {@code level}
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code level} is less than {@code 0}, or greater than or equal to {@code getLevelCount()}
+	 */
+	public int getTexel(final int level, final int x, final int y) {
+		final int clampedX = Math.min(Math.max(x, 0), this.widths[level] - 1);
+		final int clampedY = Math.min(Math.max(y, 0), this.heights[level] - 1);
+		
+		return this.levels[level][doGetIndex(clampedX, clampedY, this.blocksX[level])];
+	}
+	
+	/**
+	 * Returns the width of level {@code level}.
+	 * <p>
+	 * If {@code level} is less than {@code 0}, or greater than or equal to {@code getLevelCount()}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param level the level
+	 * @return the width of level {@code level}
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code level} is less than {@code 0}, or greater than or equal to {@code getLevelCount()}
+	 */
+	public int getWidth(final int level) {
+		return this.widths[level];
+	}
+	
+	/**
+	 * Returns the size of all levels of this {@code MipMap} instance in bytes, including the padding of the blocks.
+	 * 
+	 * @return the size of all levels of this {@code MipMap} instance in bytes, including the padding of the blocks
+	 */
+	public long getSizeInBytes() {
+		long sizeInBytes = 0L;
+		
+		for(final int[] level : this.levels) {
+			sizeInBytes += (long)(level.length) * Integer.BYTES;
+		}
+		
+		return sizeInBytes;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code MipMap} instance.
+	 * <p>
+	 * The array {@code data} contains the packed ARGB texels of the original image, row by row. It is not referenced by the {@code MipMap} after it has been built.
+	 * <p>
+	 * If {@code data} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code width} or {@code height} are less than {@code 1}, or {@code data.length} is less than {@code width * height}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param width the width of the original image
+	 * @param height the height of the original image
+	 * @param data the packed ARGB texels of the original image
+	 * @return a new {@code MipMap} instance
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code width} or {@code height} are less than {@code 1}, or {@code data.length} is less than {@code width * height}
+	 * @throws NullPointerException thrown if, and only if, {@code data} is {@code null}
+	 */
+	public static MipMap newInstance(final int width, final int height, final int[] data) {
+		Objects.requireNonNull(data, "data == null");
+		
+		if(width < 1 || height < 1) {
+			throw new IllegalArgumentException(String.format("width < 1 || height < 1: width=%s, height=%s", Integer.toString(width), Integer.toString(height)));
+		}
+		
+		if(data.length < width * height) {
+			throw new IllegalArgumentException(String.format("data.length < width * height: data.length=%s", Integer.toString(data.length)));
+		}
+		
+		return new MipMap(width, height, data);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doAddColorAt(final int level, final double x, final double y, final double weight, final Spectrum color) {
+		final double textureX = x - 0.5D;
+		final double textureY = y - 0.5D;
+		
+		final int x0 = (int)(Math.floor(textureX));
+		final int y0 = (int)(Math.floor(textureY));
+		
+		final double fractionX = textureX - x0;
+		final double fractionY = textureY - y0;
+		final double weight00 = (1.0D - fractionX) * (1.0D - fractionY) * weight;
+		final double weight10 = fractionX * (1.0D - fractionY) * weight;
+		final double weight01 = (1.0D - fractionX) * fractionY * weight;
+		final double weight11 = fractionX * fractionY * weight;
+		
+		final int rGB00 = getTexel(level, x0 + 0, y0 + 0);
+		final int rGB10 = getTexel(level, x0 + 1, y0 + 0);
+		final int rGB01 = getTexel(level, x0 + 0, y0 + 1);
+		final int rGB11 = getTexel(level, x0 + 1, y0 + 1);
+		
+		final double red = ((rGB00 >> 16) & 0xFF) * weight00 + ((rGB10 >> 16) & 0xFF) * weight10 + ((rGB01 >> 16) & 0xFF) * weight01 + ((rGB11 >> 16) & 0xFF) * weight11;
+		final double green = ((rGB00 >> 8) & 0xFF) * weight00 + ((rGB10 >> 8) & 0xFF) * weight10 + ((rGB01 >> 8) & 0xFF) * weight01 + ((rGB11 >> 8) & 0xFF) * weight11;
+		final double blue = (rGB00 & 0xFF) * weight00 + (rGB10 & 0xFF) * weight10 + (rGB01 & 0xFF) * weight01 + (rGB11 & 0xFF) * weight11;
+		
+		color.setCoefficient(0, color.getCoefficient(0) + red);
+		color.setCoefficient(1, color.getCoefficient(1) + green);
+		color.setCoefficient(2, color.getCoefficient(2) + blue);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int doGetIndex(final int x, final int y, final int blocksX) {
+		final int block = (y >> BLOCK_SHIFT) * blocksX + (x >> BLOCK_SHIFT);
+		final int morton = (x & 1) | ((y & 1) << 1) | ((x & 2) << 1) | ((y & 2) << 2);
+		
+		return (block << (2 * BLOCK_SHIFT)) | morton;
+	}
+	
+	private static int[] doDownsample(final int[] data, final int width, final int height, final int levelWidth, final int levelHeight) {
+		final int[] levelData = new int[levelWidth * levelHeight];
+		
+		for(int y = 0; y < levelHeight; y++) {
+			final int y0 = Math.min(y * 2 + 0, height - 1);
+			final int y1 = Math.min(y * 2 + 1, height - 1);
+			
+			for(int x = 0; x < levelWidth; x++) {
+				final int x0 = Math.min(x * 2 + 0, width - 1);
+				final int x1 = Math.min(x * 2 + 1, width - 1);
+				
+				final int aRGB00 = data[y0 * width + x0];
+				final int aRGB10 = data[y0 * width + x1];
+				final int aRGB01 = data[y1 * width + x0];
+				final int aRGB11 = data[y1 * width + x1];
+				
+				int aRGB = 0;
+				
+				for(int shift = 0; shift < 32; shift += 8) {
+					final int sum = ((aRGB00 >>> shift) & 0xFF) + ((aRGB10 >>> shift) & 0xFF) + ((aRGB01 >>> shift) & 0xFF) + ((aRGB11 >>> shift) & 0xFF);
+					
+					aRGB |= ((sum + 2) >> 2) << shift;
+				}
+				
+				levelData[y * levelWidth + x] = aRGB;
+			}
+		}
+		
+		return levelData;
+	}
+	
+	private static int[] doSwizzle(final int[] data, final int width, final int height, final int blocksX) {
+		final int blocksY = (height + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+		
+		final int[] swizzledData = new int[blocksX * blocksY * BLOCK_SIZE * BLOCK_SIZE];
+		
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				swizzledData[doGetIndex(x, y, blocksX)] = data[y * width + x];
+			}
+		}
+		
+		return swizzledData;
+	}
+}
\ No newline at end of file
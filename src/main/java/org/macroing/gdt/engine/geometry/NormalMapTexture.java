@@ -38,11 +38,26 @@ public final class NormalMapTexture extends Texture {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	@Override
+	public boolean isLoaded() {
+		return this.texture.isLoaded();
+	}
+	
 	@Override
 	public Spectrum getColorAt(final double u, final double v) {
 		return this.texture.getColorAt(u, v);
 	}
 	
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		return this.texture.getColorAt(u, v, color);
+	}
+	
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final double footprintU, final double footprintV, final Spectrum color) {
+		return this.texture.getColorAt(u, v, footprintU, footprintV, color);
+	}
+	
 	@Override
 	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
 		final int width = getWidth();
@@ -61,11 +76,35 @@ public final class NormalMapTexture extends Texture {
 		return surfaceNormal.copyAndCrossProduct(Vector.valueOf(red, green, blue)).normalize();
 	}
 	
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		final int width = getWidth();
+		final int height = getHeight();
+		final int x = (int)(width * ((u + 1.0D) * 0.5D));
+		final int y = (int)(height * ((v + 1.0D) * 0.5D));
+		final int index = y * width + x;
+		final int rGB = this.data[index];
+		
+		final double red = RGBSpectrum.toRed(rGB);
+		final double green = RGBSpectrum.toGreen(rGB);
+		final double blue = RGBSpectrum.toBlue(rGB);
+		
+		return surfaceNormalAt.set(surfaceNormal.getY() * blue - surfaceNormal.getZ() * green, surfaceNormal.getZ() * red - surfaceNormal.getX() * blue, surfaceNormal.getX() * green - surfaceNormal.getY() * red).normalize();
+	}
+	
+	@Override
+	public void awaitLoaded() {
+		this.texture.awaitLoaded();
+	}
+	
+	@Override
+	public void onLoad(final Runnable runnable) {
+		this.texture.onLoad(runnable);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	public static NormalMapTexture newInstance(final Texture texture, final File file) {
-		final BufferedImage bufferedImage = BufferedImages.createBufferedImageFrom(file);
-		
+	public static NormalMapTexture newInstance(final Texture texture, final BufferedImage bufferedImage) {
 		final int width = bufferedImage.getWidth();
 		final int height = bufferedImage.getHeight();
 		
@@ -74,6 +113,10 @@ public final class NormalMapTexture extends Texture {
 		return new NormalMapTexture(width, height, data, texture);
 	}
 	
+	public static NormalMapTexture newInstance(final Texture texture, final File file) {
+		return newInstance(texture, BufferedImages.createBufferedImageFrom(file));
+	}
+	
 	public static NormalMapTexture newInstance(final Texture texture, final String fileName) {
 		return newInstance(texture, new File(fileName));
 	}
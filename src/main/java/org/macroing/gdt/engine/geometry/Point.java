@@ -228,6 +228,24 @@ public final class Point {
 		return add(vector.getX(), vector.getY(), vector.getZ());
 	}
 	
+	/**
+	 * Adds {@code vector} multiplied by {@code scalar} to this {@code Point} instance.
+	 * <p>
+	 * The {@code Point} instance itself will be returned, such that you can chain multiple calls.
+	 * <p>
+	 * If {@code vector} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method modifies the state of the instance on which it is called. It produces the same result as {@code add(vector.copyAndMultiply(scalar))}, but without creating any new objects.
+	 * 
+	 * @param vector the {@code Vector} to multiply with {@code scalar} and add to this {@code Point} instance
+	 * @param scalar the scalar value to multiply {@code vector} with
+	 * @return itself, such that you can chain multiple calls
+	 * @throws NullPointerException thrown if, and only if, {@code vector} is {@code null}
+	 */
+	public Point add(final Vector vector, final double scalar) {
+		return add(vector.getX() * scalar, vector.getY() * scalar, vector.getZ() * scalar);
+	}
+	
 	/**
 	 * Returns a new copy of this {@code Point} instance.
 	 * 
@@ -0,0 +1,104 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+/**
+ * A {@code Precision} denotes the floating-point precision used to store and intersect geometry, such as a {@link TriangleMesh}.
+ * <p>
+ * The precision is chosen when the geometry is built. {@code DOUBLE} stores every component in a {@code double}, like the rest of the Geometry API. {@code SINGLE} stores every component in a {@code float}, which halves the memory bandwidth
+ * required to traverse the geometry, at the cost of a larger rounding error.
+ * <p>
+ * To avoid self-intersection, the rounding error is compensated for by an epsilon that is relative to the magnitude of the coordinates involved. The epsilon returned by {@link #getEpsilon(double)} is never less than the absolute epsilon
+ * {@code 1.e-4D}, which is used by the other {@link Shape}s.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public enum Precision {
+	/**
+	 * A {@code Precision} that stores every component in a {@code double}.
+	 */
+	DOUBLE("Double", Double.BYTES, 0x1.0p-48D),
+	
+	/**
+	 * A {@code Precision} that stores every component in a {@code float}.
+	 */
+	SINGLE("Single", Float.BYTES, 0x1.0p-19D);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final double EPSILON = 1.e-4D;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final double relativeEpsilon;
+	private final int bytesPerComponent;
+	private final String toString;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Precision(final String toString, final int bytesPerComponent, final double relativeEpsilon) {
+		this.toString = toString;
+		this.bytesPerComponent = bytesPerComponent;
+		this.relativeEpsilon = relativeEpsilon;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code String} representation of this {@code Precision}.
+	 * 
+	 * @return a {@code String} representation of this {@code Precision}
+	 */
+	@Override
+	public String toString() {
+		return this.toString;
+	}
+	
+	/**
+	 * Returns the epsilon to use for an intersection, given the magnitude of the coordinates involved.
+	 * <p>
+	 * The magnitude is typically the largest absolute coordinate of the geometry and the origin of the {@link Ray}. The epsilon returned is {@code Math.max(1.e-4D, magnitude * relativeEpsilon)}, where {@code relativeEpsilon} is a few
+	 * units in the last place of the precision.
+	 * 
+	 * @param magnitude the magnitude of the coordinates involved
+	 * @return the epsilon to use for an intersection, given the magnitude of the coordinates involved
+	 */
+	public double getEpsilon(final double magnitude) {
+		return Math.max(EPSILON, magnitude * this.relativeEpsilon);
+	}
+	
+	/**
+	 * Returns the relative epsilon of this {@code Precision}.
+	 * 
+	 * @return the relative epsilon of this {@code Precision}
+	 */
+	public double getRelativeEpsilon() {
+		return this.relativeEpsilon;
+	}
+	
+	/**
+	 * Returns the number of bytes used to store a single component.
+	 * 
+	 * @return the number of bytes used to store a single component
+	 */
+	public int getBytesPerComponent() {
+		return this.bytesPerComponent;
+	}
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ package org.macroing.gdt.engine.geometry;
 
 import java.lang.reflect.Field;//TODO: Fix this class and remove this comment once done. Add Javadocs etc.
 
+import org.macroing.gdt.engine.util.Functions;
 import org.macroing.gdt.engine.util.Interpolation;
 
 /**
@@ -50,14 +51,22 @@ public final class RGBSpectrum extends Spectrum {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private double blue;
+	private double green;
+	private double red;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	public RGBSpectrum(final double red, final double green, final double blue) {
-		super(red, green, blue);
+		this.red = red;
+		this.green = green;
+		this.blue = blue;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private RGBSpectrum() {
-		super(3);
+		super();
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -69,7 +78,7 @@ public final class RGBSpectrum extends Spectrum {
 	 */
 	@Override
 	public boolean isBlack() {
-		return getRed() == 0.0D && getGreen() == 0.0D && getBlue() == 0.0D;
+		return this.red == 0.0D && this.green == 0.0D && this.blue == 0.0D;
 	}
 	
 	/**
@@ -120,7 +129,30 @@ public final class RGBSpectrum extends Spectrum {
 	 * @return the value of the B-coefficient (Blue)
 	 */
 	public double getBlue() {
-		return getCoefficient(INDEX_OF_BLUE_COEFFICIENT);
+		return this.blue;
+	}
+	
+	/**
+	 * Returns the {@code double} value that represents the coefficient at index {@code index}.
+	 * <p>
+	 * If {@code index} is less than {@code 0}, or greater than or equal to {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param index the index of the coefficient value to get
+	 * @return the {@code double} value that represents the coefficient at index {@code index}
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0}, or greater than or equal to {@code 3}
+	 */
+	@Override
+	public double getCoefficient(final int index) {
+		switch(index) {
+			case INDEX_OF_RED_COEFFICIENT:
+				return this.red;
+			case INDEX_OF_GREEN_COEFFICIENT:
+				return this.green;
+			case INDEX_OF_BLUE_COEFFICIENT:
+				return this.blue;
+			default:
+				throw new ArrayIndexOutOfBoundsException(index);
+		}
 	}
 	
 	/**
@@ -129,7 +161,7 @@ public final class RGBSpectrum extends Spectrum {
 	 * @return the value of the G-coefficient (Green)
 	 */
 	public double getGreen() {
-		return getCoefficient(INDEX_OF_GREEN_COEFFICIENT);
+		return this.green;
 	}
 	
 	/**
@@ -141,7 +173,7 @@ public final class RGBSpectrum extends Spectrum {
 	 */
 	@Override
 	public double getLuminance() {
-		return 0.212671D * getRed() + 0.715160D * getGreen() + 0.072169D * getBlue();
+		return 0.212671D * this.red + 0.715160D * this.green + 0.072169D * this.blue;
 	}
 	
 	/**
@@ -150,7 +182,7 @@ public final class RGBSpectrum extends Spectrum {
 	 * @return the value of the R-coefficient (Red)
 	 */
 	public double getRed() {
-		return getCoefficient(INDEX_OF_RED_COEFFICIENT);
+		return this.red;
 	}
 	
 	/**
@@ -162,7 +194,83 @@ public final class RGBSpectrum extends Spectrum {
 	 */
 	@Override
 	public double[] toXYZ() {
-		return fromRGBToXYZ(getRed(), getGreen(), getBlue());
+		return fromRGBToXYZ(this.red, this.green, this.blue);
+	}
+	
+	/**
+	 * Returns the coefficient count of this {@code RGBSpectrum} instance, which is always {@code 3}.
+	 * 
+	 * @return the coefficient count of this {@code RGBSpectrum} instance, which is always {@code 3}
+	 */
+	@Override
+	public int getCoefficientCount() {
+		return 3;
+	}
+	
+	/**
+	 * Adds {@code scalar} to the R-, G- and B-coefficients of this {@code RGBSpectrum} instance.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * 
+	 * @param scalar the scalar to add to the R-, G- and B-coefficients of this {@code RGBSpectrum} instance
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 */
+	@Override
+	public RGBSpectrum add(final double scalar) {
+		this.red += scalar;
+		this.green += scalar;
+		this.blue += scalar;
+		
+		return this;
+	}
+	
+	/**
+	 * Adds the first three coefficients provided by {@code spectrum} to the R-, G- and B-coefficients of this {@code RGBSpectrum} instance.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * If {@code spectrum} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the coefficient count of {@code spectrum} is less than {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param spectrum the {@code Spectrum} with the coefficients to add to this {@code RGBSpectrum} instance
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of {@code spectrum} is less than {@code 3}
+	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
+	 */
+	@Override
+	public RGBSpectrum add(final Spectrum spectrum) {
+		if(spectrum instanceof RGBSpectrum) {
+			final RGBSpectrum rGBSpectrum = RGBSpectrum.class.cast(spectrum);
+			
+			this.red += rGBSpectrum.red;
+			this.green += rGBSpectrum.green;
+			this.blue += rGBSpectrum.blue;
+		} else {
+			this.red += spectrum.getCoefficient(INDEX_OF_RED_COEFFICIENT);
+			this.green += spectrum.getCoefficient(INDEX_OF_GREEN_COEFFICIENT);
+			this.blue += spectrum.getCoefficient(INDEX_OF_BLUE_COEFFICIENT);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Clamps the R-, G- and B-coefficients of this {@code RGBSpectrum} instance to the range {@code low} (inclusive) and {@code high} (inclusive).
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * 
+	 * @param low the lowest value of the range to clamp this {@code RGBSpectrum} instance to
+	 * @param high the highest value of the range to clamp this {@code RGBSpectrum} instance to
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 */
+	@Override
+	public RGBSpectrum clamp(final double low, final double high) {
+		this.red = Functions.clamp(this.red, low, high);
+		this.green = Functions.clamp(this.green, low, high);
+		this.blue = Functions.clamp(this.blue, low, high);
+		
+		return this;
 	}
 	
 	/**
@@ -172,7 +280,150 @@ public final class RGBSpectrum extends Spectrum {
 	 */
 	@Override
 	public RGBSpectrum copy() {
-		return new RGBSpectrum(getRed(), getGreen(), getBlue());
+		return new RGBSpectrum(this.red, this.green, this.blue);
+	}
+	
+	/**
+	 * Divides the R-, G- and B-coefficients of this {@code RGBSpectrum} instance with the first three coefficients provided by {@code spectrum}.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * If {@code spectrum} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the coefficient count of {@code spectrum} is less than {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param spectrum the {@code Spectrum} with the coefficients to divide this {@code RGBSpectrum} instance with
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of {@code spectrum} is less than {@code 3}
+	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
+	 */
+	@Override
+	public RGBSpectrum divide(final Spectrum spectrum) {
+		if(spectrum instanceof RGBSpectrum) {
+			final RGBSpectrum rGBSpectrum = RGBSpectrum.class.cast(spectrum);
+			
+			this.red /= rGBSpectrum.red;
+			this.green /= rGBSpectrum.green;
+			this.blue /= rGBSpectrum.blue;
+		} else {
+			this.red /= spectrum.getCoefficient(INDEX_OF_RED_COEFFICIENT);
+			this.green /= spectrum.getCoefficient(INDEX_OF_GREEN_COEFFICIENT);
+			this.blue /= spectrum.getCoefficient(INDEX_OF_BLUE_COEFFICIENT);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Multiplies the R-, G- and B-coefficients of this {@code RGBSpectrum} instance with {@code scalar}.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * 
+	 * @param scalar the scalar to multiply the R-, G- and B-coefficients of this {@code RGBSpectrum} instance with
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 */
+	@Override
+	public RGBSpectrum multiply(final double scalar) {
+		this.red *= scalar;
+		this.green *= scalar;
+		this.blue *= scalar;
+		
+		return this;
+	}
+	
+	/**
+	 * Multiplies the R-, G- and B-coefficients of this {@code RGBSpectrum} instance with the first three coefficients provided by {@code spectrum}.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * If {@code spectrum} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the coefficient count of {@code spectrum} is less than {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param spectrum the {@code Spectrum} with the coefficients to multiply this {@code RGBSpectrum} instance with
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of {@code spectrum} is less than {@code 3}
+	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
+	 */
+	@Override
+	public RGBSpectrum multiply(final Spectrum spectrum) {
+		if(spectrum instanceof RGBSpectrum) {
+			final RGBSpectrum rGBSpectrum = RGBSpectrum.class.cast(spectrum);
+			
+			this.red *= rGBSpectrum.red;
+			this.green *= rGBSpectrum.green;
+			this.blue *= rGBSpectrum.blue;
+		} else {
+			this.red *= spectrum.getCoefficient(INDEX_OF_RED_COEFFICIENT);
+			this.green *= spectrum.getCoefficient(INDEX_OF_GREEN_COEFFICIENT);
+			this.blue *= spectrum.getCoefficient(INDEX_OF_BLUE_COEFFICIENT);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Performs negation on the R-, G- and B-coefficients of this {@code RGBSpectrum} instance.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * 
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 */
+	@Override
+	public RGBSpectrum negate() {
+		this.red = -this.red;
+		this.green = -this.green;
+		this.blue = -this.blue;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets the R-, G- and B-coefficients of this {@code RGBSpectrum} instance to {@code coefficient}.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * 
+	 * @param coefficient the new value of the R-, G- and B-coefficients
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 */
+	@Override
+	public RGBSpectrum set(final double coefficient) {
+		this.red = coefficient;
+		this.green = coefficient;
+		this.blue = coefficient;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets the R-, G- and B-coefficients of this {@code RGBSpectrum} instance to the first three coefficients provided by {@code spectrum}.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * If {@code spectrum} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the coefficient count of {@code spectrum} is less than {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param spectrum the {@code Spectrum} with the coefficients to set this {@code RGBSpectrum} instance to
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of {@code spectrum} is less than {@code 3}
+	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
+	 */
+	@Override
+	public RGBSpectrum set(final Spectrum spectrum) {
+		if(spectrum instanceof RGBSpectrum) {
+			final RGBSpectrum rGBSpectrum = RGBSpectrum.class.cast(spectrum);
+			
+			this.red = rGBSpectrum.red;
+			this.green = rGBSpectrum.green;
+			this.blue = rGBSpectrum.blue;
+		} else {
+			this.red = spectrum.getCoefficient(INDEX_OF_RED_COEFFICIENT);
+			this.green = spectrum.getCoefficient(INDEX_OF_GREEN_COEFFICIENT);
+			this.blue = spectrum.getCoefficient(INDEX_OF_BLUE_COEFFICIENT);
+		}
+		
+		return this;
 	}
 	
 	/**
@@ -184,7 +435,41 @@ public final class RGBSpectrum extends Spectrum {
 	 * @return this {@code RGBSpectrum}, such that method chaining is possible
 	 */
 	public RGBSpectrum setBlue(final double blue) {
-		setCoefficient(INDEX_OF_BLUE_COEFFICIENT, blue);
+		this.blue = blue;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets a new value for the coefficient at index {@code index}.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * If {@code index} is less than {@code 0}, or greater than or equal to {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param index the index of the coefficient to set
+	 * @param coefficient the new coefficient to set on the given index
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0}, or greater than or equal to {@code 3}
+	 */
+	@Override
+	public RGBSpectrum setCoefficient(final int index, final double coefficient) {
+		switch(index) {
+			case INDEX_OF_RED_COEFFICIENT:
+				this.red = coefficient;
+				
+				break;
+			case INDEX_OF_GREEN_COEFFICIENT:
+				this.green = coefficient;
+				
+				break;
+			case INDEX_OF_BLUE_COEFFICIENT:
+				this.blue = coefficient;
+				
+				break;
+			default:
+				throw new ArrayIndexOutOfBoundsException(index);
+		}
 		
 		return this;
 	}
@@ -198,7 +483,7 @@ public final class RGBSpectrum extends Spectrum {
 	 * @return this {@code RGBSpectrum}, such that method chaining is possible
 	 */
 	public RGBSpectrum setGreen(final double green) {
-		setCoefficient(INDEX_OF_GREEN_COEFFICIENT, green);
+		this.green = green;
 		
 		return this;
 	}
@@ -212,7 +497,55 @@ public final class RGBSpectrum extends Spectrum {
 	 * @return this {@code RGBSpectrum}, such that method chaining is possible
 	 */
 	public RGBSpectrum setRed(final double red) {
-		setCoefficient(INDEX_OF_RED_COEFFICIENT, red);
+		this.red = red;
+		
+		return this;
+	}
+	
+	/**
+	 * Subtracts {@code scalar} from the R-, G- and B-coefficients of this {@code RGBSpectrum} instance.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * 
+	 * @param scalar the scalar to subtract from the R-, G- and B-coefficients of this {@code RGBSpectrum} instance
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 */
+	@Override
+	public RGBSpectrum subtract(final double scalar) {
+		this.red -= scalar;
+		this.green -= scalar;
+		this.blue -= scalar;
+		
+		return this;
+	}
+	
+	/**
+	 * Subtracts the first three coefficients provided by {@code spectrum} from the R-, G- and B-coefficients of this {@code RGBSpectrum} instance.
+	 * <p>
+	 * Returns this {@code RGBSpectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * If {@code spectrum} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the coefficient count of {@code spectrum} is less than {@code 3}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param spectrum the {@code Spectrum} with the coefficients to subtract from this {@code RGBSpectrum} instance
+	 * @return this {@code RGBSpectrum} instance, such that method chaining is possible
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of {@code spectrum} is less than {@code 3}
+	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
+	 */
+	@Override
+	public RGBSpectrum subtract(final Spectrum spectrum) {
+		if(spectrum instanceof RGBSpectrum) {
+			final RGBSpectrum rGBSpectrum = RGBSpectrum.class.cast(spectrum);
+			
+			this.red -= rGBSpectrum.red;
+			this.green -= rGBSpectrum.green;
+			this.blue -= rGBSpectrum.blue;
+		} else {
+			this.red -= spectrum.getCoefficient(INDEX_OF_RED_COEFFICIENT);
+			this.green -= spectrum.getCoefficient(INDEX_OF_GREEN_COEFFICIENT);
+			this.blue -= spectrum.getCoefficient(INDEX_OF_BLUE_COEFFICIENT);
+		}
 		
 		return this;
 	}
@@ -224,7 +557,7 @@ public final class RGBSpectrum extends Spectrum {
 	 */
 	@Override
 	public String toString() {
-		return "RGBSpectrum = {" + getRed() + ", " + getGreen() + ", " + getBlue() + "}";
+		return "RGBSpectrum = {" + this.red + ", " + this.green + ", " + this.blue + "}";
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -53,6 +53,10 @@ public final class Ray {
 		return this.origin.copyAndAdd(this.direction.copyAndMultiply(distance));
 	}
 	
+	public Point getPointAt(final double distance, final Point point) {
+		return point.set(this.origin).add(this.direction, distance);
+	}
+	
 	public Ray copy() {
 		return new Ray(this.depth, this.origin, this.direction);
 	}
@@ -61,6 +65,19 @@ public final class Ray {
 		return new Ray(this.depth + 1, origin, direction);
 	}
 	
+	public Ray reflect(final Point origin, final Vector direction, final Ray ray) {
+		return ray.set(this.depth + 1, origin, direction);
+	}
+	
+	public Ray set(final int depth, final Point origin, final Vector direction) {
+		this.depth = depth;
+		this.origin.set(origin);
+		this.direction.set(direction);
+		this.time = 0.0D;
+		
+		return this;
+	}
+	
 	@Override
 	public String toString() {
 		return String.format("Ray: [Origin=%s], [Direction=%s], [Depth=%s], [Time=%s]", this.origin, this.direction, Integer.toString(this.depth), Double.toString(this.time));
@@ -77,6 +94,10 @@ public final class Ray {
 		this.time = ray.time;
 	}
 	
+	public void setDepth(final int depth) {
+		this.depth = depth;
+	}
+	
 	public void setDirection(final Vector direction) {
 		this.direction.set(direction);
 	}
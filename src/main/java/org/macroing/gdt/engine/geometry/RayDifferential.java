@@ -62,6 +62,19 @@ public final class RayDifferential {
 		return this.originX.copy();
 	}
 	
+	/**
+	 * Sets {@code originX} to the origin X of this {@code RayDifferential} and returns it.
+	 * <p>
+	 * If {@code originX} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param originX the {@code Point} to set
+	 * @return {@code originX}
+	 * @throws NullPointerException thrown if, and only if, {@code originX} is {@code null}
+	 */
+	public Point getOriginX(final Point originX) {
+		return originX.set(this.originX);
+	}
+	
 	/**
 	 * Returns the origin Y of this {@code RayDifferential}.
 	 * <p>
@@ -73,6 +86,19 @@ public final class RayDifferential {
 		return this.originY.copy();
 	}
 	
+	/**
+	 * Sets {@code originY} to the origin Y of this {@code RayDifferential} and returns it.
+	 * <p>
+	 * If {@code originY} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param originY the {@code Point} to set
+	 * @return {@code originY}
+	 * @throws NullPointerException thrown if, and only if, {@code originY} is {@code null}
+	 */
+	public Point getOriginY(final Point originY) {
+		return originY.set(this.originY);
+	}
+	
 	/**
 	 * Returns the {@code Ray} of this {@code RayDifferential}.
 	 * <p>
@@ -120,6 +146,30 @@ public final class RayDifferential {
 		return this;
 	}
 	
+	/**
+	 * Sets the differentials of this {@code RayDifferential} to the origins and directions of {@code rayX} and {@code rayY}.
+	 * <p>
+	 * Returns this {@code RayDifferential}, such that method chaining is possible.
+	 * <p>
+	 * The {@link Ray}s are typically the ones generated for the neighbouring pixels in the X- and Y-directions. This method also sets this {@code RayDifferential} to have differentials.
+	 * <p>
+	 * If either {@code rayX} or {@code rayY} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param rayX the {@code Ray} offset in the X-direction
+	 * @param rayY the {@code Ray} offset in the Y-direction
+	 * @return this {@code RayDifferential}, such that method chaining is possible
+	 * @throws NullPointerException thrown if, and only if, either {@code rayX} or {@code rayY} are {@code null}
+	 */
+	public RayDifferential setDifferentials(final Ray rayX, final Ray rayY) {
+		this.originX.set(rayX.getOrigin());
+		this.originY.set(rayY.getOrigin());
+		this.directionX.set(rayX.getDirection());
+		this.directionY.set(rayY.getDirection());
+		this.hasDifferentials = true;
+		
+		return this;
+	}
+	
 	/**
 	 * Sets a new direction X for this {@code RayDifferential}.
 	 * <p>
@@ -226,6 +276,19 @@ public final class RayDifferential {
 		return this.directionX.copy();
 	}
 	
+	/**
+	 * Sets {@code directionX} to the direction X of this {@code RayDifferential} and returns it.
+	 * <p>
+	 * If {@code directionX} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param directionX the {@code Vector} to set
+	 * @return {@code directionX}
+	 * @throws NullPointerException thrown if, and only if, {@code directionX} is {@code null}
+	 */
+	public Vector getDirectionX(final Vector directionX) {
+		return directionX.set(this.directionX);
+	}
+	
 	/**
 	 * Returns the direction Y of this {@code RayDifferential}.
 	 * <p>
@@ -237,6 +300,19 @@ public final class RayDifferential {
 		return this.directionY.copy();
 	}
 	
+	/**
+	 * Sets {@code directionY} to the direction Y of this {@code RayDifferential} and returns it.
+	 * <p>
+	 * If {@code directionY} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param directionY the {@code Vector} to set
+	 * @return {@code directionY}
+	 * @throws NullPointerException thrown if, and only if, {@code directionY} is {@code null}
+	 */
+	public Vector getDirectionY(final Vector directionY) {
+		return directionY.set(this.directionY);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -63,6 +63,22 @@ public final class RefractiveMaterial extends Material {
 		return this.emission.copy();
 	}
 	
+	/**
+	 * Sets {@code emission} to the emission currently assigned to this {@code RefractiveMaterial} instance.
+	 * <p>
+	 * Returns {@code emission}.
+	 * <p>
+	 * If {@code emission} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param emission the {@link Spectrum} to set
+	 * @return {@code emission}
+	 * @throws NullPointerException thrown if, and only if, {@code emission} is {@code null}
+	 */
+	@Override
+	public Spectrum getEmission(final Spectrum emission) {
+		return emission.set(this.emission);
+	}
+	
 	/**
 	 * Calculates the radiance given the information provided by {@code intersection}.
 	 * <p>
@@ -136,6 +152,81 @@ public final class RefractiveMaterial extends Material {
 		return radiance(pass, intersection, pRNG, incidentRay.reflect(origin, reflectionDirection)).multiply(reflection).add(radiance(pass, intersection, pRNG, incidentRay.reflect(origin, transmissionDirection)).multiply(transmission));
 	}
 	
+	/**
+	 * Calculates the radiance given the information provided by {@code intersection} and sets {@code radiance} to it.
+	 * <p>
+	 * Returns {@code radiance}.
+	 * <p>
+	 * If either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}, {@code NullPointerException} may be thrown. But no guarantees can be made for {@code pRNG}.
+	 * <p>
+	 * This method produces the same result as {@code radiance.set(radiance(pass, intersection, pRNG))}, but without creating any new objects.
+	 * 
+	 * @param pass the current rendering pass
+	 * @param intersection the {@link Intersection} providing the information for the radiance calculation
+	 * @param pRNG the {@link PRNG} that may or may not be used in the radiance calculation process
+	 * @param radiance the {@link Spectrum} to set
+	 * @return {@code radiance}
+	 * @throws NullPointerException thrown if, and only if, either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}
+	 */
+	@Override
+	public Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG, final Spectrum radiance) {
+		final ScratchContext scratchContext = intersection.getScratchContext();
+		
+		scratchContext.push();
+		
+		try {
+//			The surface intersection point and the surface normals are copied, as they are updated by the first of two recursive radiance calculations below.
+			final Point origin = intersection.getSurfaceIntersectionPoint(scratchContext.point());
+			
+			final Ray incidentRay = intersection.getRay();
+			
+			final Vector incidentDirection = incidentRay.getDirection();
+			final Vector surfaceNormal = intersection.getSurfaceNormal(scratchContext.vector());
+			final Vector surfaceNormalProperlyOriented = intersection.getSurfaceNormalProperlyOriented(scratchContext.vector());
+			
+			final boolean isDirectedInwards = surfaceNormal.dotProduct(surfaceNormalProperlyOriented) > 0.0D;
+			
+			final double refractiveIndex0 = intersection.getRefractiveIndex0();
+			final double refractiveIndex1 = intersection.getRefractiveIndex1();
+			final double _DDN_ = incidentDirection.dotProduct(surfaceNormalProperlyOriented);
+			final double _NNT_ = isDirectedInwards ? refractiveIndex0 / refractiveIndex1 : refractiveIndex1 / refractiveIndex0;
+			final double _COS_2_T_ = 1.0D - _NNT_ * _NNT_ * (1.0D - _DDN_ * _DDN_);
+			
+			if(_COS_2_T_ < 0.0D) {
+				return radiance.set(0.0D);
+			}
+			
+			final double scalar = (isDirectedInwards ? 1.0D : -1.0D) * (_DDN_ * _NNT_ + Math.sqrt(_COS_2_T_));
+			
+			final Vector reflectionDirection = scratchContext.vector().reflect(incidentDirection, surfaceNormal);
+			final Vector transmissionDirection = scratchContext.vector().set(incidentDirection.getX() * _NNT_ - surfaceNormal.getX() * scalar, incidentDirection.getY() * _NNT_ - surfaceNormal.getY() * scalar, incidentDirection.getZ() * _NNT_ - surfaceNormal.getZ() * scalar).normalize();
+			
+			final double angle = 1.0D - (isDirectedInwards ? -_DDN_ : transmissionDirection.dotProduct(surfaceNormal));
+			final double reflection = evaluateFresnelReflectionFor(angle, refractiveIndex0, refractiveIndex1);
+			final double transmission = 1.0D - reflection;
+			
+			if(incidentRay.getDepth() > 2) {
+				final double probability = 0.25D + 0.5D * reflection;
+				
+				if(pRNG.nextDouble() < probability) {
+					final double reflectionProbability = reflection / probability;
+					
+					return radiance(pass, intersection, pRNG, incidentRay.reflect(origin, reflectionDirection, scratchContext.ray()), radiance).multiply(reflectionProbability);
+				}
+				
+				final double transmissionProbability = transmission / (1.0D - probability);
+				
+				return radiance(pass, intersection, pRNG, incidentRay.reflect(origin, transmissionDirection, scratchContext.ray()), radiance).multiply(transmissionProbability);
+			}
+			
+			radiance(pass, intersection, pRNG, incidentRay.reflect(origin, reflectionDirection, scratchContext.ray()), radiance).multiply(reflection);
+			
+			return radiance.add(radiance(pass, intersection, pRNG, incidentRay.reflect(origin, transmissionDirection, scratchContext.ray()), scratchContext.spectrum()).multiply(transmission));
+		} finally {
+			scratchContext.pop();
+		}
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
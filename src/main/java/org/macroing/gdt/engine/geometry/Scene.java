@@ -20,12 +20,17 @@ package org.macroing.gdt.engine.geometry;
 
 import java.lang.reflect.Field;//TODO: Fix this class and remove this comment once done. Add Javadocs etc.
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.IntPredicate;
 
 import org.macroing.gdt.engine.configuration.Configuration;
 import org.macroing.gdt.engine.configuration.ConfigurationObserver;
+import org.macroing.gdt.engine.jfr.SceneBuildEvent;
+import org.macroing.gdt.engine.metrics.Metrics;
 import org.macroing.gdt.engine.util.PRNG;
 
 public final class Scene implements ConfigurationObserver {
@@ -34,7 +39,10 @@ public final class Scene implements ConfigurationObserver {
 	private Configuration configuration;
 	private int depthUntilProbabilisticallyTerminatingRay;
 	private IntPredicate intPredicate = pass -> this.isRenderingInRealtime;
+	private Metrics metrics = Metrics.newInstance();
 	private final List<Shape> shapes = new ArrayList<>();
+	private final Map<Material, Integer> materialIDs = new IdentityHashMap<>();
+	private final Map<Shape, Integer> shapeIDs = new IdentityHashMap<>();
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -47,6 +55,8 @@ public final class Scene implements ConfigurationObserver {
 	public boolean isIntersecting(final Intersection intersection) {
 		boolean isIntersecting = false;
 		
+		this.metrics.addIntersectionTests(this.shapes.size());
+		
 		for(final Shape shape : this.shapes) {
 			isIntersecting |= shape.isIntersecting(intersection);
 		}
@@ -58,48 +68,106 @@ public final class Scene implements ConfigurationObserver {
 		return this.configuration;
 	}
 	
+	public Metrics getMetrics() {
+		return this.metrics;
+	}
+	
+	public List<Shape> getShapes() {
+		return Collections.unmodifiableList(this.shapes);
+	}
+	
+	public int getMaterialID(final Material material) {
+		final Integer materialID = this.materialIDs.get(material);
+		
+		return materialID != null ? materialID.intValue() : -1;
+	}
+	
+	public int getShapeID(final Shape shape) {
+		final Integer shapeID = this.shapeIDs.get(shape);
+		
+		return shapeID != null ? shapeID.intValue() : -1;
+	}
+	
 	public Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG) {
+		return radiance(pass, intersection, pRNG, RGBSpectrum.black());
+	}
+	
+	public Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG, final Spectrum radiance) {
+		final int depth = intersection.getRay().getDepth();
+		
+		this.metrics.addRay(depth);
+		
 		if(isIntersecting(intersection)) {
-			intersection.calculateSurfaceIntersectionPoint();
+			final ScratchContext scratchContext = intersection.getScratchContext();
 			
-			final Shape shape = intersection.getShape();
+			scratchContext.push();
 			
-			final Point surfaceIntersectionPoint = intersection.getSurfaceIntersectionPoint();
-			final Point pointUV = shape.getUV(surfaceIntersectionPoint);
-			
-			final double u = pointUV.getX();
-			final double v = pointUV.getY();
-			
-			if(this.intPredicate.test(pass)) {
-				return shape.getTexture().getColorAt(u, v);
-			}
-			
-			intersection.calculateSurfaceNormal(u, v);
-			intersection.calculateSurfaceNormalProperlyOriented();
-			
-			final Ray ray = intersection.getRay();
-			
-			final Material material = shape.getMaterial();
-			
-			final Texture texture = shape.getTexture();
-			
-			final Spectrum color = texture.getColorAt(u, v);
-			final Spectrum emission = material.getEmission();
-			
-	//		final double weight = material instanceof DiffuseMaterial ? 1.0D : 0.0D;
-			
-			if(ray.getDepth() > this.depthUntilProbabilisticallyTerminatingRay && (this.isSkippingProbabilisticallyTerminatingRay || doIsProbabilisticallyTerminatingRay(pRNG, color))) {
-				return emission;//.multiply(weight);
+			try {
+				intersection.calculateSurfaceIntersectionPoint();
+				
+				final Shape shape = intersection.getShape();
+				
+				final Point surfaceIntersectionPoint = intersection.getSurfaceIntersectionPoint();
+				final Point pointUV = shape.getUV(surfaceIntersectionPoint, scratchContext.point());
+				
+				final double u = pointUV.getX();
+				final double v = pointUV.getY();
+				
+				final Ray ray = intersection.getRay();
+				
+				final Texture texture = shape.getTexture();
+				
+				intersection.calculateFootprint(u, v);
+				
+				final Spectrum color = texture.getColorAt(u, v, intersection.getFootprintU(), intersection.getFootprintV(), scratchContext.spectrum());
+				
+				final boolean isPrimary = ray.getDepth() == 0;
+				final boolean isReturningColor = this.intPredicate.test(pass);
+				
+				if(isPrimary || !isReturningColor) {
+					intersection.calculateSurfaceNormal(u, v);
+					intersection.calculateSurfaceNormalProperlyOriented();
+				}
+				
+				if(isPrimary) {
+					intersection.capturePrimaryHit(color);
+				}
+				
+				if(isReturningColor) {
+					this.metrics.addPathLength(depth + 1);
+					
+					return radiance.set(color);
+				}
+				
+				final Material material = shape.getMaterial();
+				
+				final Spectrum emission = material.getEmission(scratchContext.spectrum());
+				
+		//		final double weight = material instanceof DiffuseMaterial ? 1.0D : 0.0D;
+				
+				if(ray.getDepth() > this.depthUntilProbabilisticallyTerminatingRay && (this.isSkippingProbabilisticallyTerminatingRay || doIsProbabilisticallyTerminatingRay(pRNG, color))) {
+					this.metrics.addPathLength(depth + 1);
+					
+					if(!this.isSkippingProbabilisticallyTerminatingRay) {
+						this.metrics.addRouletteTermination();
+					}
+					
+					return radiance.set(emission);//.multiply(weight);
+				}
+				
+//				if(weight > 0.0D) {
+//					return emission.multiply(weight).add(sampleLights(intersection, pRNG)).add(color.multiply(material.radiance(intersection, pRNG)));
+//				} else {
+					return material.radiance(pass, intersection, pRNG, radiance).multiply(color).add(emission);
+//				}
+			} finally {
+				scratchContext.pop();
 			}
-			
-//			if(weight > 0.0D) {
-//				return emission.multiply(weight).add(sampleLights(intersection, pRNG)).add(color.multiply(material.radiance(intersection, pRNG)));
-//			} else {
-				return emission.add(color.multiply(material.radiance(pass, intersection, pRNG)));
-//			}
 		}
 		
-		return RGBSpectrum.black();
+		this.metrics.addPathLength(depth + 1);
+		
+		return radiance.set(0.0D);
 	}
 	
 	/*
@@ -151,6 +219,36 @@ public final class Scene implements ConfigurationObserver {
 	
 	public void addShape(final Shape shape) {
 		this.shapes.add(Objects.requireNonNull(shape, "shape == null"));
+		
+		doUpdateIDs();
+	}
+	
+	public void awaitTextures() {
+		for(final Shape shape : this.shapes) {
+			final Texture texture = shape.getTexture();
+			
+			if(!texture.isLoaded()) {
+				texture.awaitLoaded();
+			}
+		}
+	}
+	
+	public boolean hasLoadedTextures() {
+		for(final Shape shape : this.shapes) {
+			if(!shape.getTexture().isLoaded()) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	public void onTextureLoad(final Runnable runnable) {
+		Objects.requireNonNull(runnable, "runnable == null");
+		
+		for(final Shape shape : this.shapes) {
+			shape.getTexture().onLoad(runnable);
+		}
 	}
 	
 	@Override
@@ -162,6 +260,12 @@ public final class Scene implements ConfigurationObserver {
 	
 	public void removeShape(final Shape shape) {
 		this.shapes.remove(Objects.requireNonNull(shape, "shape == null"));
+		
+		doUpdateIDs();
+	}
+	
+	public void setMetrics(final Metrics metrics) {
+		this.metrics = Objects.requireNonNull(metrics, "metrics == null");
 	}
 	
 	public void setConfiguration(final Configuration configuration) {
@@ -176,19 +280,49 @@ public final class Scene implements ConfigurationObserver {
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	public static Scene newCornellBox() {
-		final
-		Scene scene = new Scene();
-		scene.addShape(Sphere.newInstance(SpecularMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.25D, 0.25D)), 1.e5D, new Point(1.e5D + 1.0D, 40.8D, 81.6D)));
-		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.25D, 0.25D, 0.75D)), 1.e5D, new Point(-1.e5D + 99.0D, 40.8D, 81.6D)));
-		scene.addShape(Sphere.newInstance(SpecularMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.75D, 0.75D)), 1.e5D, new Point(50.0D, 40.8D, 1.e5D)));
-		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D, 0.5D, 0.5D)), 1.e5D, new Point(50.0D, 40.8D, -1.e5D + 170.0D)));
-		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.75D, 0.75D)), 1.e5D, new Point(50.0D, 1.e5D, 81.6D)));
-		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.75D, 0.75D)), 1.e5D, new Point(50.0D, -1.e5D + 81.6D, 81.6D)));
-		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), NormalMapTexture.newInstance(SimpleTexture.newInstance("resources/jar/org/macroing/gdt/engine/geometry/Texture.jpg")/*SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D * 0.999D, 1.0D * 0.999D, 0.5D * 0.999D))*/, "resources/jar/org/macroing/gdt/engine/geometry/NormalMap.jpg")/*SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D * 0.999D, 1.0D * 0.999D, 0.5D * 0.999D))*/, 16.5D, new Point(27.0D, 16.5D, 47.0D)));
+		final SceneBuildEvent sceneBuildEvent = new SceneBuildEvent();
+		
+		sceneBuildEvent.begin();
+		
+		final TextureRegistry textureRegistry = TextureRegistry.getDefault();
+		
+		final Scene scene = new Scene();
+		
+		doAddWalls(scene);
+		
+		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), textureRegistry.getNormalMapTexture(textureRegistry.getSimpleTexture("resources/jar/org/macroing/gdt/engine/geometry/Texture.jpg")/*SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D * 0.999D, 1.0D * 0.999D, 0.5D * 0.999D))*/, "resources/jar/org/macroing/gdt/engine/geometry/NormalMap.jpg")/*SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D * 0.999D, 1.0D * 0.999D, 0.5D * 0.999D))*/, 16.5D, new Point(27.0D, 16.5D, 47.0D)));
 		scene.addShape(Sphere.newInstance(RefractiveMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(1.0D * 0.999D, 1.0D * 0.999D, 1.0D * 0.999D)), 16.5D, new Point(73.0D, 16.5D, 78.0D)));
 		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, new RGBSpectrum(12.0D, 12.0D, 12.0D)), SolidTexture.newInstance(1, 1, RGBSpectrum.black()), 600.0D, new Point(50.0D, 681.6D - 0.27D, 81.6D)));
 		scene.addShape(Triangle.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, new RGBSpectrum(12.0D, 12.0D, 12.0D)), SolidTexture.newInstance(1, 1, RGBSpectrum.black()), Point.valueOf(30.0D, 20.0D, 10.0D), Point.valueOf(50.0D, 20.0D, 50.0D), Point.valueOf(40.0D, 40.0D, 30.0D)));
 		
+		if(sceneBuildEvent.shouldCommit()) {
+			sceneBuildEvent.name = "CornellBox";
+			sceneBuildEvent.shapes = scene.shapes.size();
+			sceneBuildEvent.commit();
+		}
+		
+		return scene;
+	}
+	
+	public static Scene newCornellBoxWithMeshes(final Precision precision, final int stacks, final int slices) {
+		final SceneBuildEvent sceneBuildEvent = new SceneBuildEvent();
+		
+		sceneBuildEvent.begin();
+		
+		final Scene scene = new Scene();
+		
+		doAddWalls(scene);
+		
+		scene.addShape(TriangleMesh.newSphere(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D * 0.999D, 1.0D * 0.999D, 0.5D * 0.999D)), precision, 16.5D, new Point(27.0D, 16.5D, 47.0D), stacks, slices));
+		scene.addShape(TriangleMesh.newSphere(RefractiveMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(1.0D * 0.999D, 1.0D * 0.999D, 1.0D * 0.999D)), precision, 16.5D, new Point(73.0D, 16.5D, 78.0D), stacks, slices));
+		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, new RGBSpectrum(12.0D, 12.0D, 12.0D)), SolidTexture.newInstance(1, 1, RGBSpectrum.black()), 600.0D, new Point(50.0D, 681.6D - 0.27D, 81.6D)));
+		
+		if(sceneBuildEvent.shouldCommit()) {
+			sceneBuildEvent.name = "CornellBoxWithMeshes";
+			sceneBuildEvent.shapes = scene.shapes.size();
+			sceneBuildEvent.commit();
+		}
+		
 		return scene;
 	}
 	
@@ -198,6 +332,27 @@ public final class Scene implements ConfigurationObserver {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private void doUpdateIDs() {
+		this.materialIDs.clear();
+		this.shapeIDs.clear();
+		
+		for(final Shape shape : this.shapes) {
+			this.materialIDs.putIfAbsent(shape.getMaterial(), Integer.valueOf(this.materialIDs.size()));
+			this.shapeIDs.putIfAbsent(shape, Integer.valueOf(this.shapeIDs.size()));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doAddWalls(final Scene scene) {
+		scene.addShape(Sphere.newInstance(SpecularMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.25D, 0.25D)), 1.e5D, new Point(1.e5D + 1.0D, 40.8D, 81.6D)));
+		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.25D, 0.25D, 0.75D)), 1.e5D, new Point(-1.e5D + 99.0D, 40.8D, 81.6D)));
+		scene.addShape(Sphere.newInstance(SpecularMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.75D, 0.75D)), 1.e5D, new Point(50.0D, 40.8D, 1.e5D)));
+		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D, 0.5D, 0.5D)), 1.e5D, new Point(50.0D, 40.8D, -1.e5D + 170.0D)));
+		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.75D, 0.75D)), 1.e5D, new Point(50.0D, 1.e5D, 81.6D)));
+		scene.addShape(Sphere.newInstance(DiffuseMaterial.newInstance(Material.REFRACTIVE_INDEX_GLASS, RGBSpectrum.black()), SolidTexture.newInstance(1, 1, new RGBSpectrum(0.75D, 0.75D, 0.75D)), 1.e5D, new Point(50.0D, -1.e5D + 81.6D, 81.6D)));
+	}
+	
 	private static boolean doIsProbabilisticallyTerminatingRay(final PRNG pRNG, final Spectrum spectrum) {
 		final double r = spectrum.getCoefficient(0);
 		final double g = spectrum.getCoefficient(1);
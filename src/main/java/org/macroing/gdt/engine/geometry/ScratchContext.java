@@ -0,0 +1,219 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.util.Arrays;
+
+/**
+ * A {@code ScratchContext} hands out reusable {@link Point}, {@link Ray}, {@link Spectrum} and {@link Vector} instances to the shading and sampling code of a single {@code Thread}.
+ * <p>
+ * The instances are organized as a stack of frames. A frame is opened by calling {@link #push()} and closed by calling {@link #pop()}. All instances handed out after a call to {@code push()} are returned to this {@code ScratchContext} by
+ * the matching call to {@code pop()}, such that they may be handed out again. No instance is ever released to the garbage collector, so once the stack has grown to the depth of the deepest path, no more objects are created.
+ * <p>
+ * The state of the instances handed out is unspecified. They should always be set before they are read.
+ * <p>
+ * The typical usage looks like this:
+ * <pre>
+ * {@code
+ * final ScratchContext scratchContext = ScratchContext.getInstance();
+ * 
+ * scratchContext.push();
+ * 
+ * try {
+ *     final Vector vector = scratchContext.vector().set(0.0D, 1.0D, 0.0D);
+ *     
+ *     ...
+ * } finally {
+ *     scratchContext.pop();
+ * }
+ * }
+ * </pre>
+ * <p>
+ * This class is not thread-safe. Each {@code Thread} has its own instance, which is returned by {@link #getInstance()}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class ScratchContext {
+	private static final ThreadLocal<ScratchContext> SCRATCH_CONTEXT = ThreadLocal.withInitial(ScratchContext::new);
+	private static final int INITIAL_CAPACITY = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private int frame;
+	private int pointIndex;
+	private int rayIndex;
+	private int spectrumIndex;
+	private int vectorIndex;
+	private int[] frames = new int[INITIAL_CAPACITY * 4];
+	private Point[] points = new Point[INITIAL_CAPACITY];
+	private Ray[] rays = new Ray[INITIAL_CAPACITY];
+	private Spectrum[] spectra = new Spectrum[INITIAL_CAPACITY];
+	private Vector[] vectors = new Vector[INITIAL_CAPACITY];
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private ScratchContext() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the number of frames currently open.
+	 * 
+	 * @return the number of frames currently open
+	 */
+	public int getFrameCount() {
+		return this.frame;
+	}
+	
+	/**
+	 * Returns a {@link Point} that may be used until the current frame is closed.
+	 * 
+	 * @return a {@code Point} that may be used until the current frame is closed
+	 */
+	public Point point() {
+		if(this.pointIndex == this.points.length) {
+			this.points = Arrays.copyOf(this.points, this.points.length * 2);
+		}
+		
+		Point point = this.points[this.pointIndex];
+		
+		if(point == null) {
+			point = this.points[this.pointIndex] = Point.zero();
+		}
+		
+		this.pointIndex++;
+		
+		return point;
+	}
+	
+	/**
+	 * Returns a {@link Ray} that may be used until the current frame is closed.
+	 * 
+	 * @return a {@code Ray} that may be used until the current frame is closed
+	 */
+	public Ray ray() {
+		if(this.rayIndex == this.rays.length) {
+			this.rays = Arrays.copyOf(this.rays, this.rays.length * 2);
+		}
+		
+		Ray ray = this.rays[this.rayIndex];
+		
+		if(ray == null) {
+			ray = this.rays[this.rayIndex] = new Ray(0, Point.zero(), Vector.zero());
+		}
+		
+		this.rayIndex++;
+		
+		return ray;
+	}
+	
+	/**
+	 * Returns an {@link RGBSpectrum} that may be used until the current frame is closed.
+	 * 
+	 * @return an {@code RGBSpectrum} that may be used until the current frame is closed
+	 */
+	public Spectrum spectrum() {
+		if(this.spectrumIndex == this.spectra.length) {
+			this.spectra = Arrays.copyOf(this.spectra, this.spectra.length * 2);
+		}
+		
+		Spectrum spectrum = this.spectra[this.spectrumIndex];
+		
+		if(spectrum == null) {
+			spectrum = this.spectra[this.spectrumIndex] = RGBSpectrum.black();
+		}
+		
+		this.spectrumIndex++;
+		
+		return spectrum;
+	}
+	
+	/**
+	 * Returns a {@link Vector} that may be used until the current frame is closed.
+	 * 
+	 * @return a {@code Vector} that may be used until the current frame is closed
+	 */
+	public Vector vector() {
+		if(this.vectorIndex == this.vectors.length) {
+			this.vectors = Arrays.copyOf(this.vectors, this.vectors.length * 2);
+		}
+		
+		Vector vector = this.vectors[this.vectorIndex];
+		
+		if(vector == null) {
+			vector = this.vectors[this.vectorIndex] = Vector.zero();
+		}
+		
+		this.vectorIndex++;
+		
+		return vector;
+	}
+	
+	/**
+	 * Closes the current frame, returning all instances handed out since the matching call to {@link #push()}.
+	 * <p>
+	 * If no frame is open, an {@code IllegalStateException} will be thrown.
+	 * 
+	 * @throws IllegalStateException thrown if, and only if, no frame is open
+	 */
+	public void pop() {
+		if(this.frame == 0) {
+			throw new IllegalStateException("No frame is open");
+		}
+		
+		final int offset = --this.frame * 4;
+		
+		this.pointIndex = this.frames[offset + 0];
+		this.rayIndex = this.frames[offset + 1];
+		this.spectrumIndex = this.frames[offset + 2];
+		this.vectorIndex = this.frames[offset + 3];
+	}
+	
+	/**
+	 * Opens a new frame.
+	 * <p>
+	 * Every call to this method should be matched by a call to {@link #pop()}, preferably in a {@code finally} block.
+	 */
+	public void push() {
+		final int offset = this.frame++ * 4;
+		
+		if(offset == this.frames.length) {
+			this.frames = Arrays.copyOf(this.frames, this.frames.length * 2);
+		}
+		
+		this.frames[offset + 0] = this.pointIndex;
+		this.frames[offset + 1] = this.rayIndex;
+		this.frames[offset + 2] = this.spectrumIndex;
+		this.frames[offset + 3] = this.vectorIndex;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@code ScratchContext} of the current {@code Thread}.
+	 * 
+	 * @return the {@code ScratchContext} of the current {@code Thread}
+	 */
+	public static ScratchContext getInstance() {
+		return SCRATCH_CONTEXT.get();
+	}
+}
\ No newline at end of file
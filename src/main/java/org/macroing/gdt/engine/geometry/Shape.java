@@ -46,9 +46,21 @@ public abstract class Shape {
 	
 	public abstract Point getUV(final Point surfaceIntersectionPoint);
 	
+	public Point getUV(final Point surfaceIntersectionPoint, final Point pointUV) {
+		return pointUV.set(getUV(surfaceIntersectionPoint));
+	}
+	
 	public final Texture getTexture() {
 		return this.texture;
 	}
 	
 	public abstract Vector getSurfaceNormal(final Point surfaceIntersectionPoint);
+	
+	public Vector getSurfaceNormal(final Point surfaceIntersectionPoint, final Vector surfaceNormal) {
+		return surfaceNormal.set(getSurfaceNormal(surfaceIntersectionPoint));
+	}
+	
+	public Vector getSurfaceNormal(final Intersection intersection, final Vector surfaceNormal) {
+		return getSurfaceNormal(intersection.getSurfaceIntersectionPoint(), surfaceNormal);
+	}
 }
\ No newline at end of file
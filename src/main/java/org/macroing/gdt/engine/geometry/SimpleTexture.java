@@ -27,14 +27,14 @@ public final class SimpleTexture extends Texture {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private final int[] data;
+	private final MipMap mipMap;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private SimpleTexture(final int width, final int height, final int[] data) {
+	private SimpleTexture(final int width, final int height, final MipMap mipMap) {
 		super(width, height);
 		
-		this.data = data;
+		this.mipMap = mipMap;
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -45,8 +45,7 @@ public final class SimpleTexture extends Texture {
 		final int height = getHeight();
 		final int x = (int)(width * ((u + 1.0D) * 0.5D));
 		final int y = (int)(height * ((v + 1.0D) * 0.5D));
-		final int index = y * width + x;
-		final int rGB = this.data[index];
+		final int rGB = this.mipMap.getTexel(0, x, y);
 		
 		final double red = RGBSpectrum.toRed(rGB) * RECIPROCAL;
 		final double green = RGBSpectrum.toGreen(rGB) * RECIPROCAL;
@@ -55,22 +54,64 @@ public final class SimpleTexture extends Texture {
 		return new RGBSpectrum(red, green, blue);
 	}
 	
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		final int width = getWidth();
+		final int height = getHeight();
+		final int x = (int)(width * ((u + 1.0D) * 0.5D));
+		final int y = (int)(height * ((v + 1.0D) * 0.5D));
+		final int rGB = this.mipMap.getTexel(0, x, y);
+		
+		final double red = RGBSpectrum.toRed(rGB) * RECIPROCAL;
+		final double green = RGBSpectrum.toGreen(rGB) * RECIPROCAL;
+		final double blue = RGBSpectrum.toBlue(rGB) * RECIPROCAL;
+		
+		return color.setCoefficient(0, red).setCoefficient(1, green).setCoefficient(2, blue);
+	}
+	
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final double footprintU, final double footprintV, final Spectrum color) {
+		final int width = getWidth();
+		final int height = getHeight();
+		
+		final double x = width * ((u + 1.0D) * 0.5D);
+		final double y = height * ((v + 1.0D) * 0.5D);
+		final double footprint = Math.max(width * footprintU * 0.5D, height * footprintV * 0.5D);
+		
+		if(footprint > 1.0D) {
+			return this.mipMap.getColorAt(x, y, footprint, color).multiply(RECIPROCAL);
+		}
+		
+		return getColorAt(u, v, color);
+	}
+	
+	public MipMap getMipMap() {
+		return this.mipMap;
+	}
+	
 	@Override
 	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
 		return surfaceNormal;
 	}
 	
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return surfaceNormalAt.set(surfaceNormal);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	public static SimpleTexture newInstance(final File file) {
-		final BufferedImage bufferedImage = BufferedImages.createBufferedImageFrom(file);
-		
+	public static SimpleTexture newInstance(final BufferedImage bufferedImage) {
 		final int width = bufferedImage.getWidth();
 		final int height = bufferedImage.getHeight();
 		
 		final int[] data = BufferedImages.getDataFrom(bufferedImage);
 		
-		return new SimpleTexture(width, height, data);
+		return new SimpleTexture(width, height, MipMap.newInstance(width, height, data));
+	}
+	
+	public static SimpleTexture newInstance(final File file) {
+		return newInstance(BufferedImages.createBufferedImageFrom(file));
 	}
 	
 	public static SimpleTexture newInstance(final String fileName) {
@@ -39,11 +39,21 @@ public final class SolidTexture extends Texture {
 		return this.spectrum.copy();
 	}
 	
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		return color.set(this.spectrum);
+	}
+	
 	@Override
 	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
 		return surfaceNormal;
 	}
 	
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return surfaceNormalAt.set(surfaceNormal);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	public static SolidTexture newInstance(final int width, final int height, final Spectrum spectrum) {
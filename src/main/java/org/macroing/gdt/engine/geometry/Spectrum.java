@@ -59,6 +59,16 @@ public abstract class Spectrum {
 		this.coefficients = new double[coefficients];
 	}
 	
+	/**
+	 * Constructs a new {@code Spectrum} instance whose coefficients are stored by the subclass.
+	 * <p>
+	 * A subclass that uses this constructor must override {@link #getCoefficient(int)}, {@link #getCoefficientCount()} and {@link #setCoefficient(int, double)}. All other methods are implemented in terms of these three, but may be
+	 * overridden with faster implementations for a fixed number of coefficients.
+	 */
+	protected Spectrum() {
+		this.coefficients = null;
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -69,8 +79,8 @@ public abstract class Spectrum {
 	public final boolean hasNaNs() {
 		boolean hasNaNs = false;
 		
-		for(final double coefficient : this.coefficients) {
-			if(Double.isNaN(coefficient)) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			if(Double.isNaN(getCoefficient(i))) {
 				hasNaNs = true;
 				
 				break;
@@ -126,7 +136,7 @@ public abstract class Spectrum {
 	 * @return the {@code double} value that represents the coefficient at index {@code index}
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0}, or greater than or equal to {@code getCoefficientCount()}
 	 */
-	public final double getCoefficient(final int index) {
+	public double getCoefficient(final int index) {
 		return this.coefficients[index];
 	}
 	
@@ -153,7 +163,7 @@ public abstract class Spectrum {
 	 * 
 	 * @return the coefficient count of this {@code Spectrum} instance
 	 */
-	public final int getCoefficientCount() {
+	public int getCoefficientCount() {
 		return this.coefficients.length;
 	}
 	
@@ -167,9 +177,9 @@ public abstract class Spectrum {
 	 * @param scalar the scalar to add to all coefficients of this {@code Spectrum} instance
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
-	public final Spectrum add(final double scalar) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] += scalar;
+	public Spectrum add(final double scalar) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) + scalar);
 		}
 		
 		return this;
@@ -191,9 +201,9 @@ public abstract class Spectrum {
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of this {@code Spectrum} instance is higher than that of {@code spectrum}
 	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
 	 */
-	public final Spectrum add(final Spectrum spectrum) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] += spectrum.coefficients[i];
+	public Spectrum add(final Spectrum spectrum) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) + spectrum.getCoefficient(i));
 		}
 		
 		return this;
@@ -223,9 +233,9 @@ public abstract class Spectrum {
 	 * @param high the highest value of the range to clamp this {@code Spectrum} instance to
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
-	public final Spectrum clamp(final double low, final double high) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = Functions.clamp(this.coefficients[i], low, high);
+	public Spectrum clamp(final double low, final double high) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, Functions.clamp(getCoefficient(i), low, high));
 		}
 		
 		return this;
@@ -505,9 +515,9 @@ public abstract class Spectrum {
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of this {@code Spectrum} instance is higher than that of {@code spectrum}
 	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
 	 */
-	public final Spectrum divide(final Spectrum spectrum) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] /= spectrum.coefficients[i];
+	public Spectrum divide(final Spectrum spectrum) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) / spectrum.getCoefficient(i));
 		}
 		
 		return this;
@@ -523,8 +533,8 @@ public abstract class Spectrum {
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
 	public final Spectrum exp() {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = Math.exp(this.coefficients[i]);
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, Math.exp(getCoefficient(i)));
 		}
 		
 		return this;
@@ -540,9 +550,9 @@ public abstract class Spectrum {
 	 * @param scalar the scalar to multiply all coefficients of this {@code Spectrum} instance with
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
-	public final Spectrum multiply(final double scalar) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] *= scalar;
+	public Spectrum multiply(final double scalar) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) * scalar);
 		}
 		
 		return this;
@@ -564,9 +574,9 @@ public abstract class Spectrum {
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of this {@code Spectrum} instance is higher than that of {@code spectrum}
 	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
 	 */
-	public final Spectrum multiply(final Spectrum spectrum) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] *= spectrum.coefficients[i];
+	public Spectrum multiply(final Spectrum spectrum) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) * spectrum.getCoefficient(i));
 		}
 		
 		return this;
@@ -581,9 +591,9 @@ public abstract class Spectrum {
 	 * 
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
-	public final Spectrum negate() {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = -this.coefficients[i];
+	public Spectrum negate() {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, -getCoefficient(i));
 		}
 		
 		return this;
@@ -600,8 +610,8 @@ public abstract class Spectrum {
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
 	public final Spectrum pow(final double power) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = Math.pow(this.coefficients[i], power);
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, Math.pow(getCoefficient(i), power));
 		}
 		
 		return this;
@@ -624,8 +634,26 @@ public abstract class Spectrum {
 	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
 	 */
 	public final Spectrum pow(final Spectrum spectrum) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = Math.pow(this.coefficients[i], spectrum.coefficients[i]);
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, Math.pow(getCoefficient(i), spectrum.getCoefficient(i)));
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Sets all coefficients of this {@code Spectrum} instance to {@code coefficient}.
+	 * <p>
+	 * Returns this {@code Spectrum} instance, such that method chaining is possible.
+	 * <p>
+	 * This method modifies the state of the instance on which it is called.
+	 * 
+	 * @param coefficient the new value of all coefficients
+	 * @return this {@code Spectrum} instance, such that method chaining is possible
+	 */
+	public Spectrum set(final double coefficient) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, coefficient);
 		}
 		
 		return this;
@@ -647,9 +675,9 @@ public abstract class Spectrum {
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of this {@code Spectrum} instance is higher than that of {@code spectrum}
 	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
 	 */
-	public final Spectrum set(final Spectrum spectrum) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = spectrum.coefficients[i];
+	public Spectrum set(final Spectrum spectrum) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, spectrum.getCoefficient(i));
 		}
 		
 		return this;
@@ -669,7 +697,7 @@ public abstract class Spectrum {
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, {@code index} is less than {@code 0}, or greater than or equal to {@code getCoefficientCount()}
 	 */
-	public final Spectrum setCoefficient(final int index, final double coefficient) {
+	public Spectrum setCoefficient(final int index, final double coefficient) {
 		this.coefficients[index] = coefficient;
 		
 		return this;
@@ -685,8 +713,8 @@ public abstract class Spectrum {
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
 	public final Spectrum sqrt() {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] = Math.sqrt(this.coefficients[i]);
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, Math.sqrt(getCoefficient(i)));
 		}
 		
 		return this;
@@ -702,9 +730,9 @@ public abstract class Spectrum {
 	 * @param scalar the scalar to subtract from all coefficients of this {@code Spectrum} instance
 	 * @return this {@code Spectrum} instance, such that method chaining is possible
 	 */
-	public final Spectrum subtract(final double scalar) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] -= scalar;
+	public Spectrum subtract(final double scalar) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) - scalar);
 		}
 		
 		return this;
@@ -726,9 +754,9 @@ public abstract class Spectrum {
 	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, the coefficient count of this {@code Spectrum} instance is higher than that of {@code spectrum}
 	 * @throws NullPointerException thrown if, and only if, {@code spectrum} is {@code null}
 	 */
-	public final Spectrum subtract(final Spectrum spectrum) {
-		for(int i = 0; i < this.coefficients.length; i++) {
-			this.coefficients[i] -= spectrum.coefficients[i];
+	public Spectrum subtract(final Spectrum spectrum) {
+		for(int i = 0; i < getCoefficientCount(); i++) {
+			setCoefficient(i, getCoefficient(i) - spectrum.getCoefficient(i));
 		}
 		
 		return this;
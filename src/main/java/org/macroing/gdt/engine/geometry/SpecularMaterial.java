@@ -63,6 +63,22 @@ public final class SpecularMaterial extends Material {
 		return this.emission.copy();
 	}
 	
+	/**
+	 * Sets {@code emission} to the emission currently assigned to this {@code SpecularMaterial} instance.
+	 * <p>
+	 * Returns {@code emission}.
+	 * <p>
+	 * If {@code emission} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param emission the {@link Spectrum} to set
+	 * @return {@code emission}
+	 * @throws NullPointerException thrown if, and only if, {@code emission} is {@code null}
+	 */
+	@Override
+	public Spectrum getEmission(final Spectrum emission) {
+		return emission.set(this.emission);
+	}
+	
 	/**
 	 * Calculates the radiance given the information provided by {@code intersection}.
 	 * <p>
@@ -100,6 +116,42 @@ public final class SpecularMaterial extends Material {
 		return radiance(pass, intersection, pRNG, reflectedRay);
 	}
 	
+	/**
+	 * Calculates the radiance given the information provided by {@code intersection} and sets {@code radiance} to it.
+	 * <p>
+	 * Returns {@code radiance}.
+	 * <p>
+	 * If either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}, {@code NullPointerException} may be thrown. But no guarantees can be made for {@code pRNG}.
+	 * <p>
+	 * This method produces the same result as {@code radiance.set(radiance(pass, intersection, pRNG))}, but without creating any new objects.
+	 * 
+	 * @param pass the current rendering pass
+	 * @param intersection the {@link Intersection} providing the information for the radiance calculation
+	 * @param pRNG the {@link PRNG} that may or may not be used in the radiance calculation process
+	 * @param radiance the {@link Spectrum} to set
+	 * @return {@code radiance}
+	 * @throws NullPointerException thrown if, and only if, either {@code intersection}, {@code pRNG} or {@code radiance} are {@code null}
+	 */
+	@Override
+	public Spectrum radiance(final int pass, final Intersection intersection, final PRNG pRNG, final Spectrum radiance) {
+		final ScratchContext scratchContext = intersection.getScratchContext();
+		
+		scratchContext.push();
+		
+		try {
+			final Ray incidentRay = intersection.getRay();
+			
+			final Vector surfaceNormal = intersection.getSurfaceNormal(scratchContext.vector());
+			final Vector reflectedDirection = scratchContext.vector().reflect(incidentRay.getDirection(), surfaceNormal);
+			
+			final Ray reflectedRay = incidentRay.reflect(intersection.getSurfaceIntersectionPoint(), reflectedDirection, scratchContext.ray());
+			
+			return radiance(pass, intersection, pRNG, reflectedRay, radiance);
+		} finally {
+			scratchContext.pop();
+		}
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
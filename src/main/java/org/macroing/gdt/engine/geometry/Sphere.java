@@ -40,12 +40,17 @@ public final class Sphere extends Shape {
 	public boolean isIntersecting(final Intersection intersection) {
 		final Ray ray = intersection.getRay();
 		
-		final Vector delta = this.position.toVector().subtract(ray.getOrigin().toVector());
+		final Point origin = ray.getOrigin();
 		
+		final Vector direction = ray.getDirection();
+		
+		final double deltaX = this.position.getX() - origin.getX();
+		final double deltaY = this.position.getY() - origin.getY();
+		final double deltaZ = this.position.getZ() - origin.getZ();
 		final double epsilon = 1.e-4D;
-		final double b = delta.dotProduct(ray.getDirection());
+		final double b = deltaX * direction.getX() + deltaY * direction.getY() + deltaZ * direction.getZ();
 		
-		double discriminant = b * b - delta.lengthSquared() + this.radius * this.radius;
+		double discriminant = b * b - (deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ) + this.radius * this.radius;
 		double distance = 0.0D;
 		
 		if(discriminant >= 0.0D) {
@@ -90,11 +95,29 @@ public final class Sphere extends Shape {
 //		return surfaceIntersectionPoint.toVector().subtract(this.position.toVector()).normalize().toPoint();
 	}
 	
+	@Override
+	public Point getUV(final Point surfaceIntersectionPoint, final Point pointUV) {
+		final double deltaX = this.position.getX() - surfaceIntersectionPoint.getX();
+		final double deltaY = this.position.getY() - surfaceIntersectionPoint.getY();
+		final double deltaZ = this.position.getZ() - surfaceIntersectionPoint.getZ();
+		final double lengthReciprocal = 1.0D / Math.sqrt(deltaX * deltaX + deltaY * deltaY + deltaZ * deltaZ);
+		
+		final double u = 0.5D + Math.atan2(deltaX * lengthReciprocal, deltaZ * lengthReciprocal) / (2.0D * Math.PI);
+		final double v = 0.5D + Math.asin(deltaY * lengthReciprocal) / Math.PI;
+		
+		return pointUV.set(u, v, 0.0D);
+	}
+	
 	@Override
 	public Vector getSurfaceNormal(final Point surfaceIntersectionPoint) {
 		return surfaceIntersectionPoint.toVector().subtract(this.position.toVector()).normalize();
 	}
 	
+	@Override
+	public Vector getSurfaceNormal(final Point surfaceIntersectionPoint, final Vector surfaceNormal) {
+		return surfaceNormal.subtract(surfaceIntersectionPoint, this.position).normalize();
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	public static Sphere newInstance(final Material material, final double radius, final Point position) {
@@ -33,15 +33,39 @@ public abstract class Texture {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	public final int getHeight() {
+	public boolean isLoaded() {
+		return true;
+	}
+	
+	public int getHeight() {
 		return this.height;
 	}
 	
-	public final int getWidth() {
+	public int getWidth() {
 		return this.width;
 	}
 	
 	public abstract Spectrum getColorAt(final double u, final double v);
 	
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		return color.set(getColorAt(u, v));
+	}
+	
+	public Spectrum getColorAt(final double u, final double v, final double footprintU, final double footprintV, final Spectrum color) {
+		return getColorAt(u, v, color);
+	}
+	
 	public abstract Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal);
+	
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return surfaceNormalAt.set(getSurfaceNormalAt(u, v, surfaceNormal));
+	}
+	
+	public void awaitLoaded() {
+		
+	}
+	
+	public void onLoad(final Runnable runnable) {
+		
+	}
 }
\ No newline at end of file
@@ -0,0 +1,496 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@code TextureCache} keeps the most recently used tiles of {@link TileFile}s in memory, within a memory budget.
+ * <p>
+ * Tiles are loaded on demand by {@link #getTile(TileFile, int)}. When the tiles held exceed the budget, the least recently used tiles are evicted. The budget therefore bounds the memory used by textures, regardless of their number and size.
+ * <p>
+ * The tiles are spread over a number of segments, each with its own lock and its own LRU-order. {@code Thread}s looking up tiles in different segments therefore do not contend with each other. The budget is shared by all segments.
+ * <p>
+ * The eviction is an approximation of a global LRU-policy. A shared clock is advanced on each miss, and each tile is stamped with the clock when it is added or looked up. Looking up a tile therefore only reads the clock, and does not
+ * contend on it. When the budget is exceeded, the segment whose least recently used tile has the oldest stamp is found, and that tile is evicted. This is repeated until the budget is met again. The tile evicted is thus the least
+ * recently used tile overall, up to the resolution of the clock and to concurrent lookups. The tile that was just added is never evicted, so the budget may be exceeded by at most one tile per {@code Thread} adding tiles.
+ * <p>
+ * Looking up a tile that is already held does not allocate. A tile is read from its {@code TileFile} outside of the lock, so two {@code Thread}s that miss the same tile at the same time may both read it, but only one copy is kept.
+ * <p>
+ * The number of hits, misses and evictions is counted by {@code LongAdder}s, such that counting does not serialize the render loop.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TextureCache {
+	/**
+	 * The default budget in bytes.
+	 */
+	public static final long DEFAULT_BUDGET = 256L * 1024L * 1024L;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final TextureCache DEFAULT = newInstance(DEFAULT_BUDGET);
+	private static final int SEGMENTS = 16;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicLong clock = new AtomicLong();
+	private final AtomicLong sizeInBytes = new AtomicLong();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final Segment[] segments = new Segment[SEGMENTS];
+	private volatile long budget;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TextureCache(final long budget) {
+		this.budget = doRequireValidBudget(budget);
+		
+		for(int i = 0; i < this.segments.length; i++) {
+			this.segments[i] = new Segment();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@code String} representation of this {@code TextureCache} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code TextureCache} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("TextureCache: [Budget=%d], [Size=%d], [Hits=%d], [Misses=%d], [Evictions=%d], [HitRate=%.4f]", Long.valueOf(getBudget()), Long.valueOf(getSizeInBytes()), Long.valueOf(getHits()), Long.valueOf(getMisses()), Long.valueOf(getEvictions()), Double.valueOf(getHitRate()));
+	}
+	
+	/**
+	 * Returns the fraction of lookups that were hits, or {@code 0.0D} if no lookups have been performed.
+	 * 
+	 * @return the fraction of lookups that were hits, or {@code 0.0D} if no lookups have been performed
+	 */
+	public double getHitRate() {
+		final long hits = getHits();
+		final long lookups = hits + getMisses();
+		
+		return lookups > 0L ? (double)(hits) / lookups : 0.0D;
+	}
+	
+	/**
+	 * Returns the tile at {@code tileIndex} of {@code tileFile}.
+	 * <p>
+	 * If the tile is held by this {@code TextureCache}, it is returned and becomes the most recently used tile. Otherwise it is read from {@code tileFile}, added, and the least recently used tiles are evicted until the budget is met again.
+	 * The tile added is not evicted by this call.
+	 * <p>
+	 * The array returned should not be modified.
+	 * <p>
+	 * If {@code tileFile} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code tileIndex} is less than {@code 0}, or greater than or equal to {@code tileFile.getTileCount()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param tileFile the {@link TileFile} to read from
+	 * @param tileIndex the index of the tile
+	 * @return the tile at {@code tileIndex} of {@code tileFile}
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code tileIndex} is less than {@code 0}, or greater than or equal to {@code tileFile.getTileCount()}
+	 * @throws NullPointerException thrown if, and only if, {@code tileFile} is {@code null}
+	 */
+	public int[] getTile(final TileFile tileFile, final int tileIndex) {
+		final long key = ((long)(tileFile.getID()) << 32) | (tileIndex & 0xFFFFFFFFL);
+		
+		final Segment segment = this.segments[doHash(key) & (SEGMENTS - 1)];
+		
+		synchronized(segment) {
+			final int[] tile = segment.get(key, this.clock.get());
+			
+			if(tile != null) {
+				this.hits.increment();
+				
+				return tile;
+			}
+		}
+		
+		this.misses.increment();
+		
+		final int[] tile = tileFile.readTile(tileIndex);
+		
+		final int[] tileAdded;
+		
+		synchronized(segment) {
+			tileAdded = segment.add(key, tile, this.clock.incrementAndGet());
+		}
+		
+		if(tileAdded == tile && this.sizeInBytes.addAndGet((long)(tile.length) * Integer.BYTES) > this.budget) {
+			doEvict(key);
+		}
+		
+		return tileAdded;
+	}
+	
+	/**
+	 * Returns the budget in bytes.
+	 * 
+	 * @return the budget in bytes
+	 */
+	public long getBudget() {
+		return this.budget;
+	}
+	
+	/**
+	 * Returns the number of tiles evicted.
+	 * 
+	 * @return the number of tiles evicted
+	 */
+	public long getEvictions() {
+		return this.evictions.sum();
+	}
+	
+	/**
+	 * Returns the number of lookups that found their tile in this {@code TextureCache}.
+	 * 
+	 * @return the number of lookups that found their tile in this {@code TextureCache}
+	 */
+	public long getHits() {
+		return this.hits.sum();
+	}
+	
+	/**
+	 * Returns the number of lookups that had to read their tile from a {@link TileFile}.
+	 * 
+	 * @return the number of lookups that had to read their tile from a {@code TileFile}
+	 */
+	public long getMisses() {
+		return this.misses.sum();
+	}
+	
+	/**
+	 * Returns the size of the tiles held by this {@code TextureCache} in bytes.
+	 * 
+	 * @return the size of the tiles held by this {@code TextureCache} in bytes
+	 */
+	public long getSizeInBytes() {
+		return this.sizeInBytes.get();
+	}
+	
+	/**
+	 * Removes all tiles from this {@code TextureCache}.
+	 * <p>
+	 * The tiles removed are not counted as evictions.
+	 */
+	public void clear() {
+		for(final Segment segment : this.segments) {
+			synchronized(segment) {
+				this.sizeInBytes.addAndGet(-segment.clear());
+			}
+		}
+	}
+	
+	/**
+	 * Resets the number of hits, misses and evictions to {@code 0}.
+	 */
+	public void resetStatistics() {
+		this.evictions.reset();
+		this.hits.reset();
+		this.misses.reset();
+	}
+	
+	/**
+	 * Sets the budget in bytes.
+	 * <p>
+	 * Tiles are evicted lazily. If the budget is reduced, the size of the tiles held is reduced as new tiles are added.
+	 * <p>
+	 * If {@code budget} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param budget the new budget in bytes
+	 * @throws IllegalArgumentException thrown if, and only if, {@code budget} is less than {@code 0}
+	 */
+	public void setBudget(final long budget) {
+		this.budget = doRequireValidBudget(budget);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the default {@code TextureCache}, which is shared by all {@link TiledTexture}s that are not given a {@code TextureCache} of their own.
+	 * <p>
+	 * Its initial budget is {@link #DEFAULT_BUDGET}.
+	 * 
+	 * @return the default {@code TextureCache}
+	 */
+	public static TextureCache getDefault() {
+		return DEFAULT;
+	}
+	
+	/**
+	 * Returns a new {@code TextureCache} instance with a budget of {@code budget} bytes.
+	 * <p>
+	 * If {@code budget} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param budget the budget in bytes
+	 * @return a new {@code TextureCache} instance with a budget of {@code budget} bytes
+	 * @throws IllegalArgumentException thrown if, and only if, {@code budget} is less than {@code 0}
+	 */
+	public static TextureCache newInstance(final long budget) {
+		return new TextureCache(budget);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doEvict(final long keyExcluded) {
+		while(this.sizeInBytes.get() > this.budget) {
+			Segment segmentOldest = null;
+			
+			long stampOldest = Long.MAX_VALUE;
+			
+//			The segments are locked one at a time, so this never waits for a lock while holding another one.
+			for(final Segment segment : this.segments) {
+				synchronized(segment) {
+					final long stamp = segment.getOldestStamp(keyExcluded);
+					
+					if(stamp < stampOldest) {
+						segmentOldest = segment;
+						
+						stampOldest = stamp;
+					}
+				}
+			}
+			
+			if(segmentOldest == null) {
+				return;
+			}
+			
+			final long sizeInBytesEvicted;
+			
+			synchronized(segmentOldest) {
+				sizeInBytesEvicted = segmentOldest.evict(keyExcluded);
+			}
+			
+			if(sizeInBytesEvicted > 0L) {
+				this.sizeInBytes.addAndGet(-sizeInBytesEvicted);
+				
+				this.evictions.increment();
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static int doHash(final long key) {
+		final long hash = key * 0x9E3779B97F4A7C15L;
+		
+		return (int)(hash ^ (hash >>> 32));
+	}
+	
+	private static long doRequireValidBudget(final long budget) {
+		if(budget < 0L) {
+			throw new IllegalArgumentException(String.format("budget < 0: budget=%d", Long.valueOf(budget)));
+		}
+		
+		return budget;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Entry {
+		private Entry after;
+		private Entry before;
+		private Entry next;
+		private final int[] tile;
+		private final long key;
+		private long stamp;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Entry(final long key, final int[] tile, final long stamp) {
+			this.key = key;
+			this.tile = Objects.requireNonNull(tile, "tile == null");
+			this.stamp = stamp;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Segment {
+		private Entry head;
+		private Entry tail;
+		private Entry[] entries = new Entry[16];
+		private int size;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Segment() {
+			
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public long clear() {
+			long sizeInBytes = 0L;
+			
+			for(Entry entry = this.head; entry != null; entry = entry.after) {
+				sizeInBytes += (long)(entry.tile.length) * Integer.BYTES;
+			}
+			
+			this.entries = new Entry[16];
+			this.head = null;
+			this.tail = null;
+			this.size = 0;
+			
+			return sizeInBytes;
+		}
+		
+		public long evict(final long keyExcluded) {
+			final Entry entry = doGetOldest(keyExcluded);
+			
+			if(entry == null) {
+				return 0L;
+			}
+			
+			doRemoveFromTable(entry);
+			doUnlink(entry);
+			
+			this.size--;
+			
+			return (long)(entry.tile.length) * Integer.BYTES;
+		}
+		
+		public long getOldestStamp(final long keyExcluded) {
+			final Entry entry = doGetOldest(keyExcluded);
+			
+			return entry != null ? entry.stamp : Long.MAX_VALUE;
+		}
+		
+		public int[] add(final long key, final int[] tile, final long stamp) {
+			final int[] tileOld = get(key, stamp);
+			
+			if(tileOld != null) {
+				return tileOld;
+			}
+			
+			if(this.size >= this.entries.length * 3 / 4) {
+				doResize();
+			}
+			
+			final Entry entry = new Entry(key, tile, stamp);
+			
+			final int index = doHash(key) >>> 4 & (this.entries.length - 1);
+			
+			entry.next = this.entries[index];
+			
+			this.entries[index] = entry;
+			
+			doLinkLast(entry);
+			
+			this.size++;
+			
+			return tile;
+		}
+		
+		public int[] get(final long key, final long stamp) {
+			for(Entry entry = this.entries[doHash(key) >>> 4 & (this.entries.length - 1)]; entry != null; entry = entry.next) {
+				if(entry.key == key) {
+					if(entry != this.tail) {
+						doUnlink(entry);
+						doLinkLast(entry);
+					}
+					
+					entry.stamp = stamp;
+					
+					return entry.tile;
+				}
+			}
+			
+			return null;
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private Entry doGetOldest(final long keyExcluded) {
+			final Entry entry = this.head;
+			
+			return entry != null && entry.key == keyExcluded ? entry.after : entry;
+		}
+		
+		private void doLinkLast(final Entry entry) {
+			entry.before = this.tail;
+			entry.after = null;
+			
+			if(this.tail != null) {
+				this.tail.after = entry;
+			} else {
+				this.head = entry;
+			}
+			
+			this.tail = entry;
+		}
+		
+		private void doRemoveFromTable(final Entry entry) {
+			final int index = doHash(entry.key) >>> 4 & (this.entries.length - 1);
+			
+			Entry previous = null;
+			
+			for(Entry current = this.entries[index]; current != null; previous = current, current = current.next) {
+				if(current == entry) {
+					if(previous != null) {
+						previous.next = current.next;
+					} else {
+						this.entries[index] = current.next;
+					}
+					
+					return;
+				}
+			}
+		}
+		
+		private void doResize() {
+			final Entry[] entries = new Entry[this.entries.length * 2];
+			
+			for(Entry entry = this.head; entry != null; entry = entry.after) {
+				final int index = doHash(entry.key) >>> 4 & (entries.length - 1);
+				
+				entry.next = entries[index];
+				
+				entries[index] = entry;
+			}
+			
+			this.entries = entries;
+		}
+		
+		private void doUnlink(final Entry entry) {
+			if(entry.before != null) {
+				entry.before.after = entry.after;
+			} else {
+				this.head = entry.after;
+			}
+			
+			if(entry.after != null) {
+				entry.after.before = entry.before;
+			} else {
+				this.tail = entry.before;
+			}
+			
+			entry.before = null;
+			entry.after = null;
+		}
+	}
+}
\ No newline at end of file
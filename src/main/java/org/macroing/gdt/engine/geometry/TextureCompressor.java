@@ -0,0 +1,106 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * A command-line tool that compresses images offline into {@link CompressedTexture} files.
+ * <p>
+ * Each image is compressed, saved and loaded again, to verify the file. The result is compared to the original image and printed to {@code System.out} as CSV, with the size of the original image at {@code 4} bytes per texel, the size of
+ * the blocks, the compression ratio, the root-mean-square error and the peak signal-to-noise ratio in decibels.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TextureCompressor {
+	private static final String DEFAULT_IMAGE_FILENAME = "resources/jar/org/macroing/gdt/engine/geometry/Texture.jpg";
+	private static final String EXTENSION = ".bc1";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TextureCompressor() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the name of the image file and the name of the file to save the {@link CompressedTexture} to, in that order. If the name of the file to save to is omitted, the extension of the name of the image
+	 * file is replaced by {@code ".bc1"}.
+	 * 
+	 * @param args the parameter arguments
+	 */
+	public static void main(final String[] args) {
+		final String imageFileName = args.length > 0 ? args[0] : DEFAULT_IMAGE_FILENAME;
+		final String compressedTextureFileName = args.length > 1 ? args[1] : doReplaceExtension(imageFileName);
+		
+		final BufferedImage bufferedImage = BufferedImages.createBufferedImageFrom(new File(imageFileName));
+		
+		final long startTimeNanos = System.nanoTime();
+		
+		final
+		CompressedTexture compressedTexture = CompressedTexture.newInstance(bufferedImage);
+		compressedTexture.save(new File(compressedTextureFileName));
+		
+		final long elapsedTimeNanos = System.nanoTime() - startTimeNanos;
+		
+		final CompressedTexture compressedTextureLoaded = CompressedTexture.load(new File(compressedTextureFileName));
+		
+		final int width = bufferedImage.getWidth();
+		final int height = bufferedImage.getHeight();
+		
+		double errorSquared = 0.0D;
+		
+		for(int y = 0; y < height; y++) {
+			for(int x = 0; x < width; x++) {
+				final int rGB0 = bufferedImage.getRGB(x, y);
+				final int rGB1 = compressedTextureLoaded.getRGB(x, y);
+				
+				for(int shift = 0; shift < 24; shift += 8) {
+					final int delta = ((rGB0 >> shift) & 0xFF) - ((rGB1 >> shift) & 0xFF);
+					
+					errorSquared += delta * delta;
+				}
+			}
+		}
+		
+		final long originalSizeInBytes = (long)(width) * height * Integer.BYTES;
+		final long compressedSizeInBytes = compressedTextureLoaded.getSizeInBytes();
+		
+		final double rootMeanSquareError = Math.sqrt(errorSquared / (3.0D * width * height));
+		final double peakSignalToNoiseRatio = rootMeanSquareError > 0.0D ? 20.0D * Math.log10(255.0D / rootMeanSquareError) : Double.POSITIVE_INFINITY;
+		
+		System.out.println("file,width,height,originalBytes,compressedBytes,ratio,rmse,psnr,millis");
+		System.out.println(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%.2f,%.4f,%.2f,%.2f", compressedTextureFileName, Integer.valueOf(width), Integer.valueOf(height), Long.valueOf(originalSizeInBytes), Long.valueOf(compressedSizeInBytes), Double.valueOf((double)(originalSizeInBytes) / compressedSizeInBytes), Double.valueOf(rootMeanSquareError), Double.valueOf(peakSignalToNoiseRatio), Double.valueOf(elapsedTimeNanos / 1000000.0D)));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static String doReplaceExtension(final String fileName) {
+		final int indexOfDot = fileName.lastIndexOf('.');
+		final int indexOfSeparator = Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf(File.separatorChar));
+		
+		return (indexOfDot > indexOfSeparator ? fileName.substring(0, indexOfDot) : fileName) + EXTENSION;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@code TextureRegistry} loads image textures in the background and shares them between all their users.
+ * <p>
+ * The methods that return a {@link Texture} return a {@link DeferredTexture} immediately. It delegates to a placeholder until the image has been decoded, and to the real {@code Texture} thereafter. The image files are read and decoded in
+ * parallel, on a pool of daemon {@code Thread}s. A {@link Scene} can therefore be built and its first frame rendered before all of its textures have been loaded. {@link Scene#awaitTextures()} waits for them, which deterministic rendering
+ * does.
+ * <p>
+ * Textures are deduplicated twice. Requesting the same file twice returns the same {@code DeferredTexture}, without reading the file again. Files with identical content, as determined by their SHA-256 hash, are decoded only once and share
+ * the same {@link SimpleTexture}, or the same image data for normal maps.
+ * <p>
+ * If a file cannot be read or decoded, the placeholder is kept, the {@code CompletableFuture} of the {@code DeferredTexture} completes exceptionally and the failure is printed to {@code System.err}.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TextureRegistry {
+	private static final Texture PLACEHOLDER = SolidTexture.newInstance(1, 1, new RGBSpectrum(0.5D, 0.5D, 0.5D));
+	private static final TextureRegistry DEFAULT = newInstance();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final ConcurrentMap<String, CompletableFuture<BufferedImage>> normalMapsByHash = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, CompletableFuture<BufferedImage>> normalMapsByPath = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, CompletableFuture<SimpleTexture>> simpleTexturesByHash = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, DeferredTexture> simpleTexturesByPath = new ConcurrentHashMap<>();
+	private final ExecutorService executorService;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TextureRegistry(final int threads) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		
+		this.executorService = Executors.newFixedThreadPool(threads, runnable -> {
+			final
+			Thread thread = new Thread(runnable, "TextureRegistry-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			
+			return thread;
+		});
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a {@link Texture} that adds the normal map in {@code file} to {@code texture}.
+	 * <p>
+	 * The {@code Texture} returned is a {@link DeferredTexture} that delegates to {@code texture} until the normal map has been loaded, and to a {@link NormalMapTexture} wrapping {@code texture} thereafter. A new {@code DeferredTexture} is
+	 * returned for each call, but the normal map is read and decoded only once per file.
+	 * <p>
+	 * If either {@code texture} or {@code file} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param texture the {@code Texture} to add the normal map to
+	 * @param file the file of the normal map
+	 * @return a {@code Texture} that adds the normal map in {@code file} to {@code texture}
+	 * @throws NullPointerException thrown if, and only if, either {@code texture} or {@code file} are {@code null}
+	 */
+	public DeferredTexture getNormalMapTexture(final Texture texture, final File file) {
+		Objects.requireNonNull(texture, "texture == null");
+		
+		final String path = doGetPath(file);
+		
+		final CompletableFuture<BufferedImage> future = this.normalMapsByPath.computeIfAbsent(path, key -> doRead(file).thenCompose(content -> this.normalMapsByHash.computeIfAbsent(content.hash, hash -> doDecode(content))));
+		
+		return DeferredTexture.newInstance(texture, doReportFailure(future.thenApply(bufferedImage -> NormalMapTexture.newInstance(texture, bufferedImage)), path));
+	}
+	
+	/**
+	 * Returns a {@link Texture} that adds the normal map in the file named {@code fileName} to {@code texture}.
+	 * <p>
+	 * Calling this method is equivalent to {@code getNormalMapTexture(texture, new File(fileName))}.
+	 * <p>
+	 * If either {@code texture} or {@code fileName} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param texture the {@code Texture} to add the normal map to
+	 * @param fileName the name of the file of the normal map
+	 * @return a {@code Texture} that adds the normal map in the file named {@code fileName} to {@code texture}
+	 * @throws NullPointerException thrown if, and only if, either {@code texture} or {@code fileName} are {@code null}
+	 */
+	public DeferredTexture getNormalMapTexture(final Texture texture, final String fileName) {
+		return getNormalMapTexture(texture, new File(Objects.requireNonNull(fileName, "fileName == null")));
+	}
+	
+	/**
+	 * Returns a {@link Texture} with the image in {@code file}.
+	 * <p>
+	 * The {@code Texture} returned is a {@link DeferredTexture} that delegates to a grey placeholder until the image has been loaded, and to a {@link SimpleTexture} thereafter. The same {@code DeferredTexture} is returned for all calls with
+	 * the same file.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param file the file of the image
+	 * @return a {@code Texture} with the image in {@code file}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 */
+	public DeferredTexture getSimpleTexture(final File file) {
+		final String path = doGetPath(file);
+		
+		return this.simpleTexturesByPath.computeIfAbsent(path, key -> DeferredTexture.newInstance(PLACEHOLDER, doReportFailure(doRead(file).thenCompose(content -> this.simpleTexturesByHash.computeIfAbsent(content.hash, hash -> doDecode(content).thenApply(SimpleTexture::newInstance))), path)));
+	}
+	
+	/**
+	 * Returns a {@link Texture} with the image in the file named {@code fileName}.
+	 * <p>
+	 * Calling this method is equivalent to {@code getSimpleTexture(new File(fileName))}.
+	 * <p>
+	 * If {@code fileName} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param fileName the name of the file of the image
+	 * @return a {@code Texture} with the image in the file named {@code fileName}
+	 * @throws NullPointerException thrown if, and only if, {@code fileName} is {@code null}
+	 */
+	public DeferredTexture getSimpleTexture(final String fileName) {
+		return getSimpleTexture(new File(Objects.requireNonNull(fileName, "fileName == null")));
+	}
+	
+	/**
+	 * Removes all textures from this {@code TextureRegistry}.
+	 * <p>
+	 * The {@link Texture}s that have already been returned are not affected, but they are no longer shared with subsequent calls.
+	 */
+	public void clear() {
+		this.normalMapsByHash.clear();
+		this.normalMapsByPath.clear();
+		this.simpleTexturesByHash.clear();
+		this.simpleTexturesByPath.clear();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the default {@code TextureRegistry}, which is used by the {@link Scene}s provided by this engine.
+	 * 
+	 * @return the default {@code TextureRegistry}
+	 */
+	public static TextureRegistry getDefault() {
+		return DEFAULT;
+	}
+	
+	/**
+	 * Returns a new {@code TextureRegistry} instance that loads textures on one {@code Thread} per available processor.
+	 * 
+	 * @return a new {@code TextureRegistry} instance
+	 */
+	public static TextureRegistry newInstance() {
+		return newInstance(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Returns a new {@code TextureRegistry} instance that loads textures on {@code threads} {@code Thread}s.
+	 * <p>
+	 * If {@code threads} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param threads the number of {@code Thread}s to load textures on
+	 * @return a new {@code TextureRegistry} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code threads} is less than {@code 1}
+	 */
+	public static TextureRegistry newInstance(final int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException(String.format("threads < 1: threads=%d", Integer.valueOf(threads)));
+		}
+		
+		return new TextureRegistry(threads);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private CompletableFuture<BufferedImage> doDecode(final Content content) {
+		return CompletableFuture.supplyAsync(() -> BufferedImages.createBufferedImageFrom(content.bytes), this.executorService);
+	}
+	
+	private CompletableFuture<Content> doRead(final File file) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return new Content(Files.readAllBytes(file.toPath()));
+			} catch(final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, this.executorService);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static <T> CompletableFuture<T> doReportFailure(final CompletableFuture<T> future, final String path) {
+		return future.whenComplete((result, throwable) -> {
+			if(throwable != null) {
+				System.err.printf("The texture %s could not be loaded: %s%n", path, throwable.getCause() != null ? throwable.getCause() : throwable);
+			}
+		});
+	}
+	
+	private static String doGetPath(final File file) {
+		return file.toPath().toAbsolutePath().normalize().toString();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class Content {
+		private final String hash;
+		private final byte[] bytes;
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		public Content(final byte[] bytes) {
+			this.bytes = bytes;
+			this.hash = doHash(bytes);
+		}
+		
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		
+		private static String doHash(final byte[] bytes) {
+			try {
+				final byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+				
+				final StringBuilder stringBuilder = new StringBuilder(digest.length * 2);
+				
+				for(final byte b : digest) {
+					stringBuilder.append(String.format("%02x", Integer.valueOf(b & 0xFF)));
+				}
+				
+				return stringBuilder.toString();
+			} catch(final NoSuchAlgorithmException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,310 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@code TileFile} is a preprocessed image file, split into square tiles of packed RGB {@code int}s, that is memory-mapped rather than read into the heap.
+ * <p>
+ * The file contains a small header, consisting of a magic number, a version, the width and height of the image and the size of the tiles, followed by the tiles. The tiles are stored row by row, and the texels within a tile are also stored
+ * row by row. Tiles at the right and bottom edges are padded to the full tile size by repeating the last column and row of the image. A tile can therefore be read with a single bulk copy.
+ * <p>
+ * A {@code TileFile} is created from an ordinary image file by {@link #create(File, File, int)}, which is meant to be run once, offline. Opening it by {@link #open(File)} only maps the file. The tiles are read when requested, typically
+ * through a {@link TextureCache}.
+ * <p>
+ * As the whole file is mapped by a single {@code MappedByteBuffer}, its size is limited to {@code Integer.MAX_VALUE} bytes. This is enough for a {@code 16384 * 16384} image.
+ * <p>
+ * This class is immutable and therefore suitable for concurrent use without external synchronization.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TileFile {
+	/**
+	 * The default size of the tiles.
+	 */
+	public static final int DEFAULT_TILE_SIZE = 64;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final AtomicInteger ID = new AtomicInteger();
+	private static final int HEADER_BYTES = 5 * Integer.BYTES;
+	private static final int MAGIC = 0x47445446;
+	private static final int VERSION = 1;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final File file;
+	private final IntBuffer intBuffer;
+	private final int height;
+	private final int id;
+	private final int tileSize;
+	private final int tilesX;
+	private final int tilesY;
+	private final int width;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TileFile(final File file, final IntBuffer intBuffer, final int width, final int height, final int tileSize) {
+		this.file = file;
+		this.intBuffer = intBuffer;
+		this.width = width;
+		this.height = height;
+		this.tileSize = tileSize;
+		this.tilesX = (width + tileSize - 1) / tileSize;
+		this.tilesY = (height + tileSize - 1) / tileSize;
+		this.id = ID.getAndIncrement();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the file of this {@code TileFile} instance.
+	 * 
+	 * @return the file of this {@code TileFile} instance
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * Returns the height of the image.
+	 * 
+	 * @return the height of the image
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+	
+	/**
+	 * Returns an ID that is unique to this {@code TileFile} instance, within the current JVM.
+	 * <p>
+	 * The ID is used by {@link TextureCache} to identify the tiles of this {@code TileFile}.
+	 * 
+	 * @return an ID that is unique to this {@code TileFile} instance, within the current JVM
+	 */
+	public int getID() {
+		return this.id;
+	}
+	
+	/**
+	 * Returns the number of tiles.
+	 * 
+	 * @return the number of tiles
+	 */
+	public int getTileCount() {
+		return this.tilesX * this.tilesY;
+	}
+	
+	/**
+	 * Returns the index of the tile that contains the texel at {@code x} and {@code y}.
+	 * <p>
+	 * Both {@code x} and {@code y} are expected to be within the image. No checks are performed.
+	 * 
+	 * @param x the X-coordinate of the texel
+	 * @param y the Y-coordinate of the texel
+	 * @return the index of the tile that contains the texel at {@code x} and {@code y}
+	 */
+	public int getTileIndex(final int x, final int y) {
+		return (y / this.tileSize) * this.tilesX + x / this.tileSize;
+	}
+	
+	/**
+	 * Returns the size of the tiles, which is both their width and their height.
+	 * 
+	 * @return the size of the tiles
+	 */
+	public int getTileSize() {
+		return this.tileSize;
+	}
+	
+	/**
+	 * Returns the width of the image.
+	 * 
+	 * @return the width of the image
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+	
+	/**
+	 * Reads the tile at {@code tileIndex} from the file and returns it in a new {@code int} array.
+	 * <p>
+	 * The array contains {@code getTileSize() * getTileSize()} texels, stored row by row.
+	 * <p>
+	 * If {@code tileIndex} is less than {@code 0}, or greater than or equal to {@code getTileCount()}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param tileIndex the index of the tile
+	 * @return a new {@code int} array with the tile at {@code tileIndex}
+	 * @throws IndexOutOfBoundsException thrown if, and only if, {@code tileIndex} is less than {@code 0}, or greater than or equal to {@code getTileCount()}
+	 */
+	public int[] readTile(final int tileIndex) {
+		if(tileIndex < 0 || tileIndex >= getTileCount()) {
+			throw new IndexOutOfBoundsException(String.format("tileIndex < 0 || tileIndex >= getTileCount(): tileIndex=%d", Integer.valueOf(tileIndex)));
+		}
+		
+		final int texels = this.tileSize * this.tileSize;
+		
+		final int[] tile = new int[texels];
+		
+		final
+		IntBuffer intBuffer = this.intBuffer.duplicate();
+		intBuffer.position(tileIndex * texels);
+		intBuffer.get(tile);
+		
+		return tile;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Creates a {@code TileFile} from the image in {@code imageFile}, writes it to {@code tileFile} and returns it.
+	 * <p>
+	 * The image is decoded in full, so this method should be used to preprocess images offline, rather than while rendering.
+	 * <p>
+	 * If either {@code imageFile} or {@code tileFile} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code tileSize} is less than {@code 1}, or the {@code TileFile} would be larger than {@code Integer.MAX_VALUE} bytes, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param imageFile the image file to read
+	 * @param tileFile the {@code TileFile} to write
+	 * @param tileSize the size of the tiles
+	 * @return the {@code TileFile}
+	 * @throws IllegalArgumentException thrown if, and only if, {@code tileSize} is less than {@code 1}, or the {@code TileFile} would be larger than {@code Integer.MAX_VALUE} bytes
+	 * @throws NullPointerException thrown if, and only if, either {@code imageFile} or {@code tileFile} are {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static TileFile create(final File imageFile, final File tileFile, final int tileSize) {
+		Objects.requireNonNull(imageFile, "imageFile == null");
+		Objects.requireNonNull(tileFile, "tileFile == null");
+		
+		if(tileSize < 1) {
+			throw new IllegalArgumentException(String.format("tileSize < 1: tileSize=%d", Integer.valueOf(tileSize)));
+		}
+		
+		final BufferedImage bufferedImage = BufferedImages.createBufferedImageFrom(imageFile);
+		
+		final int width = bufferedImage.getWidth();
+		final int height = bufferedImage.getHeight();
+		final int tilesX = (width + tileSize - 1) / tileSize;
+		final int tilesY = (height + tileSize - 1) / tileSize;
+		
+		final int[] data = BufferedImages.getDataFrom(bufferedImage);
+		
+		final long size = HEADER_BYTES + (long)(tilesX) * tilesY * tileSize * tileSize * Integer.BYTES;
+		
+		if(size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(String.format("The TileFile would be too large: size=%d", Long.valueOf(size)));
+		}
+		
+		try(final FileChannel fileChannel = FileChannel.open(tileFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final
+			MappedByteBuffer mappedByteBuffer = fileChannel.map(MapMode.READ_WRITE, 0L, size);
+			mappedByteBuffer.putInt(MAGIC);
+			mappedByteBuffer.putInt(VERSION);
+			mappedByteBuffer.putInt(width);
+			mappedByteBuffer.putInt(height);
+			mappedByteBuffer.putInt(tileSize);
+			
+			for(int tileY = 0; tileY < tilesY; tileY++) {
+				for(int tileX = 0; tileX < tilesX; tileX++) {
+					for(int y = 0; y < tileSize; y++) {
+						final int imageY = Math.min(tileY * tileSize + y, height - 1);
+						
+						for(int x = 0; x < tileSize; x++) {
+							final int imageX = Math.min(tileX * tileSize + x, width - 1);
+							
+							mappedByteBuffer.putInt(data[imageY * width + imageX]);
+						}
+					}
+				}
+			}
+			
+			mappedByteBuffer.force();
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		return open(tileFile);
+	}
+	
+	/**
+	 * Opens the {@code TileFile} in {@code file} and returns it.
+	 * <p>
+	 * The file is memory-mapped. No tiles are read.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or {@code file} is not a valid {@code TileFile}, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file the file to open
+	 * @return the {@code TileFile}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs, or {@code file} is not a valid {@code TileFile}
+	 */
+	public static TileFile open(final File file) {
+		Objects.requireNonNull(file, "file == null");
+		
+		try(final FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			final long size = fileChannel.size();
+			
+			if(size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+				throw new IOException(String.format("Invalid TileFile: %s", file));
+			}
+			
+			final MappedByteBuffer mappedByteBuffer = fileChannel.map(MapMode.READ_ONLY, 0L, size);
+			
+			if(mappedByteBuffer.getInt() != MAGIC || mappedByteBuffer.getInt() != VERSION) {
+				throw new IOException(String.format("Invalid TileFile: %s", file));
+			}
+			
+			final int width = mappedByteBuffer.getInt();
+			final int height = mappedByteBuffer.getInt();
+			final int tileSize = mappedByteBuffer.getInt();
+			
+			if(width < 1 || height < 1 || tileSize < 1) {
+				throw new IOException(String.format("Invalid TileFile: %s", file));
+			}
+			
+			final long tilesX = (width + tileSize - 1) / tileSize;
+			final long tilesY = (height + tileSize - 1) / tileSize;
+			
+			if(mappedByteBuffer.remaining() != tilesX * tilesY * tileSize * tileSize * Integer.BYTES) {
+				throw new IOException(String.format("Invalid TileFile: %s", file));
+			}
+			
+			return new TileFile(file, mappedByteBuffer.slice().asIntBuffer(), width, height, tileSize);
+		} catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
\ No newline at end of file
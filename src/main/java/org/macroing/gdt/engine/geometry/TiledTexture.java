@@ -0,0 +1,211 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * A {@code TiledTexture} is a {@link Texture} whose texels are read on demand from a {@link TileFile}, through a {@link TextureCache}.
+ * <p>
+ * Unlike {@link SimpleTexture}, which holds all of its texels in the heap for as long as it is used, a {@code TiledTexture} only holds a reference to its {@code TileFile}. The tiles that are used are held by the {@code TextureCache},
+ * which evicts the least recently used tiles when its budget is exceeded. Scenes with many large textures therefore fit in a fixed amount of memory.
+ * <p>
+ * The lookups are nearest-texel lookups and use the same mapping from UV-coordinates to texels as {@code SimpleTexture}.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TiledTexture extends Texture {
+	private static final double RECIPROCAL = 1.0D / 256.0D;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final TextureCache textureCache;
+	private final TileFile tileFile;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TiledTexture(final TileFile tileFile, final TextureCache textureCache) {
+		super(tileFile.getWidth(), tileFile.getHeight());
+		
+		this.tileFile = tileFile;
+		this.textureCache = Objects.requireNonNull(textureCache, "textureCache == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the color at {@code u} and {@code v} as a new {@link Spectrum}.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @return the color at {@code u} and {@code v} as a new {@code Spectrum}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v) {
+		final int rGB = doGetTexel(u, v);
+		
+		return new RGBSpectrum(RGBSpectrum.toRed(rGB) * RECIPROCAL, RGBSpectrum.toGreen(rGB) * RECIPROCAL, RGBSpectrum.toBlue(rGB) * RECIPROCAL);
+	}
+	
+	/**
+	 * Sets {@code color} to the color at {@code u} and {@code v} and returns it.
+	 * <p>
+	 * If {@code color} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param color the {@link Spectrum} to set
+	 * @return {@code color}
+	 * @throws NullPointerException thrown if, and only if, {@code color} is {@code null}
+	 */
+	@Override
+	public Spectrum getColorAt(final double u, final double v, final Spectrum color) {
+		final int rGB = doGetTexel(u, v);
+		
+		return color.setCoefficient(0, RGBSpectrum.toRed(rGB) * RECIPROCAL).setCoefficient(1, RGBSpectrum.toGreen(rGB) * RECIPROCAL).setCoefficient(2, RGBSpectrum.toBlue(rGB) * RECIPROCAL);
+	}
+	
+	/**
+	 * Returns the {@link TextureCache} used by this {@code TiledTexture} instance.
+	 * 
+	 * @return the {@code TextureCache} used by this {@code TiledTexture} instance
+	 */
+	public TextureCache getTextureCache() {
+		return this.textureCache;
+	}
+	
+	/**
+	 * Returns the {@link TileFile} of this {@code TiledTexture} instance.
+	 * 
+	 * @return the {@code TileFile} of this {@code TiledTexture} instance
+	 */
+	public TileFile getTileFile() {
+		return this.tileFile;
+	}
+	
+	/**
+	 * Returns {@code surfaceNormal}, as a {@code TiledTexture} does not alter the surface normal.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @return {@code surfaceNormal}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal) {
+		return surfaceNormal;
+	}
+	
+	/**
+	 * Sets {@code surfaceNormalAt} to {@code surfaceNormal} and returns it, as a {@code TiledTexture} does not alter the surface normal.
+	 * <p>
+	 * If either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param u the U-coordinate
+	 * @param v the V-coordinate
+	 * @param surfaceNormal the surface normal
+	 * @param surfaceNormalAt the {@link Vector} to set
+	 * @return {@code surfaceNormalAt}
+	 * @throws NullPointerException thrown if, and only if, either {@code surfaceNormal} or {@code surfaceNormalAt} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormalAt(final double u, final double v, final Vector surfaceNormal, final Vector surfaceNormalAt) {
+		return surfaceNormalAt.set(surfaceNormal);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code TiledTexture} instance that reads from the {@link TileFile} in {@code file}, through the default {@link TextureCache}.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or {@code file} is not a valid {@code TileFile}, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param file the file of the {@code TileFile}
+	 * @return a new {@code TiledTexture} instance that reads from the {@code TileFile} in {@code file}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs, or {@code file} is not a valid {@code TileFile}
+	 */
+	public static TiledTexture newInstance(final File file) {
+		return newInstance(TileFile.open(file));
+	}
+	
+	/**
+	 * Returns a new {@code TiledTexture} instance that reads from the {@link TileFile} in the file named {@code fileName}, through the default {@link TextureCache}.
+	 * <p>
+	 * If {@code fileName} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or the file is not a valid {@code TileFile}, an {@code UncheckedIOException} will be thrown.
+	 * 
+	 * @param fileName the name of the file of the {@code TileFile}
+	 * @return a new {@code TiledTexture} instance that reads from the {@code TileFile} in the file named {@code fileName}
+	 * @throws NullPointerException thrown if, and only if, {@code fileName} is {@code null}
+	 * @throws UncheckedIOException thrown if, and only if, an I/O-error occurs, or the file is not a valid {@code TileFile}
+	 */
+	public static TiledTexture newInstance(final String fileName) {
+		return newInstance(new File(fileName));
+	}
+	
+	/**
+	 * Returns a new {@code TiledTexture} instance that reads from {@code tileFile}, through the default {@link TextureCache}.
+	 * <p>
+	 * If {@code tileFile} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param tileFile the {@link TileFile} to read from
+	 * @return a new {@code TiledTexture} instance that reads from {@code tileFile}
+	 * @throws NullPointerException thrown if, and only if, {@code tileFile} is {@code null}
+	 */
+	public static TiledTexture newInstance(final TileFile tileFile) {
+		return newInstance(tileFile, TextureCache.getDefault());
+	}
+	
+	/**
+	 * Returns a new {@code TiledTexture} instance that reads from {@code tileFile}, through {@code textureCache}.
+	 * <p>
+	 * If either {@code tileFile} or {@code textureCache} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param tileFile the {@link TileFile} to read from
+	 * @param textureCache the {@link TextureCache} to read through
+	 * @return a new {@code TiledTexture} instance that reads from {@code tileFile}, through {@code textureCache}
+	 * @throws NullPointerException thrown if, and only if, either {@code tileFile} or {@code textureCache} are {@code null}
+	 */
+	public static TiledTexture newInstance(final TileFile tileFile, final TextureCache textureCache) {
+		return new TiledTexture(Objects.requireNonNull(tileFile, "tileFile == null"), textureCache);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private int doGetTexel(final double u, final double v) {
+		final int width = getWidth();
+		final int height = getHeight();
+		final int x = Math.min(Math.max((int)(width * ((u + 1.0D) * 0.5D)), 0), width - 1);
+		final int y = Math.min(Math.max((int)(height * ((v + 1.0D) * 0.5D)), 0), height - 1);
+		final int tileSize = this.tileFile.getTileSize();
+		
+		final int[] tile = this.textureCache.getTile(this.tileFile, this.tileFile.getTileIndex(x, y));
+		
+		return tile[(y % tileSize) * tileSize + x % tileSize];
+	}
+}
\ No newline at end of file
@@ -24,6 +24,8 @@ public final class Triangle extends Shape {
 	private final Point a;
 	private final Point b;
 	private final Point c;
+	private final Vector edge1;
+	private final Vector edge2;
 	private final Vector surfaceNormal;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -34,6 +36,8 @@ public final class Triangle extends Shape {
 		this.a = a;
 		this.b = b;
 		this.c = c;
+		this.edge1 = b.toVector().subtract(a.toVector());
+		this.edge2 = c.toVector().subtract(a.toVector());
 		this.surfaceNormal = a.toVector().surfaceNormal(b.toVector(), c.toVector());
 	}
 	
@@ -43,38 +47,49 @@ public final class Triangle extends Shape {
 	public boolean isIntersecting(final Intersection intersection) {
 		final Ray ray = intersection.getRay();
 		
+		final Point origin = ray.getOrigin();
+		
 		final Vector direction = ray.getDirection();
-		final Vector edge1 = this.b.toVector().subtract(this.a.toVector());
-		final Vector edge2 = this.c.toVector().subtract(this.a.toVector());
-		final Vector p = direction.copyAndCrossProduct(edge2);
 		
+		final double directionX = direction.getX();
+		final double directionY = direction.getY();
+		final double directionZ = direction.getZ();
+		final double edge1X = this.edge1.getX();
+		final double edge1Y = this.edge1.getY();
+		final double edge1Z = this.edge1.getZ();
+		final double edge2X = this.edge2.getX();
+		final double edge2Y = this.edge2.getY();
+		final double edge2Z = this.edge2.getZ();
+		final double pX = directionY * edge2Z - directionZ * edge2Y;
+		final double pY = directionZ * edge2X - directionX * edge2Z;
+		final double pZ = directionX * edge2Y - directionY * edge2X;
 		final double epsilon = 1.e-4D;
-		final double determinant = edge1.dotProduct(p);
+		final double determinant = edge1X * pX + edge1Y * pY + edge1Z * pZ;
 		
 		if(determinant == 0.0D) {
 			return false;
 		}
 		
 		final double inverseDeterminant = 1.0D / determinant;
-		
-		final Vector origin = ray.getOrigin().toVector();
-		final Vector vector = origin.copyAndSubtract(this.a.toVector());
-		
-		final double u = vector.dotProduct(p) * inverseDeterminant;
+		final double vectorX = origin.getX() - this.a.getX();
+		final double vectorY = origin.getY() - this.a.getY();
+		final double vectorZ = origin.getZ() - this.a.getZ();
+		final double u = (vectorX * pX + vectorY * pY + vectorZ * pZ) * inverseDeterminant;
 		
 		if(u < 0.0D || u > 1.0D) {
 			return false;
 		}
 		
-		final Vector q = vector.copyAndCrossProduct(edge1);
-		
-		final double v = direction.dotProduct(q) * inverseDeterminant;
+		final double qX = vectorY * edge1Z - vectorZ * edge1Y;
+		final double qY = vectorZ * edge1X - vectorX * edge1Z;
+		final double qZ = vectorX * edge1Y - vectorY * edge1X;
+		final double v = (directionX * qX + directionY * qY + directionZ * qZ) * inverseDeterminant;
 		
 		if(v < 0.0D || u + v > 1.0D) {
 			return false;
 		}
 		
-		final double distance = edge2.dotProduct(q) * inverseDeterminant;
+		final double distance = (edge2X * qX + edge2Y * qY + edge2Z * qZ) * inverseDeterminant;
 		
 		if(distance > epsilon && distance < intersection.getDistance()) {
 			intersection.setDistance(distance);
@@ -101,6 +116,11 @@ public final class Triangle extends Shape {
 		return surfaceIntersectionPoint.copy();
 	}
 	
+	@Override
+	public Point getUV(final Point surfaceIntersectionPoint, final Point pointUV) {
+		return pointUV.set(surfaceIntersectionPoint);
+	}
+	
 	@Override
 	public String toString() {
 		return String.format("Triangle: [A=%s], [B=%s], [C=%s]", this.a, this.b, this.c);
@@ -111,6 +131,11 @@ public final class Triangle extends Shape {
 		return this.surfaceNormal.copy();
 	}
 	
+	@Override
+	public Vector getSurfaceNormal(final Point surfaceIntersectionPoint, final Vector surfaceNormal) {
+		return surfaceNormal.set(this.surfaceNormal);
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	public static Triangle newInstance(final Material material, final Texture texture, final Point a, final Point b, final Point c) {
@@ -0,0 +1,613 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.geometry;
+
+import java.util.Objects;
+
+/**
+ * A {@code TriangleMesh} is a {@link Shape} that consists of many triangles sharing a single {@link Material} and {@link Texture}.
+ * <p>
+ * The triangles are stored in a single packed array, either of type {@code double[]} or {@code float[]}, depending on the {@link Precision} chosen when the {@code TriangleMesh} is built. For each triangle the vertex A and the two edges
+ * {@code B - A} and {@code C - A} are stored, such that no per-triangle objects are created and the intersection test reads nine consecutive components.
+ * <p>
+ * With {@code Precision.SINGLE}, the intersection test is performed entirely in {@code float} arithmetic. The origin and direction of the {@link Ray} are rounded to {@code float} once per test. The rounding error is compensated for
+ * by the epsilon used to reject self-intersections, which is relative to the magnitude of the coordinates of the {@code TriangleMesh} and the origin of the {@code Ray}, as returned by {@link Precision#getEpsilon(double)}.
+ * <p>
+ * The index of the intersected triangle is stored in the {@link Intersection} by calling {@link Intersection#setPrimitiveIndex(int)}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TriangleMesh extends Shape {
+	private static final int COMPONENTS_PER_TRIANGLE = 9;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final double magnitude;
+	private final double maximumX;
+	private final double maximumY;
+	private final double maximumZ;
+	private final double minimumX;
+	private final double minimumY;
+	private final double minimumZ;
+	private final double[] doubles;
+	private final float[] floats;
+	private final int triangleCount;
+	private final Precision precision;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TriangleMesh(final Material material, final Texture texture, final Precision precision, final double[] positions, final int[] indices) {
+		super(material, texture);
+		
+		this.precision = Objects.requireNonNull(precision, "precision == null");
+		this.triangleCount = indices.length / 3;
+		
+		final double[] doubles = new double[this.triangleCount * COMPONENTS_PER_TRIANGLE];
+		
+		double maximumX = Double.NEGATIVE_INFINITY;
+		double maximumY = Double.NEGATIVE_INFINITY;
+		double maximumZ = Double.NEGATIVE_INFINITY;
+		double minimumX = Double.POSITIVE_INFINITY;
+		double minimumY = Double.POSITIVE_INFINITY;
+		double minimumZ = Double.POSITIVE_INFINITY;
+		
+		for(int i = 0, j = 0; i < indices.length; i += 3, j += COMPONENTS_PER_TRIANGLE) {
+			final int indexA = indices[i + 0] * 3;
+			final int indexB = indices[i + 1] * 3;
+			final int indexC = indices[i + 2] * 3;
+			
+			final double aX = positions[indexA + 0];
+			final double aY = positions[indexA + 1];
+			final double aZ = positions[indexA + 2];
+			final double bX = positions[indexB + 0];
+			final double bY = positions[indexB + 1];
+			final double bZ = positions[indexB + 2];
+			final double cX = positions[indexC + 0];
+			final double cY = positions[indexC + 1];
+			final double cZ = positions[indexC + 2];
+			
+			doubles[j + 0] = aX;
+			doubles[j + 1] = aY;
+			doubles[j + 2] = aZ;
+			doubles[j + 3] = bX - aX;
+			doubles[j + 4] = bY - aY;
+			doubles[j + 5] = bZ - aZ;
+			doubles[j + 6] = cX - aX;
+			doubles[j + 7] = cY - aY;
+			doubles[j + 8] = cZ - aZ;
+			
+			maximumX = Math.max(maximumX, Math.max(aX, Math.max(bX, cX)));
+			maximumY = Math.max(maximumY, Math.max(aY, Math.max(bY, cY)));
+			maximumZ = Math.max(maximumZ, Math.max(aZ, Math.max(bZ, cZ)));
+			minimumX = Math.min(minimumX, Math.min(aX, Math.min(bX, cX)));
+			minimumY = Math.min(minimumY, Math.min(aY, Math.min(bY, cY)));
+			minimumZ = Math.min(minimumZ, Math.min(aZ, Math.min(bZ, cZ)));
+		}
+		
+		this.magnitude = Math.max(Math.max(Math.max(Math.abs(maximumX), Math.abs(minimumX)), Math.max(Math.abs(maximumY), Math.abs(minimumY))), Math.max(Math.abs(maximumZ), Math.abs(minimumZ)));
+		
+		final double epsilon = precision.getEpsilon(this.magnitude);
+		
+		this.maximumX = maximumX + epsilon;
+		this.maximumY = maximumY + epsilon;
+		this.maximumZ = maximumZ + epsilon;
+		this.minimumX = minimumX - epsilon;
+		this.minimumY = minimumY - epsilon;
+		this.minimumZ = minimumZ - epsilon;
+		
+		if(precision == Precision.SINGLE) {
+			this.doubles = null;
+			this.floats = new float[doubles.length];
+			
+			for(int i = 0; i < doubles.length; i++) {
+				this.floats[i] = (float)(doubles[i]);
+			}
+		} else {
+			this.doubles = doubles;
+			this.floats = null;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Performs an intersection test between the {@link Ray} of {@code intersection} and this {@code TriangleMesh} instance.
+	 * <p>
+	 * Returns {@code true} if, and only if, a triangle closer than {@code intersection.getDistance()} was intersected, {@code false} otherwise. If so, the distance, the {@link Shape} and the index of the triangle are set on
+	 * {@code intersection}.
+	 * <p>
+	 * If {@code intersection} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param intersection the {@link Intersection} to update
+	 * @return {@code true} if, and only if, a triangle closer than {@code intersection.getDistance()} was intersected, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, {@code intersection} is {@code null}
+	 */
+	@Override
+	public boolean isIntersecting(final Intersection intersection) {
+		final Ray ray = intersection.getRay();
+		
+		final Point origin = ray.getOrigin();
+		
+		final Vector direction = ray.getDirection();
+		
+		final double originX = origin.getX();
+		final double originY = origin.getY();
+		final double originZ = origin.getZ();
+		final double directionX = direction.getX();
+		final double directionY = direction.getY();
+		final double directionZ = direction.getZ();
+		final double epsilon = this.precision.getEpsilon(Math.max(this.magnitude, Math.max(Math.abs(originX), Math.max(Math.abs(originY), Math.abs(originZ)))));
+		final double distance = intersection.getDistance();
+		
+		if(!doIsIntersectingBounds(originX, originY, originZ, directionX, directionY, directionZ, epsilon, distance)) {
+			return false;
+		}
+		
+		return this.floats != null ? doIsIntersectingSingle(intersection, originX, originY, originZ, directionX, directionY, directionZ, epsilon, distance) : doIsIntersectingDouble(intersection, originX, originY, originZ, directionX, directionY, directionZ, epsilon, distance);
+	}
+	
+	/**
+	 * Returns the size of the packed triangle data of this {@code TriangleMesh} instance in bytes.
+	 * 
+	 * @return the size of the packed triangle data of this {@code TriangleMesh} instance in bytes
+	 */
+	public long getSizeInBytes() {
+		return (long)(this.triangleCount) * COMPONENTS_PER_TRIANGLE * this.precision.getBytesPerComponent();
+	}
+	
+	/**
+	 * Returns the number of triangles in this {@code TriangleMesh} instance.
+	 * 
+	 * @return the number of triangles in this {@code TriangleMesh} instance
+	 */
+	public int getTriangleCount() {
+		return this.triangleCount;
+	}
+	
+	/**
+	 * Returns the UV-coordinates of {@code surfaceIntersectionPoint}.
+	 * <p>
+	 * Like {@link Triangle}, the {@code Point} itself is used as the UV-coordinates.
+	 * 
+	 * @param surfaceIntersectionPoint the {@link Point} on the surface of this {@code TriangleMesh} instance
+	 * @return the UV-coordinates of {@code surfaceIntersectionPoint}
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceIntersectionPoint} is {@code null}
+	 */
+	@Override
+	public Point getUV(final Point surfaceIntersectionPoint) {
+		return surfaceIntersectionPoint.copy();
+	}
+	
+	/**
+	 * Sets {@code pointUV} to the UV-coordinates of {@code surfaceIntersectionPoint} and returns it.
+	 * <p>
+	 * Like {@link Triangle}, the {@code Point} itself is used as the UV-coordinates.
+	 * 
+	 * @param surfaceIntersectionPoint the {@link Point} on the surface of this {@code TriangleMesh} instance
+	 * @param pointUV the {@code Point} to set
+	 * @return {@code pointUV}
+	 * @throws NullPointerException thrown if, and only if, either {@code surfaceIntersectionPoint} or {@code pointUV} are {@code null}
+	 */
+	@Override
+	public Point getUV(final Point surfaceIntersectionPoint, final Point pointUV) {
+		return pointUV.set(surfaceIntersectionPoint);
+	}
+	
+	/**
+	 * Returns the {@link Precision} of this {@code TriangleMesh} instance.
+	 * 
+	 * @return the {@code Precision} of this {@code TriangleMesh} instance
+	 */
+	public Precision getPrecision() {
+		return this.precision;
+	}
+	
+	/**
+	 * Returns a {@code String} representation of this {@code TriangleMesh} instance.
+	 * 
+	 * @return a {@code String} representation of this {@code TriangleMesh} instance
+	 */
+	@Override
+	public String toString() {
+		return String.format("TriangleMesh: [Precision=%s], [Triangles=%s]", this.precision, Integer.toString(this.triangleCount));
+	}
+	
+	/**
+	 * Sets {@code surfaceNormal} to the surface normal of the triangle that was intersected and returns it.
+	 * <p>
+	 * The index of the triangle is retrieved by calling {@link Intersection#getPrimitiveIndex()}.
+	 * 
+	 * @param intersection the {@link Intersection} with this {@code TriangleMesh} instance
+	 * @param surfaceNormal the {@link Vector} to set
+	 * @return {@code surfaceNormal}
+	 * @throws NullPointerException thrown if, and only if, either {@code intersection} or {@code surfaceNormal} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormal(final Intersection intersection, final Vector surfaceNormal) {
+		return doGetSurfaceNormal(intersection.getPrimitiveIndex(), surfaceNormal);
+	}
+	
+	/**
+	 * Returns the surface normal at {@code surfaceIntersectionPoint}.
+	 * <p>
+	 * The triangle is found by searching for the triangle whose plane is closest to {@code surfaceIntersectionPoint}. Prefer {@link #getSurfaceNormal(Intersection, Vector)}, which knows the triangle that was intersected.
+	 * 
+	 * @param surfaceIntersectionPoint the {@link Point} on the surface of this {@code TriangleMesh} instance
+	 * @return the surface normal at {@code surfaceIntersectionPoint}
+	 * @throws NullPointerException thrown if, and only if, {@code surfaceIntersectionPoint} is {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormal(final Point surfaceIntersectionPoint) {
+		return doGetSurfaceNormal(doFindPrimitiveIndex(surfaceIntersectionPoint), Vector.zero());
+	}
+	
+	/**
+	 * Sets {@code surfaceNormal} to the surface normal at {@code surfaceIntersectionPoint} and returns it.
+	 * <p>
+	 * The triangle is found by searching for the triangle whose plane is closest to {@code surfaceIntersectionPoint}. Prefer {@link #getSurfaceNormal(Intersection, Vector)}, which knows the triangle that was intersected.
+	 * 
+	 * @param surfaceIntersectionPoint the {@link Point} on the surface of this {@code TriangleMesh} instance
+	 * @param surfaceNormal the {@link Vector} to set
+	 * @return {@code surfaceNormal}
+	 * @throws NullPointerException thrown if, and only if, either {@code surfaceIntersectionPoint} or {@code surfaceNormal} are {@code null}
+	 */
+	@Override
+	public Vector getSurfaceNormal(final Point surfaceIntersectionPoint, final Vector surfaceNormal) {
+		return doGetSurfaceNormal(doFindPrimitiveIndex(surfaceIntersectionPoint), surfaceNormal);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code TriangleMesh} instance.
+	 * <p>
+	 * The array {@code positions} contains the X-, Y- and Z-coordinates of each vertex, one after the other. The array {@code indices} contains the indices of the three vertices of each triangle, one after the other. The vertices of a
+	 * triangle should be ordered counter-clockwise, as seen from the side the surface normal points to.
+	 * <p>
+	 * Neither array is referenced by the {@code TriangleMesh} after it has been built.
+	 * <p>
+	 * If either {@code material}, {@code texture}, {@code precision}, {@code positions} or {@code indices} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code positions.length} or {@code indices.length} are not multiples of {@code 3}, an {@code IllegalArgumentException} will be thrown.
+	 * <p>
+	 * If an index in {@code indices} does not refer to a vertex in {@code positions}, an {@code ArrayIndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param material the {@link Material} to use
+	 * @param texture the {@link Texture} to use
+	 * @param precision the {@link Precision} to store and intersect the triangles with
+	 * @param positions the coordinates of the vertices
+	 * @param indices the indices of the vertices of the triangles
+	 * @return a new {@code TriangleMesh} instance
+	 * @throws ArrayIndexOutOfBoundsException thrown if, and only if, an index in {@code indices} does not refer to a vertex in {@code positions}
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code positions.length} or {@code indices.length} are not multiples of {@code 3}
+	 * @throws NullPointerException thrown if, and only if, either {@code material}, {@code texture}, {@code precision}, {@code positions} or {@code indices} are {@code null}
+	 */
+	public static TriangleMesh newInstance(final Material material, final Texture texture, final Precision precision, final double[] positions, final int[] indices) {
+		Objects.requireNonNull(positions, "positions == null");
+		Objects.requireNonNull(indices, "indices == null");
+		
+		if(positions.length % 3 != 0) {
+			throw new IllegalArgumentException(String.format("positions.length %% 3 != 0: positions.length=%s", Integer.toString(positions.length)));
+		}
+		
+		if(indices.length % 3 != 0) {
+			throw new IllegalArgumentException(String.format("indices.length %% 3 != 0: indices.length=%s", Integer.toString(indices.length)));
+		}
+		
+		return new TriangleMesh(material, texture, precision, positions, indices);
+	}
+	
+	/**
+	 * Returns a new {@code TriangleMesh} instance that approximates a sphere.
+	 * <p>
+	 * The sphere is tessellated into {@code stacks} stacks from pole to pole and {@code slices} slices around the Y-axis, which results in {@code 2 * slices * (stacks - 1)} triangles.
+	 * <p>
+	 * If either {@code material}, {@code texture}, {@code precision} or {@code position} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code stacks} is less than {@code 2} or {@code slices} is less than {@code 3}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param material the {@link Material} to use
+	 * @param texture the {@link Texture} to use
+	 * @param precision the {@link Precision} to store and intersect the triangles with
+	 * @param radius the radius of the sphere
+	 * @param position the center of the sphere
+	 * @param stacks the number of stacks
+	 * @param slices the number of slices
+	 * @return a new {@code TriangleMesh} instance that approximates a sphere
+	 * @throws IllegalArgumentException thrown if, and only if, either {@code stacks} is less than {@code 2} or {@code slices} is less than {@code 3}
+	 * @throws NullPointerException thrown if, and only if, either {@code material}, {@code texture}, {@code precision} or {@code position} are {@code null}
+	 */
+	public static TriangleMesh newSphere(final Material material, final Texture texture, final Precision precision, final double radius, final Point position, final int stacks, final int slices) {
+		Objects.requireNonNull(position, "position == null");
+		
+		if(stacks < 2) {
+			throw new IllegalArgumentException(String.format("stacks < 2: stacks=%s", Integer.toString(stacks)));
+		}
+		
+		if(slices < 3) {
+			throw new IllegalArgumentException(String.format("slices < 3: slices=%s", Integer.toString(slices)));
+		}
+		
+		final double[] positions = new double[(stacks + 1) * (slices + 1) * 3];
+		
+		for(int i = 0, k = 0; i <= stacks; i++) {
+			final double theta = Math.PI * i / stacks;
+			final double sinTheta = Math.sin(theta);
+			final double cosTheta = Math.cos(theta);
+			
+			for(int j = 0; j <= slices; j++, k += 3) {
+				final double phi = 2.0D * Math.PI * j / slices;
+				
+				positions[k + 0] = position.getX() + radius * sinTheta * Math.cos(phi);
+				positions[k + 1] = position.getY() + radius * cosTheta;
+				positions[k + 2] = position.getZ() + radius * sinTheta * Math.sin(phi);
+			}
+		}
+		
+		final int[] indices = new int[2 * slices * (stacks - 1) * 3];
+		
+		for(int i = 0, k = 0; i < stacks; i++) {
+			for(int j = 0; j < slices; j++) {
+				final int index00 = i * (slices + 1) + j;
+				final int index01 = index00 + 1;
+				final int index10 = index00 + slices + 1;
+				final int index11 = index10 + 1;
+				
+				if(i != stacks - 1) {
+					indices[k++] = index00;
+					indices[k++] = index11;
+					indices[k++] = index10;
+				}
+				
+				if(i != 0) {
+					indices[k++] = index00;
+					indices[k++] = index01;
+					indices[k++] = index11;
+				}
+			}
+		}
+		
+		return newInstance(material, texture, precision, positions, indices);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private boolean doIsIntersectingBounds(final double originX, final double originY, final double originZ, final double directionX, final double directionY, final double directionZ, final double epsilon, final double distance) {
+		final double directionReciprocalX = 1.0D / directionX;
+		final double directionReciprocalY = 1.0D / directionY;
+		final double directionReciprocalZ = 1.0D / directionZ;
+		final double distance0X = (this.minimumX - originX) * directionReciprocalX;
+		final double distance0Y = (this.minimumY - originY) * directionReciprocalY;
+		final double distance0Z = (this.minimumZ - originZ) * directionReciprocalZ;
+		final double distance1X = (this.maximumX - originX) * directionReciprocalX;
+		final double distance1Y = (this.maximumY - originY) * directionReciprocalY;
+		final double distance1Z = (this.maximumZ - originZ) * directionReciprocalZ;
+		final double distanceNear = Math.max(epsilon, Math.max(Math.min(distance0X, distance1X), Math.max(Math.min(distance0Y, distance1Y), Math.min(distance0Z, distance1Z))));
+		final double distanceFar = Math.min(distance, Math.min(Math.max(distance0X, distance1X), Math.min(Math.max(distance0Y, distance1Y), Math.max(distance0Z, distance1Z))));
+		
+		return !(distanceNear > distanceFar);
+	}
+	
+	private boolean doIsIntersectingDouble(final Intersection intersection, final double originX, final double originY, final double originZ, final double directionX, final double directionY, final double directionZ, final double epsilon, final double distance) {
+		final double[] doubles = this.doubles;
+		
+		double closestDistance = distance;
+		
+		int closestPrimitiveIndex = -1;
+		
+		for(int i = 0, j = 0; i < this.triangleCount; i++, j += COMPONENTS_PER_TRIANGLE) {
+			final double edge1X = doubles[j + 3];
+			final double edge1Y = doubles[j + 4];
+			final double edge1Z = doubles[j + 5];
+			final double edge2X = doubles[j + 6];
+			final double edge2Y = doubles[j + 7];
+			final double edge2Z = doubles[j + 8];
+			final double pX = directionY * edge2Z - directionZ * edge2Y;
+			final double pY = directionZ * edge2X - directionX * edge2Z;
+			final double pZ = directionX * edge2Y - directionY * edge2X;
+			final double determinant = edge1X * pX + edge1Y * pY + edge1Z * pZ;
+			
+			if(determinant == 0.0D) {
+				continue;
+			}
+			
+			final double inverseDeterminant = 1.0D / determinant;
+			final double vectorX = originX - doubles[j + 0];
+			final double vectorY = originY - doubles[j + 1];
+			final double vectorZ = originZ - doubles[j + 2];
+			final double u = (vectorX * pX + vectorY * pY + vectorZ * pZ) * inverseDeterminant;
+			
+			if(u < 0.0D || u > 1.0D) {
+				continue;
+			}
+			
+			final double qX = vectorY * edge1Z - vectorZ * edge1Y;
+			final double qY = vectorZ * edge1X - vectorX * edge1Z;
+			final double qZ = vectorX * edge1Y - vectorY * edge1X;
+			final double v = (directionX * qX + directionY * qY + directionZ * qZ) * inverseDeterminant;
+			
+			if(v < 0.0D || u + v > 1.0D) {
+				continue;
+			}
+			
+			final double currentDistance = (edge2X * qX + edge2Y * qY + edge2Z * qZ) * inverseDeterminant;
+			
+			if(currentDistance > epsilon && currentDistance < closestDistance) {
+				closestDistance = currentDistance;
+				closestPrimitiveIndex = i;
+			}
+		}
+		
+		return doUpdate(intersection, closestDistance, closestPrimitiveIndex);
+	}
+	
+	private boolean doIsIntersectingSingle(final Intersection intersection, final double originX, final double originY, final double originZ, final double directionX, final double directionY, final double directionZ, final double epsilon, final double distance) {
+		final float[] floats = this.floats;
+		
+		final float originSingleX = (float)(originX);
+		final float originSingleY = (float)(originY);
+		final float originSingleZ = (float)(originZ);
+		final float directionSingleX = (float)(directionX);
+		final float directionSingleY = (float)(directionY);
+		final float directionSingleZ = (float)(directionZ);
+		final float epsilonSingle = (float)(epsilon);
+		
+		float closestDistance = distance < Float.MAX_VALUE ? (float)(distance) : Float.POSITIVE_INFINITY;
+		
+		int closestPrimitiveIndex = -1;
+		
+		for(int i = 0, j = 0; i < this.triangleCount; i++, j += COMPONENTS_PER_TRIANGLE) {
+			final float edge1X = floats[j + 3];
+			final float edge1Y = floats[j + 4];
+			final float edge1Z = floats[j + 5];
+			final float edge2X = floats[j + 6];
+			final float edge2Y = floats[j + 7];
+			final float edge2Z = floats[j + 8];
+			final float pX = directionSingleY * edge2Z - directionSingleZ * edge2Y;
+			final float pY = directionSingleZ * edge2X - directionSingleX * edge2Z;
+			final float pZ = directionSingleX * edge2Y - directionSingleY * edge2X;
+			final float determinant = edge1X * pX + edge1Y * pY + edge1Z * pZ;
+			
+			if(determinant == 0.0F) {
+				continue;
+			}
+			
+			final float inverseDeterminant = 1.0F / determinant;
+			final float vectorX = originSingleX - floats[j + 0];
+			final float vectorY = originSingleY - floats[j + 1];
+			final float vectorZ = originSingleZ - floats[j + 2];
+			final float u = (vectorX * pX + vectorY * pY + vectorZ * pZ) * inverseDeterminant;
+			
+			if(u < 0.0F || u > 1.0F) {
+				continue;
+			}
+			
+			final float qX = vectorY * edge1Z - vectorZ * edge1Y;
+			final float qY = vectorZ * edge1X - vectorX * edge1Z;
+			final float qZ = vectorX * edge1Y - vectorY * edge1X;
+			final float v = (directionSingleX * qX + directionSingleY * qY + directionSingleZ * qZ) * inverseDeterminant;
+			
+			if(v < 0.0F || u + v > 1.0F) {
+				continue;
+			}
+			
+			final float currentDistance = (edge2X * qX + edge2Y * qY + edge2Z * qZ) * inverseDeterminant;
+			
+			if(currentDistance > epsilonSingle && currentDistance < closestDistance) {
+				closestDistance = currentDistance;
+				closestPrimitiveIndex = i;
+			}
+		}
+		
+		return doUpdate(intersection, closestDistance, closestPrimitiveIndex);
+	}
+	
+	private boolean doUpdate(final Intersection intersection, final double distance, final int primitiveIndex) {
+		if(primitiveIndex == -1) {
+			return false;
+		}
+		
+		intersection.setDistance(distance);
+		intersection.setShape(this);
+		intersection.setPrimitiveIndex(primitiveIndex);
+		
+		return true;
+	}
+	
+	private int doFindPrimitiveIndex(final Point point) {
+		final double pointX = point.getX();
+		final double pointY = point.getY();
+		final double pointZ = point.getZ();
+		final double tolerance = this.precision.getEpsilon(this.magnitude);
+		
+		double closestDistance = Double.POSITIVE_INFINITY;
+		
+		int closestPrimitiveIndex = 0;
+		
+		for(int i = 0, j = 0; i < this.triangleCount; i++, j += COMPONENTS_PER_TRIANGLE) {
+			final double edge1X = doGetComponent(j + 3);
+			final double edge1Y = doGetComponent(j + 4);
+			final double edge1Z = doGetComponent(j + 5);
+			final double edge2X = doGetComponent(j + 6);
+			final double edge2Y = doGetComponent(j + 7);
+			final double edge2Z = doGetComponent(j + 8);
+			final double vectorX = pointX - doGetComponent(j + 0);
+			final double vectorY = pointY - doGetComponent(j + 1);
+			final double vectorZ = pointZ - doGetComponent(j + 2);
+			final double dotProduct11 = edge1X * edge1X + edge1Y * edge1Y + edge1Z * edge1Z;
+			final double dotProduct12 = edge1X * edge2X + edge1Y * edge2Y + edge1Z * edge2Z;
+			final double dotProduct22 = edge2X * edge2X + edge2Y * edge2Y + edge2Z * edge2Z;
+			final double dotProduct1 = vectorX * edge1X + vectorY * edge1Y + vectorZ * edge1Z;
+			final double dotProduct2 = vectorX * edge2X + vectorY * edge2Y + vectorZ * edge2Z;
+			final double denominator = dotProduct11 * dotProduct22 - dotProduct12 * dotProduct12;
+			
+			if(denominator == 0.0D) {
+				continue;
+			}
+			
+			final double u = (dotProduct22 * dotProduct1 - dotProduct12 * dotProduct2) / denominator;
+			final double v = (dotProduct11 * dotProduct2 - dotProduct12 * dotProduct1) / denominator;
+			
+			if(u < -tolerance || v < -tolerance || u + v > 1.0D + tolerance) {
+				continue;
+			}
+			
+			final double normalX = edge1Y * edge2Z - edge1Z * edge2Y;
+			final double normalY = edge1Z * edge2X - edge1X * edge2Z;
+			final double normalZ = edge1X * edge2Y - edge1Y * edge2X;
+			final double currentDistance = Math.abs(vectorX * normalX + vectorY * normalY + vectorZ * normalZ) / Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+			
+			if(currentDistance < closestDistance) {
+				closestDistance = currentDistance;
+				closestPrimitiveIndex = i;
+			}
+		}
+		
+		return closestPrimitiveIndex;
+	}
+	
+	private double doGetComponent(final int index) {
+		return this.floats != null ? this.floats[index] : this.doubles[index];
+	}
+	
+	private Vector doGetSurfaceNormal(final int primitiveIndex, final Vector surfaceNormal) {
+		final int index = primitiveIndex * COMPONENTS_PER_TRIANGLE;
+		
+		final double edge1X = doGetComponent(index + 3);
+		final double edge1Y = doGetComponent(index + 4);
+		final double edge1Z = doGetComponent(index + 5);
+		final double edge2X = doGetComponent(index + 6);
+		final double edge2Y = doGetComponent(index + 7);
+		final double edge2Z = doGetComponent(index + 8);
+		
+		final double normalX = edge1Y * edge2Z - edge1Z * edge2Y;
+		final double normalY = edge1Z * edge2X - edge1X * edge2Z;
+		final double normalZ = edge1X * edge2Y - edge1Y * edge2X;
+		final double length = Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+		
+		if(length > 0.0D) {
+			final double lengthReciprocal = 1.0D / length;
+			
+			return surfaceNormal.set(normalX * lengthReciprocal, normalY * lengthReciprocal, normalZ * lengthReciprocal);
+		}
+		
+		return surfaceNormal.set(normalX, normalY, normalZ);
+	}
+}
\ No newline at end of file
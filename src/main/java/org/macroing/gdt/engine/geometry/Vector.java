@@ -822,6 +822,27 @@ public final class Vector {
 		return multiply(1.0D / length());
 	}
 	
+	/**
+	 * Sets this {@code Vector} instance to the reflection of {@code direction} about {@code surfaceNormal}.
+	 * <p>
+	 * The {@code Vector} instance itself will be returned, such that you can chain multiple calls.
+	 * <p>
+	 * If either {@code direction} or {@code surfaceNormal} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method modifies the state of the instance on which it is called. It produces the same result as {@code direction.copyAndSubtract(surfaceNormal.copyAndMultiply(2.0D).multiply(surfaceNormal.dotProduct(direction)))}, but without
+	 * creating any new objects. It is safe for this {@code Vector} instance to be either {@code direction} or {@code surfaceNormal}.
+	 * 
+	 * @param direction the direction {@code Vector} to reflect
+	 * @param surfaceNormal the surface normal {@code Vector} to reflect about
+	 * @return itself, such that you can chain multiple calls
+	 * @throws NullPointerException thrown if, and only if, either {@code direction} or {@code surfaceNormal} are {@code null}
+	 */
+	public Vector reflect(final Vector direction, final Vector surfaceNormal) {
+		final double dotProduct = surfaceNormal.dotProduct(direction);
+		
+		return set(direction.x - surfaceNormal.x * 2.0D * dotProduct, direction.y - surfaceNormal.y * 2.0D * dotProduct, direction.z - surfaceNormal.z * 2.0D * dotProduct);
+	}
+	
 	/**
 	 * Sets a new position along the X-, Y- and Z-axes for this {@code Vector} instance.
 	 * <p>
@@ -936,6 +957,24 @@ public final class Vector {
 		return subtract(vector.x, vector.y, vector.z);
 	}
 	
+	/**
+	 * Sets this {@code Vector} instance to the direction from {@code point1} to {@code point0}.
+	 * <p>
+	 * The {@code Vector} instance itself will be returned, such that you can chain multiple calls.
+	 * <p>
+	 * If either {@code point0} or {@code point1} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * This method modifies the state of the instance on which it is called. It produces the same result as {@code point0.copyAndSubtract(point1).toVector()}, but without creating any new objects.
+	 * 
+	 * @param point0 the {@code Point} to subtract {@code point1} from
+	 * @param point1 the {@code Point} to subtract from {@code point0}
+	 * @return itself, such that you can chain multiple calls
+	 * @throws NullPointerException thrown if, and only if, either {@code point0} or {@code point1} are {@code null}
+	 */
+	public Vector subtract(final Point point0, final Point point1) {
+		return set(point0.getX() - point1.getX(), point0.getY() - point1.getY(), point0.getZ() - point1.getZ());
+	}
+	
 	/**
 	 * TODO: Add Javadocs.
 	 * 
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@code ConfigurationEvent} is emitted when a {@code Configuration} has been changed.
+ * <p>
+ * Its duration is the time it took to notify all {@code ConfigurationObserver}s, which may include reconfiguring a {@code Display}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@Name("org.macroing.gdt.engine.Configuration")
+@Label("Configuration")
+@Category({"Dayflower", "Configuration"})
+@Description("A change of a configuration")
+public final class ConfigurationEvent extends Event {
+	/**
+	 * The width.
+	 */
+	@Label("Width")
+	public int width;
+	
+	/**
+	 * The height.
+	 */
+	@Label("Height")
+	public int height;
+	
+	/**
+	 * The scaled width.
+	 */
+	@Label("Width Scaled")
+	public int widthScaled;
+	
+	/**
+	 * The scaled height.
+	 */
+	@Label("Height Scaled")
+	public int heightScaled;
+	
+	/**
+	 * The number of samples per frame.
+	 */
+	@Label("Samples Per Frame")
+	public int samplesPerFrame;
+	
+	/**
+	 * {@code true} if, and only if, rendering is in realtime, {@code false} otherwise.
+	 */
+	@Label("Rendering In Realtime")
+	public boolean isRenderingInRealtime;
+	
+	/**
+	 * The number of {@code ConfigurationObserver}s that were notified.
+	 */
+	@Label("Observers")
+	public int observers;
+}
\ No newline at end of file
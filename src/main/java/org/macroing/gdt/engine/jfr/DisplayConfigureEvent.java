@@ -0,0 +1,57 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@code DisplayConfigureEvent} is emitted when a {@code Display} has been configured.
+ * <p>
+ * Its duration is the time it took to configure the {@code Display}, not including any work that was deferred to the Event Dispatch Thread.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@Name("org.macroing.gdt.engine.DisplayConfigure")
+@Label("Display Configure")
+@Category({"Dayflower", "Display"})
+@Description("A configuration of a display")
+public final class DisplayConfigureEvent extends Event {
+	/**
+	 * The simple name of the class of the {@code Display}.
+	 */
+	@Label("Display")
+	public String display;
+	
+	/**
+	 * The scaled width.
+	 */
+	@Label("Width Scaled")
+	public int widthScaled;
+	
+	/**
+	 * The scaled height.
+	 */
+	@Label("Height Scaled")
+	public int heightScaled;
+}
\ No newline at end of file
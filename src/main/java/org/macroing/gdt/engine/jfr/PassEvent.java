@@ -0,0 +1,51 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@code PassEvent} is emitted for each call to {@code render(PixelIterable, RendererObserver, BooleanSupplier)} of a {@code PathTracingRenderer}.
+ * <p>
+ * Its duration is the time it took to render the pass.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@Name("org.macroing.gdt.engine.Pass")
+@Label("Pass")
+@Category({"Dayflower", "Renderer"})
+@Description("A pass rendered by a single thread")
+public final class PassEvent extends Event {
+	/**
+	 * The pass.
+	 */
+	@Label("Pass")
+	public int pass;
+	
+	/**
+	 * The number of samples that were rendered.
+	 */
+	@Label("Samples")
+	public long samples;
+}
\ No newline at end of file
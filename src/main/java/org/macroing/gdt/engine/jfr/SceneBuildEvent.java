@@ -0,0 +1,51 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@code SceneBuildEvent} is emitted when a {@code Scene} has been built.
+ * <p>
+ * Its duration is the time it took to build the {@code Scene}, including loading its {@code Texture}s.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@Name("org.macroing.gdt.engine.SceneBuild")
+@Label("Scene Build")
+@Category({"Dayflower", "Scene"})
+@Description("A scene that was built")
+public final class SceneBuildEvent extends Event {
+	/**
+	 * The name of the {@code Scene}.
+	 */
+	@Label("Name")
+	public String name;
+	
+	/**
+	 * The number of {@code Shape}s in the {@code Scene}.
+	 */
+	@Label("Shapes")
+	public int shapes;
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A {@code TileEvent} is emitted by a {@code Coordinator} for each tile a {@code Worker} completes.
+ * <p>
+ * Its duration is the time from when the tile was assigned until it had been merged into the {@code Film}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+@Name("org.macroing.gdt.engine.Tile")
+@Label("Tile")
+@Category({"Dayflower", "Distributed"})
+@Description("A tile completed by a worker and merged by the coordinator")
+public final class TileEvent extends Event {
+	/**
+	 * The address of the {@code Worker}.
+	 */
+	@Label("Worker")
+	public String worker;
+	
+	/**
+	 * The minimum X-coordinate of the tile, inclusive.
+	 */
+	@Label("Minimum X")
+	public int minimumX;
+	
+	/**
+	 * The minimum Y-coordinate of the tile, inclusive.
+	 */
+	@Label("Minimum Y")
+	public int minimumY;
+	
+	/**
+	 * The maximum X-coordinate of the tile, exclusive.
+	 */
+	@Label("Maximum X")
+	public int maximumX;
+	
+	/**
+	 * The maximum Y-coordinate of the tile, exclusive.
+	 */
+	@Label("Maximum Y")
+	public int maximumY;
+	
+	/**
+	 * The number of passes the tile was rendered with.
+	 */
+	@Label("Passes")
+	public int passes;
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+/**
+ * Provides the Java Flight Recorder events emitted by this engine.
+ * <p>
+ * The events are emitted from the renderers, the distributed rendering, the scenes, the configurations and the displays. Each event is created and begun unconditionally, but its fields are only assigned and it is only committed if
+ * {@code shouldCommit()} returns {@code true}. When an event is disabled, the cost is therefore limited to an allocation that escape analysis can remove.
+ * <p>
+ * The events extend {@code jdk.jfr.Event}, which is part of the Java SE API as of Java 11. This is why the engine requires Java 11.
+ */
+package org.macroing.gdt.engine.jfr;
\ No newline at end of file
@@ -18,6 +18,12 @@
  */
 package org.macroing.gdt.engine.main;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+
 import org.macroing.gdt.engine.application.Application;
 import org.macroing.gdt.engine.application.concurrent.ConcurrentApplication;
 import org.macroing.gdt.engine.camera.Camera;
@@ -25,9 +31,12 @@ import org.macroing.gdt.engine.camera.NewSimpleCamera;
 import org.macroing.gdt.engine.camera.OldSimpleCamera;
 import org.macroing.gdt.engine.camera.PerspectiveCamera;
 import org.macroing.gdt.engine.camera.SimpleCamera;
+import org.macroing.gdt.engine.configuration.Configuration;
+import org.macroing.gdt.engine.configuration.ConfigurationObserver;
 import org.macroing.gdt.engine.display.Display;
 import org.macroing.gdt.engine.display.PixelIterable;
 import org.macroing.gdt.engine.display.wicked.WickedDisplay;
+import org.macroing.gdt.engine.geometry.Matrix;
 import org.macroing.gdt.engine.geometry.Point;
 import org.macroing.gdt.engine.geometry.Scene;
 import org.macroing.gdt.engine.geometry.Transform;
@@ -37,9 +46,11 @@ import org.macroing.gdt.engine.input.KeyboardObserver;
 import org.macroing.gdt.engine.input.Mouse;
 import org.macroing.gdt.engine.input.MouseEvent;
 import org.macroing.gdt.engine.input.MouseObserver;
+import org.macroing.gdt.engine.renderer.Checkpoint;
 import org.macroing.gdt.engine.renderer.PathTracingRenderer;
 import org.macroing.gdt.engine.renderer.RayTracingRenderer;
 import org.macroing.gdt.engine.renderer.Renderer;
+import org.macroing.gdt.engine.renderer.TemporalReprojection;
 
 /**
  * A simple implementation of the {@link ConcurrentApplication} that runs the default configurations of the engine.
@@ -54,14 +65,24 @@ import org.macroing.gdt.engine.renderer.Renderer;
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
-public final class Main extends ConcurrentApplication implements KeyboardObserver, MouseObserver {
+public final class Main extends ConcurrentApplication implements ConfigurationObserver, KeyboardObserver, MouseObserver {
 	private static final CameraType CAMERA_TYPE = CameraType.SIMPLE_CAMERA;
+	private static final File CHECKPOINT_FILE = new File("Dayflower.checkpoint");
+	private static final long CHECKPOINT_INTERVAL_MILLIS = 60000L;
+	private static final String ID_CHECK_BOX_DENOISING = "CheckBox.Denoising";
+	private static final String ID_CHECK_BOX_DYNAMIC_RESOLUTION = "CheckBox.DynamicResolution";
 	private static final String ID_CHECK_BOX_REALTIME_RENDERING = "CheckBox.RealtimeRendering";
 	private static final String ID_LABEL_SAMPLES = "Label.Samples";
 	private static final String ID_LABEL_SAMPLES_PER_SECOND = "Label.SamplesPerSecond";
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private final AtomicLong checkpointTimeMillis = new AtomicLong(System.currentTimeMillis());
+	private final Checkpoint checkpoint = Checkpoint.newInstance(CHECKPOINT_FILE);
+	private final TemporalReprojection temporalReprojection = TemporalReprojection.newInstance();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
 	private Main() {
 		
 	}
@@ -78,6 +99,10 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 		doConfigureScene();
 		doConfigureSimpleCamera();
 		doConfigureDisplay();
+		doRegisterMetrics();
+		doResumeFromCheckpoint();
+		doObserveConfiguration();
+		doObserveTextures();
 	}
 	
 	@Override
@@ -109,6 +134,10 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 						Mouse mouse = Mouse.getInstance();
 						mouse.setRecentering(!mouse.isRecentering());
 						
+						break;
+					case KEY_N:
+						doToggleCheckBox(ID_CHECK_BOX_DENOISING);
+						
 						break;
 					case KEY_R:
 						final
@@ -164,10 +193,35 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 	}
 	
 	@Override
-	public void update() {
+	public void onUpdate(final Configuration configuration) {
+//		The Display has been reconfigured and rendering starts over on a new Film. The pass and the checkpoint belong to the old one.
+		final
+		Renderer renderer = getRenderer();
+		renderer.resetPass();
+		
+		doInvalidateCheckpoint();
+	}
+	
+	@Override
+	public void onUpdateOfAdaptingResolution(final Configuration configuration) {
+		
+	}
+	
+	@Override
+	public void onUpdateOfDenoising(final Configuration configuration) {
+		
+	}
+	
+	@Override
+	public void onUpdateOfSamplesPerFrame(final Configuration configuration) {
 		
 	}
 	
+	@Override
+	public void update() {
+		doSaveCheckpoint();
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	/**
@@ -222,10 +276,23 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 				
 				final Point eye = simpleCamera.getEye();
 				
-				simpleCamera.setEye(new Point(eye.getX() + x, eye.getY() + y, eye.getZ() + z));
-				simpleCamera.calculateOrthonormalBasis();
+				final Display display = getDisplay();
 				
-				doClear();
+				final PixelIterable pixelIterable = display.getPixelIterableAt(0);
+				
+//				The history is captured and reprojected while the rendering Threads are paused. Otherwise samples from the old view would be mixed into it, or overwrite it.
+				display.runWhilePaused(() -> {
+					this.temporalReprojection.capture(pixelIterable, simpleCamera);
+					
+					simpleCamera.setEye(new Point(eye.getX() + x, eye.getY() + y, eye.getZ() + z));
+					simpleCamera.calculateOrthonormalBasis();
+					
+					if(this.temporalReprojection.reproject(pixelIterable, simpleCamera)) {
+						doInvalidateCheckpoint();
+					} else {
+						doClear();
+					}
+				});
 			}
 		}
 	}
@@ -233,13 +300,17 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 	private void doClear() {
 		final Display display = getDisplay();
 		
-		for(final PixelIterable pixelIterable : display.getPixelIterables()) {
-			pixelIterable.forEach(pixel -> pixel.clear());
-		}
-		
-		final
-		Renderer renderer = getRenderer();
-		renderer.resetPass();
+		display.runWhilePaused(() -> {
+			for(final PixelIterable pixelIterable : display.getPixelIterables()) {
+				pixelIterable.forEach(pixel -> pixel.clear());
+			}
+			
+			final
+			Renderer renderer = getRenderer();
+			renderer.resetPass();
+			
+			doInvalidateCheckpoint();
+		});
 	}
 	
 	private void doConfigureCamera() {
@@ -275,6 +346,14 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 			
 			doConfigureSimpleCamera();
 		});
+		wickedDisplay.addCheckBox(ID_CHECK_BOX_DENOISING).getCheckBox(ID_CHECK_BOX_DENOISING).setLocation(10, 40).setSelected(wickedDisplay.getConfiguration().isDenoising()).setText("Denoising").setVisible(true);
+		wickedDisplay.getCheckBox(ID_CHECK_BOX_DENOISING).setOnSelectionChange(checkBox -> {
+			wickedDisplay.getConfiguration().setDenoising(wickedDisplay.getCheckBox(ID_CHECK_BOX_DENOISING).isSelected());
+		});
+		wickedDisplay.addCheckBox(ID_CHECK_BOX_DYNAMIC_RESOLUTION).getCheckBox(ID_CHECK_BOX_DYNAMIC_RESOLUTION).setLocation(10, 70).setSelected(wickedDisplay.getConfiguration().isAdaptingResolution()).setText("Dynamic resolution").setVisible(true);
+		wickedDisplay.getCheckBox(ID_CHECK_BOX_DYNAMIC_RESOLUTION).setOnSelectionChange(checkBox -> {
+			wickedDisplay.getConfiguration().setAdaptingResolution(wickedDisplay.getCheckBox(ID_CHECK_BOX_DYNAMIC_RESOLUTION).isSelected());
+		});
 //		wickedDisplay.addLabel(ID_LABEL_SAMPLES).getLabel(ID_LABEL_SAMPLES).setLocation(10, 50).setText("Samples: 0");
 //		wickedDisplay.addLabel(ID_LABEL_SAMPLES_PER_SECOND).getLabel(ID_LABEL_SAMPLES_PER_SECOND).setLocation(10, 70).setText("Samples per second: 0");
 	}
@@ -319,6 +398,65 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 		}
 	}
 	
+	private double[] doGetView() {
+		final Renderer renderer = getRenderer();
+		
+		if(renderer instanceof RayTracingRenderer) {
+			final RayTracingRenderer rayTracingRenderer = RayTracingRenderer.class.cast(renderer);
+			
+			if(CAMERA_TYPE == CameraType.CAMERA) {
+				final Camera camera = rayTracingRenderer.getCamera();
+				
+				final double[][] matrix = camera.getCameraToWorld().getMatrix().getMatrix();
+				
+				final Point origin = camera instanceof PerspectiveCamera ? PerspectiveCamera.class.cast(camera).getOrigin() : Point.zero();
+				
+				final double[] view = new double[19];
+				
+				for(int i = 0; i < 16; i++) {
+					view[i] = matrix[i / 4][i % 4];
+				}
+				
+				view[16] = origin.getX();
+				view[17] = origin.getY();
+				view[18] = origin.getZ();
+				
+				return view;
+			} else if(CAMERA_TYPE == CameraType.SIMPLE_CAMERA) {
+				final Point eye = rayTracingRenderer.getSimpleCamera().getEye();
+				
+				return new double[] {eye.getX(), eye.getY(), eye.getZ()};
+			}
+		}
+		
+		return new double[0];
+	}
+	
+	private void doInvalidateCheckpoint() {
+//		The samples in the checkpoint no longer match the image. They are deleted and checkpointing starts over from the current view, one interval from now.
+		this.checkpointTimeMillis.set(System.currentTimeMillis());
+		this.checkpoint.delete();
+	}
+	
+	private void doObserveConfiguration() {
+		final
+		Configuration configuration = getDisplay().getConfiguration();
+		configuration.addConfigurationObserver(this);
+	}
+	
+	private void doObserveTextures() {
+		final Renderer renderer = getRenderer();
+		
+		if(renderer instanceof RayTracingRenderer) {
+			final RayTracingRenderer rayTracingRenderer = RayTracingRenderer.class.cast(renderer);
+			
+//			Samples taken while a placeholder texture was in use no longer match the scene. They are cleared as soon as the texture it stands in for has been loaded.
+			final
+			Scene scene = rayTracingRenderer.getScene();
+			scene.onTextureLoad(() -> doClear());
+		}
+	}
+	
 	private void doRotateCameraAlongX(final double x) {
 		if(CAMERA_TYPE == CameraType.CAMERA) {
 			final Renderer renderer = getRenderer();
@@ -355,6 +493,98 @@ public final class Main extends ConcurrentApplication implements KeyboardObserve
 		}
 	}
 	
+	private void doRegisterMetrics() {
+		final Renderer renderer = getRenderer();
+		
+		try {
+			renderer.getMetrics().register(renderer.getClass().getSimpleName());
+		} catch(final JMException e) {
+			
+		}
+	}
+	
+	private void doResumeFromCheckpoint() {
+		final Renderer renderer = getRenderer();
+		
+		if(renderer instanceof PathTracingRenderer && !getDisplay().getConfiguration().isRenderingInRealtime()) {
+			final PathTracingRenderer pathTracingRenderer = PathTracingRenderer.class.cast(renderer);
+			
+			if(this.checkpoint.getFile().isFile()) {
+//				A checkpoint is only saved once all textures have been loaded. Waiting for them here keeps a late texture swap from clearing the samples being resumed.
+				pathTracingRenderer.getScene().awaitTextures();
+			}
+			
+			try {
+				final double[] view = doGetView();
+				
+				final int pass = this.checkpoint.load(getDisplay().getPixelIterableAt(0).getFilm(), view);
+				
+				if(pass >= 0) {
+					pathTracingRenderer.setPass(pass);
+					
+					doSetView(view);
+				}
+			} catch(final IOException e) {
+				
+			}
+		}
+	}
+	
+	private void doSaveCheckpoint() {
+		final Renderer renderer = getRenderer();
+		
+		final long currentTimeMillis = System.currentTimeMillis();
+		
+		if(renderer instanceof PathTracingRenderer && !getDisplay().getConfiguration().isRenderingInRealtime() && currentTimeMillis - this.checkpointTimeMillis.get() >= CHECKPOINT_INTERVAL_MILLIS) {
+			final PathTracingRenderer pathTracingRenderer = PathTracingRenderer.class.cast(renderer);
+			
+//			Samples taken while a placeholder texture is in use are cleared once it has been loaded. They are therefore never saved.
+			if(pathTracingRenderer.getScene().hasLoadedTextures()) {
+				this.checkpointTimeMillis.set(currentTimeMillis);
+				this.checkpoint.save(getDisplay().getPixelIterableAt(0).getFilm(), pathTracingRenderer.getPass(), doGetView());
+			}
+		}
+	}
+	
+	private void doSetView(final double[] view) {
+		final Renderer renderer = getRenderer();
+		
+		if(renderer instanceof RayTracingRenderer) {
+			final RayTracingRenderer rayTracingRenderer = RayTracingRenderer.class.cast(renderer);
+			
+			if(CAMERA_TYPE == CameraType.CAMERA) {
+				final Camera camera = rayTracingRenderer.getCamera();
+				
+				final double[][] matrix = new double[4][4];
+				
+				for(int i = 0; i < 16; i++) {
+					matrix[i / 4][i % 4] = view[i];
+				}
+				
+				final
+				Transform transform = camera.getCameraToWorld();
+				transform.set(Transform.newInstance(Matrix.newInstance(matrix)));
+				
+				if(camera instanceof PerspectiveCamera) {
+					final
+					Point point = PerspectiveCamera.class.cast(camera).getOrigin();
+					point.set(view[16], view[17], view[18]);
+				}
+			} else if(CAMERA_TYPE == CameraType.SIMPLE_CAMERA) {
+				final
+				SimpleCamera simpleCamera = rayTracingRenderer.getSimpleCamera();
+				simpleCamera.setEye(new Point(view[0], view[1], view[2]));
+				simpleCamera.calculateOrthonormalBasis();
+			}
+		}
+	}
+	
+	private void doToggleCheckBox(final String id) {
+		final
+		WickedDisplay wickedDisplay = WickedDisplay.class.cast(getDisplay());
+		wickedDisplay.getCheckBox(id).setSelected(!wickedDisplay.getCheckBox(id).isSelected());
+	}
+	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
 	private static enum CameraType {
@@ -0,0 +1,302 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A {@code Metrics} instance collects runtime metrics of a renderer.
+ * <p>
+ * The counters are {@code LongAdder}s, which are striped across {@code Thread}s. Updating them from many {@code Thread}s at once therefore does not serialize the render loop. Reading them sums the stripes, which is more expensive, but is
+ * only done when the metrics are polled.
+ * <p>
+ * A {@code Metrics} instance can be polled directly, or through JMX after a call to {@link #register(String)}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Metrics implements MetricsMXBean {
+	/**
+	 * The number of buckets in the path length histogram.
+	 */
+	public static final int PATH_LENGTH_BUCKETS = 32;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final ConcurrentMap<String, ThreadCounter> threadCounters = new ConcurrentHashMap<>();
+	private final LongAccumulator passNanosMaximum = new LongAccumulator(Math::max, 0L);
+	private final LongAdder intersectionTests = new LongAdder();
+	private final LongAdder passNanos = new LongAdder();
+	private final LongAdder passes = new LongAdder();
+	private final LongAdder primaryRays = new LongAdder();
+	private final LongAdder rouletteTerminations = new LongAdder();
+	private final LongAdder samples = new LongAdder();
+	private final LongAdder secondaryRays = new LongAdder();
+	private final LongAdder[] pathLengths = new LongAdder[PATH_LENGTH_BUCKETS];
+	private volatile long resetNanos = System.nanoTime();
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Metrics() {
+		for(int i = 0; i < this.pathLengths.length; i++) {
+			this.pathLengths[i] = new LongAdder();
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Registers this {@code Metrics} instance with the platform {@code MBeanServer} and returns its {@code ObjectName}.
+	 * <p>
+	 * The {@code ObjectName} is {@code "org.macroing.gdt.engine:type=Metrics,name="} followed by {@code name}.
+	 * <p>
+	 * If {@code name} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If the {@code ObjectName} is malformed or already registered, a {@code JMException} will be thrown.
+	 * 
+	 * @param name the name to register this {@code Metrics} instance with
+	 * @return the {@code ObjectName} of this {@code Metrics} instance
+	 * @throws JMException thrown if, and only if, the {@code ObjectName} is malformed or already registered
+	 * @throws NullPointerException thrown if, and only if, {@code name} is {@code null}
+	 */
+	public ObjectName register(final String name) throws JMException {
+		final ObjectName objectName = new ObjectName("org.macroing.gdt.engine:type=Metrics,name=" + Objects.requireNonNull(name, "name == null"));
+		
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		
+		return objectName;
+	}
+	
+	@Override
+	public double getPassDurationMillisAverage() {
+		final long passes = this.passes.sum();
+		
+		return passes > 0L ? this.passNanos.sum() / 1.0e6D / passes : 0.0D;
+	}
+	
+	@Override
+	public double getPassDurationMillisMaximum() {
+		return this.passNanosMaximum.get() / 1.0e6D;
+	}
+	
+	@Override
+	public double getRaysPerSecond() {
+		return (getPrimaryRays() + getSecondaryRays()) / doGetElapsedSeconds();
+	}
+	
+	@Override
+	public double getSamplesPerSecond() {
+		return getSamples() / doGetElapsedSeconds();
+	}
+	
+	@Override
+	public long[] getPathLengthHistogram() {
+		final long[] pathLengthHistogram = new long[this.pathLengths.length];
+		
+		for(int i = 0; i < pathLengthHistogram.length; i++) {
+			pathLengthHistogram[i] = this.pathLengths[i].sum();
+		}
+		
+		return pathLengthHistogram;
+	}
+	
+	@Override
+	public long getIntersectionTests() {
+		return this.intersectionTests.sum();
+	}
+	
+	@Override
+	public long getPasses() {
+		return this.passes.sum();
+	}
+	
+	@Override
+	public long getPrimaryRays() {
+		return this.primaryRays.sum();
+	}
+	
+	@Override
+	public long getRouletteTerminations() {
+		return this.rouletteTerminations.sum();
+	}
+	
+	@Override
+	public long getSamples() {
+		return this.samples.sum();
+	}
+	
+	@Override
+	public long getSecondaryRays() {
+		return this.secondaryRays.sum();
+	}
+	
+	@Override
+	public Map<String, Double> getSamplesPerSecondPerThread() {
+		final Map<String, Double> samplesPerSecondPerThread = new TreeMap<>();
+		
+		for(final Entry<String, ThreadCounter> entry : this.threadCounters.entrySet()) {
+			final ThreadCounter threadCounter = entry.getValue();
+			
+			final long nanos = threadCounter.nanos.sum();
+			
+			samplesPerSecondPerThread.put(entry.getKey(), Double.valueOf(nanos > 0L ? threadCounter.samples.sum() / (nanos / 1.0e9D) : 0.0D));
+		}
+		
+		return samplesPerSecondPerThread;
+	}
+	
+	/**
+	 * Adds {@code intersectionTests} ray-shape intersection tests.
+	 * 
+	 * @param intersectionTests the number of ray-shape intersection tests to add
+	 */
+	public void addIntersectionTests(final long intersectionTests) {
+		this.intersectionTests.add(intersectionTests);
+	}
+	
+	/**
+	 * Adds a pass that lasted {@code nanos} nanoseconds.
+	 * 
+	 * @param nanos the duration of the pass in nanoseconds
+	 */
+	public void addPass(final long nanos) {
+		this.passes.increment();
+		this.passNanos.add(nanos);
+		this.passNanosMaximum.accumulate(nanos);
+	}
+	
+	/**
+	 * Adds a path consisting of {@code length} rays to the path length histogram.
+	 * 
+	 * @param length the number of rays of the path
+	 */
+	public void addPathLength(final int length) {
+		this.pathLengths[Math.min(Math.max(length - 1, 0), this.pathLengths.length - 1)].increment();
+	}
+	
+	/**
+	 * Adds a ray with a depth of {@code depth}.
+	 * <p>
+	 * A ray with a depth of {@code 0} is counted as a primary ray. All other rays are counted as secondary rays.
+	 * 
+	 * @param depth the depth of the ray
+	 */
+	public void addRay(final int depth) {
+		if(depth == 0) {
+			this.primaryRays.increment();
+		} else {
+			this.secondaryRays.increment();
+		}
+	}
+	
+	/**
+	 * Adds a path terminated by Russian roulette.
+	 */
+	public void addRouletteTermination() {
+		this.rouletteTerminations.increment();
+	}
+	
+	/**
+	 * Adds {@code samples} samples rendered by the current {@code Thread} in {@code nanos} nanoseconds.
+	 * <p>
+	 * The nanoseconds are the time the current {@code Thread} was busy rendering the samples, such as the duration of a pass. The samples per second of a {@code Thread} are computed from its busy time, so a {@code Thread} that started late or
+	 * was idle in between is not reported as slower than it is.
+	 * <p>
+	 * This method looks up the counters of the current {@code Thread} by its name, so it should be called once per batch of samples rather than once per sample.
+	 * 
+	 * @param samples the number of samples to add
+	 * @param nanos the number of nanoseconds it took to render the samples
+	 */
+	public void addSamples(final long samples, final long nanos) {
+		final
+		ThreadCounter threadCounter = this.threadCounters.computeIfAbsent(Thread.currentThread().getName(), name -> new ThreadCounter());
+		threadCounter.samples.add(samples);
+		threadCounter.nanos.add(nanos);
+		
+		this.samples.add(samples);
+	}
+	
+	@Override
+	public void reset() {
+		for(final LongAdder pathLength : this.pathLengths) {
+			pathLength.reset();
+		}
+		
+		this.threadCounters.clear();
+		this.passNanosMaximum.reset();
+		this.intersectionTests.reset();
+		this.passNanos.reset();
+		this.passes.reset();
+		this.primaryRays.reset();
+		this.rouletteTerminations.reset();
+		this.samples.reset();
+		this.secondaryRays.reset();
+		this.resetNanos = System.nanoTime();
+	}
+	
+	/**
+	 * Unregisters the {@code Metrics} instance registered with {@code objectName} from the platform {@code MBeanServer}.
+	 * <p>
+	 * If {@code objectName} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If no {@code Metrics} instance is registered with {@code objectName}, a {@code JMException} will be thrown.
+	 * 
+	 * @param objectName the {@code ObjectName} returned by {@link #register(String)}
+	 * @throws JMException thrown if, and only if, no {@code Metrics} instance is registered with {@code objectName}
+	 * @throws NullPointerException thrown if, and only if, {@code objectName} is {@code null}
+	 */
+	public void unregister(final ObjectName objectName) throws JMException {
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(Objects.requireNonNull(objectName, "objectName == null"));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code Metrics} instance.
+	 * 
+	 * @return a new {@code Metrics} instance
+	 */
+	public static Metrics newInstance() {
+		return new Metrics();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private double doGetElapsedSeconds() {
+		return Math.max(System.nanoTime() - this.resetNanos, 1L) / 1.0e9D;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final class ThreadCounter {
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder samples = new LongAdder();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.metrics;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link Metrics}, used when it's registered with JMX.
+ * <p>
+ * All attributes are read-only, except for the {@code reset()} operation.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public interface MetricsMXBean {
+	/**
+	 * Returns the average duration of a pass in milliseconds.
+	 * 
+	 * @return the average duration of a pass in milliseconds
+	 */
+	double getPassDurationMillisAverage();
+	
+	/**
+	 * Returns the maximum duration of a pass in milliseconds.
+	 * 
+	 * @return the maximum duration of a pass in milliseconds
+	 */
+	double getPassDurationMillisMaximum();
+	
+	/**
+	 * Returns the number of rays per second since the last reset.
+	 * 
+	 * @return the number of rays per second since the last reset
+	 */
+	double getRaysPerSecond();
+	
+	/**
+	 * Returns the number of samples per second since the last reset.
+	 * 
+	 * @return the number of samples per second since the last reset
+	 */
+	double getSamplesPerSecond();
+	
+	/**
+	 * Returns the number of paths of each length.
+	 * <p>
+	 * The element at index {@code i} is the number of paths consisting of {@code i + 1} rays. The last element also counts all longer paths.
+	 * 
+	 * @return the number of paths of each length
+	 */
+	long[] getPathLengthHistogram();
+	
+	/**
+	 * Returns the number of ray-shape intersection tests.
+	 * 
+	 * @return the number of ray-shape intersection tests
+	 */
+	long getIntersectionTests();
+	
+	/**
+	 * Returns the number of passes.
+	 * 
+	 * @return the number of passes
+	 */
+	long getPasses();
+	
+	/**
+	 * Returns the number of primary rays.
+	 * 
+	 * @return the number of primary rays
+	 */
+	long getPrimaryRays();
+	
+	/**
+	 * Returns the number of paths terminated by Russian roulette.
+	 * 
+	 * @return the number of paths terminated by Russian roulette
+	 */
+	long getRouletteTerminations();
+	
+	/**
+	 * Returns the number of samples.
+	 * 
+	 * @return the number of samples
+	 */
+	long getSamples();
+	
+	/**
+	 * Returns the number of secondary rays.
+	 * 
+	 * @return the number of secondary rays
+	 */
+	long getSecondaryRays();
+	
+	/**
+	 * Returns a {@code Map} with the number of samples per second since the last reset for each {@code Thread}, keyed by its name.
+	 * <p>
+	 * The samples of each {@code Thread} are divided by the time it was busy rendering them, rather than by the time since the last reset.
+	 * 
+	 * @return a {@code Map} with the number of samples per second since the last reset for each {@code Thread}, keyed by its name
+	 */
+	Map<String, Double> getSamplesPerSecondPerThread();
+	
+	/**
+	 * Resets all metrics.
+	 */
+	void reset();
+}
\ No newline at end of file
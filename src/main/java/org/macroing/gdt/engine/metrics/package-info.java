@@ -0,0 +1,6 @@
+/**
+ * Provides runtime metrics for the renderers.
+ * <p>
+ * A {@link Metrics} instance counts rays, intersection tests, path lengths, terminations, samples and passes, and it can be exposed through JMX as a {@link MetricsMXBean}.
+ */
+package org.macroing.gdt.engine.metrics;
\ No newline at end of file
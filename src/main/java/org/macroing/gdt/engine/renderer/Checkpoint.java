@@ -0,0 +1,315 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.renderer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.Pixel;
+
+/**
+ * A {@code Checkpoint} saves and loads the accumulated state of a progressive render to and from a compact binary file.
+ * <p>
+ * The file contains a small header, consisting of a magic number, a version, the width and height of the {@link Film}, the pass of the {@link Renderer} and the view, followed by the state of each {@link Pixel}, as written by
+ * {@code Pixel.write(ByteBuffer)}. The state of a {@code Pixel} includes its weighted sums, its sub-sample count and its features.
+ * <p>
+ * The view is an array of {@code double}s defined by the caller, such as the position and orientation of the camera. The samples are only valid for the view they were rendered from, so the view has to be restored together with them. If
+ * the view changes, the samples in the file become stale. Call {@link #delete()} at that point, before saving again.
+ * <p>
+ * Saving is performed on a background {@code Thread}, through a memory-mapped {@code FileChannel}. The state is first written to a temporary file, which then replaces the previous file. A crash while saving therefore leaves the previous file
+ * intact. Rendering may continue while saving.
+ * <p>
+ * The state of the {@code PRNG} is not part of the file. The {@code PRNG}s provided by this engine are either unseedable or shared between {@code Thread}s, so their state cannot be captured consistently. Instead the pass is restored, which is
+ * what the sample patterns depend on.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Checkpoint {
+	private static final int HEADER_BYTES = 6 * Integer.BYTES;
+	private static final int MAGIC = 0x44464350;
+	private static final int VERSION = 2;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicReference<Future<Void>> future = new AtomicReference<>(CompletableFuture.completedFuture(null));
+	private final ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+		final
+		Thread thread = new Thread(runnable, "Checkpoint");
+		thread.setDaemon(true);
+		
+		return thread;
+	});
+	private final File file;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Checkpoint(final File file) {
+		this.file = Objects.requireNonNull(file, "file == null");
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Deletes the file of this {@code Checkpoint} on the background {@code Thread} that saves it.
+	 * <p>
+	 * Returns a {@code Future} that completes when the file has been deleted. If an I/O-error occurs, the {@code Future} completes exceptionally.
+	 * <p>
+	 * The file is deleted after any save in progress has completed, so a save that was started before this method was called cannot restore it.
+	 * 
+	 * @return a {@code Future} that completes when the file has been deleted
+	 */
+	public synchronized Future<Void> delete() {
+		final Future<Void> future = this.executorService.submit(() -> {
+			Files.deleteIfExists(this.file.toPath());
+			
+			return null;
+		});
+		
+		this.future.set(future);
+		
+		return future;
+	}
+	
+	/**
+	 * Returns the file of this {@code Checkpoint} instance.
+	 * 
+	 * @return the file of this {@code Checkpoint} instance
+	 */
+	public File getFile() {
+		return this.file;
+	}
+	
+	/**
+	 * Saves the state of {@code film} and {@code pass} to the file of this {@code Checkpoint} on a background {@code Thread}.
+	 * <p>
+	 * Calling this method is equivalent to calling {@code save(film, pass, new double[0])}.
+	 * <p>
+	 * If {@code film} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to save
+	 * @param pass the current pass of the {@link Renderer}
+	 * @return a {@code Future} that completes when the file has been written
+	 * @throws NullPointerException thrown if, and only if, {@code film} is {@code null}
+	 */
+	public Future<Void> save(final Film film, final int pass) {
+		return save(film, pass, new double[0]);
+	}
+	
+	/**
+	 * Saves the state of {@code film}, {@code pass} and {@code view} to the file of this {@code Checkpoint} on a background {@code Thread}.
+	 * <p>
+	 * Returns a {@code Future} that completes when the file has been written. If an I/O-error occurs, the {@code Future} completes exceptionally.
+	 * <p>
+	 * If a previous save has not yet completed, no new save is started and the {@code Future} of the previous save is returned.
+	 * <p>
+	 * The array {@code view} is copied before this method returns.
+	 * <p>
+	 * If either {@code film} or {@code view} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to save
+	 * @param pass the current pass of the {@link Renderer}
+	 * @param view the view that {@code film} was rendered from
+	 * @return a {@code Future} that completes when the file has been written
+	 * @throws NullPointerException thrown if, and only if, either {@code film} or {@code view} are {@code null}
+	 */
+	public synchronized Future<Void> save(final Film film, final int pass, final double[] view) {
+		Objects.requireNonNull(film, "film == null");
+		
+		final double[] viewCopy = Objects.requireNonNull(view, "view == null").clone();
+		
+		final Future<Void> future = this.future.get();
+		
+		if(!future.isDone()) {
+			return future;
+		}
+		
+		final Future<Void> newFuture = this.executorService.submit(() -> {
+			doSave(film, pass, viewCopy);
+			
+			return null;
+		});
+		
+		this.future.set(newFuture);
+		
+		return newFuture;
+	}
+	
+	/**
+	 * Loads the state of the file of this {@code Checkpoint} into {@code film}.
+	 * <p>
+	 * Calling this method is equivalent to calling {@code load(film, new double[0])}.
+	 * <p>
+	 * If {@code film} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or the file is not a valid checkpoint, an {@code IOException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to load into
+	 * @return the pass that was saved, or {@code -1} if the file does not exist or was saved from a {@code Film} of different dimensions or with a view of a different length
+	 * @throws IOException thrown if, and only if, an I/O-error occurs, or the file is not a valid checkpoint
+	 * @throws NullPointerException thrown if, and only if, {@code film} is {@code null}
+	 */
+	public int load(final Film film) throws IOException {
+		return load(film, new double[0]);
+	}
+	
+	/**
+	 * Loads the state of the file of this {@code Checkpoint} into {@code film} and {@code view}.
+	 * <p>
+	 * Returns the pass that was saved, or {@code -1} if the file does not exist or was saved from a {@link Film} of different dimensions or with a view of a length other than {@code view.length}. In the latter cases both {@code film} and
+	 * {@code view} are left untouched. Otherwise the saved view is copied into {@code view}, and has to be restored by the caller.
+	 * <p>
+	 * This method should only be called while no samples are added to {@code film}.
+	 * <p>
+	 * If either {@code film} or {@code view} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or the file is not a valid checkpoint, an {@code IOException} will be thrown.
+	 * 
+	 * @param film the {@code Film} to load into
+	 * @param view the array to load the view into
+	 * @return the pass that was saved, or {@code -1} if the file does not exist or was saved from a {@code Film} of different dimensions or with a view of a different length
+	 * @throws IOException thrown if, and only if, an I/O-error occurs, or the file is not a valid checkpoint
+	 * @throws NullPointerException thrown if, and only if, either {@code film} or {@code view} are {@code null}
+	 */
+	public int load(final Film film, final double[] view) throws IOException {
+		Objects.requireNonNull(film, "film == null");
+		Objects.requireNonNull(view, "view == null");
+		
+		if(!this.file.isFile()) {
+			return -1;
+		}
+		
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		
+		try(final FileChannel fileChannel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+			if(fileChannel.size() < HEADER_BYTES) {
+				throw new IOException(String.format("Invalid checkpoint: %s", this.file));
+			}
+			
+			final MappedByteBuffer mappedByteBuffer = fileChannel.map(MapMode.READ_ONLY, 0L, fileChannel.size());
+			
+			if(mappedByteBuffer.getInt() != MAGIC || mappedByteBuffer.getInt() != VERSION) {
+				throw new IOException(String.format("Invalid checkpoint: %s", this.file));
+			}
+			
+			if(mappedByteBuffer.getInt() != width || mappedByteBuffer.getInt() != height) {
+				return -1;
+			}
+			
+			final int pass = mappedByteBuffer.getInt();
+			final int viewLength = mappedByteBuffer.getInt();
+			
+			if(pass < 0 || viewLength < 0 || mappedByteBuffer.remaining() != (long)(viewLength) * Double.BYTES + (long)(width) * height * Pixel.BYTES) {
+				throw new IOException(String.format("Invalid checkpoint: %s", this.file));
+			}
+			
+			if(viewLength != view.length) {
+				return -1;
+			}
+			
+			for(int i = 0; i < viewLength; i++) {
+				view[i] = mappedByteBuffer.getDouble();
+			}
+			
+			for(int y = 0; y < height; y++) {
+				for(int x = 0; x < width; x++) {
+					final
+					Pixel pixel = film.getPixel(x, y);
+					pixel.read(mappedByteBuffer);
+				}
+			}
+			
+			return pass;
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code Checkpoint} instance that saves to and loads from {@code file}.
+	 * <p>
+	 * If {@code file} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param file the file to save to and load from
+	 * @return a new {@code Checkpoint} instance that saves to and loads from {@code file}
+	 * @throws NullPointerException thrown if, and only if, {@code file} is {@code null}
+	 */
+	public static Checkpoint newInstance(final File file) {
+		return new Checkpoint(file);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doSave(final Film film, final int pass, final double[] view) throws IOException {
+		final int width = film.getWidth();
+		final int height = film.getHeight();
+		
+		final long size = HEADER_BYTES + (long)(view.length) * Double.BYTES + (long)(width) * height * Pixel.BYTES;
+		
+		final Path path = this.file.toPath().toAbsolutePath();
+		final Path pathTemporary = path.resolveSibling(path.getFileName() + ".tmp");
+		
+		try(final FileChannel fileChannel = FileChannel.open(pathTemporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final
+			MappedByteBuffer mappedByteBuffer = fileChannel.map(MapMode.READ_WRITE, 0L, size);
+			mappedByteBuffer.putInt(MAGIC);
+			mappedByteBuffer.putInt(VERSION);
+			mappedByteBuffer.putInt(width);
+			mappedByteBuffer.putInt(height);
+			mappedByteBuffer.putInt(pass);
+			mappedByteBuffer.putInt(view.length);
+			
+			for(final double value : view) {
+				mappedByteBuffer.putDouble(value);
+			}
+			
+			for(int y = 0; y < height; y++) {
+				for(int x = 0; x < width; x++) {
+					final
+					Pixel pixel = film.getPixel(x, y);
+					pixel.write(mappedByteBuffer);
+				}
+			}
+			
+			mappedByteBuffer.force();
+		}
+		
+		try {
+			Files.move(pathTemporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(final AtomicMoveNotSupportedException e) {
+			Files.move(pathTemporary, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
\ No newline at end of file
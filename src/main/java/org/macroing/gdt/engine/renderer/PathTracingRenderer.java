@@ -25,38 +25,63 @@ import java.util.function.BooleanSupplier;
 
 import org.macroing.gdt.engine.camera.Camera;
 import org.macroing.gdt.engine.camera.SimpleCamera;
+import org.macroing.gdt.engine.display.AOV;
+import org.macroing.gdt.engine.display.Film;
 import org.macroing.gdt.engine.display.Pixel;
 import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.display.Resolver;
 import org.macroing.gdt.engine.filter.Filter;
+import org.macroing.gdt.engine.filter.FilterTable;
 import org.macroing.gdt.engine.filter.MitchellFilter;
 import org.macroing.gdt.engine.geometry.Constants;
 import org.macroing.gdt.engine.geometry.Intersection;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.RGBSpectrum;
 import org.macroing.gdt.engine.geometry.Ray;
 import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.geometry.Shape;
 import org.macroing.gdt.engine.geometry.Spectrum;
+import org.macroing.gdt.engine.geometry.Texture;
+import org.macroing.gdt.engine.geometry.Vector;
+import org.macroing.gdt.engine.jfr.PassEvent;
+import org.macroing.gdt.engine.metrics.Metrics;
 import org.macroing.gdt.engine.sampler.Sample;
+import org.macroing.gdt.engine.util.CounterBasedPRNG;
 import org.macroing.gdt.engine.util.PRNG;
+import org.macroing.gdt.engine.util.Ranges;
 
 /**
  * A concrete implementation of the {@link RayTracingRenderer} that implements the Path Tracing rendering algorithm.
+ * <p>
+ * Each sample is splatted to all {@link Pixel}s within the extent of the assigned {@link Filter}, weighted by a precomputed {@link FilterTable}. By default a {@link MitchellFilter} is assigned.
+ * <p>
+ * After the {@code Pixel}s have been cleared, the image is refined progressively by default. At first only every eighth {@code Pixel} along the X- and Y-axes is sampled, then every fourth, every second and finally all of them. A
+ * {@code Pixel} is not sampled until the {@code Pixel} it refines, its parent, is more than one pass ahead of it. Until then, the {@link Resolver} presents the {@code Pixel} with the color of its closest sampled ancestor.
+ * <p>
+ * If rendering deterministically, the assigned {@link PRNG} is not used. Instead each sample takes its random numbers from a {@link CounterBasedPRNG}, keyed by the index of its {@code Pixel} and its index within that {@code Pixel}. Together
+ * with the order-independent accumulation of the {@code Pixel}s, this makes the image a function of the number of samples per {@code Pixel} only, regardless of the number of {@code Thread}s or how they were scheduled. As the {@code Pixel}s
+ * sampled by progressive refinement depend on the progress of the other {@code Thread}s, progressive refinement is not used while rendering deterministically.
  * 
  * @since 1.0.0
  * @author J&#246;rgen Lundgren
  */
 public final class PathTracingRenderer extends RayTracingRenderer {
-	private static final double SAMPLES_PER_THREAD_RECIPROCAL = 1.0D / Runtime.getRuntime().availableProcessors();
 	private static final int SAMPLE_FILTER_X = 2;
 	private static final int SAMPLE_FILTER_Y = 2;
 	private static final int SAMPLES = 1;
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	private final AtomicBoolean isCapturingAOVs = new AtomicBoolean(true);
+	private final AtomicBoolean isDeterministic = new AtomicBoolean();
+	private final AtomicBoolean isPrintingSamples = new AtomicBoolean(true);
+	private final AtomicBoolean isRefiningProgressively = new AtomicBoolean(true);
 	private final AtomicBoolean isUsingSimpleCamera = new AtomicBoolean(true);
 	private final AtomicInteger pass = new AtomicInteger();
 	private final AtomicLong elapsedTimeMillis = new AtomicLong();
 	private final AtomicLong initialTimeMillis = new AtomicLong();
 	private final AtomicLong samples = new AtomicLong();
-	private final Filter filter = MitchellFilter.newInstance();
+	private volatile FilterTable filterTable = FilterTable.newInstance(MitchellFilter.newInstance());
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
@@ -64,10 +89,88 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 		doReset();
 	}
 	
+	/**
+	 * Returns {@code true} if, and only if, the features of the primary hits are captured into each {@link Pixel}, {@code false} otherwise.
+	 * <p>
+	 * By default the features are captured.
+	 * 
+	 * @return {@code true} if, and only if, the features of the primary hits are captured into each {@code Pixel}, {@code false} otherwise
+	 */
+	public boolean isCapturingAOVs() {
+		return this.isCapturingAOVs.get();
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, the image is rendered deterministically, {@code false} otherwise.
+	 * <p>
+	 * By default the image is not rendered deterministically.
+	 * <p>
+	 * When the image is rendered deterministically, rendering waits for all {@link Texture}s of the {@link Scene} to be loaded, such that no placeholders are rendered.
+	 * 
+	 * @return {@code true} if, and only if, the image is rendered deterministically, {@code false} otherwise
+	 */
+	public boolean isDeterministic() {
+		return this.isDeterministic.get();
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, the number of samples and the number of samples per second are printed to {@code System.out} after each call to {@code render(PixelIterable, RendererObserver, BooleanSupplier)}, {@code false}
+	 * otherwise.
+	 * <p>
+	 * By default they are printed.
+	 * 
+	 * @return {@code true} if, and only if, the number of samples and the number of samples per second are printed, {@code false} otherwise
+	 */
+	public boolean isPrintingSamples() {
+		return this.isPrintingSamples.get();
+	}
+	
+	/**
+	 * Returns {@code true} if, and only if, the image is refined progressively after the {@link Pixel}s have been cleared, {@code false} otherwise.
+	 * <p>
+	 * By default the image is refined progressively.
+	 * 
+	 * @return {@code true} if, and only if, the image is refined progressively after the {@code Pixel}s have been cleared, {@code false} otherwise
+	 */
+	public boolean isRefiningProgressively() {
+		return this.isRefiningProgressively.get();
+	}
+	
 	public boolean isUsingSimpleCamera() {
 		return this.isUsingSimpleCamera.get();
 	}
 	
+	/**
+	 * Returns the {@link Filter} currently assigned to this {@code PathTracingRenderer} instance.
+	 * <p>
+	 * By default a {@link MitchellFilter} is assigned.
+	 * 
+	 * @return the {@code Filter} currently assigned to this {@code PathTracingRenderer} instance
+	 */
+	public Filter getFilter() {
+		return this.filterTable.getFilter();
+	}
+	
+	/**
+	 * Returns the current pass.
+	 * <p>
+	 * The pass is incremented once per call to {@code render(PixelIterable, RendererObserver, BooleanSupplier)}.
+	 * 
+	 * @return the current pass
+	 */
+	public int getPass() {
+		return this.pass.get();
+	}
+	
+	/**
+	 * Returns the number of samples rendered by all {@code Thread}s since rendering was last reset.
+	 * 
+	 * @return the number of samples rendered by all {@code Thread}s since rendering was last reset
+	 */
+	public long getSamples() {
+		return this.samples.get();
+	}
+	
 	/**
 	 * Called when it's time to render.
 	 * <p>
@@ -86,9 +189,35 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 	 */
 	@Override
 	public void render(final PixelIterable pixelIterable, final RendererObserver rendererObserver, final BooleanSupplier booleanSupplier) {
-		doRenderUsingCamera(pixelIterable, rendererObserver, booleanSupplier);
-		doRenderUsingSimpleCamera(pixelIterable, rendererObserver, booleanSupplier);
-		doUpdateSamples();
+		final PassEvent passEvent = new PassEvent();
+		
+		passEvent.begin();
+		
+		final int pass = getPass();
+		
+		final long nanoTime = System.nanoTime();
+		
+		if(isDeterministic()) {
+			getScene().awaitTextures();
+		}
+		
+		final long samples0 = doRenderUsingCamera(pixelIterable, rendererObserver, booleanSupplier);
+		final long samples1 = doRenderUsingSimpleCamera(pixelIterable, rendererObserver, booleanSupplier);
+		
+		final long nanos = System.nanoTime() - nanoTime;
+		
+		final
+		Metrics metrics = getMetrics();
+		metrics.addPass(nanos);
+		metrics.addSamples(samples0 + samples1, nanos);
+		
+		doUpdateSamples(samples0 + samples1);
+		
+		if(passEvent.shouldCommit()) {
+			passEvent.pass = pass;
+			passEvent.samples = samples0 + samples1;
+			passEvent.commit();
+		}
 	}
 	
 	@Override
@@ -96,6 +225,72 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 		this.pass.set(0);
 	}
 	
+	/**
+	 * Sets the current pass.
+	 * <p>
+	 * This is mainly useful when resuming a progressive render, such as from a {@link Checkpoint}.
+	 * <p>
+	 * If {@code pass} is less than {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param pass the new pass
+	 * @throws IllegalArgumentException thrown if, and only if, {@code pass} is less than {@code 0}
+	 */
+	public void setPass(final int pass) {
+		this.pass.set(Ranges.requireRange(pass, 0, Integer.MAX_VALUE));
+	}
+	
+	/**
+	 * Sets a new {@link Filter} for this {@code PathTracingRenderer} instance.
+	 * <p>
+	 * The weights of {@code filter} will be precomputed into a {@link FilterTable}, so the choice of {@code Filter} does not affect the cost of splatting a sample.
+	 * <p>
+	 * If {@code filter} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param filter the new {@code Filter}
+	 * @throws NullPointerException thrown if, and only if, {@code filter} is {@code null}
+	 */
+	public void setFilter(final Filter filter) {
+		this.filterTable = FilterTable.newInstance(filter);
+	}
+	
+	/**
+	 * Sets whether the features of the primary hits should be captured into each {@link Pixel}.
+	 * <p>
+	 * The features are used by the {@link AOV}s and for denoising. Capturing them costs little, as the primary hit is already known.
+	 * 
+	 * @param isCapturingAOVs {@code true} if, and only if, the features of the primary hits should be captured, {@code false} otherwise
+	 */
+	public void setCapturingAOVs(final boolean isCapturingAOVs) {
+		this.isCapturingAOVs.set(isCapturingAOVs);
+	}
+	
+	/**
+	 * Sets whether the image should be rendered deterministically.
+	 * 
+	 * @param isDeterministic {@code true} if, and only if, the image should be rendered deterministically, {@code false} otherwise
+	 */
+	public void setDeterministic(final boolean isDeterministic) {
+		this.isDeterministic.set(isDeterministic);
+	}
+	
+	/**
+	 * Sets whether the number of samples and the number of samples per second should be printed to {@code System.out} after each call to {@code render(PixelIterable, RendererObserver, BooleanSupplier)}.
+	 * 
+	 * @param isPrintingSamples {@code true} if, and only if, the number of samples and the number of samples per second should be printed, {@code false} otherwise
+	 */
+	public void setPrintingSamples(final boolean isPrintingSamples) {
+		this.isPrintingSamples.set(isPrintingSamples);
+	}
+	
+	/**
+	 * Sets whether the image should be refined progressively after the {@link Pixel}s have been cleared.
+	 * 
+	 * @param isRefiningProgressively {@code true} if, and only if, the image should be refined progressively, {@code false} otherwise
+	 */
+	public void setRefiningProgressively(final boolean isRefiningProgressively) {
+		this.isRefiningProgressively.set(isRefiningProgressively);
+	}
+	
 	public void setUsingSimpleCamera(final boolean isUsingSimpleCamera) {
 		this.isUsingSimpleCamera.set(isUsingSimpleCamera);
 	}
@@ -113,17 +308,19 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
-	private void doRenderUsingCamera(final PixelIterable pixelIterable, final RendererObserver rendererObserver, final BooleanSupplier booleanSupplier) {
+	private long doRenderUsingCamera(final PixelIterable pixelIterable, final RendererObserver rendererObserver, final BooleanSupplier booleanSupplier) {
 		if(!isUsingSimpleCamera()) {
-			final int widthScaled = pixelIterable.getWidthScaled();
-			final int heightScaled = pixelIterable.getHeightScaled();
+			final Camera camera = getCamera();
 			
-			final double widthScaledReciprocal = 1.0D / widthScaled;
-			final double heightScaledReciprocal = 1.0D / heightScaled;
+			final Film film = pixelIterable.getFilm();
 			
-			final Camera camera = getCamera();
+			final FilterTable filterTable = this.filterTable;
 			
-			final PRNG pRNG = getPRNG();
+			final boolean isDeterministic = isDeterministic();
+			
+			final CounterBasedPRNG counterBasedPRNG = isDeterministic ? CounterBasedPRNG.newInstance() : null;
+			
+			final PRNG pRNG = isDeterministic ? counterBasedPRNG : getPRNG();
 			
 			final Scene scene = getScene();
 			
@@ -131,13 +328,26 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 			Intersection intersection = Intersection.newInstance();
 			intersection.setScene(scene);
 			
+			final Spectrum spectrum = RGBSpectrum.black();
+			
+			final boolean isCapturingAOVs = isCapturingAOVs();
+			final boolean isRefiningProgressively = isRefiningProgressively() && !isDeterministic;
+			
+			film.setRefiningProgressively(isRefiningProgressively);
+			
 			final int pass = this.pass.getAndIncrement();
 			
+			long samples = 0L;
+			
 			for(final Pixel pixel : pixelIterable) {
 				if(booleanSupplier.getAsBoolean()) {
 					doReset();
 					
-					return;
+					return 0L;
+				}
+				
+				if(isRefiningProgressively && !doIsRefinable(film, pixel, SAMPLE_FILTER_X * SAMPLE_FILTER_Y * SAMPLES)) {
+					continue;
 				}
 				
 				final int x = pixel.getX();
@@ -145,43 +355,65 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 				
 				final
 				Sample sample = Sample.newInstance();
-				sample.setX(x);
+				sample.setX(x + 1);
 				sample.setY(y);
 				
+				final Ray rayX = camera.newRay(sample);
+				
+				sample.setX(x);
+				sample.setY(y + 1);
+				
+				final Ray rayY = camera.newRay(sample);
+				
+				intersection.getRayDifferential().setDifferentials(rayX, rayY);
+				
 				for(int sampleY = 0; sampleY < SAMPLE_FILTER_Y; sampleY++) {
 					for(int sampleX = 0; sampleX < SAMPLE_FILTER_X; sampleX++) {
 						for(int sample0 = 0; sample0 < SAMPLES; sample0++) {
-							final double randomX = 2.0D * pRNG.nextDouble();//[0.0D, 2.0D)
-							final double randomY = 2.0D * pRNG.nextDouble();//[0.0D, 2.0D)
+							if(isDeterministic) {
+								counterBasedPRNG.setKey(pixel.getIndex(), pixel.getSubSamples());
+							}
 							
-							final double dx = randomX < 1.0D ? Math.sqrt(randomX) - 1.0D : 1.0D -Math.sqrt(2.0D - randomX);//this.filter.evaluate(randomX, randomX);
-							final double dy = randomY < 1.0D ? Math.sqrt(randomY) - 1.0D : 1.0D -Math.sqrt(2.0D - randomY);//this.filter.evaluate(randomY, randomY);
+//							Stratify the samples within the pixel. The filter is applied when the sample is splatted to the film, so the ray has to pass through the same image point.
+							final double imageX = x + (sampleX + pRNG.nextDouble()) / SAMPLE_FILTER_X;
+							final double imageY = y + (sampleY + pRNG.nextDouble()) / SAMPLE_FILTER_Y;
 							
-							final double u = ((sampleX + 0.5D + dx) * 0.5D + x) * widthScaledReciprocal - 0.5D;
-							final double v = ((sampleY + 0.5D + dy) * 0.5D + y) * heightScaledReciprocal - 0.5D;
-							
-							sample.setU(u);
-							sample.setV(v);
+							sample.setX(imageX);
+							sample.setY(imageY);
+							sample.setU(pRNG.nextDouble());
+							sample.setV(pRNG.nextDouble());
 							
 							final Ray ray = camera.newRay(sample);
 							
 							intersection.setDistance(Constants.INFINITY);
 							intersection.setRay(ray);
+							intersection.resetPrimaryHit();
+							
+							scene.radiance(pass, intersection, pRNG, spectrum);
 							
-							final Spectrum spectrum = scene.radiance(pass, intersection, pRNG);
+							if(isCapturingAOVs) {
+								doAddFeatures(pixel, intersection);
+							}
 							
 							pixel.addSubSamples(1);
-							pixel.getRGBSpectrum().add(spectrum);
+							
+							film.addSample(imageX, imageY, spectrum, filterTable);
+							
+							samples++;
 						}
 					}
 				}
 				
 				rendererObserver.update(pixel);
 			}
+			
+			return samples;
 		}
+		
+		return 0L;
 	}
 	
-	private void doRenderUsingSimpleCamera(final PixelIterable pixelIterable, final RendererObserver rendererObserver, final BooleanSupplier booleanSupplier) {
+	private long doRenderUsingSimpleCamera(final PixelIterable pixelIterable, final RendererObserver rendererObserver, final BooleanSupplier booleanSupplier) {
 		if(isUsingSimpleCamera()) {
 			final int width = pixelIterable.getWidth();
 			final int height = pixelIterable.getHeight();
@@ -193,7 +425,19 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 			
 			final SimpleCamera simpleCamera = getSimpleCamera();
 			
-			final PRNG pRNG = getPRNG();
+			final Ray ray = new Ray(0, Point.zero(), Vector.zero());
+			final Ray rayX = new Ray(0, Point.zero(), Vector.zero());
+			final Ray rayY = new Ray(0, Point.zero(), Vector.zero());
+			
+			final Film film = pixelIterable.getFilm();
+			
+			final FilterTable filterTable = this.filterTable;
+			
+			final boolean isDeterministic = isDeterministic();
+			
+			final CounterBasedPRNG counterBasedPRNG = isDeterministic ? CounterBasedPRNG.newInstance() : null;
+			
+			final PRNG pRNG = isDeterministic ? counterBasedPRNG : getPRNG();
 			
 			final Scene scene = getScene();
 			
@@ -201,40 +445,70 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 			Intersection intersection = Intersection.newInstance();
 			intersection.setScene(scene);
 			
+			final Spectrum spectrum = RGBSpectrum.black();
+			
+			final boolean isCapturingAOVs = isCapturingAOVs();
+			final boolean isRefiningProgressively = isRefiningProgressively() && !isDeterministic;
+			
+			film.setRefiningProgressively(isRefiningProgressively);
+			
 			final int pass = this.pass.getAndIncrement();
 			
+			long samples = 0L;
+			
 			for(final Pixel pixel : pixelIterable) {
 				if(booleanSupplier.getAsBoolean()) {
 					doReset();
 					
-					return;
+					return 0L;
+				}
+				
+				if(isRefiningProgressively && !doIsRefinable(film, pixel, 1)) {
+					continue;
+				}
+				
+				if(isDeterministic) {
+					counterBasedPRNG.setKey(pixel.getIndex(), pixel.getSubSamples());
 				}
 				
 				final int x = pixel.getX();
 				final int y = pixel.getY();
 				
-				final double randomX = 2.0D * pRNG.nextDouble();//[0.0D, 2.0D)
-				final double randomY = 2.0D * pRNG.nextDouble();//[0.0D, 2.0D)
+				final double imageX = x + pRNG.nextDouble();
+				final double imageY = y + pRNG.nextDouble();
 				
-				final double dx = randomX < 1.0D ? Math.sqrt(randomX) - 1.0D : 1.0D -Math.sqrt(2.0D - randomX);
-				final double dy = randomY < 1.0D ? Math.sqrt(randomY) - 1.0D : 1.0D -Math.sqrt(2.0D - randomY);
+				final double u = imageX - width / 2.0D;
+				final double v = imageY - height / 2.0D;
 				
-				final double u = x - width / 2.0D + 0.5D;//((0.5D + dx) * 0.5D + x) * widthScaledReciprocal - 0.5D;
-				final double v = y - height / 2.0D + 0.5D;//((0.5D + dy) * 0.5D + y) * heightScaledReciprocal - 0.5D;
+				simpleCamera.newRay(u, v, ray);//(-0.5D, 0.5D), (-0.5D, 0.5D)?
+				simpleCamera.newRay(u + 1.0D, v, rayX);
+				simpleCamera.newRay(u, v + 1.0D, rayY);
 				
-				final Ray ray = simpleCamera.newRay(u, v);//(-0.5D, 0.5D), (-0.5D, 0.5D)?
+				intersection.getRayDifferential().setDifferentials(rayX, rayY);
 				
 				intersection.setDistance(Constants.INFINITY);
 				intersection.setRay(ray);
+				intersection.resetPrimaryHit();
 				
-				final Spectrum spectrum = scene.radiance(pass, intersection, pRNG);
+				scene.radiance(pass, intersection, pRNG, spectrum);
+				
+				if(isCapturingAOVs) {
+					doAddFeatures(pixel, intersection);
+				}
 				
 				pixel.addSubSamples(1);
-				pixel.getRGBSpectrum().add(spectrum);
+				
+				film.addSample(imageX, imageY, spectrum, filterTable);
+				
+				samples++;
 				
 				rendererObserver.update(pixel);
 			}
+			
+			return samples;
 		}
+		
+		return 0L;
 	}
 	
 	private void doReset() {
@@ -244,13 +518,44 @@ public final class PathTracingRenderer extends RayTracingRenderer {
 		this.samples.set(0L);
 	}
 	
-	private void doUpdateSamples() {
+	private void doUpdateSamples(final long samplesRendered) {
 		final long initialTimeMillis = this.initialTimeMillis.get();
 		final long elapsedTimeMillis = this.elapsedTimeMillis.updateAndGet(millis -> System.currentTimeMillis() - initialTimeMillis);
 		
-		final double samples = this.samples.addAndGet(SAMPLE_FILTER_Y * SAMPLE_FILTER_X) * SAMPLES_PER_THREAD_RECIPROCAL;
-		final double samplesPerSecond = samples / (elapsedTimeMillis / 1000L);
+		final long samples = this.samples.addAndGet(samplesRendered);
+		
+		final double samplesPerSecond = samples * 1000.0D / Math.max(elapsedTimeMillis, 1L);
+		
+		if(isPrintingSamples()) {
+			System.out.printf("Samples: %d Samples Per Second: %.2f%n", Long.valueOf(samples), Double.valueOf(samplesPerSecond));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doAddFeatures(final Pixel pixel, final Intersection intersection) {
+		if(intersection.hasPrimaryHit()) {
+			final Scene scene = intersection.getScene();
+			
+			final Shape shape = intersection.getPrimaryShape();
+			
+			pixel.addFeatures(intersection.getPrimaryDistance(), intersection.getPrimarySurfaceNormal(), intersection.getPrimaryAlbedo(), scene.getShapeID(shape), scene.getMaterialID(shape.getMaterial()));
+		}
+	}
+	
+	private static boolean doIsRefinable(final Film film, final Pixel pixel, final int subSamplesPerPass) {
+		final int x = pixel.getX();
+		final int y = pixel.getY();
+		
+		for(int stride = 2; stride <= Film.REFINEMENT_STRIDE; stride *= 2) {
+			if(x % stride != 0 || y % stride != 0) {
+				final Pixel parent = film.getPixel(x - x % stride, y - y % stride);
+				
+//				The parent must be ahead by more than one pass, so a level is never refined in the same pass as its parent.
+				return parent.getSubSamples() > pixel.getSubSamples() + subSamplesPerPass;
+			}
+		}
 		
-		System.out.printf("Samples: %.2f Samples Per Second: %.2f%n", Double.valueOf(samples), Double.valueOf(samplesPerSecond));
+		return true;
 	}
 }
\ No newline at end of file
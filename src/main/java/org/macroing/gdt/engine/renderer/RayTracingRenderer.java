@@ -26,6 +26,7 @@ import org.macroing.gdt.engine.camera.OldSimpleCamera;
 import org.macroing.gdt.engine.camera.PerspectiveCamera;
 import org.macroing.gdt.engine.camera.SimpleCamera;
 import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.metrics.Metrics;
 
 /**
  * An abstract base-class defining the general contract for all Ray Tracing-based rendering algorithms.
@@ -48,7 +49,7 @@ public abstract class RayTracingRenderer extends Renderer {
 	 * Constructs a new {@code RayTracingRenderer} instance.
 	 */
 	protected RayTracingRenderer() {
-		
+		this.scene.setMetrics(getMetrics());
 	}
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -99,6 +100,8 @@ public abstract class RayTracingRenderer extends Renderer {
 	/**
 	 * Sets a new {@link Scene} for this {@code RayTracingRenderer} instance.
 	 * <p>
+	 * The {@code Scene} will report to the {@link Metrics} of this {@code RayTracingRenderer} instance.
+	 * <p>
 	 * If {@code scene} is {@code null}, a {@code NullPointerException} will be thrown.
 	 * 
 	 * @param scene the new {@code Scene}
@@ -106,6 +109,7 @@ public abstract class RayTracingRenderer extends Renderer {
 	 */
 	public final void setScene(final Scene scene) {
 		this.scene = Objects.requireNonNull(scene, "scene == null");
+		this.scene.setMetrics(getMetrics());
 	}
 	
 	/**
@@ -23,6 +23,7 @@ import java.util.function.BooleanSupplier;
 
 import org.macroing.gdt.engine.display.Pixel;
 import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.metrics.Metrics;
 import org.macroing.gdt.engine.util.PRNG;
 import org.macroing.gdt.engine.util.ThreadLocalRandomPRNG;
 
@@ -37,6 +38,7 @@ import org.macroing.gdt.engine.util.ThreadLocalRandomPRNG;
  * @author J&#246;rgen Lundgren
  */
 public abstract class Renderer {
+	private final Metrics metrics = Metrics.newInstance();
 	private PRNG pRNG = ThreadLocalRandomPRNG.newInstance();
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -50,6 +52,17 @@ public abstract class Renderer {
 	
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	
+	/**
+	 * Returns the {@link Metrics} of this {@code Renderer} instance.
+	 * <p>
+	 * The {@code Metrics} are updated while rendering, and they can be polled at any time from any {@code Thread}.
+	 * 
+	 * @return the {@code Metrics} of this {@code Renderer} instance
+	 */
+	public final Metrics getMetrics() {
+		return this.metrics;
+	}
+	
 	/**
 	 * Returns the {@link PRNG} currently assigned to this {@code Renderer} instance.
 	 * <p>
@@ -0,0 +1,259 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.renderer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.macroing.gdt.engine.camera.SimpleCamera;
+import org.macroing.gdt.engine.display.Display;
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.Pixel;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.Ray;
+
+/**
+ * A {@code TemporalReprojection} carries the accumulated history of a {@link Film} forward when a {@link SimpleCamera} moves, rather than clearing it.
+ * <p>
+ * Reprojection is performed in two steps. Before the {@code SimpleCamera} moves, {@link #capture(PixelIterable, SimpleCamera)} takes a snapshot of all {@link Pixel}s and reconstructs the world space position of their primary hits, using
+ * their depth. After the {@code SimpleCamera} has moved, {@link #reproject(PixelIterable, SimpleCamera)} projects these positions into the new view. Each {@code Pixel} receives the history of the closest position that lands in it.
+ * {@code Pixel}s that receive no history, such as those that were disoccluded, or those without a primary hit, are cleared.
+ * <p>
+ * The weight of the history is capped at {@code getMaximumHistoryWeight()}, so new samples blend with it as an exponential moving average. Stale shading, such as view-dependent reflections, therefore fades out over a few passes.
+ * <p>
+ * Both steps read or write all {@code Pixel}s of the {@code Film} with plain accesses, so no samples may be added to it from the time {@code capture(PixelIterable, SimpleCamera)} is called until {@code reproject(PixelIterable, SimpleCamera)}
+ * returns. Otherwise samples from the old view are mixed into the history, or the history is lost. Call both within {@link Display#runWhilePaused(Runnable)}, which pauses the rendering {@code Thread}s of the {@code Display}.
+ * <p>
+ * This class is thread-safe, in the sense that its own state is guarded. It does not guard the {@code Film}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class TemporalReprojection {
+	/**
+	 * The default maximum weight of the history.
+	 */
+	public static final double DEFAULT_MAXIMUM_HISTORY_WEIGHT = 8.0D;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Pixel[] pixels = new Pixel[0];
+	private Point[] positions = new Point[0];
+	private volatile double maximumHistoryWeight = DEFAULT_MAXIMUM_HISTORY_WEIGHT;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private TemporalReprojection() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Reprojects the history captured by {@link #capture(PixelIterable, SimpleCamera)} into the {@link Film} of {@code pixelIterable}, as seen by {@code simpleCamera}.
+	 * <p>
+	 * Returns {@code true} if, and only if, the history could be reprojected, {@code false} otherwise. If {@code false} is returned, the {@code Film} is left unmodified and should be cleared by the caller. This is the case if no history has
+	 * been captured, if the size of the {@code Film} has changed, or if none of the captured primary hits could be projected, such as when {@code simpleCamera} does not support projection.
+	 * <p>
+	 * The captured history is discarded by this method. This method should only be called while no samples are added to the {@code Film}.
+	 * <p>
+	 * If either {@code pixelIterable} or {@code simpleCamera} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param pixelIterable a {@link PixelIterable} that provides the {@code Film} and the size used by {@code simpleCamera}
+	 * @param simpleCamera the {@link SimpleCamera} after it has moved
+	 * @return {@code true} if, and only if, the history could be reprojected, {@code false} otherwise
+	 * @throws NullPointerException thrown if, and only if, either {@code pixelIterable} or {@code simpleCamera} are {@code null}
+	 */
+	public synchronized boolean reproject(final PixelIterable pixelIterable, final SimpleCamera simpleCamera) {
+		Objects.requireNonNull(simpleCamera, "simpleCamera == null");
+		
+		final Film film = pixelIterable.getFilm();
+		
+		final Pixel[] pixels = this.pixels;
+		
+		final Point[] positions = this.positions;
+		
+		this.pixels = new Pixel[0];
+		this.positions = new Point[0];
+		
+		final int filmWidth = film.getWidth();
+		final int filmHeight = film.getHeight();
+		
+		if(pixels.length == 0 || pixels.length != filmWidth * filmHeight) {
+			return false;
+		}
+		
+		final double halfWidth = pixelIterable.getWidth() / 2.0D;
+		final double halfHeight = pixelIterable.getHeight() / 2.0D;
+		final double maximumHistoryWeight = this.maximumHistoryWeight;
+		
+		final double[] depths = new double[pixels.length];
+		
+		final int[] sources = new int[pixels.length];
+		
+		Arrays.fill(depths, Double.POSITIVE_INFINITY);
+		Arrays.fill(sources, -1);
+		
+		boolean isProjecting = false;
+		
+//		Forward reproject the primary hits. The closest one that lands in a Pixel wins, which rejects history that became occluded.
+		for(int i = 0; i < positions.length; i++) {
+			final Point position = positions[i];
+			
+			if(position == null) {
+				continue;
+			}
+			
+			final Point projection = simpleCamera.project(position);
+			
+			if(projection == null) {
+				continue;
+			}
+			
+			isProjecting = true;
+			
+			final int x = (int)(Math.floor(projection.getX() + halfWidth));
+			final int y = (int)(Math.floor(projection.getY() + halfHeight));
+			
+			if(x < 0 || x >= filmWidth || y < 0 || y >= filmHeight) {
+				continue;
+			}
+			
+			final int index = y * filmWidth + x;
+			
+			final double depth = projection.getZ();
+			
+			if(depth < depths[index]) {
+				depths[index] = depth;
+				sources[index] = i;
+			}
+		}
+		
+		if(!isProjecting) {
+			return false;
+		}
+		
+		for(int y = 0; y < filmHeight; y++) {
+			for(int x = 0; x < filmWidth; x++) {
+				final int index = y * filmWidth + x;
+				final int source = sources[index];
+				
+				final Pixel pixel = film.getPixel(x, y);
+				
+				if(source >= 0) {
+					final double weight = pixels[source].getWeight();
+					final double weightScale = weight > maximumHistoryWeight ? maximumHistoryWeight / weight : 1.0D;
+					
+					pixel.setFrom(pixels[source], weightScale, depths[index]);
+				} else {
+					pixel.clear();
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the maximum weight of the history.
+	 * <p>
+	 * By default the maximum weight of the history is {@code DEFAULT_MAXIMUM_HISTORY_WEIGHT}.
+	 * 
+	 * @return the maximum weight of the history
+	 */
+	public double getMaximumHistoryWeight() {
+		return this.maximumHistoryWeight;
+	}
+	
+	/**
+	 * Captures the history of the {@link Film} of {@code pixelIterable}, as seen by {@code simpleCamera}.
+	 * <p>
+	 * This method should be called before {@code simpleCamera} moves, while no samples are added to the {@code Film}.
+	 * <p>
+	 * If either {@code pixelIterable} or {@code simpleCamera} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param pixelIterable a {@link PixelIterable} that provides the {@code Film} and the size used by {@code simpleCamera}
+	 * @param simpleCamera the {@link SimpleCamera} before it moves
+	 * @throws NullPointerException thrown if, and only if, either {@code pixelIterable} or {@code simpleCamera} are {@code null}
+	 */
+	public synchronized void capture(final PixelIterable pixelIterable, final SimpleCamera simpleCamera) {
+		Objects.requireNonNull(simpleCamera, "simpleCamera == null");
+		
+		final Film film = pixelIterable.getFilm();
+		
+		final int filmWidth = film.getWidth();
+		final int filmHeight = film.getHeight();
+		
+		final double halfWidth = pixelIterable.getWidth() / 2.0D;
+		final double halfHeight = pixelIterable.getHeight() / 2.0D;
+		
+		final Pixel[] pixels = new Pixel[filmWidth * filmHeight];
+		
+		final Point[] positions = new Point[filmWidth * filmHeight];
+		
+		for(int y = 0; y < filmHeight; y++) {
+			for(int x = 0; x < filmWidth; x++) {
+				final int index = y * filmWidth + x;
+				
+				final Pixel pixel = film.getPixel(x, y).copy();
+				
+				pixels[index] = pixel;
+				
+				if(pixel.getFeatureSamples() > 0 && pixel.getWeight() > 0.0D) {
+					final Ray ray = simpleCamera.newRay(x + 0.5D - halfWidth, y + 0.5D - halfHeight);
+					
+					positions[index] = ray.getPointAt(pixel.getDepth());
+				}
+			}
+		}
+		
+		this.pixels = pixels;
+		this.positions = positions;
+	}
+	
+	/**
+	 * Sets the maximum weight of the history.
+	 * <p>
+	 * A lower value lets new samples replace the history faster, at the expense of more noise.
+	 * <p>
+	 * If {@code maximumHistoryWeight} is less than or equal to {@code 0.0D}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param maximumHistoryWeight the new maximum weight of the history
+	 * @throws IllegalArgumentException thrown if, and only if, {@code maximumHistoryWeight} is less than or equal to {@code 0.0D}
+	 */
+	public void setMaximumHistoryWeight(final double maximumHistoryWeight) {
+		if(!(maximumHistoryWeight > 0.0D)) {
+			throw new IllegalArgumentException(String.format("maximumHistoryWeight <= 0.0D: maximumHistoryWeight == %s", Double.toString(maximumHistoryWeight)));
+		}
+		
+		this.maximumHistoryWeight = maximumHistoryWeight;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code TemporalReprojection} instance.
+	 * 
+	 * @return a new {@code TemporalReprojection} instance
+	 */
+	public static TemporalReprojection newInstance() {
+		return new TemporalReprojection();
+	}
+}
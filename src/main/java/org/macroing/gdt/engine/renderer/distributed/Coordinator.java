@@ -0,0 +1,351 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.renderer.distributed;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.imageio.ImageIO;
+
+import org.macroing.gdt.engine.camera.NewSimpleCamera;
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.Pixel;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.display.Resolver;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.Vector;
+import org.macroing.gdt.engine.jfr.TileEvent;
+
+/**
+ * A {@code Coordinator} distributes the rendering of a {@link Film} across {@link Worker}s, which may run in other processes or on other machines.
+ * <p>
+ * The {@code Film} is divided into square tiles. Each {@code Worker} that connects receives the name of the scene and the parameters of the camera, and is then repeatedly assigned the next tile, together with the number of passes to render it
+ * with. The {@code Worker} sends back the accumulated state of the tile, including the border reached by its filter, which the {@code Coordinator} adds to the {@code Film}.
+ * <p>
+ * Work is pulled by the {@code Worker}s, so a slow {@code Worker} is simply assigned fewer tiles. In addition, the number of passes per tile is adjusted for each {@code Worker}, such that each assignment takes roughly the same time. A
+ * {@code Worker} that disconnects is dropped, and its tiles are covered by the other {@code Worker}s.
+ * <p>
+ * The parameters of the camera are captured when the {@code Coordinator} is created. Only a {@link NewSimpleCamera} is supported.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Coordinator {
+	/**
+	 * The default port.
+	 */
+	public static final int DEFAULT_PORT = 7331;
+	
+	/**
+	 * The default name of the scene.
+	 */
+	public static final String DEFAULT_SCENE_NAME = "CornellBox";
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static final int MAXIMUM_PASSES = 64;
+	private static final int TILE_SIZE = 32;
+	private static final long TARGET_ASSIGNMENT_NANOS = TimeUnit.MILLISECONDS.toNanos(250L);
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private final AtomicBoolean isRunning = new AtomicBoolean();
+	private final AtomicInteger tile = new AtomicInteger();
+	private final AtomicLong passes = new AtomicLong();
+	private final AtomicReference<ServerSocket> serverSocket = new AtomicReference<>();
+	private final Film film;
+	private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+	private final Point eye;
+	private final Point lookAt;
+	private final String sceneName;
+	private final Vector up;
+	private final double viewPlaneDistance;
+	private final int tilesX;
+	private final int tilesY;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Coordinator(final Film film, final String sceneName, final NewSimpleCamera newSimpleCamera) {
+		this.film = Objects.requireNonNull(film, "film == null");
+		this.sceneName = Objects.requireNonNull(sceneName, "sceneName == null");
+		this.eye = newSimpleCamera.getEye();
+		this.lookAt = newSimpleCamera.getLookAt().copy();
+		this.up = newSimpleCamera.getUp();
+		this.viewPlaneDistance = newSimpleCamera.getViewPlaneDistance();
+		this.tilesX = (film.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+		this.tilesY = (film.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the {@link Film} of this {@code Coordinator} instance.
+	 * 
+	 * @return the {@code Film} of this {@code Coordinator} instance
+	 */
+	public Film getFilm() {
+		return this.film;
+	}
+	
+	/**
+	 * Returns the number of {@link Worker}s that are currently connected.
+	 * 
+	 * @return the number of {@code Worker}s that are currently connected
+	 */
+	public int getWorkerCount() {
+		return this.sockets.size();
+	}
+	
+	/**
+	 * Returns the total number of tile passes that have been merged into the {@link Film}.
+	 * <p>
+	 * This is the sum of the passes of all completed assignments. Dividing it by the number of tiles gives the average number of passes per tile.
+	 * 
+	 * @return the total number of tile passes that have been merged into the {@code Film}
+	 */
+	public long getPasses() {
+		return this.passes.get();
+	}
+	
+	/**
+	 * Starts this {@code Coordinator} instance, such that {@link Worker}s may connect to it on {@code port}.
+	 * <p>
+	 * If this {@code Coordinator} has already been started, nothing will happen.
+	 * <p>
+	 * If an I/O-error occurs, an {@code IOException} will be thrown.
+	 * 
+	 * @param port the port to listen on
+	 * @throws IOException thrown if, and only if, an I/O-error occurs
+	 */
+	public void start(final int port) throws IOException {
+		if(this.isRunning.compareAndSet(false, true)) {
+			final ServerSocket serverSocket = new ServerSocket(port);
+			
+			this.serverSocket.set(serverSocket);
+			
+			doStartThread(() -> doAccept(serverSocket), "Coordinator");
+		}
+	}
+	
+	/**
+	 * Stops this {@code Coordinator} instance and disconnects all {@link Worker}s.
+	 * <p>
+	 * If this {@code Coordinator} is not running, nothing will happen.
+	 */
+	public void stop() {
+		if(this.isRunning.compareAndSet(true, false)) {
+			doClose(this.serverSocket.getAndSet(null));
+			
+			this.sockets.forEach(socket -> doClose(socket));
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code Coordinator} instance.
+	 * <p>
+	 * If either {@code film}, {@code sceneName} or {@code newSimpleCamera} are {@code null}, a {@code NullPointerException} will be thrown.
+	 * 
+	 * @param film the {@link Film} to render to
+	 * @param sceneName the name of the scene, as understood by {@link Worker}
+	 * @param newSimpleCamera the {@link NewSimpleCamera} whose parameters are sent to the {@code Worker}s
+	 * @return a new {@code Coordinator} instance
+	 * @throws NullPointerException thrown if, and only if, either {@code film}, {@code sceneName} or {@code newSimpleCamera} are {@code null}
+	 */
+	public static Coordinator newInstance(final Film film, final String sceneName, final NewSimpleCamera newSimpleCamera) {
+		return new Coordinator(film, sceneName, Objects.requireNonNull(newSimpleCamera, "newSimpleCamera == null"));
+	}
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * Renders the Cornell Box for a number of seconds, using all {@link Worker}s that connect, and writes the result to a PNG file.
+	 * <p>
+	 * The optional parameter arguments are the port, the width, the height, the number of seconds and the file, in that order.
+	 * 
+	 * @param args the parameter arguments
+	 * @throws IOException thrown if, and only if, an I/O-error occurs
+	 * @throws InterruptedException thrown if, and only if, the current {@code Thread} was interrupted
+	 */
+	public static void main(final String[] args) throws IOException, InterruptedException {
+		final int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		final int width = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+		final int height = args.length > 2 ? Integer.parseInt(args[2]) : 192;
+		final int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+		
+		final File file = new File(args.length > 4 ? args[4] : "Coordinator.png");
+		
+		final int[] rGB = new int[width * height];
+		
+		final Film film = PixelIterable.createPixelIterablesFor(width, height, width, height, rGB, 1).get(0).getFilm();
+		
+		final
+		NewSimpleCamera newSimpleCamera = NewSimpleCamera.newInstance();
+		newSimpleCamera.setEye(new Point(50.0D, 42.0D, 155.6D));
+		newSimpleCamera.setLookAt(new Point(50.0D, 42.0D, -800.0D));
+		newSimpleCamera.setViewPlaneDistance(800.0D * width / 256.0D);
+		
+		final
+		Coordinator coordinator = newInstance(film, DEFAULT_SCENE_NAME, newSimpleCamera);
+		coordinator.start(port);
+		
+		System.out.printf("Listening on port %d for %d seconds%n", Integer.valueOf(port), Integer.valueOf(seconds));
+		
+		Thread.sleep(TimeUnit.SECONDS.toMillis(seconds));
+		
+		coordinator.stop();
+		
+		final Resolver resolver = Resolver.newInstance();
+		
+		synchronized(film) {
+			resolver.resolve(film);
+		}
+		
+		final
+		BufferedImage bufferedImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		bufferedImage.setRGB(0, 0, width, height, rGB, 0, width);
+		
+		ImageIO.write(bufferedImage, "png", file);
+		
+		System.out.printf("Wrote %s after %.2f passes per tile%n", file, Double.valueOf((double)(coordinator.getPasses()) / (coordinator.tilesX * coordinator.tilesY)));
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private void doAccept(final ServerSocket serverSocket) {
+		while(this.isRunning.get()) {
+			try {
+				final Socket socket = serverSocket.accept();
+				
+				socket.setTcpNoDelay(true);
+				
+				this.sockets.add(socket);
+				
+				doStartThread(() -> doServe(socket), "Coordinator-" + socket.getRemoteSocketAddress());
+			} catch(final IOException e) {
+				
+			}
+		}
+	}
+	
+	private void doServe(final Socket socket) {
+		try(final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+			dataOutputStream.writeInt(Protocol.MAGIC);
+			dataOutputStream.writeInt(Protocol.VERSION);
+			dataOutputStream.writeUTF(this.sceneName);
+			dataOutputStream.writeInt(this.film.getWidth());
+			dataOutputStream.writeInt(this.film.getHeight());
+			dataOutputStream.writeDouble(this.eye.getX());
+			dataOutputStream.writeDouble(this.eye.getY());
+			dataOutputStream.writeDouble(this.eye.getZ());
+			dataOutputStream.writeDouble(this.lookAt.getX());
+			dataOutputStream.writeDouble(this.lookAt.getY());
+			dataOutputStream.writeDouble(this.lookAt.getZ());
+			dataOutputStream.writeDouble(this.up.getX());
+			dataOutputStream.writeDouble(this.up.getY());
+			dataOutputStream.writeDouble(this.up.getZ());
+			dataOutputStream.writeDouble(this.viewPlaneDistance);
+			
+			final Pixel pixel = Pixel.newInstance(0, 0, 0, new int[1]);
+			
+			int passes = 1;
+			
+			while(this.isRunning.get()) {
+				final int tile = Math.floorMod(this.tile.getAndIncrement(), this.tilesX * this.tilesY);
+				final int minimumX = tile % this.tilesX * TILE_SIZE;
+				final int minimumY = tile / this.tilesX * TILE_SIZE;
+				final int maximumX = Math.min(minimumX + TILE_SIZE, this.film.getWidth());
+				final int maximumY = Math.min(minimumY + TILE_SIZE, this.film.getHeight());
+				
+				final TileEvent tileEvent = new TileEvent();
+				
+				tileEvent.begin();
+				
+				final long startTimeNanos = System.nanoTime();
+				
+				dataOutputStream.writeInt(minimumX);
+				dataOutputStream.writeInt(minimumY);
+				dataOutputStream.writeInt(maximumX);
+				dataOutputStream.writeInt(maximumY);
+				dataOutputStream.writeInt(passes);
+				dataOutputStream.flush();
+				
+				Protocol.readRegion(dataInputStream, this.film, pixel);
+				
+				this.passes.addAndGet(passes);
+				
+				if(tileEvent.shouldCommit()) {
+					tileEvent.worker = String.valueOf(socket.getRemoteSocketAddress());
+					tileEvent.minimumX = minimumX;
+					tileEvent.minimumY = minimumY;
+					tileEvent.maximumX = maximumX;
+					tileEvent.maximumY = maximumY;
+					tileEvent.passes = passes;
+					tileEvent.commit();
+				}
+				
+				final long elapsedTimeNanos = Math.max(System.nanoTime() - startTimeNanos, 1L);
+				
+				passes = (int)(Math.max(Math.min(passes * TARGET_ASSIGNMENT_NANOS / elapsedTimeNanos, Math.min(passes * 2L, MAXIMUM_PASSES)), 1L));
+			}
+		} catch(final IOException e) {
+			
+		} finally {
+			this.sockets.remove(socket);
+			
+			doClose(socket);
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static void doClose(final AutoCloseable autoCloseable) {
+		try {
+			if(autoCloseable != null) {
+				autoCloseable.close();
+			}
+		} catch(final Exception e) {
+			
+		}
+	}
+	
+	private static void doStartThread(final Runnable runnable, final String name) {
+		final
+		Thread thread = new Thread(runnable, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
\ No newline at end of file
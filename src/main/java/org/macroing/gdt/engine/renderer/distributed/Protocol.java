@@ -0,0 +1,87 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.renderer.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.Pixel;
+
+final class Protocol {
+	public static final int MAGIC = 0x44464457;
+	public static final int VERSION = 1;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Protocol() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	public static void readRegion(final DataInputStream dataInputStream, final Film film, final Pixel pixel) throws IOException {
+		final int minimumX = dataInputStream.readInt();
+		final int minimumY = dataInputStream.readInt();
+		final int maximumX = dataInputStream.readInt();
+		final int maximumY = dataInputStream.readInt();
+		
+		if(minimumX < 0 || minimumY < 0 || maximumX > film.getWidth() || maximumY > film.getHeight() || minimumX > maximumX || minimumY > maximumY) {
+			throw new IOException(String.format("Invalid region: %d, %d, %d, %d", Integer.valueOf(minimumX), Integer.valueOf(minimumY), Integer.valueOf(maximumX), Integer.valueOf(maximumY)));
+		}
+		
+		final byte[] bytes = new byte[(maximumX - minimumX) * (maximumY - minimumY) * Pixel.BYTES];
+		
+		dataInputStream.readFully(bytes);
+		
+		final ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
+		
+		synchronized(film) {
+			for(int y = minimumY; y < maximumY; y++) {
+				for(int x = minimumX; x < maximumX; x++) {
+					pixel.read(byteBuffer);
+					
+					film.getPixel(x, y).add(pixel);
+				}
+			}
+		}
+	}
+	
+	public static void writeRegion(final DataOutputStream dataOutputStream, final Film film, final int minimumX, final int minimumY, final int maximumX, final int maximumY) throws IOException {
+		final ByteBuffer byteBuffer = ByteBuffer.allocate((maximumX - minimumX) * (maximumY - minimumY) * Pixel.BYTES);
+		
+		for(int y = minimumY; y < maximumY; y++) {
+			for(int x = minimumX; x < maximumX; x++) {
+				final
+				Pixel pixel = film.getPixel(x, y);
+				pixel.write(byteBuffer);
+				pixel.clear();
+			}
+		}
+		
+		dataOutputStream.writeInt(minimumX);
+		dataOutputStream.writeInt(minimumY);
+		dataOutputStream.writeInt(maximumX);
+		dataOutputStream.writeInt(maximumY);
+		dataOutputStream.write(byteBuffer.array());
+		dataOutputStream.flush();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,209 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.renderer.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Objects;
+
+import org.macroing.gdt.engine.camera.NewSimpleCamera;
+import org.macroing.gdt.engine.display.Film;
+import org.macroing.gdt.engine.display.PixelIterable;
+import org.macroing.gdt.engine.geometry.Point;
+import org.macroing.gdt.engine.geometry.Precision;
+import org.macroing.gdt.engine.geometry.Scene;
+import org.macroing.gdt.engine.geometry.Vector;
+import org.macroing.gdt.engine.renderer.PathTracingRenderer;
+
+/**
+ * A {@code Worker} renders the tiles assigned to it by a {@link Coordinator}.
+ * <p>
+ * The scene is not transferred as such. Instead the {@code Coordinator} sends its name, which is resolved by {@link #newScene(String)}. The parameters of the camera are transferred, and a {@link NewSimpleCamera} is created from them.
+ * <p>
+ * Each tile is rendered by a {@link PathTracingRenderer}, using a number of {@code Thread}s. The accumulated state of the tile and of the border reached by the filter is then sent back and cleared.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class Worker {
+	private final int threads;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private Worker(final int threads) {
+		this.threads = threads;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the number of {@code Thread}s used by this {@code Worker} instance.
+	 * 
+	 * @return the number of {@code Thread}s used by this {@code Worker} instance
+	 */
+	public int getThreads() {
+		return this.threads;
+	}
+	
+	/**
+	 * Connects to the {@link Coordinator} at {@code host} and {@code port} and renders the tiles assigned to it, until the {@code Coordinator} disconnects.
+	 * <p>
+	 * If {@code host} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If an I/O-error occurs, or the {@code Coordinator} requests an unknown scene, an {@code IOException} will be thrown.
+	 * 
+	 * @param host the host of the {@code Coordinator}
+	 * @param port the port of the {@code Coordinator}
+	 * @throws IOException thrown if, and only if, an I/O-error occurs, or the {@code Coordinator} requests an unknown scene
+	 * @throws NullPointerException thrown if, and only if, {@code host} is {@code null}
+	 */
+	public void run(final String host, final int port) throws IOException {
+		try(final Socket socket = new Socket(Objects.requireNonNull(host, "host == null"), port)) {
+			socket.setTcpNoDelay(true);
+			
+			final DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			final DataOutputStream dataOutputStream = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			
+			if(dataInputStream.readInt() != Protocol.MAGIC || dataInputStream.readInt() != Protocol.VERSION) {
+				throw new IOException("Incompatible coordinator");
+			}
+			
+			final Scene scene = newScene(dataInputStream.readUTF());
+			
+			final int width = dataInputStream.readInt();
+			final int height = dataInputStream.readInt();
+			
+			final
+			NewSimpleCamera newSimpleCamera = NewSimpleCamera.newInstance();
+			newSimpleCamera.setEye(new Point(dataInputStream.readDouble(), dataInputStream.readDouble(), dataInputStream.readDouble()));
+			newSimpleCamera.setLookAt(new Point(dataInputStream.readDouble(), dataInputStream.readDouble(), dataInputStream.readDouble()));
+			newSimpleCamera.setUp(new Vector(dataInputStream.readDouble(), dataInputStream.readDouble(), dataInputStream.readDouble()));
+			newSimpleCamera.setViewPlaneDistance(dataInputStream.readDouble());
+			newSimpleCamera.calculateOrthonormalBasisFor(width, height);
+			
+			final
+			PathTracingRenderer pathTracingRenderer = PathTracingRenderer.newInstance();
+			pathTracingRenderer.setScene(scene);
+			pathTracingRenderer.setSimpleCamera(newSimpleCamera);
+			pathTracingRenderer.setUsingSimpleCamera(true);
+			pathTracingRenderer.setRefiningProgressively(false);
+			
+			final Film film = PixelIterable.createPixelIterablesFor(width, height, width, height, new int[width * height], 1).get(0).getFilm();
+			
+			final int border = (int)(Math.ceil(pathTracingRenderer.getFilter().getWidth()));
+			
+			while(true) {
+				final int minimumX;
+				
+				try {
+					minimumX = dataInputStream.readInt();
+				} catch(final EOFException e) {
+					return;
+				}
+				
+				final int minimumY = dataInputStream.readInt();
+				final int maximumX = dataInputStream.readInt();
+				final int maximumY = dataInputStream.readInt();
+				final int passes = dataInputStream.readInt();
+				
+				final List<PixelIterable> pixelIterables = PixelIterable.createPixelIterablesFor(film, minimumX, minimumY, maximumX, maximumY, this.threads);
+				
+				for(int pass = 0; pass < passes; pass++) {
+					pixelIterables.parallelStream().forEach(pixelIterable -> pathTracingRenderer.render(pixelIterable, pixel -> {}, () -> false));
+				}
+				
+				Protocol.writeRegion(dataOutputStream, film, Math.max(minimumX - border, 0), Math.max(minimumY - border, 0), Math.min(maximumX + border, width), Math.min(maximumY + border, height));
+			}
+		}
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * The main entry-point for this class.
+	 * <p>
+	 * The optional parameter arguments are the host and the port of the {@link Coordinator} and the number of {@code Thread}s, in that order.
+	 * 
+	 * @param args the parameter arguments
+	 * @throws IOException thrown if, and only if, an I/O-error occurs
+	 */
+	public static void main(final String[] args) throws IOException {
+		final String host = args.length > 0 ? args[0] : "localhost";
+		
+		final int port = args.length > 1 ? Integer.parseInt(args[1]) : Coordinator.DEFAULT_PORT;
+		final int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		
+		final
+		Worker worker = newInstance(threads);
+		worker.run(host, port);
+	}
+	
+	/**
+	 * Returns a new {@code Worker} instance that uses {@code threads} {@code Thread}s.
+	 * <p>
+	 * If {@code threads} is less than {@code 1}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param threads the number of {@code Thread}s to use
+	 * @return a new {@code Worker} instance that uses {@code threads} {@code Thread}s
+	 * @throws IllegalArgumentException thrown if, and only if, {@code threads} is less than {@code 1}
+	 */
+	public static Worker newInstance(final int threads) {
+		if(threads < 1) {
+			throw new IllegalArgumentException(String.format("threads < 1: %d", Integer.valueOf(threads)));
+		}
+		
+		return new Worker(threads);
+	}
+	
+	/**
+	 * Returns a new {@link Scene} given its name.
+	 * <p>
+	 * The supported names are {@code "CornellBox"}, for {@code Scene.newCornellBox()}, {@code "CornellBoxWithMeshes"} and {@code "CornellBoxWithMeshesSingle"}, for {@code Scene.newCornellBoxWithMeshes(precision, 32, 64)} with
+	 * {@code Precision.DOUBLE} and {@code Precision.SINGLE}, respectively, and {@code "Empty"}, for {@code Scene.newInstance()}.
+	 * <p>
+	 * If {@code name} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If {@code name} is not supported, an {@code IOException} will be thrown.
+	 * 
+	 * @param name the name of the {@code Scene}
+	 * @return a new {@code Scene} given its name
+	 * @throws IOException thrown if, and only if, {@code name} is not supported
+	 * @throws NullPointerException thrown if, and only if, {@code name} is {@code null}
+	 */
+	public static Scene newScene(final String name) throws IOException {
+		switch(Objects.requireNonNull(name, "name == null")) {
+			case "CornellBox":
+				return Scene.newCornellBox();
+			case "CornellBoxWithMeshes":
+				return Scene.newCornellBoxWithMeshes(Precision.DOUBLE, 32, 64);
+			case "CornellBoxWithMeshesSingle":
+				return Scene.newCornellBoxWithMeshes(Precision.SINGLE, 32, 64);
+			case "Empty":
+				return Scene.newInstance();
+			default:
+				throw new IOException(String.format("Unknown scene: %s", name));
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+/**
+ * Provides distributed rendering across several processes.
+ * <p>
+ * A {@link Coordinator} hands out tiles of a {@code Film} to {@link Worker}s over TCP and merges the results they send back.
+ */
+package org.macroing.gdt.engine.renderer.distributed;
\ No newline at end of file
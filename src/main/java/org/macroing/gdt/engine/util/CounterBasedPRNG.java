@@ -0,0 +1,145 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.util;
+
+/**
+ * A counter-based {@link PRNG} implementation, whose numbers are a pure function of a seed, a key and a counter.
+ * <p>
+ * The key is set by {@link #setKey(long, long)}, usually to the index of a pixel and the index of a sample within that pixel. This resets the counter, which is then incremented once per number, such that each number corresponds to one
+ * dimension of the sample. Each number is computed by hashing the seed, the key and the counter with the finalizer of SplitMix64. As there is no state carried between keys, the sequence of numbers for a given sample does not depend on
+ * which {@code Thread} takes it, nor on the order in which the samples are taken.
+ * <p>
+ * A {@code CounterBasedPRNG} is not thread-safe. Each {@code Thread} should use its own instance.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class CounterBasedPRNG extends PRNG {
+	private static final double DOUBLE_UNIT = 0x1.0p-53D;
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private long counter;
+	private long key;
+	private long seed;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private CounterBasedPRNG() {
+		
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the next uniformly distributed {@code double} from this {@code CounterBasedPRNG} instance.
+	 * <p>
+	 * The value returned will be between {@code 0.0D} (inclusive) and {@code 1.0D} (exclusive).
+	 * 
+	 * @return the next uniformly distributed {@code double} from this {@code CounterBasedPRNG} instance
+	 */
+	@Override
+	public double nextDouble() {
+		return (doNextLong() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Returns the next uniformly distributed {@code int} from this {@code CounterBasedPRNG} instance.
+	 * <p>
+	 * The value returned will be between {@code 0} (inclusive) and {@code bound} (exclusive).
+	 * <p>
+	 * If {@code bound} is less than or equal to {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param bound the positive upper bound (exclusive)
+	 * @return the next uniformly distributed {@code int} from this {@code CounterBasedPRNG} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bound} is less than or equal to {@code 0}
+	 */
+	@Override
+	public int nextInt(final int bound) {
+		if(bound <= 0) {
+			throw new IllegalArgumentException(String.format("bound <= 0: %d", Integer.valueOf(bound)));
+		}
+		
+		return (int)(((doNextLong() >>> 32) * bound) >>> 32);
+	}
+	
+	/**
+	 * Sets a new key for this {@code CounterBasedPRNG} instance and resets its counter.
+	 * <p>
+	 * Returns the {@code CounterBasedPRNG} instance itself, such that it's possible to chain multiple calls.
+	 * 
+	 * @param index the index of the pixel, or any other index that identifies the sample
+	 * @param sample the index of the sample
+	 * @return the instance itself
+	 */
+	public CounterBasedPRNG setKey(final long index, final long sample) {
+		this.key = doMix(doMix(this.seed + index * GOLDEN_GAMMA) + sample);
+		this.counter = 0L;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets a new seed for this {@code CounterBasedPRNG} instance.
+	 * <p>
+	 * The new seed takes effect at the next call to {@link #setKey(long, long)}.
+	 * <p>
+	 * Returns the {@code CounterBasedPRNG} instance itself, such that it's possible to chain multiple calls.
+	 * 
+	 * @param seed the new seed
+	 * @return the instance itself
+	 */
+	@Override
+	public CounterBasedPRNG setSeed(final long seed) {
+		this.seed = seed;
+		
+		return this;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code CounterBasedPRNG} instance.
+	 * <p>
+	 * The seed, the key and the counter are all {@code 0L}.
+	 * 
+	 * @return a new {@code CounterBasedPRNG} instance
+	 */
+	public static CounterBasedPRNG newInstance() {
+		return new CounterBasedPRNG();
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private long doNextLong() {
+		return doMix(this.key + ++this.counter * GOLDEN_GAMMA);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doMix(final long value) {
+		long z = value;
+		
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		
+		return z ^ (z >>> 31);
+	}
+}
\ No newline at end of file
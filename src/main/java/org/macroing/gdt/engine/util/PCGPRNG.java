@@ -0,0 +1,205 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link PRNG} implementation using the PCG-XSH-RR algorithm, with {@code 64} bits of state and {@code 32} bits of output.
+ * <p>
+ * Unlike the {@code PRNG}s based on {@code java.util.Random}, this class keeps its state in plain fields. It is therefore not thread-safe, but has no synchronization overhead. Each {@code Thread} should use its own instance, which can be
+ * created by {@link #split()}.
+ * <p>
+ * Each {@code double} is made up of two outputs, to provide {@code 53} random bits.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class PCGPRNG extends PRNG {
+	private static final double DOUBLE_UNIT = 0x1.0p-53D;
+	private static final long MULTIPLIER = 6364136223846793005L;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private long increment;
+	private long state;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private PCGPRNG(final long seed, final long stream) {
+		doSetSeed(seed, stream);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the next uniformly distributed {@code double} from this {@code PCGPRNG} instance.
+	 * <p>
+	 * The value returned will be between {@code 0.0D} (inclusive) and {@code 1.0D} (exclusive).
+	 * 
+	 * @return the next uniformly distributed {@code double} from this {@code PCGPRNG} instance
+	 */
+	@Override
+	public double nextDouble() {
+		final long a = doNext() >>> 5;
+		final long b = doNext() >>> 6;
+		
+		return ((a << 26) + b) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Returns the next uniformly distributed {@code int} from this {@code PCGPRNG} instance.
+	 * <p>
+	 * The value returned will be between {@code 0} (inclusive) and {@code bound} (exclusive).
+	 * <p>
+	 * If {@code bound} is less than or equal to {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param bound the positive upper bound (exclusive)
+	 * @return the next uniformly distributed {@code int} from this {@code PCGPRNG} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bound} is less than or equal to {@code 0}
+	 */
+	@Override
+	public int nextInt(final int bound) {
+		if(bound <= 0) {
+			throw new IllegalArgumentException(String.format("bound <= 0: %d", Integer.valueOf(bound)));
+		}
+		
+		return (int)((doNext() * bound) >>> 32);
+	}
+	
+	/**
+	 * Returns a new {@code PCGPRNG} instance, whose sequence is independent of the sequence of this {@code PCGPRNG} instance.
+	 * <p>
+	 * The new instance is seeded from this {@code PCGPRNG}, and uses a different stream.
+	 * 
+	 * @return a new {@code PCGPRNG} instance, whose sequence is independent of the sequence of this {@code PCGPRNG} instance
+	 */
+	public PCGPRNG split() {
+		return new PCGPRNG(doNext() << 32 | doNext(), doNext() << 32 | doNext());
+	}
+	
+	/**
+	 * Fills {@code array} with {@code length} uniformly distributed {@code double}s from this {@code PCGPRNG} instance, starting at {@code offset}.
+	 * <p>
+	 * Each value will be between {@code 0.0D} (inclusive) and {@code 1.0D} (exclusive). The values are the same as those returned by {@code length} consecutive calls to {@link #nextDouble()}.
+	 * <p>
+	 * Returns the {@code PCGPRNG} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * If {@code array} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param array the array to fill
+	 * @param offset the offset in {@code array} to start at
+	 * @param length the number of values to generate
+	 * @return the instance itself
+	 * @throws IndexOutOfBoundsException thrown if, and only if, either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}
+	 * @throws NullPointerException thrown if, and only if, {@code array} is {@code null}
+	 */
+	@Override
+	public PCGPRNG nextDoubles(final double[] array, final int offset, final int length) {
+		requireRange(array, offset, length);
+		
+		final long increment = this.increment;
+		
+		long state = this.state;
+		
+		for(int i = offset; i < offset + length; i++) {
+			final long a = doOutput(state) >>> 5;
+			
+			state = state * MULTIPLIER + increment;
+			
+			final long b = doOutput(state) >>> 6;
+			
+			state = state * MULTIPLIER + increment;
+			
+			array[i] = ((a << 26) + b) * DOUBLE_UNIT;
+		}
+		
+		this.state = state;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets a new seed for this {@code PCGPRNG} instance.
+	 * <p>
+	 * The stream is left unchanged.
+	 * <p>
+	 * Returns the {@code PCGPRNG} instance itself, such that it's possible to chain multiple calls.
+	 * 
+	 * @param seed the new seed
+	 * @return the instance itself
+	 */
+	@Override
+	public PCGPRNG setSeed(final long seed) {
+		doSetSeed(seed, this.increment >>> 1);
+		
+		return this;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code PCGPRNG} instance with a random seed and stream.
+	 * 
+	 * @return a new {@code PCGPRNG} instance with a random seed and stream
+	 */
+	public static PCGPRNG newInstance() {
+		final ThreadLocalRandom threadLocalRandom = ThreadLocalRandom.current();
+		
+		return new PCGPRNG(threadLocalRandom.nextLong(), threadLocalRandom.nextLong());
+	}
+	
+	/**
+	 * Returns a new {@code PCGPRNG} instance given a seed and a stream.
+	 * <p>
+	 * Two instances with different streams produce different sequences, even if their seeds are equal.
+	 * 
+	 * @param seed the seed
+	 * @param stream the stream
+	 * @return a new {@code PCGPRNG} instance given a seed and a stream
+	 */
+	public static PCGPRNG newInstance(final long seed, final long stream) {
+		return new PCGPRNG(seed, stream);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private long doNext() {
+		final long state = this.state;
+		
+		this.state = state * MULTIPLIER + this.increment;
+		
+		return doOutput(state);
+	}
+	
+	private void doSetSeed(final long seed, final long stream) {
+		this.increment = stream << 1 | 1L;
+		this.state = 0L;
+		this.state = this.state * MULTIPLIER + this.increment + seed;
+		this.state = this.state * MULTIPLIER + this.increment;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doOutput(final long state) {
+		return Integer.toUnsignedLong(Integer.rotateRight((int)(((state >>> 18) ^ state) >>> 27), (int)(state >>> 59)));
+	}
+}
\ No newline at end of file
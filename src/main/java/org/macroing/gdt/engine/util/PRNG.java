@@ -18,6 +18,8 @@
  */
 package org.macroing.gdt.engine.util;
 
+import java.util.Objects;
+
 /**
  * An abstract base-class for generating pseudorandom numbers.
  * 
@@ -43,6 +45,36 @@ public abstract class PRNG {
 	 */
 	public abstract double nextDouble();
 	
+	/**
+	 * Fills {@code array} with {@code length} uniformly distributed {@code double}s from this {@code PRNG} instance, starting at {@code offset}.
+	 * <p>
+	 * Each value will be between {@code 0.0D} (inclusive) and {@code 1.0D} (exclusive). The values are the same as those returned by {@code length} consecutive calls to {@link #nextDouble()}.
+	 * <p>
+	 * Returns the {@code PRNG} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * By default this method calls {@code nextDouble()} once per value. Subclasses may override it, to generate the values in a tight loop.
+	 * <p>
+	 * If {@code array} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param array the array to fill
+	 * @param offset the offset in {@code array} to start at
+	 * @param length the number of values to generate
+	 * @return the instance itself
+	 * @throws IndexOutOfBoundsException thrown if, and only if, either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}
+	 * @throws NullPointerException thrown if, and only if, {@code array} is {@code null}
+	 */
+	public PRNG nextDoubles(final double[] array, final int offset, final int length) {
+		requireRange(array, offset, length);
+		
+		for(int i = offset; i < offset + length; i++) {
+			array[i] = nextDouble();
+		}
+		
+		return this;
+	}
+	
 	/**
 	 * Returns the next uniformly distributed {@code int} from this {@code PRNG} instance.
 	 * <p>
@@ -132,4 +164,27 @@ public abstract class PRNG {
 		
 		return this;
 	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Checks that {@code offset} and {@code length} denote a range within {@code array}, as required by {@link #nextDoubles(double[], int, int)}.
+	 * <p>
+	 * If {@code array} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param array the array to check
+	 * @param offset the offset in {@code array}
+	 * @param length the length of the range
+	 * @throws IndexOutOfBoundsException thrown if, and only if, either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}
+	 * @throws NullPointerException thrown if, and only if, {@code array} is {@code null}
+	 */
+	protected static void requireRange(final double[] array, final int offset, final int length) {
+		Objects.requireNonNull(array, "array == null");
+		
+		if(offset < 0 || length < 0 || offset > array.length - length) {
+			throw new IndexOutOfBoundsException(String.format("offset = %d, length = %d, array.length = %d", Integer.valueOf(offset), Integer.valueOf(length), Integer.valueOf(array.length)));
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,253 @@
+/**
+ * Copyright 2009 - 2015 J&#246;rgen Lundgren
+ * 
+ * This file is part of org.macroing.gdt.engine.
+ * 
+ * org.macroing.gdt.engine is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * org.macroing.gdt.engine is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with org.macroing.gdt.engine. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.macroing.gdt.engine.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link PRNG} implementation using the xoshiro256++ algorithm, with {@code 256} bits of state and {@code 64} bits of output.
+ * <p>
+ * Unlike the {@code PRNG}s based on {@code java.util.Random}, this class keeps its state in plain fields. It is therefore not thread-safe, but has no synchronization overhead. Each {@code Thread} should use its own instance, which can be
+ * created by {@link #split()}.
+ * 
+ * @since 1.0.0
+ * @author J&#246;rgen Lundgren
+ */
+public final class XoshiroPRNG extends PRNG {
+	private static final double DOUBLE_UNIT = 0x1.0p-53D;
+	private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+	private static final long[] JUMP = {0x180EC6D33CFD0ABAL, 0xD5A61266F0C9392CL, 0xA9582618E03FC9AAL, 0x39ABDC4529B1661CL};
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private long s0;
+	private long s1;
+	private long s2;
+	private long s3;
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private XoshiroPRNG(final long seed) {
+		doSetSeed(seed);
+	}
+	
+	private XoshiroPRNG(final long s0, final long s1, final long s2, final long s3) {
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns the next uniformly distributed {@code double} from this {@code XoshiroPRNG} instance.
+	 * <p>
+	 * The value returned will be between {@code 0.0D} (inclusive) and {@code 1.0D} (exclusive).
+	 * 
+	 * @return the next uniformly distributed {@code double} from this {@code XoshiroPRNG} instance
+	 */
+	@Override
+	public double nextDouble() {
+		return (doNext() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Returns the next uniformly distributed {@code int} from this {@code XoshiroPRNG} instance.
+	 * <p>
+	 * The value returned will be between {@code 0} (inclusive) and {@code bound} (exclusive).
+	 * <p>
+	 * If {@code bound} is less than or equal to {@code 0}, an {@code IllegalArgumentException} will be thrown.
+	 * 
+	 * @param bound the positive upper bound (exclusive)
+	 * @return the next uniformly distributed {@code int} from this {@code XoshiroPRNG} instance
+	 * @throws IllegalArgumentException thrown if, and only if, {@code bound} is less than or equal to {@code 0}
+	 */
+	@Override
+	public int nextInt(final int bound) {
+		if(bound <= 0) {
+			throw new IllegalArgumentException(String.format("bound <= 0: %d", Integer.valueOf(bound)));
+		}
+		
+		return (int)(((doNext() >>> 32) * bound) >>> 32);
+	}
+	
+	/**
+	 * Returns a new {@code XoshiroPRNG} instance, whose sequence does not overlap with the sequence of this {@code XoshiroPRNG} instance.
+	 * <p>
+	 * The new instance continues the current sequence, whereas this {@code XoshiroPRNG} jumps {@code 2^128} values ahead.
+	 * 
+	 * @return a new {@code XoshiroPRNG} instance, whose sequence does not overlap with the sequence of this {@code XoshiroPRNG} instance
+	 */
+	public XoshiroPRNG split() {
+		final XoshiroPRNG xoshiroPRNG = new XoshiroPRNG(this.s0, this.s1, this.s2, this.s3);
+		
+		doJump();
+		
+		return xoshiroPRNG;
+	}
+	
+	/**
+	 * Fills {@code array} with {@code length} uniformly distributed {@code double}s from this {@code XoshiroPRNG} instance, starting at {@code offset}.
+	 * <p>
+	 * Each value will be between {@code 0.0D} (inclusive) and {@code 1.0D} (exclusive). The values are the same as those returned by {@code length} consecutive calls to {@link #nextDouble()}.
+	 * <p>
+	 * Returns the {@code XoshiroPRNG} instance itself, such that it's possible to chain multiple calls.
+	 * <p>
+	 * If {@code array} is {@code null}, a {@code NullPointerException} will be thrown.
+	 * <p>
+	 * If either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}, an {@code IndexOutOfBoundsException} will be thrown.
+	 * 
+	 * @param array the array to fill
+	 * @param offset the offset in {@code array} to start at
+	 * @param length the number of values to generate
+	 * @return the instance itself
+	 * @throws IndexOutOfBoundsException thrown if, and only if, either {@code offset} or {@code length} are less than {@code 0}, or {@code offset + length} is greater than {@code array.length}
+	 * @throws NullPointerException thrown if, and only if, {@code array} is {@code null}
+	 */
+	@Override
+	public XoshiroPRNG nextDoubles(final double[] array, final int offset, final int length) {
+		requireRange(array, offset, length);
+		
+		long s0 = this.s0;
+		long s1 = this.s1;
+		long s2 = this.s2;
+		long s3 = this.s3;
+		
+		for(int i = offset; i < offset + length; i++) {
+			final long result = Long.rotateLeft(s0 + s3, 23) + s0;
+			final long t = s1 << 17;
+			
+			s2 ^= s0;
+			s3 ^= s1;
+			s1 ^= s2;
+			s0 ^= s3;
+			s2 ^= t;
+			s3 = Long.rotateLeft(s3, 45);
+			
+			array[i] = (result >>> 11) * DOUBLE_UNIT;
+		}
+		
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+		
+		return this;
+	}
+	
+	/**
+	 * Sets a new seed for this {@code XoshiroPRNG} instance.
+	 * <p>
+	 * The {@code 256} bits of state are derived from {@code seed} using SplitMix64.
+	 * <p>
+	 * Returns the {@code XoshiroPRNG} instance itself, such that it's possible to chain multiple calls.
+	 * 
+	 * @param seed the new seed
+	 * @return the instance itself
+	 */
+	@Override
+	public XoshiroPRNG setSeed(final long seed) {
+		doSetSeed(seed);
+		
+		return this;
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	/**
+	 * Returns a new {@code XoshiroPRNG} instance with a random seed.
+	 * 
+	 * @return a new {@code XoshiroPRNG} instance with a random seed
+	 */
+	public static XoshiroPRNG newInstance() {
+		return new XoshiroPRNG(ThreadLocalRandom.current().nextLong());
+	}
+	
+	/**
+	 * Returns a new {@code XoshiroPRNG} instance given a seed.
+	 * 
+	 * @param seed the seed
+	 * @return a new {@code XoshiroPRNG} instance given a seed
+	 */
+	public static XoshiroPRNG newInstance(final long seed) {
+		return new XoshiroPRNG(seed);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private long doNext() {
+		final long s0 = this.s0;
+		final long s1 = this.s1;
+		final long s2 = this.s2 ^ s0;
+		final long s3 = this.s3 ^ s1;
+		
+		final long result = Long.rotateLeft(s0 + this.s3, 23) + s0;
+		
+		this.s0 = s0 ^ s3;
+		this.s1 = s1 ^ s2;
+		this.s2 = s2 ^ (s1 << 17);
+		this.s3 = Long.rotateLeft(s3, 45);
+		
+		return result;
+	}
+	
+	private void doJump() {
+		long s0 = 0L;
+		long s1 = 0L;
+		long s2 = 0L;
+		long s3 = 0L;
+		
+		for(final long jump : JUMP) {
+			for(int bit = 0; bit < 64; bit++) {
+				if((jump & 1L << bit) != 0L) {
+					s0 ^= this.s0;
+					s1 ^= this.s1;
+					s2 ^= this.s2;
+					s3 ^= this.s3;
+				}
+				
+				doNext();
+			}
+		}
+		
+		this.s0 = s0;
+		this.s1 = s1;
+		this.s2 = s2;
+		this.s3 = s3;
+	}
+	
+	private void doSetSeed(final long seed) {
+		this.s0 = doMix(seed + GOLDEN_GAMMA);
+		this.s1 = doMix(seed + GOLDEN_GAMMA * 2L);
+		this.s2 = doMix(seed + GOLDEN_GAMMA * 3L);
+		this.s3 = doMix(seed + GOLDEN_GAMMA * 4L);
+	}
+	
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	
+	private static long doMix(final long value) {
+		long z = value;
+		
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		
+		return z ^ (z >>> 31);
+	}
+}
\ No newline at end of file